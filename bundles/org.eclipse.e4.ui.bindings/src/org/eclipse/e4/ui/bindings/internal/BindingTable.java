@@ -134,6 +134,7 @@ public class BindingTable {
 	private Map<TriggerSequence, ArrayList<Binding>> conflicts = new HashMap<>();
 	private Map<TriggerSequence, ArrayList<Binding>> orderedBindingsByTrigger = new HashMap<>();
 	private final Map<Binding, Boolean> activeBindings = new HashMap<>();
+	private int modificationCount;
 
 	private IContributionFactory contributionFactory;
 
@@ -196,6 +197,7 @@ public class BindingTable {
 		}
 
 		evaluateOrderedBindings(binding.getTriggerSequence(), binding);
+		modificationCount++;
 	}
 
 	private void addBindingSimple(Binding binding) {
@@ -264,6 +266,7 @@ public class BindingTable {
 			}
 		}
 		activeBindings.remove(binding);
+		modificationCount++;
 	}
 
 	private void evaluateOrderedBindings(TriggerSequence sequence, Binding binding) {
@@ -390,5 +393,14 @@ public class BindingTable {
 
 	public void activitiesChanged() {
 		activeBindings.clear();
+		modificationCount++;
+	}
+
+	/**
+	 * @return a count which changes whenever the active bindings of the table
+	 *         may have changed
+	 */
+	int getModificationCount() {
+		return modificationCount;
 	}
 }
@@ -17,8 +17,10 @@ package org.eclipse.e4.ui.bindings.internal;
 import jakarta.inject.Inject;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import org.eclipse.core.commands.ParameterizedCommand;
 import org.eclipse.core.commands.contexts.Context;
 import org.eclipse.e4.core.contexts.IEclipseContext;
@@ -31,6 +33,9 @@ import org.eclipse.jface.bindings.TriggerSequence;
 public class BindingTableManager {
 	private static final String BINDING_TABLE_PREFIX = "bindingTable:"; //$NON-NLS-1$
 
+	/** The number of context sets whose tries are kept */
+	private static final int MAX_TRIES = 32;
+
 	@Inject
 	private IEclipseContext eclipseContext;
 
@@ -38,6 +43,15 @@ public class BindingTableManager {
 
 	private String[] activeSchemeIds;
 
+	/**
+	 * Incremented when tables are added or removed or the active schemes change,
+	 * which makes all tries stale
+	 */
+	private int version;
+
+	/** The compiled tries of the context sets used to look up sequences */
+	private final Map<ContextSet, BindingTrie> tries = new HashMap<>();
+
 	public void addTable(BindingTable table) {
 		String contextId = getTableId(table.getId());
 		if (eclipseContext.containsKey(contextId)) {
@@ -45,6 +59,7 @@ public class BindingTableManager {
 			//			throw new IllegalArgumentException("Already contains table " + contextId); //$NON-NLS-1$
 		}
 		eclipseContext.set(contextId, table);
+		version++;
 		final List<Context> contexts = definedTables.getContexts();
 		if (!contexts.contains(table.getTableId())) {
 			// this is only valid because I'm throwing away the old definedTables contextSet
@@ -63,6 +78,7 @@ public class BindingTableManager {
 			throw new IllegalArgumentException("Does not contains table " + contextId); //$NON-NLS-1$
 		}
 		eclipseContext.remove(contextId);
+		version++;
 		final List<Context> contexts = definedTables.getContexts();
 		if (contexts.contains(table.getTableId())) {
 			// this is only valid because I'm throwing away the old definedTables contextSet
@@ -122,34 +138,32 @@ public class BindingTableManager {
 	}
 
 	public Binding getPerfectMatch(ContextSet contextSet, TriggerSequence triggerSequence) {
-		Binding result = null;
-		Binding currentResult = null;
-		List<Context> contexts = contextSet.getContexts();
-		ListIterator<Context> it = contexts.listIterator(contexts.size());
-		while (it.hasPrevious()) {
-			Context c = it.previous();
-			BindingTable table = getTable(c.getId());
-			if (table != null) {
-				currentResult = table.getPerfectMatch(triggerSequence);
+		return getTrie(contextSet).getPerfectMatch(triggerSequence);
+	}
+
+	/**
+	 * Returns the trie of the bindings of the tables of the context set,
+	 * compiling it again if the bindings changed since it was compiled.
+	 */
+	private BindingTrie getTrie(ContextSet contextSet) {
+		BindingTrie trie = tries.get(contextSet);
+		if (trie == null || trie.isStale(version)) {
+			List<Context> contexts = contextSet.getContexts();
+			BindingTable[] tables = new BindingTable[contexts.size()];
+			for (int i = 0; i < tables.length; i++) {
+				// the most specific contexts are last
+				tables[i] = getTable(contexts.get(tables.length - 1 - i).getId());
 			}
-			if (currentResult != null) {
-				if (isMostActiveScheme(currentResult)) {
-					return currentResult;
-				}
-				if (result == null) {
-					result = currentResult;
-				} else {
-					int rc = compareSchemes(result.getSchemeId(), currentResult.getSchemeId());
-					if (rc > 0) {
-						result = currentResult;
-					}
-				}
+			trie = new BindingTrie(tables, this, version);
+			if (tries.size() >= MAX_TRIES && !tries.containsKey(contextSet)) {
+				tries.clear();
 			}
+			tries.put(contextSet, trie);
 		}
-		return result;
+		return trie;
 	}
 
-	private boolean isMostActiveScheme(Binding currentResult) {
+	boolean isMostActiveScheme(Binding currentResult) {
 		if (activeSchemeIds == null || activeSchemeIds.length < 2) {
 			return true;
 		}
@@ -201,18 +215,7 @@ public class BindingTableManager {
 	}
 
 	public boolean isPartialMatch(ContextSet contextSet, TriggerSequence sequence) {
-		List<Context> contexts = contextSet.getContexts();
-		ListIterator<Context> it = contexts.listIterator(contexts.size());
-		while (it.hasPrevious()) {
-			Context c = it.previous();
-			BindingTable table = getTable(c.getId());
-			if (table != null) {
-				if (table.isPartialMatch(sequence)) {
-					return true;
-				}
-			}
-		}
-		return false;
+		return getTrie(contextSet).isPartialMatch(sequence);
 	}
 
 	public Collection<Binding> getPartialMatches(ContextSet contextSet, TriggerSequence sequence) {
@@ -235,6 +238,7 @@ public class BindingTableManager {
 	public void setActiveSchemes(String[] activeSchemeIds) {
 		this.activeSchemeIds = activeSchemeIds;
 		BindingTable.BEST_SEQUENCE.setActiveSchemes(activeSchemeIds);
+		version++;
 	}
 
 	/*
@@ -242,7 +246,7 @@ public class BindingTableManager {
 	 *
 	 * Returns an in based on scheme 1 < scheme 2
 	 */
-	private final int compareSchemes(final String schemeId1, final String schemeId2) {
+	final int compareSchemes(final String schemeId1, final String schemeId2) {
 		if (activeSchemeIds == null) {
 			return 0;
 		}
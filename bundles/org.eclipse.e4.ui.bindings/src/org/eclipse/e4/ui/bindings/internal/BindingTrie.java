@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.bindings.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.jface.bindings.Binding;
+import org.eclipse.jface.bindings.Trigger;
+import org.eclipse.jface.bindings.TriggerSequence;
+
+/**
+ * An immutable trie of the active bindings of the tables of a context set,
+ * keyed by the triggers of their sequences. Each node knows the binding which
+ * is the perfect match for its sequence, so that looking up a sequence only
+ * walks its triggers.
+ * <p>
+ * The trie remembers the modification counts of the tables it was compiled
+ * from and the version of the manager, which changes when tables are added or
+ * removed or the active schemes change, so that it can tell when it is stale.
+ * </p>
+ */
+final class BindingTrie {
+
+	private static final class Node {
+		Map<Trigger, Node> children;
+		Binding perfectMatch;
+		boolean partialMatch;
+		// only used while compiling
+		boolean mostActive;
+
+		Node getChild(Trigger trigger) {
+			return children == null ? null : children.get(trigger);
+		}
+
+		Node getOrCreateChild(Trigger trigger) {
+			if (children == null) {
+				children = new HashMap<>(4);
+			}
+			return children.computeIfAbsent(trigger, t -> new Node());
+		}
+	}
+
+	private final Node root = new Node();
+
+	private final BindingTable[] tables;
+
+	private final int[] modificationCounts;
+
+	private final int managerVersion;
+
+	/**
+	 * @param tables
+	 *            the tables of the contexts of the set, from the most specific
+	 *            context to the least specific one, with <code>null</code> for
+	 *            contexts without table
+	 * @param manager
+	 *            the manager, which decides between bindings of different
+	 *            schemes
+	 * @param managerVersion
+	 *            the current version of the manager
+	 */
+	BindingTrie(BindingTable[] tables, BindingTableManager manager, int managerVersion) {
+		this.tables = tables;
+		this.managerVersion = managerVersion;
+		modificationCounts = new int[tables.length];
+		for (int i = 0; i < tables.length; i++) {
+			BindingTable table = tables[i];
+			if (table == null) {
+				continue;
+			}
+			modificationCounts[i] = table.getModificationCount();
+			for (Binding binding : table.getBindings()) {
+				add(binding, manager);
+			}
+		}
+	}
+
+	private void add(Binding binding, BindingTableManager manager) {
+		Trigger[] triggers = binding.getTriggerSequence().getTriggers();
+		Node node = root;
+		for (int i = 0; i < triggers.length; i++) {
+			if (i > 0) {
+				node.partialMatch = true;
+			}
+			node = node.getOrCreateChild(triggers[i]);
+		}
+		// the tables are added from the most specific context, like the lookup
+		// in BindingTableManager used to walk them
+		if (node.mostActive) {
+			return;
+		}
+		if (manager.isMostActiveScheme(binding)) {
+			node.perfectMatch = binding;
+			node.mostActive = true;
+		} else if (node.perfectMatch == null
+				|| manager.compareSchemes(node.perfectMatch.getSchemeId(), binding.getSchemeId()) > 0) {
+			node.perfectMatch = binding;
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the bindings of the tables or the manager
+	 *         changed since the trie was compiled
+	 */
+	boolean isStale(int currentManagerVersion) {
+		if (managerVersion != currentManagerVersion) {
+			return true;
+		}
+		for (int i = 0; i < tables.length; i++) {
+			BindingTable table = tables[i];
+			if (table != null && table.getModificationCount() != modificationCounts[i]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Node find(TriggerSequence sequence) {
+		Node node = root;
+		for (Trigger trigger : sequence.getTriggers()) {
+			node = node.getChild(trigger);
+			if (node == null) {
+				return null;
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * @return the binding of the sequence or <code>null</code>
+	 */
+	Binding getPerfectMatch(TriggerSequence sequence) {
+		Node node = find(sequence);
+		return node == null ? null : node.perfectMatch;
+	}
+
+	/**
+	 * @return <code>true</code> if the sequence is the prefix of the sequence of
+	 *         a binding
+	 */
+	boolean isPartialMatch(TriggerSequence sequence) {
+		Node node = find(sequence);
+		return node != null && node.partialMatch;
+	}
+}
@@ -529,20 +529,6 @@ public class KeyBindingDispatcher {
 		return getBindingService().isPartialMatch(keySequence);
 	}
 
-	/**
-	 * Determines whether the key sequence perfectly matches on of the active key
-	 * bindings.
-	 *
-	 * @param keySequence
-	 *            The key sequence to check for a perfect match; must never be
-	 *            <code>null</code>.
-	 * @return <code>true</code> if there is a perfect match; <code>false</code>
-	 *         otherwise.
-	 */
-	private boolean isUniqueMatch(KeySequence keySequence, IEclipseContext context2) {
-		return getExecutableMatches(keySequence, context2).size() == 1;
-	}
-
 	private Collection<Binding> getExecutableMatches(KeySequence keySequence, IEclipseContext context2) {
 		Binding binding = getBindingService().getPerfectMatch(keySequence);
 		if (binding != null) {
@@ -573,9 +559,11 @@ public class KeyBindingDispatcher {
 						logger.trace("Partial match: " + sequenceAfterKeyStroke + " in " + describe(context)); //$NON-NLS-1$ //$NON-NLS-2$
 					}
 					return true;
+				}
 
-				} else if (isUniqueMatch(sequenceAfterKeyStroke, staticContext)) {
-					Collection<Binding> executableMatches = getExecutableMatches(sequenceAfterKeyStroke, staticContext);
+				// a unique match is executed, other matches are errors
+				Collection<Binding> executableMatches = getExecutableMatches(sequenceAfterKeyStroke, staticContext);
+				if (executableMatches.size() == 1) {
 					final ParameterizedCommand cmd = executableMatches.iterator().next().getParameterizedCommand();
 					try {
 						return executeCommand(cmd, event) || !sequenceBeforeKeyStroke.isEmpty();
@@ -601,7 +589,7 @@ public class KeyBindingDispatcher {
 					return false;
 
 				} else {
-					Collection<Binding> errorMatches = getExecutableMatches(sequenceAfterKeyStroke, staticContext);
+					Collection<Binding> errorMatches = executableMatches;
 					if (!errorMatches.isEmpty()) {
 						errorSequence = sequenceAfterKeyStroke;
 						errorMatch = errorMatches;
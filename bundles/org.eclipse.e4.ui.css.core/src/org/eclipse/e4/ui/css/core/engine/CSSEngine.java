@@ -146,6 +146,20 @@ public interface CSSEngine {
 	 */
 	void applyStyles(Object node, boolean applyStylesToChildNodes, boolean computeDefaultStyle);
 
+	/**
+	 * Mark the Object node as needing its styles to be applied again, because
+	 * its CSS class, id, attributes or pseudo classes changed. If
+	 * <code>applyStylesToChildNodes</code> is true, the child nodes are
+	 * restyled too. Engines which can defer styling coalesce the marked nodes
+	 * and only apply the properties whose values changed, the default
+	 * implementation applies the styles right away.
+	 *
+	 * @since 0.14.500
+	 */
+	default void markDirty(Object node, boolean applyStylesToChildNodes) {
+		applyStyles(node, applyStylesToChildNodes);
+	}
+
 	/*--------------- Apply style declaration -----------------*/
 
 	/**
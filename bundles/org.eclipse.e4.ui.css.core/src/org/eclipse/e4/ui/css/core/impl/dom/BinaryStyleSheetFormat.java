@@ -0,0 +1,512 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.e4.ui.css.core.dom.CSSProperty;
+import org.eclipse.e4.ui.css.core.dom.CSSPropertyList;
+import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.CombinatorCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionFactory;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.ElementSelector;
+import org.w3c.css.sac.LangCondition;
+import org.w3c.css.sac.LexicalUnit;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorFactory;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SiblingSelector;
+import org.w3c.css.sac.SimpleSelector;
+import org.w3c.dom.css.CSSPrimitiveValue;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSRuleList;
+import org.w3c.dom.css.CSSStyleRule;
+import org.w3c.dom.css.CSSStyleSheet;
+import org.w3c.dom.css.CSSValue;
+
+/**
+ * Binary form of the rules of a parsed style sheet, which can be read back
+ * without parsing the style sheet again. The selectors are written as the SAC
+ * selector and condition trees and rebuilt with the factories of the parser,
+ * the property values are written as the lexical units the parser produced,
+ * so colors are read back as their resolved RGB components.
+ * <p>
+ * Only the rules and values produced by the parser of the engine are
+ * supported, writing a style sheet with other rules or values fails with an
+ * {@link IOException}.
+ * </p>
+ */
+public final class BinaryStyleSheetFormat {
+
+	/**
+	 * The version of the format, to change when the written data changes.
+	 */
+	public static final int VERSION = 1;
+
+	private static final byte VALUE_MEASURE = 0;
+
+	private static final byte VALUE_RGB_COLOR = 1;
+
+	private static final byte VALUE_LIST = 2;
+
+	private BinaryStyleSheetFormat() {
+	}
+
+	/**
+	 * Writes the rules of the style sheet.
+	 *
+	 * @throws IOException
+	 *             if the style sheet contains rules or values which cannot be
+	 *             written
+	 */
+	public static void write(CSSStyleSheet styleSheet, DataOutput out) throws IOException {
+		CSSRuleList rules = styleSheet.getCssRules();
+		int length = rules.getLength();
+		out.writeInt(length);
+		for (int i = 0; i < length; i++) {
+			CSSRule rule = rules.item(i);
+			out.writeShort(rule.getType());
+			switch (rule.getType()) {
+			case CSSRule.STYLE_RULE:
+				writeStyleRule((CSSStyleRule) rule, out);
+				break;
+			case CSSRule.UNKNOWN_RULE:
+				break;
+			default:
+				throw new IOException("Unsupported rule: " + rule.getType()); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Reads the rules of a style sheet written with
+	 * {@link #write(CSSStyleSheet, DataOutput)}.
+	 *
+	 * @param selectorFactory
+	 *            the factory creating the selectors of the rules
+	 * @param conditionFactory
+	 *            the factory creating the conditions of the selectors
+	 */
+	public static CSSStyleSheetImpl read(DataInput in, SelectorFactory selectorFactory,
+			ConditionFactory conditionFactory) throws IOException {
+		CSSStyleSheetImpl styleSheet = new CSSStyleSheetImpl();
+		CSSRuleListImpl rules = new CSSRuleListImpl();
+		int length = in.readInt();
+		for (int i = 0; i < length; i++) {
+			short type = in.readShort();
+			switch (type) {
+			case CSSRule.STYLE_RULE:
+				rules.add(readStyleRule(styleSheet, in, selectorFactory, conditionFactory));
+				break;
+			case CSSRule.UNKNOWN_RULE:
+				rules.add(new CSSUnknownRuleImpl(styleSheet, null, null));
+				break;
+			default:
+				throw new IOException("Unsupported rule: " + type); //$NON-NLS-1$
+			}
+		}
+		styleSheet.setRuleList(rules);
+		return styleSheet;
+	}
+
+	private static void writeStyleRule(CSSStyleRule rule, DataOutput out) throws IOException {
+		if (!(rule instanceof ExtendedCSSRule) || !(rule.getStyle() instanceof CSSStyleDeclarationImpl)) {
+			throw new IOException("Unsupported rule: " + rule); //$NON-NLS-1$
+		}
+		SelectorList selectors = ((ExtendedCSSRule) rule).getSelectorList();
+		out.writeInt(selectors.getLength());
+		for (int i = 0; i < selectors.getLength(); i++) {
+			writeSelector(selectors.item(i), out);
+		}
+		CSSPropertyList properties = ((CSSStyleDeclarationImpl) rule.getStyle()).getCSSPropertyList();
+		out.writeInt(properties.getLength());
+		for (int i = 0; i < properties.getLength(); i++) {
+			CSSProperty property = properties.item(i);
+			out.writeUTF(property.getName());
+			out.writeBoolean(property.isImportant());
+			writeValue(property.getValue(), out);
+		}
+	}
+
+	private static CSSStyleRuleImpl readStyleRule(CSSStyleSheet styleSheet, DataInput in,
+			SelectorFactory selectorFactory, ConditionFactory conditionFactory) throws IOException {
+		int length = in.readInt();
+		Selector[] selectors = new Selector[length];
+		for (int i = 0; i < length; i++) {
+			selectors[i] = readSelector(in, selectorFactory, conditionFactory);
+		}
+		CSSStyleRuleImpl rule = new CSSStyleRuleImpl(styleSheet, null, new SelectorList() {
+			@Override
+			public int getLength() {
+				return selectors.length;
+			}
+
+			@Override
+			public Selector item(int index) {
+				return index < selectors.length ? selectors[index] : null;
+			}
+		});
+		CSSStyleDeclarationImpl style = new CSSStyleDeclarationImpl(rule);
+		int properties = in.readInt();
+		for (int i = 0; i < properties; i++) {
+			String name = in.readUTF();
+			boolean important = in.readBoolean();
+			style.addProperty(new CSSPropertyImpl(name, readValue(in), important));
+		}
+		rule.setStyle(style);
+		return rule;
+	}
+
+	/*--------------- Selectors -----------------*/
+
+	private static void writeSelector(Selector selector, DataOutput out) throws IOException {
+		out.writeShort(selector.getSelectorType());
+		switch (selector.getSelectorType()) {
+		case Selector.SAC_CONDITIONAL_SELECTOR:
+			ConditionalSelector conditional = (ConditionalSelector) selector;
+			writeSelector(conditional.getSimpleSelector(), out);
+			writeCondition(conditional.getCondition(), out);
+			break;
+		case Selector.SAC_ELEMENT_NODE_SELECTOR:
+		case Selector.SAC_PSEUDO_ELEMENT_SELECTOR:
+			ElementSelector element = (ElementSelector) selector;
+			writeString(element.getNamespaceURI(), out);
+			writeString(element.getLocalName(), out);
+			break;
+		case Selector.SAC_DESCENDANT_SELECTOR:
+		case Selector.SAC_CHILD_SELECTOR:
+			DescendantSelector descendant = (DescendantSelector) selector;
+			writeSelector(descendant.getAncestorSelector(), out);
+			writeSelector(descendant.getSimpleSelector(), out);
+			break;
+		case Selector.SAC_DIRECT_ADJACENT_SELECTOR:
+			SiblingSelector sibling = (SiblingSelector) selector;
+			out.writeShort(sibling.getNodeType());
+			writeSelector(sibling.getSelector(), out);
+			writeSelector(sibling.getSiblingSelector(), out);
+			break;
+		default:
+			throw new IOException("Unsupported selector: " + selector); //$NON-NLS-1$
+		}
+	}
+
+	private static Selector readSelector(DataInput in, SelectorFactory selectorFactory,
+			ConditionFactory conditionFactory) throws IOException {
+		short type = in.readShort();
+		switch (type) {
+		case Selector.SAC_CONDITIONAL_SELECTOR:
+			SimpleSelector simple = (SimpleSelector) readSelector(in, selectorFactory, conditionFactory);
+			return selectorFactory.createConditionalSelector(simple, readCondition(in, conditionFactory));
+		case Selector.SAC_ELEMENT_NODE_SELECTOR:
+			return selectorFactory.createElementSelector(readString(in), readString(in));
+		case Selector.SAC_PSEUDO_ELEMENT_SELECTOR:
+			return selectorFactory.createPseudoElementSelector(readString(in), readString(in));
+		case Selector.SAC_DESCENDANT_SELECTOR:
+			return selectorFactory.createDescendantSelector(readSelector(in, selectorFactory, conditionFactory),
+					(SimpleSelector) readSelector(in, selectorFactory, conditionFactory));
+		case Selector.SAC_CHILD_SELECTOR:
+			return selectorFactory.createChildSelector(readSelector(in, selectorFactory, conditionFactory),
+					(SimpleSelector) readSelector(in, selectorFactory, conditionFactory));
+		case Selector.SAC_DIRECT_ADJACENT_SELECTOR:
+			short nodeType = in.readShort();
+			return selectorFactory.createDirectAdjacentSelector(nodeType,
+					readSelector(in, selectorFactory, conditionFactory),
+					(SimpleSelector) readSelector(in, selectorFactory, conditionFactory));
+		default:
+			throw new IOException("Unsupported selector: " + type); //$NON-NLS-1$
+		}
+	}
+
+	private static void writeCondition(Condition condition, DataOutput out) throws IOException {
+		out.writeShort(condition.getConditionType());
+		switch (condition.getConditionType()) {
+		case Condition.SAC_AND_CONDITION:
+			CombinatorCondition and = (CombinatorCondition) condition;
+			writeCondition(and.getFirstCondition(), out);
+			writeCondition(and.getSecondCondition(), out);
+			break;
+		case Condition.SAC_ID_CONDITION:
+		case Condition.SAC_CLASS_CONDITION:
+		case Condition.SAC_PSEUDO_CLASS_CONDITION:
+		case Condition.SAC_ATTRIBUTE_CONDITION:
+		case Condition.SAC_ONE_OF_ATTRIBUTE_CONDITION:
+		case Condition.SAC_BEGIN_HYPHEN_ATTRIBUTE_CONDITION:
+			AttributeCondition attribute = (AttributeCondition) condition;
+			writeString(attribute.getLocalName(), out);
+			writeString(attribute.getNamespaceURI(), out);
+			out.writeBoolean(attribute.getSpecified());
+			writeString(attribute.getValue(), out);
+			break;
+		case Condition.SAC_LANG_CONDITION:
+			writeString(((LangCondition) condition).getLang(), out);
+			break;
+		default:
+			throw new IOException("Unsupported condition: " + condition); //$NON-NLS-1$
+		}
+	}
+
+	private static Condition readCondition(DataInput in, ConditionFactory conditionFactory) throws IOException {
+		short type = in.readShort();
+		if (type == Condition.SAC_AND_CONDITION) {
+			return conditionFactory.createAndCondition(readCondition(in, conditionFactory),
+					readCondition(in, conditionFactory));
+		}
+		if (type == Condition.SAC_LANG_CONDITION) {
+			return conditionFactory.createLangCondition(readString(in));
+		}
+		String localName = readString(in);
+		String namespaceURI = readString(in);
+		boolean specified = in.readBoolean();
+		String value = readString(in);
+		switch (type) {
+		case Condition.SAC_ID_CONDITION:
+			return conditionFactory.createIdCondition(value);
+		case Condition.SAC_CLASS_CONDITION:
+			return conditionFactory.createClassCondition(namespaceURI, value);
+		case Condition.SAC_PSEUDO_CLASS_CONDITION:
+			return conditionFactory.createPseudoClassCondition(namespaceURI, value);
+		case Condition.SAC_ATTRIBUTE_CONDITION:
+			return conditionFactory.createAttributeCondition(localName, namespaceURI, specified, value);
+		case Condition.SAC_ONE_OF_ATTRIBUTE_CONDITION:
+			return conditionFactory.createOneOfAttributeCondition(localName, namespaceURI, specified, value);
+		case Condition.SAC_BEGIN_HYPHEN_ATTRIBUTE_CONDITION:
+			return conditionFactory.createBeginHyphenAttributeCondition(localName, namespaceURI, specified, value);
+		default:
+			throw new IOException("Unsupported condition: " + type); //$NON-NLS-1$
+		}
+	}
+
+	/*--------------- Values -----------------*/
+
+	private static void writeValue(CSSValue value, DataOutput out) throws IOException {
+		if (value instanceof CSSValueListImpl) {
+			List<CSSValue> values = ((CSSValueListImpl) value).values;
+			out.writeByte(VALUE_LIST);
+			out.writeInt(values.size());
+			for (CSSValue item : values) {
+				writeValue(item, out);
+			}
+		} else if (value instanceof RGBColorImpl) {
+			RGBColorImpl color = (RGBColorImpl) value;
+			out.writeByte(VALUE_RGB_COLOR);
+			writeValue(color.getRed(), out);
+			writeValue(color.getGreen(), out);
+			writeValue(color.getBlue(), out);
+		} else if (value instanceof Measure) {
+			out.writeByte(VALUE_MEASURE);
+			writeLexicalUnit(((Measure) value).value, out);
+		} else {
+			throw new IOException("Unsupported value: " + value); //$NON-NLS-1$
+		}
+	}
+
+	private static CSSValue readValue(DataInput in) throws IOException {
+		byte kind = in.readByte();
+		switch (kind) {
+		case VALUE_LIST:
+			int length = in.readInt();
+			List<CSSValue> values = new ArrayList<>(length);
+			for (int i = 0; i < length; i++) {
+				values.add(readValue(in));
+			}
+			return new CSSValueListImpl(values);
+		case VALUE_RGB_COLOR:
+			return new RGBColorImpl((CSSPrimitiveValue) readValue(in), (CSSPrimitiveValue) readValue(in),
+					(CSSPrimitiveValue) readValue(in));
+		case VALUE_MEASURE:
+			return new Measure(readLexicalUnit(in));
+		default:
+			throw new IOException("Unsupported value: " + kind); //$NON-NLS-1$
+		}
+	}
+
+	private static void writeLexicalUnit(LexicalUnit unit, DataOutput out) throws IOException {
+		short type = unit.getLexicalUnitType();
+		out.writeShort(type);
+		switch (type) {
+		case LexicalUnit.SAC_INTEGER:
+			out.writeInt(unit.getIntegerValue());
+			break;
+		case LexicalUnit.SAC_REAL:
+			out.writeFloat(unit.getFloatValue());
+			break;
+		case LexicalUnit.SAC_PERCENTAGE:
+		case LexicalUnit.SAC_PIXEL:
+		case LexicalUnit.SAC_CENTIMETER:
+		case LexicalUnit.SAC_MILLIMETER:
+		case LexicalUnit.SAC_EM:
+		case LexicalUnit.SAC_EX:
+		case LexicalUnit.SAC_PICA:
+		case LexicalUnit.SAC_POINT:
+		case LexicalUnit.SAC_INCH:
+		case LexicalUnit.SAC_DEGREE:
+		case LexicalUnit.SAC_GRADIAN:
+		case LexicalUnit.SAC_RADIAN:
+		case LexicalUnit.SAC_MILLISECOND:
+		case LexicalUnit.SAC_SECOND:
+		case LexicalUnit.SAC_HERTZ:
+		case LexicalUnit.SAC_KILOHERTZ:
+		case LexicalUnit.SAC_DIMENSION:
+			out.writeFloat(unit.getFloatValue());
+			writeString(unit.getDimensionUnitText(), out);
+			break;
+		case LexicalUnit.SAC_IDENT:
+		case LexicalUnit.SAC_STRING_VALUE:
+		case LexicalUnit.SAC_URI:
+		case LexicalUnit.SAC_ATTR:
+			writeString(unit.getStringValue(), out);
+			break;
+		case LexicalUnit.SAC_OPERATOR_COMMA:
+		case LexicalUnit.SAC_OPERATOR_SLASH:
+		case LexicalUnit.SAC_INHERIT:
+			break;
+		default:
+			throw new IOException("Unsupported lexical unit: " + type); //$NON-NLS-1$
+		}
+	}
+
+	private static LexicalUnit readLexicalUnit(DataInput in) throws IOException {
+		short type = in.readShort();
+		switch (type) {
+		case LexicalUnit.SAC_INTEGER:
+			return new StoredLexicalUnit(type, in.readInt(), 0, null, null);
+		case LexicalUnit.SAC_REAL:
+			return new StoredLexicalUnit(type, 0, in.readFloat(), null, null);
+		case LexicalUnit.SAC_PERCENTAGE:
+		case LexicalUnit.SAC_PIXEL:
+		case LexicalUnit.SAC_CENTIMETER:
+		case LexicalUnit.SAC_MILLIMETER:
+		case LexicalUnit.SAC_EM:
+		case LexicalUnit.SAC_EX:
+		case LexicalUnit.SAC_PICA:
+		case LexicalUnit.SAC_POINT:
+		case LexicalUnit.SAC_INCH:
+		case LexicalUnit.SAC_DEGREE:
+		case LexicalUnit.SAC_GRADIAN:
+		case LexicalUnit.SAC_RADIAN:
+		case LexicalUnit.SAC_MILLISECOND:
+		case LexicalUnit.SAC_SECOND:
+		case LexicalUnit.SAC_HERTZ:
+		case LexicalUnit.SAC_KILOHERTZ:
+		case LexicalUnit.SAC_DIMENSION:
+			float value = in.readFloat();
+			return new StoredLexicalUnit(type, 0, value, readString(in), null);
+		case LexicalUnit.SAC_IDENT:
+		case LexicalUnit.SAC_STRING_VALUE:
+		case LexicalUnit.SAC_URI:
+		case LexicalUnit.SAC_ATTR:
+			return new StoredLexicalUnit(type, 0, 0, null, readString(in));
+		case LexicalUnit.SAC_OPERATOR_COMMA:
+		case LexicalUnit.SAC_OPERATOR_SLASH:
+		case LexicalUnit.SAC_INHERIT:
+			return new StoredLexicalUnit(type, 0, 0, null, null);
+		default:
+			throw new IOException("Unsupported lexical unit: " + type); //$NON-NLS-1$
+		}
+	}
+
+	private static void writeString(String value, DataOutput out) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	/**
+	 * A lexical unit read back, the values are only accessed one at a time by
+	 * {@link Measure}.
+	 */
+	private static final class StoredLexicalUnit implements LexicalUnit {
+
+		private final short type;
+
+		private final int integerValue;
+
+		private final float floatValue;
+
+		private final String dimensionUnitText;
+
+		private final String stringValue;
+
+		StoredLexicalUnit(short type, int integerValue, float floatValue, String dimensionUnitText,
+				String stringValue) {
+			this.type = type;
+			this.integerValue = integerValue;
+			this.floatValue = floatValue;
+			this.dimensionUnitText = dimensionUnitText;
+			this.stringValue = stringValue;
+		}
+
+		@Override
+		public short getLexicalUnitType() {
+			return type;
+		}
+
+		@Override
+		public LexicalUnit getNextLexicalUnit() {
+			return null;
+		}
+
+		@Override
+		public LexicalUnit getPreviousLexicalUnit() {
+			return null;
+		}
+
+		@Override
+		public int getIntegerValue() {
+			return integerValue;
+		}
+
+		@Override
+		public float getFloatValue() {
+			return type == SAC_INTEGER ? integerValue : floatValue;
+		}
+
+		@Override
+		public String getDimensionUnitText() {
+			return dimensionUnitText;
+		}
+
+		@Override
+		public String getFunctionName() {
+			return null;
+		}
+
+		@Override
+		public LexicalUnit getParameters() {
+			return null;
+		}
+
+		@Override
+		public String getStringValue() {
+			return stringValue;
+		}
+
+		@Override
+		public LexicalUnit getSubValues() {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.impl.dom.StyleRuleIndex.IndexedSelector;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * The selectors of a {@link StyleRuleIndex} which matched an element, together
+ * with the state of the element they were matched against: its classes, id and
+ * pseudo classes, and the types, classes and ids of its ancestors. When this
+ * state changes, the matched rules are no longer valid and have to be computed
+ * again.
+ * <p>
+ * The selectors which test other state, like attributes, are only remembered
+ * as candidates and are matched again each time.
+ * </p>
+ */
+final class MatchedRules {
+
+	private static final String[] NO_STRINGS = new String[0];
+
+	/** The selectors which can match the element, in rule order */
+	final IndexedSelector[] candidates;
+
+	/** The candidates that are not volatile and matched */
+	private final BitSet matched;
+
+	private final String cssClass;
+
+	private final String cssId;
+
+	private final String[] pseudoClasses;
+
+	/** Two bits per pseudo class: instance of and static instance */
+	private final BitSet pseudoStates;
+
+	/** Type, class and id of each ancestor, or null if they are not tested */
+	private final String[] ancestors;
+
+	private MatchedRules(Element element, IndexedSelector[] candidates, BitSet matched, String[] pseudoClasses,
+			boolean withAncestors) {
+		this.candidates = candidates;
+		this.matched = matched;
+		this.cssClass = StyleRuleIndex.getClass(element);
+		this.cssId = StyleRuleIndex.getId(element);
+		this.pseudoClasses = pseudoClasses;
+		this.pseudoStates = getPseudoStates(element, pseudoClasses);
+		this.ancestors = withAncestors ? getAncestors(element) : null;
+	}
+
+	/**
+	 * Matches the element against the candidate selectors of the index.
+	 */
+	static MatchedRules match(StyleRuleIndex index, Element element, String pseudoElt) {
+		IndexedSelector[] candidates = index.getCandidates(element);
+		BitSet matched = new BitSet(candidates.length);
+		Set<String> pseudoClasses = null;
+		boolean withAncestors = false;
+		Node[] hierarchy = null;
+		for (int i = 0; i < candidates.length; i++) {
+			IndexedSelector candidate = candidates[i];
+			if (candidate.isVolatile) {
+				continue;
+			}
+			if (candidate.needsHierarchy && !withAncestors) {
+				withAncestors = true;
+				hierarchy = getHierarchy(element);
+			}
+			if (candidate.pseudoClasses.length > 0) {
+				if (pseudoClasses == null) {
+					pseudoClasses = new LinkedHashSet<>();
+				}
+				for (String pseudoClass : candidate.pseudoClasses) {
+					pseudoClasses.add(pseudoClass);
+				}
+			}
+			if (candidate.selector.match(element, hierarchy, 0, pseudoElt)) {
+				matched.set(i);
+			}
+		}
+		return new MatchedRules(element, candidates, matched,
+				pseudoClasses == null ? NO_STRINGS : pseudoClasses.toArray(NO_STRINGS), withAncestors);
+	}
+
+	/**
+	 * @return <code>true</code> if the non volatile candidate at the given index
+	 *         matched the element
+	 */
+	boolean matched(int index) {
+		return matched.get(index);
+	}
+
+	/**
+	 * @return <code>true</code> if the state of the element and its ancestors
+	 *         is the same as when the rules were matched
+	 */
+	boolean isValid(Element element) {
+		if (!Objects.equals(cssClass, StyleRuleIndex.getClass(element))
+				|| !Objects.equals(cssId, StyleRuleIndex.getId(element))) {
+			return false;
+		}
+		if (pseudoClasses.length > 0 && !pseudoStates.equals(getPseudoStates(element, pseudoClasses))) {
+			return false;
+		}
+		if (ancestors == null) {
+			return true;
+		}
+		int i = 0;
+		for (Node node = element.getParentNode(); node != null; node = node.getParentNode()) {
+			if (i == ancestors.length) {
+				return false;
+			}
+			if (node instanceof Element) {
+				Element ancestor = (Element) node;
+				if (!Objects.equals(ancestors[i], StyleRuleIndex.getTypeName(ancestor))
+						|| !Objects.equals(ancestors[i + 1], StyleRuleIndex.getClass(ancestor))
+						|| !Objects.equals(ancestors[i + 2], StyleRuleIndex.getId(ancestor))) {
+					return false;
+				}
+			} else if (!Objects.equals(ancestors[i], node.getNodeName()) || ancestors[i + 1] != null
+					|| ancestors[i + 2] != null) {
+				return false;
+			}
+			i += 3;
+		}
+		return i == ancestors.length;
+	}
+
+	private static BitSet getPseudoStates(Element element, String[] pseudoClasses) {
+		BitSet states = new BitSet(pseudoClasses.length * 2);
+		if (element instanceof CSSStylableElement) {
+			CSSStylableElement stylable = (CSSStylableElement) element;
+			for (int i = 0; i < pseudoClasses.length; i++) {
+				states.set(2 * i, stylable.isPseudoInstanceOf(pseudoClasses[i]));
+				states.set(2 * i + 1, stylable.isStaticPseudoInstance(pseudoClasses[i]));
+			}
+		}
+		return states;
+	}
+
+	private static String[] getAncestors(Element element) {
+		List<String> ancestors = new ArrayList<>();
+		for (Node node = element.getParentNode(); node != null; node = node.getParentNode()) {
+			if (node instanceof Element) {
+				Element ancestor = (Element) node;
+				ancestors.add(StyleRuleIndex.getTypeName(ancestor));
+				ancestors.add(StyleRuleIndex.getClass(ancestor));
+				ancestors.add(StyleRuleIndex.getId(ancestor));
+			} else {
+				ancestors.add(node.getNodeName());
+				ancestors.add(null);
+				ancestors.add(null);
+			}
+		}
+		return ancestors.toArray(NO_STRINGS);
+	}
+
+	/**
+	 * @return the ancestors of the element, as expected by
+	 *         {@link org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector#match(Element, Node[], int, String)},
+	 *         or <code>null</code> if it has no parent
+	 */
+	static Node[] getHierarchy(Element element) {
+		Node parent = element.getParentNode();
+		if (parent == null) {
+			return null;
+		}
+		List<Node> hierarchyList = new ArrayList<>();
+		for (Node n = parent; n != null; n = n.getParentNode()) {
+			hierarchyList.add(n);
+		}
+		return hierarchyList.toArray(new Node[hierarchyList.size()]);
+	}
+}
@@ -35,6 +35,12 @@ public class RGBColorImpl extends CSSValueImpl implements RGBColor {
 		blue = new Measure(nextUnit);
 	}
 
+	RGBColorImpl(CSSPrimitiveValue red, CSSPrimitiveValue green, CSSPrimitiveValue blue) {
+		this.red = red;
+		this.green = green;
+		this.blue = blue;
+	}
+
 	@Override
 	public CSSPrimitiveValue getRed() {
 		return red;
@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSAndConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSIdConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSPseudoClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.ElementSelector;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.CSSStyleRule;
+
+/**
+ * Index of the selectors of a list of CSS style rules, bucketed by the id, the
+ * class or the type of the rightmost simple selector, so that an element only
+ * has to be matched against the selectors which can apply to it.
+ * <p>
+ * The index also tells which selectors only depend on the element's type, id,
+ * classes and pseudo classes and on those of its ancestors. The result of
+ * matching these selectors can be reused as long as this state is unchanged,
+ * see {@link MatchedRules}.
+ * </p>
+ */
+final class StyleRuleIndex {
+
+	private static final IndexedSelector[] NO_SELECTORS = new IndexedSelector[0];
+
+	private static final String[] NO_STRINGS = new String[0];
+
+	/**
+	 * A selector of a style rule, with its position in the combined rule list.
+	 */
+	static final class IndexedSelector {
+
+		final ExtendedSelector selector;
+
+		final CSSStyleDeclaration style;
+
+		final int order;
+
+		/** The selector tests the ancestors of the element */
+		final boolean needsHierarchy;
+
+		/**
+		 * The selector tests state not covered by {@link MatchedRules}, like
+		 * attributes, siblings or pseudo classes of ancestors
+		 */
+		final boolean isVolatile;
+
+		/** The pseudo classes tested on the element itself */
+		final String[] pseudoClasses;
+
+		IndexedSelector(ExtendedSelector selector, CSSStyleDeclaration style, int order, boolean needsHierarchy,
+				boolean isVolatile, String[] pseudoClasses) {
+			this.selector = selector;
+			this.style = style;
+			this.order = order;
+			this.needsHierarchy = needsHierarchy;
+			this.isVolatile = isVolatile;
+			this.pseudoClasses = pseudoClasses;
+		}
+	}
+
+	/**
+	 * What the analysis of a selector found out about it.
+	 */
+	private static final class Analysis {
+		String id;
+		String className;
+		String type;
+		boolean needsHierarchy;
+		boolean isVolatile;
+		Set<String> pseudoClasses;
+	}
+
+	private final Map<String, IndexedSelector[]> byId = new HashMap<>();
+
+	private final Map<String, IndexedSelector[]> byClass = new HashMap<>();
+
+	private final Map<String, IndexedSelector[]> byType = new HashMap<>();
+
+	private IndexedSelector[] universal = NO_SELECTORS;
+
+	private int size;
+
+	/**
+	 * Creates the index of the style rules in the given list.
+	 */
+	StyleRuleIndex(List<CSSRule> rules) {
+		Map<String, List<IndexedSelector>> ids = new HashMap<>();
+		Map<String, List<IndexedSelector>> classes = new HashMap<>();
+		Map<String, List<IndexedSelector>> types = new HashMap<>();
+		List<IndexedSelector> others = new ArrayList<>();
+		for (CSSRule rule : rules) {
+			if (rule.getType() != CSSRule.STYLE_RULE || !(rule instanceof ExtendedCSSRule)) {
+				continue; // we only handle the CSSRule.STYLE_RULE and ExtendedCSSRule case
+			}
+			CSSStyleDeclaration style = ((CSSStyleRule) rule).getStyle();
+			SelectorList selectorList = ((ExtendedCSSRule) rule).getSelectorList();
+			int l = selectorList.getLength();
+			for (int j = 0; j < l; j++) {
+				Selector selector = selectorList.item(j);
+				if (!(selector instanceof ExtendedSelector)) {
+					continue;
+				}
+				Analysis analysis = new Analysis();
+				analyze(selector, true, analysis);
+				String[] pseudoClasses = analysis.pseudoClasses == null ? NO_STRINGS
+						: analysis.pseudoClasses.toArray(NO_STRINGS);
+				IndexedSelector indexed = new IndexedSelector((ExtendedSelector) selector, style, size++,
+						analysis.needsHierarchy, analysis.isVolatile, pseudoClasses);
+				if (analysis.id != null) {
+					ids.computeIfAbsent(analysis.id, k -> new ArrayList<>()).add(indexed);
+				} else if (analysis.className != null) {
+					classes.computeIfAbsent(analysis.className, k -> new ArrayList<>()).add(indexed);
+				} else if (analysis.type != null) {
+					types.computeIfAbsent(analysis.type, k -> new ArrayList<>()).add(indexed);
+				} else {
+					others.add(indexed);
+				}
+			}
+		}
+		ids.forEach((k, v) -> byId.put(k, v.toArray(NO_SELECTORS)));
+		classes.forEach((k, v) -> byClass.put(k, v.toArray(NO_SELECTORS)));
+		types.forEach((k, v) -> byType.put(k, v.toArray(NO_SELECTORS)));
+		universal = others.toArray(NO_SELECTORS);
+	}
+
+	/**
+	 * Analyzes a selector, the subject is the compound selector which is
+	 * matched against the element itself.
+	 */
+	private static void analyze(Selector selector, boolean subject, Analysis analysis) {
+		switch (selector.getSelectorType()) {
+		case Selector.SAC_CONDITIONAL_SELECTOR:
+			ConditionalSelector conditional = (ConditionalSelector) selector;
+			analyze(conditional.getSimpleSelector(), subject, analysis);
+			analyze(conditional.getCondition(), subject, analysis);
+			break;
+		case Selector.SAC_DESCENDANT_SELECTOR:
+		case Selector.SAC_CHILD_SELECTOR:
+			DescendantSelector descendant = (DescendantSelector) selector;
+			analysis.needsHierarchy = true;
+			analyze(descendant.getAncestorSelector(), false, analysis);
+			analyze(descendant.getSimpleSelector(), subject, analysis);
+			break;
+		case Selector.SAC_ELEMENT_NODE_SELECTOR:
+			if (subject) {
+				analysis.type = ((ElementSelector) selector).getLocalName();
+			}
+			break;
+		case Selector.SAC_PSEUDO_ELEMENT_SELECTOR:
+			// only depends on the pseudo element which is matched
+			break;
+		default:
+			// siblings are not covered by the matched rules
+			analysis.needsHierarchy = true;
+			analysis.isVolatile = true;
+			break;
+		}
+	}
+
+	private static void analyze(Condition condition, boolean subject, Analysis analysis) {
+		if (condition instanceof CSSAndConditionImpl) {
+			CSSAndConditionImpl and = (CSSAndConditionImpl) condition;
+			analyze(and.getFirstCondition(), subject, analysis);
+			analyze(and.getSecondCondition(), subject, analysis);
+		} else if (condition instanceof CSSIdConditionImpl) {
+			if (subject) {
+				analysis.id = ((AttributeCondition) condition).getValue();
+			}
+		} else if (condition instanceof CSSClassConditionImpl) {
+			if (subject && analysis.className == null) {
+				analysis.className = ((AttributeCondition) condition).getValue();
+			}
+		} else if (condition instanceof CSSPseudoClassConditionImpl && subject) {
+			if (analysis.pseudoClasses == null) {
+				analysis.pseudoClasses = new LinkedHashSet<>();
+			}
+			analysis.pseudoClasses.add(((AttributeCondition) condition).getValue());
+		} else {
+			analysis.isVolatile = true;
+		}
+	}
+
+	/**
+	 * Returns the selectors which can match the element, in the order of the
+	 * combined rule list.
+	 */
+	IndexedSelector[] getCandidates(Element element) {
+		List<IndexedSelector> candidates = new ArrayList<>();
+		String id = getId(element);
+		if (id != null) {
+			add(candidates, byId.get(id));
+		}
+		String cssClass = getClass(element);
+		if (cssClass != null) {
+			int length = cssClass.length();
+			int start = 0;
+			for (int i = 0; i <= length; i++) {
+				if (i == length || Character.isSpaceChar(cssClass.charAt(i))) {
+					if (i > start) {
+						add(candidates, byClass.get(cssClass.substring(start, i)));
+					}
+					start = i + 1;
+				}
+			}
+		}
+		add(candidates, byType.get(getTypeName(element)));
+		add(candidates, universal);
+		if (candidates.isEmpty()) {
+			return NO_SELECTORS;
+		}
+		candidates.sort(Comparator.comparingInt(s -> s.order));
+		List<IndexedSelector> unique = new ArrayList<>(candidates.size());
+		IndexedSelector previous = null;
+		for (IndexedSelector candidate : candidates) {
+			// an element can have the same class twice
+			if (candidate != previous) {
+				unique.add(candidate);
+			}
+			previous = candidate;
+		}
+		return unique.toArray(NO_SELECTORS);
+	}
+
+	private static void add(List<IndexedSelector> candidates, IndexedSelector[] selectors) {
+		if (selectors != null) {
+			for (IndexedSelector selector : selectors) {
+				candidates.add(selector);
+			}
+		}
+	}
+
+	/**
+	 * @return the type name matched by element selectors
+	 */
+	static String getTypeName(Element element) {
+		return element.getPrefix() == null ? element.getNodeName() : element.getLocalName();
+	}
+
+	/**
+	 * @return the classes matched by class conditions
+	 */
+	static String getClass(Element element) {
+		if (element instanceof CSSStylableElement) {
+			return ((CSSStylableElement) element).getCSSClass();
+		}
+		return element.getAttribute("class"); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the id matched by id conditions
+	 */
+	static String getId(Element element) {
+		if (element instanceof CSSStylableElement) {
+			return ((CSSStylableElement) element).getCSSId();
+		}
+		return element.getAttribute("id"); //$NON-NLS-1$
+	}
+}
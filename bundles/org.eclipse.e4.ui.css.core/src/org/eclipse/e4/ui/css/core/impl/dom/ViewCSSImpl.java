@@ -18,9 +18,14 @@
 package org.eclipse.e4.ui.css.core.impl.dom;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
 import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
 import org.eclipse.e4.ui.css.core.dom.ExtendedDocumentCSS;
+import org.eclipse.e4.ui.css.core.impl.dom.StyleRuleIndex.IndexedSelector;
 import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
 import org.w3c.css.sac.Selector;
 import org.w3c.css.sac.SelectorList;
@@ -47,6 +52,10 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	private boolean ruleCachingEnabled;
 	/** Cached state of combined CSS rules for the current stylesheets */
 	private List<CSSRule> currentCombinedRules;
+	/** Index of the selectors of the current combined CSS rules */
+	private StyleRuleIndex currentRuleIndex;
+	/** Rules matched by each element, per pseudo element */
+	private final Map<Element, Map<String, MatchedRules>> matchedRulesCache = new WeakHashMap<>();
 
 	/**
 	 * Creates a new ViewCSS.
@@ -73,7 +82,10 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	 */
 	@Override
 	public CSSStyleDeclaration getComputedStyle(Element elt, String pseudoElt) {
-		return getComputedStyle(getCombinedRules(), elt, pseudoElt);
+		if (!this.ruleCachingEnabled) {
+			return getComputedStyle(getCombinedRules(), elt, pseudoElt);
+		}
+		return getComputedStyle(getMatchedRules(elt, pseudoElt), elt, pseudoElt);
 	}
 
 	/**
@@ -111,17 +123,88 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 		return cssRules;
 	}
 
-	private CSSStyleDeclaration getComputedStyle(List<CSSRule> ruleList, Element elt, String pseudoElt) {
-		Node parent = elt.getParentNode();
+	/**
+	 * Retrieves the index of the selectors of the combined list of CSS rules. The
+	 * index is only kept as long as the combined rules are cached.
+	 *
+	 * @return the index of the CSS rules for all style sheets
+	 */
+	private StyleRuleIndex getRuleIndex() {
+		if (this.currentRuleIndex == null) {
+			this.currentRuleIndex = new StyleRuleIndex(getCombinedRules());
+			this.matchedRulesCache.clear();
+		}
+		return this.currentRuleIndex;
+	}
+
+	/**
+	 * Retrieves the rules matched by the element. The matched rules of stylable
+	 * elements are cached and reused until the classes, id or pseudo classes of
+	 * the element or its ancestors change.
+	 */
+	private MatchedRules getMatchedRules(Element elt, String pseudoElt) {
+		StyleRuleIndex index = getRuleIndex();
+		if (!(elt instanceof CSSStylableElement)) {
+			return MatchedRules.match(index, elt, pseudoElt);
+		}
+		Map<String, MatchedRules> matchedRulesByPseudoElt = matchedRulesCache.computeIfAbsent(elt,
+				e -> new HashMap<>(2));
+		MatchedRules matchedRules = matchedRulesByPseudoElt.get(pseudoElt);
+		if (matchedRules == null || !matchedRules.isValid(elt)) {
+			matchedRules = MatchedRules.match(index, elt, pseudoElt);
+			matchedRulesByPseudoElt.put(pseudoElt, matchedRules);
+		}
+		return matchedRules;
+	}
 
+	private CSSStyleDeclaration getComputedStyle(MatchedRules matchedRules, Element elt, String pseudoElt) {
 		Node[] hierarchy = null;
-		if (parent != null) {
-			List<Node> hierarchyList = new ArrayList<>();
-			for (Node n = parent; n != null; n = n.getParentNode()) {
-				hierarchyList.add(n);
+		boolean hierarchyComputed = false;
+		List<StyleWrapper> styleDeclarations = null;
+		StyleWrapper firstStyleDeclaration = null;
+		int position = 0;
+		IndexedSelector[] candidates = matchedRules.candidates;
+		for (int i = 0; i < candidates.length; i++) {
+			IndexedSelector candidate = candidates[i];
+			boolean matches;
+			if (candidate.isVolatile) {
+				if (candidate.needsHierarchy && !hierarchyComputed) {
+					hierarchy = MatchedRules.getHierarchy(elt);
+					hierarchyComputed = true;
+				}
+				matches = candidate.selector.match(elt, hierarchy, 0, pseudoElt);
+			} else {
+				matches = matchedRules.matched(i);
+			}
+			if (matches) {
+				StyleWrapper wrapper = new StyleWrapper(candidate.style, candidate.selector.getSpecificity(),
+						position++);
+				if (firstStyleDeclaration == null) {
+					firstStyleDeclaration = wrapper;
+				} else {
+					// There is several Style Declarations which
+					// match the current element
+					if (styleDeclarations == null) {
+						styleDeclarations = new ArrayList<>();
+						styleDeclarations.add(firstStyleDeclaration);
+					}
+					styleDeclarations.add(wrapper);
+				}
 			}
-			hierarchy = hierarchyList.toArray(new Node[hierarchyList.size()]);
 		}
+		if (styleDeclarations != null) {
+			// There is several Style Declarations which match the element, merge the CSS
+			// Property value.
+			return new CSSComputedStyleImpl(styleDeclarations);
+		}
+		if (firstStyleDeclaration != null) {
+			return firstStyleDeclaration.style;
+		}
+		return null;
+	}
+
+	private CSSStyleDeclaration getComputedStyle(List<CSSRule> ruleList, Element elt, String pseudoElt) {
+		Node[] hierarchy = MatchedRules.getHierarchy(elt);
 
 		List<StyleWrapper> styleDeclarations = null;
 		StyleWrapper firstStyleDeclaration = null;
@@ -172,10 +255,12 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	@Override
 	public void styleSheetAdded(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
 	}
 
 	@Override
 	public void styleSheetRemoved(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentRuleIndex = null;
 	}
 }
@@ -21,6 +21,7 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.css.core.impl.engine;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -32,6 +33,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -68,10 +70,12 @@ import org.eclipse.e4.ui.css.core.utils.StringUtils;
 import org.w3c.css.sac.AttributeCondition;
 import org.w3c.css.sac.CombinatorCondition;
 import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionFactory;
 import org.w3c.css.sac.ConditionalSelector;
 import org.w3c.css.sac.DescendantSelector;
 import org.w3c.css.sac.InputSource;
 import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorFactory;
 import org.w3c.css.sac.SelectorList;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -154,8 +158,17 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	private int parseImport;
 
+	private StyleSheetCache styleSheetCache;
+
+	/**
+	 * The style sheets imported by the style sheet being parsed for the cache
+	 */
+	private Map<String, byte[]> parsedImports;
+
 	private ResourceRegistryKeyFactory keyFactory;
 
+	private final RestyleScheduler restyleScheduler = new RestyleScheduler(this);
+
 	public AbstractCSSEngine() {
 		this(new DocumentCSSImpl());
 	}
@@ -163,6 +176,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 	public AbstractCSSEngine(ExtendedDocumentCSS documentCSS) {
 		this.documentCSS = documentCSS;
 		this.viewCSS = new ViewCSSImpl(documentCSS);
+		documentCSS.addStyleSheetChangeListener(restyleScheduler);
 		keyFactory = new ResourceRegistryKeyFactory();
 	}
 
@@ -186,6 +200,10 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 	public StyleSheet parseStyleSheet(InputSource source) throws IOException {
 		// Check that CharacterStream or ByteStream is not null
 		checkInputSource(source);
+		if (styleSheetCache != null && parseImport == 0 && parsedImports == null && source.getURI() != null
+				&& source.getCharacterStream() == null) {
+			return parseCachedStyleSheet(source);
+		}
 		CSSParser parser = makeCSSParser();
 		CSSStyleSheet styleSheet = parser.parseStyleSheet(source);
 
@@ -222,7 +240,13 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 			try (InputStream stream = url.openStream()) {
 				InputSource tempStream = new InputSource();
 				tempStream.setURI(url.toString());
-				tempStream.setByteStream(stream);
+				if (parsedImports != null) {
+					byte[] content = stream.readAllBytes();
+					parsedImports.put(url.toString(), content);
+					tempStream.setByteStream(new ByteArrayInputStream(content));
+				} else {
+					tempStream.setByteStream(stream);
+				}
 				parseImport++;
 				try {
 					styleSheet = (CSSStyleSheet) this.parseStyleSheet(tempStream);
@@ -250,7 +274,51 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		return s;
 	}
 
-	private void processNodeList(NodeList nodes, BiConsumer<Node, Boolean> consumer, boolean applyStylesToChildNodes) {
+	/**
+	 * Loads the style sheet from the cache if neither it nor the style sheets
+	 * it imports changed, parses and stores it otherwise.
+	 */
+	private StyleSheet parseCachedStyleSheet(InputSource source) throws IOException {
+		String uri = source.getURI();
+		byte[] content = source.getByteStream().readAllBytes();
+		CSSParser parser = makeCSSParser();
+		SelectorFactory selectorFactory = parser.getSelectorFactory();
+		ConditionFactory conditionFactory = parser.getConditionFactory();
+		// the rules can only be created again with the factories of the parser
+		boolean cacheable = selectorFactory != null && conditionFactory != null;
+		if (cacheable) {
+			CSSStyleSheet styleSheet = styleSheetCache.load(uri, content, selectorFactory, conditionFactory);
+			if (styleSheet != null) {
+				documentCSS.addStyleSheet(styleSheet);
+				return styleSheet;
+			}
+		}
+		long start = System.nanoTime();
+		source.setByteStream(new ByteArrayInputStream(content));
+		Map<String, byte[]> imports = new LinkedHashMap<>();
+		StyleSheet styleSheet;
+		parsedImports = imports;
+		try {
+			styleSheet = parseStyleSheet(source);
+		} finally {
+			parsedImports = null;
+		}
+		if (cacheable) {
+			styleSheetCache.store(uri, content, imports, (CSSStyleSheet) styleSheet, System.nanoTime() - start);
+		}
+		return styleSheet;
+	}
+
+	/**
+	 * Sets the cache used to load the style sheets parsed from an URI with
+	 * {@link #parseStyleSheet(InputSource)} instead of parsing them, or
+	 * <code>null</code> to always parse them.
+	 */
+	public void setStyleSheetCache(StyleSheetCache styleSheetCache) {
+		this.styleSheetCache = styleSheetCache;
+	}
+
+	void processNodeList(NodeList nodes, BiConsumer<Node, Boolean> consumer, boolean applyStylesToChildNodes) {
 		if (nodes instanceof IStreamingNodeList) {
 			((IStreamingNodeList) nodes).stream().forEach(child -> {
 				consumer.accept(child, applyStylesToChildNodes);
@@ -380,6 +448,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		 * Compute new Style to apply.
 		 */
 		CSSStyleDeclaration style = viewCSS.getComputedStyle(elt, null);
+		restyleScheduler.stylesApplied(elt, applyStylesToChildNodes, style);
 		if (computeDefaultStyle) {
 			if (applyStylesToChildNodes) {
 				this.computeDefaultStyle = computeDefaultStyle;
@@ -407,12 +476,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 				}
 
 				if (styleWithPseudoInstance != null) {
-					CSSRule parentRule = styleWithPseudoInstance.getParentRule();
-					if (parentRule instanceof ExtendedCSSRule) {
-						applyConditionalPseudoStyle((ExtendedCSSRule) parentRule, pseudoInstance, element, styleWithPseudoInstance);
-					} else {
-						applyStyleDeclaration(elt, styleWithPseudoInstance, pseudoInstance);
-					}
+					applyPseudoInstanceStyle(element, elt, pseudoInstance, styleWithPseudoInstance);
 				}
 			}
 		}
@@ -441,6 +505,70 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		}
 	}
 
+	/**
+	 * Apply the style computed for a static pseudo instance of the element.
+	 */
+	void applyPseudoInstanceStyle(Object element, Element elt, String pseudoInstance,
+			CSSStyleDeclaration styleWithPseudoInstance) {
+		CSSRule parentRule = styleWithPseudoInstance.getParentRule();
+		if (parentRule instanceof ExtendedCSSRule) {
+			applyConditionalPseudoStyle((ExtendedCSSRule) parentRule, pseudoInstance, element, styleWithPseudoInstance);
+		} else {
+			applyStyleDeclaration(elt, styleWithPseudoInstance, pseudoInstance);
+		}
+	}
+
+	/*--------------- Restyle dirty elements -----------------*/
+
+	/**
+	 * Marks the element as needing its styles to be applied again, for
+	 * instance because its CSS class changed. The marks are coalesced until
+	 * the pass scheduled with {@link #scheduleRestyle(Runnable)} runs, which
+	 * computes the styles of the dirty elements again and only applies the
+	 * properties whose values changed since the last pass.
+	 */
+	@Override
+	public void markDirty(Object element, boolean applyStylesToChildNodes) {
+		restyleScheduler.markDirty(element, applyStylesToChildNodes);
+	}
+
+	/**
+	 * Restyles the elements marked dirty now, instead of waiting for the
+	 * scheduled pass.
+	 */
+	public void restyleDirtyElements() {
+		restyleScheduler.run();
+	}
+
+	/**
+	 * Schedules the pass that restyles the elements marked dirty, typically on
+	 * the next turn of the event loop.
+	 *
+	 * @param restyle
+	 *            the pass to run
+	 * @return <code>false</code> if the pass cannot be deferred and has to be
+	 *         run right away, which is the default
+	 */
+	protected boolean scheduleRestyle(Runnable restyle) {
+		return false;
+	}
+
+	/**
+	 * @return the number of elements whose styles were computed by the last
+	 *         pass which restyled dirty elements
+	 */
+	public int getRestyledElementCount() {
+		return restyleScheduler.getStyledElementCount();
+	}
+
+	/**
+	 * @return the number of properties applied by the last pass which restyled
+	 *         dirty elements
+	 */
+	public int getRestyleAppliedPropertyCount() {
+		return restyleScheduler.getAppliedPropertyCount();
+	}
+
 	/**
 	 * Allow the CSS engine to skip particular elements if they are not visible.
 	 * Elements need to be restyled when they become visible.
@@ -674,7 +802,7 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 				CSSStyleDeclaration oldDefaultStyleDeclaration = stylableElement.getDefaultStyleDeclaration(pseudoE);
 				CSSStyleDeclaration defaultStyleDeclaration = getDefaultStyleDeclaration(
 						element, newStyle, pseudoE);
-				if (oldDefaultStyleDeclaration != null) {
+				if (oldDefaultStyleDeclaration != null && defaultStyleDeclaration != null) {
 					// Second apply styles, apply the initial style
 					// before apply the new style
 					try {
@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.dom.ChildVisibilityAwareElement;
+import org.eclipse.e4.ui.css.core.dom.ExtendedDocumentCSS;
+import org.eclipse.e4.ui.css.core.engine.CSSElementContext;
+import org.eclipse.e4.ui.css.core.impl.dom.CSSPropertyImpl;
+import org.eclipse.e4.ui.css.core.impl.dom.CSSStyleDeclarationImpl;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.CSSValue;
+import org.w3c.dom.stylesheets.StyleSheet;
+
+/**
+ * Restyles the elements marked dirty with
+ * {@link AbstractCSSEngine#markDirty(Object, boolean)}. The marks are coalesced
+ * until the engine runs the pass, usually on the next turn of the event loop.
+ * <p>
+ * The values of the properties applied to an element, by a pass or by
+ * {@link AbstractCSSEngine#applyStyles(Object, boolean, boolean)}, are
+ * remembered in its {@link CSSElementContext}, so the next pass only applies
+ * the properties whose computed values changed. Properties which are no longer
+ * set by the style sheets are reset to their default value if it is known. An
+ * element without remembered values gets all its styles applied, after its
+ * default style.
+ * </p>
+ */
+class RestyleScheduler implements ExtendedDocumentCSS.StyleSheetChangeListener, Runnable {
+
+	/** Key of the property values applied by the last pass in the element context */
+	private static final String APPLIED_VALUES_KEY = "org.eclipse.e4.ui.css.core.appliedValues"; //$NON-NLS-1$
+
+	/** Prefix of the keys of the pseudo instance styles in the applied values */
+	private static final char PSEUDO_INSTANCE_PREFIX = ':';
+
+	private final AbstractCSSEngine engine;
+
+	/** Native widgets to restyle, and whether their children are restyled too */
+	private Map<Object, Boolean> dirty = new LinkedHashMap<>();
+
+	private boolean scheduled;
+
+	private int styledElements;
+
+	private int appliedProperties;
+
+	private int lastStyledElements;
+
+	private int lastAppliedProperties;
+
+	RestyleScheduler(AbstractCSSEngine engine) {
+		this.engine = engine;
+	}
+
+	/**
+	 * Marks the element dirty and schedules a pass if none is pending.
+	 */
+	void markDirty(Object element, boolean applyStylesToChildNodes) {
+		Object widget = engine.getNativeWidget(element);
+		if (widget == null) {
+			return;
+		}
+		dirty.merge(widget, applyStylesToChildNodes, Boolean::logicalOr);
+		schedule();
+	}
+
+	private void schedule() {
+		if (!scheduled) {
+			scheduled = true;
+			if (!engine.scheduleRestyle(this)) {
+				run();
+			}
+		}
+	}
+
+	/**
+	 * Remembers the values of the style applied to the element and forgets its
+	 * pending mark, as all its styles are being applied.
+	 */
+	void stylesApplied(Element elt, boolean applyStylesToChildNodes, CSSStyleDeclaration style) {
+		if (!dirty.isEmpty()) {
+			Object widget = engine.getNativeWidget(elt);
+			Boolean children = dirty.get(widget);
+			if (children != null && (applyStylesToChildNodes || !children.booleanValue())) {
+				dirty.remove(widget);
+			}
+		}
+		CSSElementContext context = engine.getCSSElementContext(elt);
+		if (context != null) {
+			context.setData(APPLIED_VALUES_KEY, getValues(elt, style));
+		}
+	}
+
+	/**
+	 * Restyles the elements marked dirty since the last pass.
+	 */
+	@Override
+	public void run() {
+		scheduled = false;
+		if (dirty.isEmpty()) {
+			return;
+		}
+		Map<Object, Boolean> elements = dirty;
+		dirty = new LinkedHashMap<>();
+		styledElements = 0;
+		appliedProperties = 0;
+		Set<Element> styled = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Entry<Object, Boolean> entry : elements.entrySet()) {
+			restyle(entry.getKey(), entry.getValue().booleanValue(), styled);
+		}
+		lastStyledElements = styledElements;
+		lastAppliedProperties = appliedProperties;
+	}
+
+	private void restyle(Object element, boolean applyStylesToChildNodes, Set<Element> styled) {
+		Element elt = engine.getElement(element);
+		if (elt == null || !engine.isVisible(elt)) {
+			return;
+		}
+		if (styled.add(elt)) {
+			try {
+				restyleElement(elt);
+			} catch (Exception e) {
+				engine.handleExceptions(e);
+			}
+		}
+		if (applyStylesToChildNodes) {
+			NodeList nodes = elt instanceof ChildVisibilityAwareElement
+					? ((ChildVisibilityAwareElement) elt).getVisibleChildNodes()
+					: elt.getChildNodes();
+			if (nodes != null) {
+				engine.processNodeList(nodes, (child, children) -> restyle(child, children.booleanValue(), styled),
+						true);
+				engine.onStylesAppliedToChildNodes(elt, nodes);
+			}
+		}
+	}
+
+	private void restyleElement(Element elt) {
+		CSSElementContext context = engine.getCSSElementContext(elt);
+		if (context == null) {
+			return;
+		}
+		styledElements++;
+		@SuppressWarnings("unchecked")
+		Map<String, String> previous = (Map<String, String>) context.getData(APPLIED_VALUES_KEY);
+		CSSStyleDeclaration style = engine.getViewCSS().getComputedStyle(elt, null);
+		if (previous == null) {
+			// nothing tells which properties to reset, apply all the styles
+			// after the default style, this remembers the applied values
+			engine.applyStyles(elt, false, true);
+			if (style != null) {
+				appliedProperties += style.getLength();
+			}
+			return;
+		}
+		Map<String, String> current = getValues(elt, style);
+
+		// as in applyStyles, the pseudo instance styles are applied first
+		boolean applied = false;
+		String[] pseudoInstances = engine.getStaticPseudoInstances(elt);
+		if (pseudoInstances != null) {
+			for (String pseudoInstance : pseudoInstances) {
+				String key = PSEUDO_INSTANCE_PREFIX + pseudoInstance;
+				if (!current.get(key).equals(previous.get(key))) {
+					CSSStyleDeclaration pseudoStyle = engine.getViewCSS().getComputedStyle(elt, pseudoInstance);
+					if (pseudoStyle != null) {
+						engine.applyPseudoInstanceStyle(elt, elt, pseudoInstance, pseudoStyle);
+						appliedProperties += pseudoStyle.getLength();
+						applied = true;
+					}
+				}
+			}
+		}
+
+		CSSStyleDeclaration changed = getChangedProperties(elt, style, previous, current);
+		if (changed.getLength() > 0) {
+			engine.applyStyleDeclaration(elt, changed, null);
+			appliedProperties += changed.getLength();
+			applied = true;
+		}
+
+		if (applied) {
+			// the inline style overrides the properties that were applied
+			engine.applyInlineStyle(elt, false);
+		}
+		context.setData(APPLIED_VALUES_KEY, current);
+	}
+
+	/**
+	 * Returns the values of the properties of the style, and the text of the
+	 * styles of the static pseudo instances of the element.
+	 */
+	private Map<String, String> getValues(Element elt, CSSStyleDeclaration style) {
+		Map<String, String> values = new HashMap<>();
+		if (style != null) {
+			for (int i = 0; i < style.getLength(); i++) {
+				String property = style.item(i);
+				values.put(property, getValueText(style, property));
+			}
+		}
+		String[] pseudoInstances = engine.getStaticPseudoInstances(elt);
+		if (pseudoInstances != null) {
+			for (String pseudoInstance : pseudoInstances) {
+				CSSStyleDeclaration pseudoStyle = engine.getViewCSS().getComputedStyle(elt, pseudoInstance);
+				values.put(PSEUDO_INSTANCE_PREFIX + pseudoInstance,
+						pseudoStyle == null ? "" : pseudoStyle.getCssText()); //$NON-NLS-1$
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the properties of the style whose value changed since the last
+	 * pass, together with the properties of the same group (like
+	 * <code>font-size</code> and <code>font-family</code>), since handlers may
+	 * apply these together. The properties which are no longer set are reset to
+	 * the default style of the element.
+	 */
+	private CSSStyleDeclarationImpl getChangedProperties(Element elt, CSSStyleDeclaration style,
+			Map<String, String> previous, Map<String, String> current) {
+		Set<String> changedGroups = new HashSet<>();
+		for (Entry<String, String> entry : current.entrySet()) {
+			String property = entry.getKey();
+			if (property.charAt(0) != PSEUDO_INSTANCE_PREFIX && !entry.getValue().equals(previous.get(property))) {
+				changedGroups.add(getGroup(property));
+			}
+		}
+		CSSStyleDeclarationImpl changed = new CSSStyleDeclarationImpl(null);
+		if (style != null && !changedGroups.isEmpty()) {
+			for (int i = 0; i < style.getLength(); i++) {
+				String property = style.item(i);
+				if (changedGroups.contains(getGroup(property))) {
+					String priority = style.getPropertyPriority(property);
+					changed.addProperty(new CSSPropertyImpl(property, style.getPropertyCSSValue(property),
+							priority != null && !priority.isEmpty()));
+				}
+			}
+		}
+		CSSStyleDeclaration defaultStyle = elt instanceof CSSStylableElement
+				? ((CSSStylableElement) elt).getDefaultStyleDeclaration(null)
+				: null;
+		if (defaultStyle != null) {
+			for (String property : previous.keySet()) {
+				if (property.charAt(0) != PSEUDO_INSTANCE_PREFIX && !current.containsKey(property)) {
+					CSSValue value = defaultStyle.getPropertyCSSValue(property);
+					if (value != null) {
+						changed.addProperty(new CSSPropertyImpl(property, value, false));
+					}
+				}
+			}
+		}
+		return changed;
+	}
+
+	private static String getGroup(String property) {
+		int index = property.indexOf('-');
+		return index > 0 ? property.substring(0, index) : property;
+	}
+
+	private static String getValueText(CSSStyleDeclaration style, String property) {
+		CSSValue value = style.getPropertyCSSValue(property);
+		String text = value == null ? "" : value.getCssText(); //$NON-NLS-1$
+		String priority = style.getPropertyPriority(property);
+		return priority == null || priority.isEmpty() ? text : text + " !" + priority; //$NON-NLS-1$
+	}
+
+	/**
+	 * @return the number of elements whose styles were computed by the last
+	 *         pass
+	 */
+	int getStyledElementCount() {
+		return lastStyledElements;
+	}
+
+	/**
+	 * @return the number of properties applied by the last pass
+	 */
+	int getAppliedPropertyCount() {
+		return lastAppliedProperties;
+	}
+
+	@Override
+	public void styleSheetAdded(StyleSheet styleSheet) {
+		markRestyledElementsDirty();
+	}
+
+	@Override
+	public void styleSheetRemoved(StyleSheet styleSheet) {
+		markRestyledElementsDirty();
+	}
+
+	/**
+	 * Marks the elements whose applied values are remembered dirty, the other
+	 * elements are restyled by whoever changes the style sheets.
+	 */
+	private void markRestyledElementsDirty() {
+		List<Object> restyled = new ArrayList<>();
+		for (Entry<Object, CSSElementContext> entry : engine.getElementsContext().entrySet()) {
+			if (entry.getValue().getData(APPLIED_VALUES_KEY) != null) {
+				restyled.add(entry.getKey());
+			}
+		}
+		if (!restyled.isEmpty()) {
+			for (Object widget : restyled) {
+				dirty.putIfAbsent(widget, Boolean.FALSE);
+			}
+			schedule();
+		}
+	}
+}
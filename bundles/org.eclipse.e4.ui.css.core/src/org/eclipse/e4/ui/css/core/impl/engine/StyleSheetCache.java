@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.eclipse.e4.ui.css.core.impl.dom.BinaryStyleSheetFormat;
+import org.w3c.css.sac.ConditionFactory;
+import org.w3c.css.sac.SelectorFactory;
+import org.w3c.dom.css.CSSStyleSheet;
+
+/**
+ * Cache of the rules of parsed style sheets in a directory, so that the style
+ * sheets do not have to be parsed again when the application restarts.
+ * <p>
+ * The entry of a style sheet is keyed by its URI and records the SHA-256 hash
+ * of the content of the style sheet and of each style sheet it imports. The
+ * entry is only used while all these hashes are unchanged, so editing any of
+ * the style sheets makes the engine parse it again.
+ * </p>
+ * <p>
+ * The cache counts the style sheets parsed and loaded and the time spent doing
+ * it, so that both can be compared.
+ * </p>
+ *
+ * @see AbstractCSSEngine#setStyleSheetCache(StyleSheetCache)
+ */
+public class StyleSheetCache {
+
+	private static final int MAGIC = 0x43535343; // CSSC
+
+	private static final String SUFFIX = ".bin"; //$NON-NLS-1$
+
+	private final File directory;
+
+	private int parsedCount;
+
+	private long parseTime;
+
+	private int loadedCount;
+
+	private long loadTime;
+
+	/**
+	 * @param directory
+	 *            the directory of the cache files, created when the first
+	 *            style sheet is stored
+	 */
+	public StyleSheetCache(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns the rules of the style sheet stored for the URI if the style
+	 * sheet and the style sheets it imports are unchanged.
+	 *
+	 * @param content
+	 *            the current content of the style sheet
+	 * @return the style sheet or <code>null</code> if it has to be parsed
+	 */
+	synchronized CSSStyleSheet load(String uri, byte[] content, SelectorFactory selectorFactory,
+			ConditionFactory conditionFactory) {
+		long start = System.nanoTime();
+		File file = getFile(uri);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())))) {
+			if (in.readInt() != MAGIC || in.readInt() != BinaryStyleSheetFormat.VERSION
+					|| !uri.equals(in.readUTF()) || !Arrays.equals(readDigest(in), digest(content))) {
+				return null;
+			}
+			int imports = in.readInt();
+			for (int i = 0; i < imports; i++) {
+				String importURI = in.readUTF();
+				byte[] digest = readDigest(in);
+				byte[] importContent;
+				try (InputStream stream = new URL(importURI).openStream()) {
+					importContent = stream.readAllBytes();
+				}
+				if (!Arrays.equals(digest, digest(importContent))) {
+					return null;
+				}
+			}
+			CSSStyleSheet styleSheet = BinaryStyleSheetFormat.read(in, selectorFactory, conditionFactory);
+			loadedCount++;
+			loadTime += System.nanoTime() - start;
+			return styleSheet;
+		} catch (IOException | RuntimeException e) {
+			// a stale or damaged entry, the style sheet is parsed and stored again
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the rules of the style sheet parsed from the URI.
+	 *
+	 * @param content
+	 *            the content of the style sheet
+	 * @param imports
+	 *            the URIs and contents of the style sheets it imports
+	 * @param time
+	 *            the nanoseconds spent parsing the style sheet
+	 */
+	synchronized void store(String uri, byte[] content, Map<String, byte[]> imports, CSSStyleSheet styleSheet,
+			long time) {
+		parsedCount++;
+		parseTime += time;
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(MAGIC);
+			out.writeInt(BinaryStyleSheetFormat.VERSION);
+			out.writeUTF(uri);
+			writeDigest(digest(content), out);
+			out.writeInt(imports.size());
+			for (Entry<String, byte[]> entry : imports.entrySet()) {
+				out.writeUTF(entry.getKey());
+				writeDigest(digest(entry.getValue()), out);
+			}
+			BinaryStyleSheetFormat.write(styleSheet, out);
+		} catch (IOException e) {
+			// the style sheet has rules which cannot be stored, it is parsed each time
+			return;
+		}
+		File file = getFile(uri);
+		try {
+			directory.mkdirs();
+			Path temp = Files.createTempFile(directory.toPath(), null, SUFFIX);
+			Files.write(temp, bytes.toByteArray());
+			try {
+				Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			// the cache is not writable, the style sheet is parsed again next time
+		}
+	}
+
+	private File getFile(String uri) {
+		byte[] digest = digest(uri.getBytes(StandardCharsets.UTF_8));
+		return new File(directory, HexFormat.of().formatHex(digest, 0, 16) + SUFFIX);
+	}
+
+	private static byte[] digest(byte[] content) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(content); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void writeDigest(byte[] digest, DataOutputStream out) throws IOException {
+		out.writeByte(digest.length);
+		out.write(digest);
+	}
+
+	private static byte[] readDigest(DataInputStream in) throws IOException {
+		byte[] digest = new byte[in.readUnsignedByte()];
+		in.readFully(digest);
+		return digest;
+	}
+
+	/**
+	 * @return the number of style sheets which were parsed because they were
+	 *         not in the cache or had changed
+	 */
+	public synchronized int getParsedCount() {
+		return parsedCount;
+	}
+
+	/**
+	 * @return the nanoseconds spent parsing style sheets, including the style
+	 *         sheets they import
+	 */
+	public synchronized long getParseTime() {
+		return parseTime;
+	}
+
+	/**
+	 * @return the number of style sheets loaded from the cache
+	 */
+	public synchronized int getLoadedCount() {
+		return loadedCount;
+	}
+
+	/**
+	 * @return the nanoseconds spent loading style sheets from the cache,
+	 *         including checking that they are unchanged
+	 */
+	public synchronized long getLoadTime() {
+		return loadTime;
+	}
+}
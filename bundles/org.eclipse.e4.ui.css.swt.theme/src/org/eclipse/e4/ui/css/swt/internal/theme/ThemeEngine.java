@@ -44,6 +44,8 @@ import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.e4.ui.css.core.engine.CSSElementContext;
 import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.core.impl.engine.AbstractCSSEngine;
+import org.eclipse.e4.ui.css.core.impl.engine.StyleSheetCache;
 import org.eclipse.e4.ui.css.core.util.impl.resources.FileResourcesLocatorImpl;
 import org.eclipse.e4.ui.css.core.util.impl.resources.OSGiResourceLocator;
 import org.eclipse.e4.ui.css.core.util.resources.IResourceLocator;
@@ -88,6 +90,17 @@ public class ThemeEngine implements IThemeEngine {
 
 	public static final String DISABLE_OS_DARK_THEME_INHERIT = "org.eclipse.e4.ui.css.theme.disableOSDarkThemeInherit";
 
+	/**
+	 * System property enabling the cache of the parsed theme style sheets in
+	 * the configuration area.
+	 */
+	public static final String STYLESHEET_CACHE = "org.eclipse.e4.ui.css.styleSheetCache";
+
+	private static final boolean TRACE_STYLESHEET_CACHE = "true" //$NON-NLS-1$
+			.equalsIgnoreCase(Platform.getDebugOption(THEME_PLUGIN_ID + "/debug/trace/styleSheetCache")); //$NON-NLS-1$
+
+	private StyleSheetCache styleSheetCache;
+
 	public ThemeEngine(Display display) {
 		this.display = display;
 
@@ -109,6 +122,9 @@ public class ThemeEngine implements IThemeEngine {
 		if (!modDir.exists()) {
 			modDir.mkdirs();
 		}
+		if (Boolean.getBoolean(STYLESHEET_CACHE)) {
+			styleSheetCache = new StyleSheetCache(new File(modDir, "stylesheet-cache")); //$NON-NLS-1$
+		}
 
 		File[] modifiedFiles = modDir.listFiles();
 		String currentOS = Platform.getOS();
@@ -460,6 +476,16 @@ public class ThemeEngine implements IThemeEngine {
 					.registerResourceLocator(l);
 				}
 			}
+			int parsed = 0;
+			long parseTime = 0;
+			int loaded = 0;
+			long loadTime = 0;
+			if (styleSheetCache != null) {
+				parsed = styleSheetCache.getParsedCount();
+				parseTime = styleSheetCache.getParseTime();
+				loaded = styleSheetCache.getLoadedCount();
+				loadTime = styleSheetCache.getLoadTime();
+			}
 			for (String stylesheet : getAllStyles(theme)) {
 				URL url;
 				InputStream stream = null;
@@ -488,6 +514,13 @@ public class ThemeEngine implements IThemeEngine {
 					ThemeEngineManager.logError(e.getMessage(), e);
 				}
 			}
+			if (styleSheetCache != null && TRACE_STYLESHEET_CACHE) {
+				System.out.println("Theme " + theme.getId() + ": " //$NON-NLS-1$ //$NON-NLS-2$
+						+ (styleSheetCache.getParsedCount() - parsed) + " style sheets parsed in " //$NON-NLS-1$
+						+ (styleSheetCache.getParseTime() - parseTime) / 1_000_000 + "ms, " //$NON-NLS-1$
+						+ (styleSheetCache.getLoadedCount() - loaded) + " loaded from the cache in " //$NON-NLS-1$
+						+ (styleSheetCache.getLoadTime() - loadTime) / 1_000_000 + "ms"); //$NON-NLS-1$
+			}
 		}
 
 		if (restore) {
@@ -671,6 +704,9 @@ public class ThemeEngine implements IThemeEngine {
 
 	@Override
 	public void addCSSEngine(CSSEngine cssEngine) {
+		if (styleSheetCache != null && cssEngine instanceof AbstractCSSEngine) {
+			((AbstractCSSEngine) cssEngine).setStyleSheetCache(styleSheetCache);
+		}
 		cssEngines.add(cssEngine);
 		resetCurrentTheme();
 	}
@@ -87,6 +87,15 @@ public abstract class AbstractCSSSWTEngineImpl extends CSSEngineImpl {
 		return super.getResourcesRegistry();
 	}
 
+	@Override
+	protected boolean scheduleRestyle(Runnable restyle) {
+		if (display.isDisposed()) {
+			return false;
+		}
+		display.asyncExec(restyle);
+		return true;
+	}
+
 	@Override
 	public Element getElement(Object element) {
 		if (element instanceof CSSStylableElement
@@ -25,12 +25,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.WeakHashMap;
 import org.eclipse.core.databinding.observable.Realm;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -55,6 +58,7 @@ import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.core.services.log.Logger;
 import org.eclipse.e4.core.services.statusreporter.StatusReporter;
 import org.eclipse.e4.ui.bindings.keys.KeyBindingDispatcher;
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
 import org.eclipse.e4.ui.css.core.util.impl.resources.OSGiResourceLocator;
 import org.eclipse.e4.ui.css.swt.dom.WidgetElement;
 import org.eclipse.e4.ui.css.swt.engine.CSSSWTEngineImpl;
@@ -67,14 +71,18 @@ import org.eclipse.e4.ui.internal.workbench.E4Workbench;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.MApplicationElement;
 import org.eclipse.e4.ui.model.application.MContribution;
+import org.eclipse.e4.ui.model.application.descriptor.basic.MPartDescriptor;
 import org.eclipse.e4.ui.model.application.ui.MContext;
 import org.eclipse.e4.ui.model.application.ui.MElementContainer;
 import org.eclipse.e4.ui.model.application.ui.MGenericStack;
+import org.eclipse.e4.ui.model.application.ui.MUILabel;
 import org.eclipse.e4.ui.model.application.ui.MUIElement;
 import org.eclipse.e4.ui.model.application.ui.advanced.MPerspective;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspectiveStack;
 import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
 import org.eclipse.e4.ui.model.application.ui.basic.MPart;
 import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimBar;
 import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
 import org.eclipse.e4.ui.model.application.ui.basic.MWindow;
 import org.eclipse.e4.ui.model.application.ui.menu.MMenu;
@@ -86,12 +94,16 @@ import org.eclipse.e4.ui.workbench.IWorkbench;
 import org.eclipse.e4.ui.workbench.UIEvents;
 import org.eclipse.e4.ui.workbench.modeling.EModelService;
 import org.eclipse.e4.ui.workbench.swt.factories.IRendererFactory;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
 import org.eclipse.jface.bindings.keys.SWTKeySupport;
 import org.eclipse.jface.bindings.keys.formatting.KeyFormatterFactory;
 import org.eclipse.jface.databinding.swt.DisplayRealm;
+import org.eclipse.jface.resource.ImageDataPrefetcher;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.resource.JFaceResources;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.CTabFolder;
@@ -122,6 +134,24 @@ public class PartRenderingEngine implements IPresentationEngine {
 
 	public static final String ENABLED_THEME_KEY = "themeEnabled";
 
+	/**
+	 * Defer the restyling of widgets whose CSS class or id changed to the restyle
+	 * pass of the CSS engine, which coalesces the changes of one event loop turn.
+	 */
+	private static final boolean INCREMENTAL_RESTYLE = Boolean.getBoolean("org.eclipse.e4.ui.css.incrementalRestyle"); //$NON-NLS-1$
+
+	/**
+	 * The system property to defer the creation of the widgets of elements which
+	 * are not visible, and of everything below them, until the elements are first
+	 * shown. It is read when the engine is created.
+	 */
+	public static final String DEFER_HIDDEN_RENDERING = "org.eclipse.e4.ui.workbench.deferHiddenRendering"; //$NON-NLS-1$
+
+	private final boolean deferHiddenRendering = Boolean.getBoolean(DEFER_HIDDEN_RENDERING);
+
+	/** The elements whose rendering was deferred because they were not visible */
+	private final Set<MUIElement> deferredElements = Collections.newSetFromMap(new WeakHashMap<>());
+
 	private String factoryUrl;
 
 	IRendererFactory curFactory = null;
@@ -206,6 +236,21 @@ public class PartRenderingEngine implements IPresentationEngine {
 
 		// Re-parent the control based on the visible state
 		if (changedElement.isVisible()) {
+			if (changedElement.getWidget() == null && deferredElements.remove(changedElement)) {
+				// Shown for the first time, render it now. If the parent isn't
+				// rendered either the element is rendered with it.
+				if (changedElement.isToBeRendered() && parent.getWidget() != null) {
+					if (Policy.DEBUG_RENDERER) {
+						WorkbenchSWTActivator.trace(Policy.DEBUG_RENDERER_FLAG,
+								"rendering deferred element " + changedElement, null); //$NON-NLS-1$
+					}
+					Object w = createGui(changedElement);
+					if (w instanceof Control && !(w instanceof Shell)) {
+						fixZOrder(changedElement);
+					}
+				}
+				return;
+			}
 			if (changedElement.isToBeRendered()) {
 				if (changedElement.getWidget() instanceof Control && //
 						renderer.getUIContainer(changedElement) instanceof Composite) {
@@ -336,6 +381,10 @@ public class PartRenderingEngine implements IPresentationEngine {
 			}
 			for (Object o : UIEvents.asIterable(event, UIEvents.EventTags.OLD_VALUE)) {
 				MUIElement removed = (MUIElement) o;
+				// A deferred element is rendered with its new parent if it
+				// is added again
+				deferredElements.remove(removed);
+
 				// Removing invisible elements is a NO-OP as far as the
 				// renderer is concerned
 				if (!removed.isToBeRendered()) {
@@ -739,7 +788,10 @@ public class PartRenderingEngine implements IPresentationEngine {
 		if (parentME != null) {
 			AbstractPartRenderer renderer = getRendererFor(parentME);
 			if (renderer != null) {
-				if (!element.isVisible()) {
+				if (!element.isVisible() && isDeferrable(element, parentME)) {
+					deferredElements.add(element);
+					return null;
+				} else if (!element.isVisible()) {
 					parent = getLimboShell();
 				} else {
 					parent = renderer.getUIContainer(element);
@@ -762,6 +814,19 @@ public class PartRenderingEngine implements IPresentationEngine {
 		return safeCreateGui(element, parent, parentContext);
 	}
 
+	/**
+	 * Returns whether the rendering of the element, which is not visible, can
+	 * be deferred until it is shown. Windows and minimized stacks are always
+	 * rendered, since they are shown without becoming visible in the model.
+	 * Menus and the items of menus and tool bars are managed by their
+	 * renderers.
+	 */
+	private boolean isDeferrable(MUIElement element, MUIElement parent) {
+		return deferHiddenRendering && element.isToBeRendered() && element.getWidget() == null
+				&& !(element instanceof MWindow) && !(element instanceof MMenu) && !(parent instanceof MMenu)
+				&& !(parent instanceof MToolBar) && !element.getTags().contains(MINIMIZED);
+	}
+
 	@Override
 	public void focusGui(MUIElement element) {
 		AbstractPartRenderer renderer = (AbstractPartRenderer) element
@@ -863,6 +928,8 @@ public class PartRenderingEngine implements IPresentationEngine {
 		if (removeRoot == null)
 			removeRoot = element;
 
+		deferredElements.remove(element);
+
 		// We call 'hideChild' *before* checking if the actual element
 		// has been rendered in order to pick up cases of 'lazy loading'
 		MUIElement parent = element.getParent();
@@ -1028,6 +1095,71 @@ public class PartRenderingEngine implements IPresentationEngine {
 		return null; // renderer may be HeadlessContextPresentationEngine
 	}
 
+	/**
+	 * Returns the descriptors of the icons of the elements that are rendered
+	 * when the application is shown.
+	 */
+	private Set<ImageDescriptor> getIconDescriptors(MApplication application, IEclipseContext context) {
+		Set<String> iconURIs = new LinkedHashSet<>();
+		for (MWindow window : application.getChildren()) {
+			collectIconURIs(window, iconURIs);
+		}
+		IResourceUtilities<?> resUtils = context.get(IResourceUtilities.class);
+		Set<ImageDescriptor> descriptors = new LinkedHashSet<>();
+		if (resUtils == null) {
+			return descriptors;
+		}
+		for (String iconURI : iconURIs) {
+			try {
+				Object descriptor = resUtils.imageDescriptorFromURI(URI.createURI(iconURI));
+				if (descriptor instanceof ImageDescriptor) {
+					descriptors.add((ImageDescriptor) descriptor);
+				}
+			} catch (IllegalArgumentException e) {
+				// reported when the icon is rendered
+			}
+		}
+		return descriptors;
+	}
+
+	private void collectIconURIs(MUIElement element, Set<String> iconURIs) {
+		if (element == null || !element.isToBeRendered()) {
+			return;
+		}
+		if (element instanceof MUILabel label) {
+			String iconURI = label.getIconURI();
+			if (iconURI == null && element instanceof MPart part) {
+				MPartDescriptor descriptor = modelService.getPartDescriptor(part.getElementId());
+				iconURI = descriptor != null ? descriptor.getIconURI() : null;
+			}
+			if (iconURI != null && !iconURI.isEmpty()) {
+				iconURIs.add(iconURI);
+			}
+		}
+		if (element instanceof MWindow window) {
+			collectIconURIs(window.getMainMenu(), iconURIs);
+			if (window instanceof MTrimmedWindow trimmedWindow) {
+				for (MTrimBar trimBar : trimmedWindow.getTrimBars()) {
+					collectIconURIs(trimBar, iconURIs);
+				}
+			}
+		}
+		if (element instanceof MPart part) {
+			collectIconURIs(part.getToolbar(), iconURIs);
+		}
+		if (element instanceof MPlaceholder placeholder) {
+			collectIconURIs(placeholder.getRef(), iconURIs);
+		}
+		if (element instanceof MPerspectiveStack stack) {
+			// only the active perspective is rendered
+			collectIconURIs(stack.getSelectedElement(), iconURIs);
+		} else if (element instanceof MElementContainer<?> container) {
+			for (MUIElement child : container.getChildren()) {
+				collectIconURIs(child, iconURIs);
+			}
+		}
+	}
+
 	@Override
 	@Inject
 	@Optional
@@ -1075,8 +1207,12 @@ public class PartRenderingEngine implements IPresentationEngine {
 					spinOnce = false; // loop until the app closes
 					theApp = (MApplication) uiRoot;
 					// long startTime = System.currentTimeMillis();
-					for (MWindow window : theApp.getChildren()) {
-						createGui(window);
+					// decode the icons in the background while the windows are created
+					try (ImageDataPrefetcher prefetcher = ImageDataPrefetcher.prefetch(
+							JFaceResources.getResources(display), getIconDescriptors(theApp, runContext))) {
+						for (MWindow window : theApp.getChildren()) {
+							createGui(window);
+						}
 					}
 
 					// long endTime = System.currentTimeMillis();
@@ -1290,13 +1426,17 @@ public class PartRenderingEngine implements IPresentationEngine {
 				@Override
 				public void setClassname(Object widget, String classname) {
 					WidgetElement.setCSSClass((Widget) widget, classname);
-					themeEngine.applyStyles(widget, true);
+					if (!markDirty(widget)) {
+						themeEngine.applyStyles(widget, true);
+					}
 				}
 
 				@Override
 				public void setId(Object widget, String id) {
 					WidgetElement.setID((Widget) widget, id);
-					themeEngine.applyStyles(widget, true);
+					if (!markDirty(widget)) {
+						themeEngine.applyStyles(widget, true);
+					}
 				}
 
 				@Override
@@ -1313,7 +1453,9 @@ public class PartRenderingEngine implements IPresentationEngine {
 				public void setClassnameAndId(Object widget, String classname, String id) {
 					WidgetElement.setCSSClass((Widget) widget, classname);
 					WidgetElement.setID((Widget) widget, id);
-					themeEngine.applyStyles(widget, true);
+					if (!markDirty(widget)) {
+						themeEngine.applyStyles(widget, true);
+					}
 				}
 			});
 
@@ -1333,13 +1475,17 @@ public class PartRenderingEngine implements IPresentationEngine {
 				@Override
 				public void setClassname(Object widget, String classname) {
 					WidgetElement.setCSSClass((Widget) widget, classname);
-					cssEngine.applyStyles(widget, true);
+					if (!markDirty(widget)) {
+						cssEngine.applyStyles(widget, true);
+					}
 				}
 
 				@Override
 				public void setId(Object widget, String id) {
 					WidgetElement.setID((Widget) widget, id);
-					cssEngine.applyStyles(widget, true);
+					if (!markDirty(widget)) {
+						cssEngine.applyStyles(widget, true);
+					}
 				}
 
 				@Override
@@ -1360,7 +1506,9 @@ public class PartRenderingEngine implements IPresentationEngine {
 				public void setClassnameAndId(Object widget, String classname, String id) {
 					WidgetElement.setCSSClass((Widget) widget, classname);
 					WidgetElement.setID((Widget) widget, id);
-					cssEngine.applyStyles(widget, true);
+					if (!markDirty(widget)) {
+						cssEngine.applyStyles(widget, true);
+					}
 				}
 			});
 
@@ -1392,6 +1540,25 @@ public class PartRenderingEngine implements IPresentationEngine {
 		appContext.set(CSSRenderingUtils.class, cssUtils);
 	}
 
+	/**
+	 * Marks the widget dirty in the CSS engine of its display when incremental
+	 * restyling is enabled.
+	 *
+	 * @return <code>false</code> if the styles of the widget have to be applied
+	 *         right away
+	 */
+	private static boolean markDirty(Object widget) {
+		if (!INCREMENTAL_RESTYLE || !(widget instanceof Widget w)) {
+			return false;
+		}
+		CSSEngine engine = WidgetElement.getEngine(w);
+		if (engine == null) {
+			return false;
+		}
+		engine.markDirty(widget, true);
+		return true;
+	}
+
 	private static IThemeEngine createThemeEngine(Display display, IEclipseContext appContext) {
 		// Store the app context
 		IContributionFactory contribution = appContext.get(IContributionFactory.class);
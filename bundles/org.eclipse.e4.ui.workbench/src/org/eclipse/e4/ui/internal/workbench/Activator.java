@@ -26,6 +26,8 @@ import static org.eclipse.e4.ui.internal.workbench.Policy.DEBUG_FOCUS;
 import static org.eclipse.e4.ui.internal.workbench.Policy.DEBUG_FOCUS_FLAG;
 import static org.eclipse.e4.ui.internal.workbench.Policy.DEBUG_MENUS;
 import static org.eclipse.e4.ui.internal.workbench.Policy.DEBUG_MENUS_FLAG;
+import static org.eclipse.e4.ui.internal.workbench.Policy.DEBUG_MODEL_ASSEMBLER;
+import static org.eclipse.e4.ui.internal.workbench.Policy.DEBUG_MODEL_ASSEMBLER_FLAG;
 import static org.eclipse.e4.ui.internal.workbench.Policy.DEBUG_RENDERER;
 import static org.eclipse.e4.ui.internal.workbench.Policy.DEBUG_RENDERER_FLAG;
 import static org.eclipse.e4.ui.internal.workbench.Policy.DEBUG_WORKBENCH;
@@ -124,6 +126,7 @@ public class Activator implements BundleActivator, DebugOptionsListener {
 		DEBUG_MENUS = options.getBooleanOption(PI_WORKBENCH + DEBUG_MENUS_FLAG, false);
 		DEBUG_RENDERER = options.getBooleanOption(PI_WORKBENCH + DEBUG_RENDERER_FLAG, false);
 		DEBUG_WORKBENCH = options.getBooleanOption(PI_WORKBENCH + DEBUG_WORKBENCH_FLAG, false);
+		DEBUG_MODEL_ASSEMBLER = options.getBooleanOption(PI_WORKBENCH + DEBUG_MODEL_ASSEMBLER_FLAG, false);
 	}
 
 	public DebugTrace getTrace() {
@@ -25,11 +25,18 @@ import static org.eclipse.e4.ui.workbench.modeling.IModelProcessorContribution.B
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -37,7 +44,11 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
@@ -115,8 +126,7 @@ public class ModelAssembler {
 						ModelAssembler.this.initial);
 
 				List<FragmentWrapperElementMapping> mappings = wrappers.stream()
-						.map(w -> new FragmentWrapperElementMapping(w, List.copyOf(w.getModelFragment().getElements())))
-						.toList();
+						.map(w -> new FragmentWrapperElementMapping(w, getContributedElements(w))).toList();
 
 				// we skip direct processing in case the startup model processing is not done
 				// yet
@@ -198,6 +208,12 @@ public class ModelAssembler {
 	private static final String EXTENSION_POINT_ID = "org.eclipse.e4.workbench.model"; //$NON-NLS-1$
 	private static final String MODEL_FRAGMENT_HEADER = "Model-Fragment"; //$NON-NLS-1$
 
+	/**
+	 * System property to load the fragment resources contributed through the
+	 * extension point in parallel, before they are merged in order.
+	 */
+	private static final String PARALLEL_FRAGMENT_LOADING = "org.eclipse.e4.ui.workbench.parallelFragmentLoading"; //$NON-NLS-1$
+
 	private static final String ALWAYS = "always"; //$NON-NLS-1$
 	private static final String INITIAL = "initial"; //$NON-NLS-1$
 	private static final String NOTEXISTS = "notexists"; //$NON-NLS-1$
@@ -215,6 +231,21 @@ public class ModelAssembler {
 
 	private boolean processModelExecuted = false;
 
+	/**
+	 * Whether the fragments of the bundles tracked initially are already merged
+	 * into the model, as it was restored from a snapshot
+	 */
+	private boolean fragmentsMerged = false;
+
+	/** The time spent on the contributions of each contributor */
+	private final Map<String, ContributorTiming> timings = new ConcurrentHashMap<>();
+
+	private static final class ContributorTiming {
+		final AtomicLong load = new AtomicLong();
+		final AtomicLong merge = new AtomicLong();
+		final AtomicLong processors = new AtomicLong();
+	}
+
 	@Activate
 	void activate(BundleContext bundleContext) {
 		this.bundleContext = bundleContext;
@@ -302,6 +333,22 @@ public class ModelAssembler {
 	 */
 	@Execute
 	public void processModel(boolean initial) {
+		processModel(initial, false);
+	}
+
+	/**
+	 * Processes the application model like {@link #processModel(boolean)}, but
+	 * can skip merging the fragments if the model already contains them, as it
+	 * does when it is restored from a snapshot taken with the fragments
+	 * described by the same {@link #getFragmentsHash() hash}. The processors
+	 * are always run.
+	 *
+	 * @param initial         <code>true</code> if running from a non-persisted
+	 *                        state
+	 * @param fragmentsMerged <code>true</code> if the fragments are already
+	 *                        merged into the model
+	 */
+	public void processModel(boolean initial, boolean fragmentsMerged) {
 		this.initial = initial;
 
 		IExtensionRegistry extReg = this.registry.get();
@@ -311,18 +358,99 @@ public class ModelAssembler {
 
 			// run processors which are marked to run before fragments
 			runProcessors(extensions, initial, false);
-			// process fragments (and resolve imports)
-			processFragments(extensions, initial);
+			if (fragmentsMerged) {
+				// still track the bundles to merge and remove their fragments
+				// when they are started and stopped later
+				if (this.tracker != null) {
+					this.fragmentsMerged = true;
+					try {
+						this.tracker.open();
+					} finally {
+						this.fragmentsMerged = false;
+					}
+				}
+			} else {
+				// process fragments (and resolve imports)
+				processFragments(extensions, initial);
+			}
 			// run processors which are marked to run after fragments
 			runProcessors(extensions, initial, true);
 		}
 
+		if (Policy.DEBUG_MODEL_ASSEMBLER) {
+			timings.forEach((contributor, timing) -> Activator.trace(Policy.DEBUG_MODEL_ASSEMBLER_FLAG,
+					contributor + ": fragments loaded in " + toMillis(timing.load) + " ms, merged in " //$NON-NLS-1$ //$NON-NLS-2$
+							+ toMillis(timing.merge) + " ms, processors run in " + toMillis(timing.processors) //$NON-NLS-1$
+							+ " ms", //$NON-NLS-1$
+					null));
+		}
+		timings.clear();
+
 		// once we are done, any further handling in the tracker can't be initial
 		// anymore
 		this.initial = false;
 		this.processModelExecuted = true;
 	}
 
+	/**
+	 * Returns a hash of the model fragments which are merged into the model by
+	 * {@link #processModel(boolean)} when it is not running from a
+	 * non-persisted state. The hash covers the declarations of the fragments in
+	 * the extension registry and in the <code>Model-Fragment</code> headers of
+	 * the active bundles, and the contents of the fragment files.
+	 *
+	 * @return the hash or <code>null</code> if there is no extension registry
+	 */
+	public String getFragmentsHash() {
+		IExtensionRegistry extReg = this.registry.get();
+		if (extReg == null) {
+			return null;
+		}
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+		IExtension[] extensions = new ExtensionsSort()
+				.sort(extReg.getExtensionPoint(EXTENSION_POINT_ID).getExtensions());
+		for (IExtension extension : extensions) {
+			for (IConfigurationElement ce : extension.getConfigurationElements()) {
+				if ("fragment".equals(ce.getName()) && !INITIAL.equals(ce.getAttribute(APPLY_PROPERTY_KEY))) { //$NON-NLS-1$
+					String bundleName = ce.getContributor().getName();
+					updateFragmentsHash(digest, bundleName, ce.getAttribute("uri"), //$NON-NLS-1$
+							ce.getAttribute(APPLY_PROPERTY_KEY));
+				}
+			}
+		}
+		if (bundleContext != null) {
+			for (Bundle bundle : bundleContext.getBundles()) {
+				String fragmentHeader = bundle.getHeaders(Util.ZERO_LENGTH_STRING).get(MODEL_FRAGMENT_HEADER);
+				if (fragmentHeader != null
+						&& (bundle.getState() & (Bundle.STARTING | Bundle.ACTIVE | Bundle.STOPPING)) != 0) {
+					String[] fr = fragmentHeader.split(";"); //$NON-NLS-1$
+					updateFragmentsHash(digest, bundle.getSymbolicName(), fr.length > 0 ? fr[0] : null,
+							fragmentHeader);
+				}
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private void updateFragmentsHash(MessageDigest digest, String bundleName, String attrURI, String apply) {
+		digest.update((bundleName + '|' + attrURI + '|' + apply + '\n').getBytes(StandardCharsets.UTF_8));
+		URI uri = getFragmentURI(attrURI, bundleName);
+		if (uri == null) {
+			return;
+		}
+		try (InputStream stream = new URL(uri.toString()).openStream()) {
+			digest.update(stream.readAllBytes());
+		} catch (IOException e) {
+			// the fragment cannot be read, which is hashed like an empty fragment
+		}
+	}
+
 	/**
 	 * Adds the {@link MApplicationElement model elements} contributed by the
 	 * {@link IExtension extensions} to the {@link MApplication application model}.
@@ -331,25 +459,54 @@ public class ModelAssembler {
 	 * @param initial    <code>true</code> if running from a non-persisted state
 	 */
 	private void processFragments(IExtension[] extensions, boolean initial) {
-		List<ModelFragmentWrapper> wrappers = new ArrayList<>();
+		List<IConfigurationElement> fragmentElements = new ArrayList<>();
 		for (IExtension extension : extensions) {
 			IConfigurationElement[] ces = extension.getConfigurationElements();
 			for (IConfigurationElement ce : ces) {
 				if ("fragment".equals(ce.getName()) //$NON-NLS-1$
 						&& (initial || !INITIAL.equals(ce.getAttribute(APPLY_PROPERTY_KEY)))) {
-					MModelFragments fragmentsContainer = getFragmentsContainer(ce.getAttribute("uri"), //$NON-NLS-1$
-							ce.getContributor().getName());
-					if (fragmentsContainer == null) {
-						continue;
-					}
-					for (MModelFragment fragment : fragmentsContainer.getFragments()) {
-						boolean checkExist = !initial && NOTEXISTS.equals(ce.getAttribute(APPLY_PROPERTY_KEY));
-						wrappers.add(
-								new ModelFragmentWrapper(fragmentsContainer, fragment, ce.getContributor().getName(),
-										URIHelper.constructPlatformURI(ce.getContributor()), checkExist)); // $NON-NLS-1$
+					fragmentElements.add(ce);
+				}
+			}
+		}
+
+		Map<URI, CompletableFuture<Resource>> loads = Boolean.getBoolean(PARALLEL_FRAGMENT_LOADING)
+				? loadFragmentResources(fragmentElements)
+				: new HashMap<>();
+		List<ModelFragmentWrapper> wrappers = new ArrayList<>();
+		try {
+			for (IConfigurationElement ce : fragmentElements) {
+				String contributorName = ce.getContributor().getName();
+				URI uri = getFragmentURI(ce.getAttribute("uri"), contributorName); //$NON-NLS-1$
+				CompletableFuture<Resource> load = uri == null ? null : loads.remove(uri);
+				Resource resource = null;
+				if (load != null) {
+					// the fragments are merged in order, so wait for the resource
+					// and add it to the resource set of the application
+					resource = load.join();
+					if (resource != null) {
+						((EObject) application).eResource().getResourceSet().getResources().add(resource);
 					}
 				}
+				long start = System.nanoTime();
+				MModelFragments fragmentsContainer = getFragmentsContainer(ce.getAttribute("uri"), //$NON-NLS-1$
+						contributorName);
+				if (resource == null) {
+					// otherwise the load time was recorded by the worker
+					getTiming(contributorName).load.addAndGet(System.nanoTime() - start);
+				}
+				if (fragmentsContainer == null) {
+					continue;
+				}
+				for (MModelFragment fragment : fragmentsContainer.getFragments()) {
+					boolean checkExist = !initial && NOTEXISTS.equals(ce.getAttribute(APPLY_PROPERTY_KEY));
+					wrappers.add(new ModelFragmentWrapper(fragmentsContainer, fragment, contributorName,
+							URIHelper.constructPlatformURI(ce.getContributor()), checkExist)); // $NON-NLS-1$
+				}
 			}
+		} finally {
+			// resources which were not needed after all, e.g. after an error
+			loads.values().forEach(load -> load.cancel(false));
 		}
 
 		if (this.tracker != null) {
@@ -369,6 +526,52 @@ public class ModelAssembler {
 		processFragmentWrappers(wrappers);
 	}
 
+	/**
+	 * Starts loading the resources of the fragments on the common pool. The
+	 * resources are not yet added to the resource set of the application, since
+	 * it is not thread safe.
+	 *
+	 * @param fragmentElements the configuration elements of the fragments
+	 * @return the loads by the URIs of the resources
+	 */
+	private Map<URI, CompletableFuture<Resource>> loadFragmentResources(List<IConfigurationElement> fragmentElements) {
+		ResourceSet resourceSet = ((EObject) application).eResource().getResourceSet();
+		Map<URI, CompletableFuture<Resource>> loads = new HashMap<>();
+		for (IConfigurationElement ce : fragmentElements) {
+			String contributorName = ce.getContributor().getName();
+			URI uri = getFragmentURI(ce.getAttribute("uri"), contributorName); //$NON-NLS-1$
+			if (uri == null || loads.containsKey(uri) || resourceSet.getResource(uri, false) != null) {
+				continue;
+			}
+			Resource.Factory factory = resourceSet.getResourceFactoryRegistry().getFactory(uri);
+			if (factory == null) {
+				continue;
+			}
+			Resource resource = factory.createResource(uri);
+			Map<Object, Object> options = resourceSet.getLoadOptions();
+			loads.put(uri, CompletableFuture.supplyAsync(() -> {
+				long start = System.nanoTime();
+				try {
+					resource.load(options);
+					getTiming(contributorName).load.addAndGet(System.nanoTime() - start);
+					return resource;
+				} catch (IOException | RuntimeException e) {
+					// loaded and timed again in order, which reports the error
+					return null;
+				}
+			}));
+		}
+		return loads;
+	}
+
+	private ContributorTiming getTiming(String contributorName) {
+		return timings.computeIfAbsent(contributorName, name -> new ContributorTiming());
+	}
+
+	private static long toMillis(AtomicLong nanos) {
+		return TimeUnit.NANOSECONDS.toMillis(nanos.get());
+	}
+
 	private List<ModelFragmentWrapper> getModelFragmentWrapperFromBundle(Bundle bundle, boolean initial) {
 		List<ModelFragmentWrapper> wrappers = new ArrayList<>();
 		String fragmentHeader = bundle.getHeaders(Util.ZERO_LENGTH_STRING).get(MODEL_FRAGMENT_HEADER);
@@ -463,9 +666,11 @@ public class ModelAssembler {
 
 	public void processFragments(Collection<ModelFragmentWrapper> fragmentList) {
 		for (ModelFragmentWrapper fragmentWrapper : fragmentList) {
+			long start = System.nanoTime();
 			processFragment(fragmentWrapper.getFragmentContainer(), fragmentWrapper.getModelFragment(),
 					fragmentWrapper.getContributorName(), fragmentWrapper.getContributorURI(),
 					fragmentWrapper.isCheckExists());
+			getTiming(fragmentWrapper.getContributorName()).merge.addAndGet(System.nanoTime() - start);
 		}
 	}
 
@@ -522,17 +727,8 @@ public class ModelAssembler {
 			return null;
 		}
 
-		URI uri;
-		try {
-			// check if the attrURI is already a platform URI
-			if (URIHelper.isPlatformURI(attrURI)) {
-				uri = URI.createURI(attrURI);
-			} else {
-				String path = bundleName + '/' + attrURI;
-				uri = URI.createPlatformPluginURI(path, false);
-			}
-		} catch (RuntimeException e) {
-			warn("Invalid location {} of model extension {}", attrURI, bundleName, e); //$NON-NLS-1$
+		URI uri = getFragmentURI(attrURI, bundleName);
+		if (uri == null) {
 			return null;
 		}
 
@@ -558,6 +754,45 @@ public class ModelAssembler {
 		return modelFragments;
 	}
 
+	/**
+	 * Returns the elements contributed by the fragment, which are removed from
+	 * the model when the contributing bundle is stopped. If the fragment is
+	 * already merged into the restored model, these are the elements of the
+	 * model with the identifiers of the elements of the fragment.
+	 */
+	private List<MApplicationElement> getContributedElements(ModelFragmentWrapper wrapper) {
+		List<MApplicationElement> elements = wrapper.getModelFragment().getElements();
+		if (!fragmentsMerged) {
+			return List.copyOf(elements);
+		}
+		List<MApplicationElement> mergedElements = new ArrayList<>();
+		for (MApplicationElement element : elements) {
+			String id = element.getElementId();
+			MApplicationElement mergedElement = id == null ? null : ModelUtils.findElementById(application, id);
+			if (mergedElement != null) {
+				mergedElements.add(mergedElement);
+			}
+		}
+		return mergedElements;
+	}
+
+	private URI getFragmentURI(String attrURI, String bundleName) {
+		if (attrURI == null) {
+			return null;
+		}
+		try {
+			// check if the attrURI is already a platform URI
+			if (URIHelper.isPlatformURI(attrURI)) {
+				return URI.createURI(attrURI);
+			}
+			String path = bundleName + '/' + attrURI;
+			return URI.createPlatformPluginURI(path, false);
+		} catch (RuntimeException e) {
+			warn("Invalid location {} of model extension {}", attrURI, bundleName, e); //$NON-NLS-1$
+			return null;
+		}
+	}
+
 	/**
 	 * Contributes the given {@link MModelFragment} to the application model.
 	 *
@@ -627,7 +862,9 @@ public class ModelAssembler {
 				boolean parseBoolean = Boolean.parseBoolean(ce.getAttribute(BEFORE_FRAGMENT_PROPERTY_KEY));
 				if ("processor".equals(ce.getName()) && afterFragments != parseBoolean) { //$NON-NLS-1$
 					if (initial || !INITIAL.equals(ce.getAttribute(APPLY_PROPERTY_KEY))) {
+						long start = System.nanoTime();
 						runProcessor(ce);
+						getTiming(ce.getContributor().getName()).processors.addAndGet(System.nanoTime() - start);
 					}
 				}
 			}
@@ -650,7 +887,13 @@ public class ModelAssembler {
 			}
 
 			return afterFragments != beforeFragments && (initial || APPLY_ALWAYS.equals(apply));
-		}).map(bundleContext::getService).forEach(this::runProcessor);
+		}).map(bundleContext::getService).forEach(processor -> {
+			long start = System.nanoTime();
+			runProcessor(processor);
+			Bundle bundle = FrameworkUtil.getBundle(processor.getClass());
+			String contributorName = bundle != null ? bundle.getSymbolicName() : processor.getClass().getName();
+			getTiming(contributorName).processors.addAndGet(System.nanoTime() - start);
+		});
 	}
 
 	private void runProcessor(IConfigurationElement ce) {
@@ -0,0 +1,402 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.ui.model.application.MAddon;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.MApplicationElement;
+import org.eclipse.e4.ui.model.application.commands.MBindingContext;
+import org.eclipse.e4.ui.model.application.commands.MBindingTable;
+import org.eclipse.e4.ui.model.application.commands.MCommand;
+import org.eclipse.e4.ui.model.application.commands.MHandler;
+import org.eclipse.e4.ui.model.application.commands.MKeyBinding;
+import org.eclipse.e4.ui.model.application.ui.MUIElement;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
+import org.eclipse.e4.ui.model.application.ui.advanced.impl.AdvancedPackageImpl;
+import org.eclipse.e4.ui.model.application.ui.basic.impl.BasicPackageImpl;
+import org.eclipse.e4.ui.model.application.ui.impl.UiPackageImpl;
+import org.eclipse.e4.ui.workbench.UIEvents;
+import org.eclipse.e4.ui.workbench.UIEvents.EventTags;
+import org.eclipse.e4.ui.workbench.modeling.EModelService;
+import org.eclipse.e4.ui.workbench.modeling.ElementMatcher;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+/**
+ * Index of the elements of the application model by element id, tag and
+ * class, which answers the {@link EModelService#ANYWHERE} searches of
+ * {@link ModelServiceImpl} without walking the whole model.
+ * <p>
+ * The index holds every element contained in the application and is kept up to
+ * date from the {@link UIEvents} the {@link UIEventPublisher} sends for the
+ * model, so it is only used while the publisher is attached to the
+ * application. The elements found in the index are filtered and ordered the
+ * way the walk of {@link ModelServiceImpl} finds them: through the children of
+ * the containers, the trim bars of the windows, the detached windows of the
+ * windows and perspectives and the references of the placeholders.
+ * </p>
+ */
+final class ModelElementIndex implements EventHandler {
+
+	/** The topic of all the events of the model */
+	static final String TOPIC = UIEvents.UIModelTopicBase + UIEvents.TOPIC_SEP + UIEvents.ALL_SUB_TOPICS;
+
+	private static final int[] ROOT_PATH = new int[0];
+
+	private final IEclipseContext appContext;
+
+	private MApplication application;
+
+	private final Map<String, Set<MApplicationElement>> byId = new HashMap<>();
+
+	private final Map<String, Set<MApplicationElement>> byTag = new HashMap<>();
+
+	private final Map<Class<?>, Set<MApplicationElement>> byClass = new HashMap<>();
+
+	/** The placeholders referencing each element, computed when needed */
+	private Map<MUIElement, List<MPlaceholder>> placeholders;
+
+	ModelElementIndex(IEclipseContext appContext) {
+		this.appContext = appContext;
+	}
+
+	/**
+	 * Returns the elements which the walk of {@link ModelServiceImpl} finds
+	 * for an {@link ElementMatcher} with the given arguments and the
+	 * {@link EModelService#ANYWHERE} flags, in the same order.
+	 *
+	 * @return the elements or <code>null</code> if the search has to walk the
+	 *         model
+	 */
+	synchronized <T> List<T> findElements(MUIElement searchRoot, String id, Class<T> clazz,
+			List<String> tagsToMatch) {
+		// the walk only looks at handlers, commands, bindings and addons when
+		// it is asked for them
+		if (clazz == MHandler.class || clazz == MCommand.class || clazz == MBindingContext.class
+				|| clazz == MBindingTable.class || clazz == MKeyBinding.class || clazz == MAddon.class) {
+			return null;
+		}
+		if (!isAttached() || !EcoreUtil.isAncestor((EObject) application, (EObject) searchRoot)) {
+			return null;
+		}
+
+		Collection<MApplicationElement> candidates = getCandidates(id, clazz, tagsToMatch);
+		if (candidates == null) {
+			return null;
+		}
+		ElementMatcher matcher = new ElementMatcher(id, clazz, tagsToMatch);
+		Map<MApplicationElement, int[]> paths = new HashMap<>();
+		paths.put(searchRoot, ROOT_PATH);
+		List<MApplicationElement> found = new ArrayList<>();
+		for (MApplicationElement candidate : candidates) {
+			if (matcher.select(candidate) && getPath(candidate, paths) != null) {
+				found.add(candidate);
+			}
+		}
+		if (found.size() > 1) {
+			found.sort((e1, e2) -> compare(paths.get(e1), paths.get(e2)));
+		}
+		@SuppressWarnings("unchecked")
+		List<T> elements = (List<T>) found;
+		return elements;
+	}
+
+	/**
+	 * @return the smallest set of indexed elements which contains the matching
+	 *         elements, or <code>null</code> if the search matches about any
+	 *         element
+	 */
+	private Collection<MApplicationElement> getCandidates(String id, Class<?> clazz, List<String> tagsToMatch) {
+		Collection<MApplicationElement> candidates = null;
+		if (id != null) {
+			candidates = byId.getOrDefault(id, Collections.emptySet());
+		}
+		if (tagsToMatch != null) {
+			for (String tag : tagsToMatch) {
+				Set<MApplicationElement> tagged = byTag.getOrDefault(tag, Collections.emptySet());
+				if (candidates == null || tagged.size() < candidates.size()) {
+					candidates = tagged;
+				}
+			}
+		}
+		if (candidates == null && clazz != null && clazz != MApplicationElement.class
+				&& clazz != MUIElement.class) {
+			candidates = new ArrayList<>();
+			for (Entry<Class<?>, Set<MApplicationElement>> entry : byClass.entrySet()) {
+				if (clazz.isAssignableFrom(entry.getKey())) {
+					candidates.addAll(entry.getValue());
+				}
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns the path through which the walk from the search root, whose
+	 * empty path is in the given map, first reaches the element. Each step of
+	 * the path is made of the rank of the feature holding the next element, in
+	 * the order the walk visits the features, and of the position of the
+	 * element in the feature. The paths of the elements sort in the order the
+	 * walk finds them.
+	 *
+	 * @return the path or <code>null</code> if the walk does not reach the
+	 *         element
+	 */
+	private int[] getPath(MApplicationElement element, Map<MApplicationElement, int[]> paths) {
+		if (paths.containsKey(element)) {
+			return paths.get(element);
+		}
+		// placeholders referencing one of their ancestors are not followed
+		paths.put(element, null);
+
+		int[] path = null;
+		EObject eObject = (EObject) element;
+		EObject container = eObject.eContainer();
+		EStructuralFeature feature = eObject.eContainmentFeature();
+		int rank = getRank(feature);
+		if (rank >= 0 && container instanceof MApplicationElement) {
+			int[] containerPath = getPath((MApplicationElement) container, paths);
+			if (containerPath != null) {
+				path = append(containerPath, rank, ((List<?>) container.eGet(feature)).indexOf(element));
+			}
+		}
+		List<MPlaceholder> references = getPlaceholders().get(element);
+		if (references != null) {
+			for (MPlaceholder placeholder : references) {
+				int[] placeholderPath = getPath(placeholder, paths);
+				if (placeholderPath != null) {
+					int[] referencePath = append(placeholderPath, 0, 0);
+					if (path == null || compare(referencePath, path) < 0) {
+						path = referencePath;
+					}
+				}
+			}
+		}
+		paths.put(element, path);
+		return path;
+	}
+
+	/**
+	 * @return the rank of the containment feature in the order the walk visits
+	 *         the features of an element, or -1 if the walk does not visit it
+	 */
+	private static int getRank(EStructuralFeature feature) {
+		if (feature == UiPackageImpl.Literals.ELEMENT_CONTAINER__CHILDREN) {
+			return 1;
+		} else if (feature == BasicPackageImpl.Literals.TRIMMED_WINDOW__TRIM_BARS) {
+			return 2;
+		} else if (feature == BasicPackageImpl.Literals.WINDOW__WINDOWS
+				|| feature == AdvancedPackageImpl.Literals.PERSPECTIVE__WINDOWS) {
+			return 3;
+		}
+		return -1;
+	}
+
+	private static int[] append(int[] path, int rank, int index) {
+		int[] result = new int[path.length + 2];
+		System.arraycopy(path, 0, result, 0, path.length);
+		result[path.length] = rank;
+		result[path.length + 1] = index;
+		return result;
+	}
+
+	private static int compare(int[] path1, int[] path2) {
+		int length = Math.min(path1.length, path2.length);
+		for (int i = 0; i < length; i++) {
+			if (path1[i] != path2[i]) {
+				return Integer.compare(path1[i], path2[i]);
+			}
+		}
+		return Integer.compare(path1.length, path2.length);
+	}
+
+	private Map<MUIElement, List<MPlaceholder>> getPlaceholders() {
+		if (placeholders == null) {
+			placeholders = new HashMap<>();
+			for (Entry<Class<?>, Set<MApplicationElement>> entry : byClass.entrySet()) {
+				if (MPlaceholder.class.isAssignableFrom(entry.getKey())) {
+					for (MApplicationElement element : entry.getValue()) {
+						MPlaceholder placeholder = (MPlaceholder) element;
+						if (placeholder.getRef() != null) {
+							placeholders.computeIfAbsent(placeholder.getRef(), r -> new ArrayList<>()).add(placeholder);
+						}
+					}
+				}
+			}
+		}
+		return placeholders;
+	}
+
+	/**
+	 * Checks that the events of the application model are published, and
+	 * builds the index of the application if needed.
+	 */
+	private boolean isAttached() {
+		MApplication app = appContext.get(MApplication.class);
+		UIEventPublisher publisher = appContext.get(UIEventPublisher.class);
+		if (app == null || publisher == null || !((Notifier) app).eAdapters().contains(publisher)) {
+			// changes are not published, the index has to be built again
+			clear();
+			return false;
+		}
+		if (app != application) {
+			clear();
+			application = app;
+			addTree(app);
+		}
+		return true;
+	}
+
+	private void clear() {
+		application = null;
+		byId.clear();
+		byTag.clear();
+		byClass.clear();
+		placeholders = null;
+	}
+
+	@Override
+	public synchronized void handleEvent(Event event) {
+		if (application == null) {
+			return;
+		}
+		Object element = event.getProperty(EventTags.ELEMENT);
+		Object attribute = event.getProperty(EventTags.ATTNAME);
+		if (!(element instanceof MApplicationElement) || !isIndexed((MApplicationElement) element)) {
+			return;
+		}
+		boolean set = UIEvents.isSET(event);
+		boolean removed = set || UIEvents.isREMOVE(event);
+		boolean added = set || UIEvents.isADD(event);
+		if (!removed && !added) {
+			return;
+		}
+		MApplicationElement changed = (MApplicationElement) element;
+		if (UIEvents.ApplicationElement.ELEMENTID.equals(attribute)) {
+			remove(byId, (String) event.getProperty(EventTags.OLD_VALUE), changed);
+			add(byId, changed.getElementId(), changed);
+		} else if (UIEvents.ApplicationElement.TAGS.equals(attribute)) {
+			if (removed && event.containsProperty(EventTags.OLD_VALUE)) {
+				for (Object tag : UIEvents.asIterable(event, EventTags.OLD_VALUE)) {
+					if (!changed.getTags().contains(tag)) {
+						remove(byTag, (String) tag, changed);
+					}
+				}
+			}
+			for (String tag : changed.getTags()) {
+				add(byTag, tag, changed);
+			}
+		} else if (attribute instanceof String) {
+			EStructuralFeature feature = ((EObject) changed).eClass().getEStructuralFeature((String) attribute);
+			if (feature == AdvancedPackageImpl.Literals.PLACEHOLDER__REF) {
+				placeholders = null;
+			} else if (feature instanceof EReference && ((EReference) feature).isContainment()) {
+				placeholders = null;
+				// an element moved to another container is removed from the
+				// old one after or before it is added to the new one
+				if (removed && event.containsProperty(EventTags.OLD_VALUE)) {
+					for (Object value : UIEvents.asIterable(event, EventTags.OLD_VALUE)) {
+						if (value instanceof MApplicationElement && !isContained(value)) {
+							removeTree((MApplicationElement) value);
+						}
+					}
+				}
+				if (added && event.containsProperty(EventTags.NEW_VALUE)) {
+					for (Object value : UIEvents.asIterable(event, EventTags.NEW_VALUE)) {
+						if (value instanceof MApplicationElement && isContained(value)) {
+							addTree((MApplicationElement) value);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private boolean isContained(Object element) {
+		return EcoreUtil.isAncestor((EObject) application, (EObject) element);
+	}
+
+	private boolean isIndexed(MApplicationElement element) {
+		Set<MApplicationElement> elements = byClass.get(element.getClass());
+		return elements != null && elements.contains(element);
+	}
+
+	private void addTree(MApplicationElement root) {
+		addElement(root);
+		for (Iterator<EObject> it = ((EObject) root).eAllContents(); it.hasNext();) {
+			EObject content = it.next();
+			if (content instanceof MApplicationElement) {
+				addElement((MApplicationElement) content);
+			}
+		}
+	}
+
+	private void removeTree(MApplicationElement root) {
+		removeElement(root);
+		for (Iterator<EObject> it = ((EObject) root).eAllContents(); it.hasNext();) {
+			EObject content = it.next();
+			if (content instanceof MApplicationElement) {
+				removeElement((MApplicationElement) content);
+			}
+		}
+	}
+
+	private void addElement(MApplicationElement element) {
+		add(byClass, element.getClass(), element);
+		add(byId, element.getElementId(), element);
+		for (String tag : element.getTags()) {
+			add(byTag, tag, element);
+		}
+	}
+
+	private void removeElement(MApplicationElement element) {
+		remove(byClass, element.getClass(), element);
+		remove(byId, element.getElementId(), element);
+		for (String tag : element.getTags()) {
+			remove(byTag, tag, element);
+		}
+	}
+
+	private static <K> void add(Map<K, Set<MApplicationElement>> map, K key, MApplicationElement element) {
+		if (key != null) {
+			map.computeIfAbsent(key, k -> new HashSet<>()).add(element);
+		}
+	}
+
+	private static <K> void remove(Map<K, Set<MApplicationElement>> map, K key, MApplicationElement element) {
+		if (key != null) {
+			Set<MApplicationElement> elements = map.get(key);
+			if (elements != null && elements.remove(element) && elements.isEmpty()) {
+				map.remove(key);
+			}
+		}
+	}
+}
@@ -89,6 +89,12 @@ public class ModelServiceImpl implements EModelService {
 
 	static String HOSTED_ELEMENT = "HostedElement"; //$NON-NLS-1$
 
+	/**
+	 * System property enabling the index answering the searches for elements
+	 * anywhere in the application model.
+	 */
+	static final String MODEL_INDEX = "org.eclipse.e4.ui.workbench.modelIndex"; //$NON-NLS-1$
+
 	private IEclipseContext appContext;
 
 	/** Factory which is able to create {@link MApplicationElement}s in a generic way. */
@@ -96,6 +102,11 @@ public class ModelServiceImpl implements EModelService {
 
 	private ServiceRegistration<?> handlerRegistration;
 
+	/** The index of the model elements, or <code>null</code> if not enabled */
+	private ModelElementIndex elementIndex;
+
+	private ServiceRegistration<?> indexRegistration;
+
 	/**
 	 * This is a singleton service. One instance is used throughout the running
 	 * application
@@ -109,6 +120,9 @@ public class ModelServiceImpl implements EModelService {
 		Objects.requireNonNull(appContext, "No application context given!"); //$NON-NLS-1$
 
 		this.appContext = appContext;
+		if (Boolean.getBoolean(MODEL_INDEX)) {
+			elementIndex = new ModelElementIndex(appContext);
+		}
 
 		Bundle bundle = FrameworkUtil.getBundle(getClass());
 		if (bundle != null) {
@@ -119,6 +133,13 @@ public class ModelServiceImpl implements EModelService {
 				properties.put(EventConstants.EVENT_TOPIC, new String[] { UIEvents.UIElement.TOPIC_WIDGET });
 				handlerRegistration = bundleContext.registerService(EventHandler.class.getName(),
 						ContextInjectionFactory.make(HostedElementEventHandler.class, appContext), properties);
+				if (elementIndex != null) {
+					// the index has to be updated before any search is answered
+					Dictionary<String, Object> indexProperties = new Hashtable<>();
+					indexProperties.put(EventConstants.EVENT_TOPIC, new String[] { ModelElementIndex.TOPIC });
+					indexRegistration = bundleContext.registerService(EventHandler.class.getName(), elementIndex,
+							indexProperties);
+				}
 			}
 		} else {
 			// if we are not running in an OSGi environment, we try to use the IEventBroker
@@ -131,6 +152,9 @@ public class ModelServiceImpl implements EModelService {
 			// internally
 			eventBroker.subscribe(UIEvents.UIElement.TOPIC_WIDGET, null,
 					ContextInjectionFactory.make(HostedElementEventHandler.class, appContext), true);
+			if (elementIndex != null) {
+				eventBroker.subscribe(ModelElementIndex.TOPIC, null, elementIndex, true);
+			}
 		}
 
 		mApplicationElementFactory = new GenericMApplicationElementFactoryImpl(
@@ -142,6 +166,14 @@ public class ModelServiceImpl implements EModelService {
 		if (handlerRegistration != null) {
 			handlerRegistration.unregister();
 		}
+		if (indexRegistration != null) {
+			indexRegistration.unregister();
+		} else if (elementIndex != null) {
+			IEventBroker eventBroker = appContext.get(IEventBroker.class);
+			if (eventBroker != null) {
+				eventBroker.unsubscribe(elementIndex);
+			}
+		}
 	}
 
 	@Override
@@ -412,8 +444,7 @@ public class ModelServiceImpl implements EModelService {
 
 	@Override
 	public <T> List<T> findElements(MUIElement searchRoot, String id, Class<T> clazz, List<String> tagsToMatch) {
-		ElementMatcher matcher = new ElementMatcher(id, clazz, tagsToMatch);
-		return findElements(searchRoot, clazz, ANYWHERE, matcher);
+		return findElements(searchRoot, id, clazz, tagsToMatch, ANYWHERE);
 	}
 
 	@Override
@@ -424,6 +455,12 @@ public class ModelServiceImpl implements EModelService {
 	@Override
 	public <T> List<T> findElements(MUIElement searchRoot, String id, Class<T> clazz,
 			List<String> tagsToMatch, int searchFlags) {
+		if (elementIndex != null && searchFlags == ANYWHERE) {
+			List<T> elements = elementIndex.findElements(searchRoot, id, clazz, tagsToMatch);
+			if (elements != null) {
+				return elements;
+			}
+		}
 		ElementMatcher matcher = new ElementMatcher(id, clazz, tagsToMatch);
 		return findElements(searchRoot, clazz, searchFlags, matcher);
 	}
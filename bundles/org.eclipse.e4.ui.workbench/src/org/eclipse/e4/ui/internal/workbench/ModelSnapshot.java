@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.internal.workbench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * A binary snapshot of the persisted application model, stored next to the
+ * <code>workbench.xmi</code> file.
+ * <p>
+ * Loading the EMF binary form of the model is much faster than parsing the
+ * XMI. The snapshot records the hash of the model fragments merged into the
+ * model, so that merging them again can be skipped while they are unchanged,
+ * and the time stamp and length of the XMI file, so that it is not used once
+ * the XMI file has been written without it.
+ * </p>
+ */
+final class ModelSnapshot {
+
+	private static final int MAGIC = 0x4534534E; // E4SN
+
+	private static final int VERSION = 1;
+
+	private final File file;
+
+	private final File modelFile;
+
+	/**
+	 * @param file
+	 *            the snapshot file
+	 * @param modelFile
+	 *            the XMI file of the model
+	 */
+	ModelSnapshot(File file, File modelFile) {
+		this.file = file;
+		this.modelFile = modelFile;
+	}
+
+	/**
+	 * Loads the model from the snapshot into the resource if the snapshot was
+	 * written with the current XMI file and the given fragments.
+	 *
+	 * @param fragmentsHash
+	 *            the hash of the model fragments contributed now
+	 * @return <code>true</code> if the model was loaded
+	 */
+	boolean load(E4XMIResource resource, String fragmentsHash) {
+		if (fragmentsHash == null || !file.isFile()) {
+			return false;
+		}
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION || !fragmentsHash.equals(in.readUTF())
+					|| in.readLong() != modelFile.lastModified() || in.readLong() != modelFile.length()) {
+				return false;
+			}
+			String[] ids = new String[in.readInt()];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = in.readUTF();
+			}
+			byte[] content = new byte[in.readInt()];
+			in.readFully(content);
+
+			ResourceSet resourceSet = resource.getResourceSet();
+			Resource binaryResource = new BinaryResourceImpl(URI.createFileURI(file.getAbsolutePath()));
+			if (resourceSet != null) {
+				// resolve the packages of the model through the resource set
+				resourceSet.getResources().add(binaryResource);
+			}
+			try {
+				binaryResource.load(new ByteArrayInputStream(content), null);
+				resource.getContents().addAll(binaryResource.getContents());
+			} finally {
+				if (resourceSet != null) {
+					resourceSet.getResources().remove(binaryResource);
+				}
+			}
+
+			int i = 0;
+			for (TreeIterator<EObject> it = EcoreUtil.getAllContents(resource.getContents()); it.hasNext();) {
+				EObject object = it.next();
+				String id = ids[i++];
+				if (!id.isEmpty()) {
+					resource.setID(object, id);
+				}
+			}
+			if (i != ids.length) {
+				throw new IOException("The identifiers do not match the elements"); //$NON-NLS-1$
+			}
+			return true;
+		} catch (IOException | RuntimeException e) {
+			// a stale or damaged snapshot, the XMI file is loaded instead
+			resource.getContents().clear();
+			return false;
+		}
+	}
+
+	/**
+	 * Writes the snapshot of the model of the resource, which has just been
+	 * saved to the XMI file. Like the XMI file, the snapshot leaves out the
+	 * elements which are not persisted.
+	 *
+	 * @param fragmentsHash
+	 *            the hash of the model fragments merged into the model
+	 */
+	void save(E4XMIResource resource, String fragmentsHash) throws IOException {
+		EcoreUtil.Copier copier = new EcoreUtil.Copier();
+		List<EObject> copies = new ArrayList<>(copier.copyAll(resource.getContents()));
+		copier.copyReferences();
+		Map<EObject, EObject> originals = new IdentityHashMap<>();
+		for (Entry<EObject, EObject> entry : copier.entrySet()) {
+			originals.put(entry.getValue(), entry.getKey());
+		}
+
+		List<EObject> filtered = new ArrayList<>();
+		for (TreeIterator<EObject> it = EcoreUtil.getAllContents(copies); it.hasNext();) {
+			EObject object = it.next();
+			if (E4XMISave.isFiltered(object)) {
+				filtered.add(object);
+				it.prune();
+			}
+		}
+		for (EObject object : filtered) {
+			EcoreUtil.delete(object, true);
+		}
+
+		Resource binaryResource = new BinaryResourceImpl(URI.createFileURI(file.getAbsolutePath()));
+		binaryResource.getContents().addAll(copies);
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		binaryResource.save(content, null);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeUTF(fragmentsHash);
+			out.writeLong(modelFile.lastModified());
+			out.writeLong(modelFile.length());
+			List<String> ids = new ArrayList<>();
+			for (TreeIterator<EObject> it = EcoreUtil.getAllContents(copies); it.hasNext();) {
+				String id = resource.getID(originals.get(it.next()));
+				ids.add(id == null ? "" : id); //$NON-NLS-1$
+			}
+			out.writeInt(ids.size());
+			for (String id : ids) {
+				out.writeUTF(id);
+			}
+			out.writeInt(content.size());
+			content.writeTo(out);
+		}
+
+		Path temp = Files.createTempFile(file.getParentFile().toPath(), null, null);
+		Files.write(temp, bytes.toByteArray());
+		try {
+			Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Deletes the snapshot, so that the XMI file is loaded next time.
+	 */
+	void delete() {
+		file.delete();
+	}
+}
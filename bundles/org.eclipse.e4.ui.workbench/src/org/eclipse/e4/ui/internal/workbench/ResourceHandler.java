@@ -62,9 +62,22 @@ import org.osgi.framework.Bundle;
  */
 public class ResourceHandler implements IModelResourceHandler {
 
+	/**
+	 * System property to restore the model from a binary snapshot, which is
+	 * written when the model is saved, and to skip merging the model fragments
+	 * while they are unchanged.
+	 */
+	private static final String MODEL_SNAPSHOT = "org.eclipse.e4.ui.workbench.modelSnapshot"; //$NON-NLS-1$
+
 	private ResourceSet resourceSet;
 	private Resource resource;
 
+	/** The hash of the fragments merged into the model, if it is snapshotted */
+	private String fragmentsHash;
+
+	/** Whether the last loaded model was restored from its snapshot */
+	private boolean restoredFromSnapshot;
+
 	@Inject
 	private Logger logger;
 
@@ -124,6 +137,15 @@ public class ResourceHandler implements IModelResourceHandler {
 		return hasTopLevelWindows(resource);
 	}
 
+	/**
+	 * @return {@code true} if the current application model was restored from
+	 *         its binary snapshot instead of the XMI file, with the model
+	 *         fragments already merged.
+	 */
+	public boolean isRestoredFromSnapshot() {
+		return restoredFromSnapshot;
+	}
+
 	/**
 	 * @return {@code true} if the specified application model has top-level windows.
 	 */
@@ -149,6 +171,7 @@ public class ResourceHandler implements IModelResourceHandler {
 
 		if (clearPersistedState && workbenchData != null && workbenchData.exists()) {
 			workbenchData.delete();
+			getSnapshot().delete();
 		}
 
 		// last stored time-stamp
@@ -160,9 +183,25 @@ public class ResourceHandler implements IModelResourceHandler {
 		// boolean restore = restoreLastModified > lastApplicationModification;
 		boolean restore = restoreLastModified > 0;
 		boolean initialModel;
+		restoredFromSnapshot = false;
+
+		ModelAssembler mac = context.get(ModelAssembler.class);
+		fragmentsHash = null;
+		if (Boolean.getBoolean(MODEL_SNAPSHOT) && saveAndRestore && mac != null) {
+			fragmentsHash = mac.getFragmentsHash();
+		}
 
 		resource = null;
-		if (restore && saveAndRestore) {
+		if (restore && saveAndRestore && fragmentsHash != null) {
+			E4XMIResource snapshotResource = (E4XMIResource) createResource();
+			if (getSnapshot().load(snapshotResource, fragmentsHash) && hasTopLevelWindows(snapshotResource)) {
+				resource = snapshotResource;
+				restoredFromSnapshot = true;
+			} else {
+				resourceSet.getResources().remove(snapshotResource);
+			}
+		}
+		if (resource == null && restore && saveAndRestore) {
 			resource = loadResource(restoreLocation);
 			// If the saved model does not have any top-level windows, Eclipse will exit
 			// immediately, so throw out the persisted state and reinitialize with the defaults.
@@ -190,10 +229,9 @@ public class ResourceHandler implements IModelResourceHandler {
 
 		this.context.set(MApplication.class, appElement);
 
-		ModelAssembler mac = context.get(ModelAssembler.class);
 		if (mac != null) {
 			ContextInjectionFactory.invoke(mac, PostConstruct.class, context);
-			mac.processModel(initialModel);
+			mac.processModel(initialModel, restoredFromSnapshot);
 		}
 
 		if (!hasTopLevelWindows(resource) && logger != null) {
@@ -215,6 +253,18 @@ public class ResourceHandler implements IModelResourceHandler {
 			Map<String, Object> options = new HashMap<>();
 			options.put(E4XMIResource.OPTION_FILTER_PERSIST_STATE, Boolean.TRUE);
 			resource.save(options);
+			if (fragmentsHash != null && resource instanceof E4XMIResource
+					&& resource.getURI().equals(URI.createFileURI(getWorkbenchSaveLocation().getAbsolutePath()))) {
+				try {
+					getSnapshot().save((E4XMIResource) resource, fragmentsHash);
+				} catch (IOException | RuntimeException e) {
+					// the model is loaded from the XMI file next time
+					getSnapshot().delete();
+					if (logger != null) {
+						logger.warn(e, "Unable to write the snapshot of the model"); //$NON-NLS-1$
+					}
+				}
+			}
 		}
 	}
 
@@ -244,6 +294,10 @@ public class ResourceHandler implements IModelResourceHandler {
 		return new File(getBaseLocation(), "workbench.xmi"); //$NON-NLS-1$
 	}
 
+	private ModelSnapshot getSnapshot() {
+		return new ModelSnapshot(new File(getBaseLocation(), "workbench.bin"), getWorkbenchSaveLocation()); //$NON-NLS-1$
+	}
+
 	private File getBaseLocation() {
 		File baseLocation;
 		try {
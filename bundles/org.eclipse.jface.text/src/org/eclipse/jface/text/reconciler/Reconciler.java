@@ -16,11 +16,18 @@ package org.eclipse.jface.text.reconciler;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Platform;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
@@ -48,9 +55,48 @@ import org.eclipse.jface.text.TypedRegion;
  */
 public class Reconciler extends AbstractReconciler implements IReconcilerExtension {
 
+	/**
+	 * Prints the time spent by each reconciling strategy on each dirty region.
+	 *
+	 * @since 3.28
+	 */
+	private static final boolean DEBUG= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.jface.text/debug/Reconciler")); //$NON-NLS-1$//$NON-NLS-2$
+
+	/**
+	 * Thread running reconciling strategies in parallel with the reconciler thread.
+	 *
+	 * @since 3.28
+	 */
+	private class StrategyWorker extends Thread {
+
+		StrategyWorker(Runnable runnable) {
+			super(runnable, Reconciler.this.getClass().getName() + " Worker"); //$NON-NLS-1$
+			setPriority(Thread.MIN_PRIORITY);
+			setDaemon(true);
+		}
+
+		Reconciler getReconciler() {
+			return Reconciler.this;
+		}
+	}
+
 	/** The map of reconciling strategies. */
 	private Map<String, IReconcilingStrategy> fStrategies;
 
+	/**
+	 * Tells whether the reconciling strategies run in parallel.
+	 *
+	 * @since 3.28
+	 */
+	private boolean fIsRunningStrategiesInParallel= false;
+
+	/**
+	 * The workers running the reconciling strategies in parallel, created on demand.
+	 *
+	 * @since 3.28
+	 */
+	private ExecutorService fStrategyWorkers;
+
 	/**
 	 * The partitioning this reconciler uses.
 	 *@since 3.0
@@ -84,6 +130,30 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 		return fPartitioning;
 	}
 
+	/**
+	 * Tells the reconciler whether it runs its reconciling strategies in parallel.
+	 * <p>
+	 * If so, each reconciling strategy reconciles its partitions of a dirty region
+	 * on its own worker thread, so that a slow strategy does not delay the other
+	 * ones. A strategy never runs in parallel with itself, and the next dirty
+	 * region is processed once all strategies are done with the current one. The
+	 * strategies must therefore not depend on each other. When the whole document
+	 * is reconciled and it changes, the strategies do not reconcile their remaining
+	 * partitions of the stale document. Incremental reconciling strategies get all
+	 * their partitions and should check the progress monitor of the reconciler.
+	 * </p>
+	 * <p>
+	 * By default, the reconciling strategies run one after the other in the
+	 * reconciler thread.
+	 * </p>
+	 *
+	 * @param runInParallel indicates whether the reconciling strategies run in parallel
+	 * @since 3.28
+	 */
+	public void setRunStrategiesInParallel(boolean runInParallel) {
+		fIsRunningStrategiesInParallel= runInParallel;
+	}
+
 	/**
 	 * Registers a given reconciling strategy for a particular content type.
 	 * If there is already a strategy registered for this type, the new strategy
@@ -140,16 +210,139 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 
 		ITypedRegion[] regions= computePartitioning(region.getOffset(), region.getLength());
 
+		long start= DEBUG ? System.nanoTime() : 0;
+		Map<IReconcilingStrategy, long[]> times= DEBUG ? new ConcurrentHashMap<>() : null;
+
+		if (fIsRunningStrategiesInParallel) {
+			processInParallel(dirtyRegion, regions, times);
+		} else {
+			for (ITypedRegion r : regions) {
+				IReconcilingStrategy s= getReconcilingStrategy(r.getType());
+				if (s == null)
+					continue;
+
+				reconcile(s, dirtyRegion, r, times);
+			}
+		}
+
+		if (DEBUG) {
+			StringBuilder message= new StringBuilder("Reconciler: reconciled offset: ").append(region.getOffset()) //$NON-NLS-1$
+					.append(", length= ").append(region.getLength()) //$NON-NLS-1$
+					.append(" in ").append((System.nanoTime() - start) / 1000000).append(" ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			for (Map.Entry<IReconcilingStrategy, long[]> entry : times.entrySet()) {
+				message.append(", ").append(entry.getKey().getClass().getName()) //$NON-NLS-1$
+						.append(": ").append(entry.getValue()[0] / 1000000).append(" ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			System.out.println(message);
+		}
+	}
+
+	/**
+	 * Hands the partitions of a dirty region over to their reconciling strategies, each
+	 * strategy running in parallel with the other ones. The first strategy runs in the
+	 * calling thread. Returns when all strategies are done.
+	 *
+	 * @param dirtyRegion the dirty region, or <code>null</code> if the whole document is dirty
+	 * @param regions the partitions of the dirty region
+	 * @param times the time spent by each strategy, or <code>null</code> if it is not measured
+	 * @since 3.28
+	 */
+	private void processInParallel(DirtyRegion dirtyRegion, ITypedRegion[] regions, Map<IReconcilingStrategy, long[]> times) {
+		Map<IReconcilingStrategy, List<ITypedRegion>> partitions= new LinkedHashMap<>();
 		for (ITypedRegion r : regions) {
 			IReconcilingStrategy s= getReconcilingStrategy(r.getType());
-			if (s == null)
-				continue;
+			if (s != null)
+				partitions.computeIfAbsent(s, k -> new ArrayList<>()).add(r);
+		}
 
-			if(dirtyRegion != null)
-				s.reconcile(dirtyRegion, r);
+		IProgressMonitor monitor= getProgressMonitor();
+		Runnable first= null;
+		List<Future<?>> futures= new ArrayList<>(partitions.size());
+		for (Map.Entry<IReconcilingStrategy, List<ITypedRegion>> entry : partitions.entrySet()) {
+			Runnable task= () -> {
+				for (ITypedRegion r : entry.getValue()) {
+					// the document has changed and will be reconciled again
+					if (dirtyRegion == null && monitor.isCanceled())
+						return;
+					reconcile(entry.getKey(), dirtyRegion, r, times);
+				}
+			};
+			if (first == null)
+				first= task;
 			else
-				s.reconcile(r);
+				futures.add(getStrategyWorkers().submit(task));
+		}
+
+		Throwable failure= null;
+		if (first != null) {
+			try {
+				first.run();
+			} catch (RuntimeException | Error x) {
+				failure= x;
+			}
 		}
+		boolean interrupted= false;
+		for (Future<?> future : futures) {
+			// the strategies must be done before the next dirty region is processed
+			boolean done= false;
+			while (!done) {
+				try {
+					future.get();
+					done= true;
+				} catch (ExecutionException x) {
+					if (failure == null)
+						failure= x.getCause();
+					done= true;
+				} catch (InterruptedException x) {
+					interrupted= true;
+				}
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		if (failure instanceof Error)
+			throw (Error) failure;
+		if (failure != null)
+			throw (RuntimeException) failure;
+	}
+
+	/**
+	 * Hands a partition of a dirty region over to a reconciling strategy.
+	 *
+	 * @param strategy the reconciling strategy
+	 * @param dirtyRegion the dirty region, or <code>null</code> if the whole document is dirty
+	 * @param partition the partition
+	 * @param times the time spent by each strategy, or <code>null</code> if it is not measured
+	 * @since 3.28
+	 */
+	private void reconcile(IReconcilingStrategy strategy, DirtyRegion dirtyRegion, ITypedRegion partition, Map<IReconcilingStrategy, long[]> times) {
+		long start= times != null ? System.nanoTime() : 0;
+
+		if (dirtyRegion != null)
+			strategy.reconcile(dirtyRegion, partition);
+		else
+			strategy.reconcile(partition);
+
+		if (times != null)
+			times.computeIfAbsent(strategy, k -> new long[1])[0]+= System.nanoTime() - start;
+	}
+
+	/**
+	 * Returns the workers running the reconciling strategies in parallel.
+	 *
+	 * @return the workers
+	 * @since 3.28
+	 */
+	private synchronized ExecutorService getStrategyWorkers() {
+		if (fStrategyWorkers == null)
+			fStrategyWorkers= Executors.newCachedThreadPool(StrategyWorker::new);
+		return fStrategyWorkers;
+	}
+
+	@Override
+	protected boolean isRunningInReconcilerThread() {
+		Thread thread= Thread.currentThread();
+		return super.isRunningInReconcilerThread() || thread instanceof StrategyWorker && ((StrategyWorker) thread).getReconciler() == this;
 	}
 
 	@Override
@@ -190,6 +383,12 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 			}
 		}
 		super.uninstall();
+		synchronized (this) {
+			if (fStrategyWorkers != null) {
+				fStrategyWorkers.shutdown();
+				fStrategyWorkers= null;
+			}
+		}
 	}
 
 	@Override
@@ -0,0 +1,497 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.util.Policy;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+/**
+ * (NON-API) A persistent cache of decoded and zoomed {@link ImageData}. The
+ * entries are appended to a single file, which is memory-mapped when the cache
+ * is opened, so the pixels of the previous session are kept off the Java heap
+ * until they are used. An entry is identified by a key, usually an URL and a
+ * zoom level, and is only returned if its modification stamp is unchanged.
+ * <p>
+ * The cache file is only written by the process that holds its lock, other
+ * processes only read it. When that process opens the cache, it rewrites the
+ * file without the superseded entries if they waste much of it, and starts
+ * over with an empty file if the entries nearly fill it.
+ * </p>
+ *
+ * @since 3.37
+ */
+public final class ImageDataCache {
+
+	private static final int MAGIC = 0x4a464944; // "JFID"
+
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 8;
+
+	/**
+	 * The cache file is not extended beyond this size by default.
+	 */
+	private static final long MAX_SIZE = 64 * 1024 * 1024;
+
+	private static ImageDataCache defaultCache;
+
+	private static boolean defaultCacheOpened;
+
+	/**
+	 * An entry from <code>start</code>, its image data from <code>offset</code>
+	 * to <code>offset + length</code>.
+	 */
+	private record Entry(long stamp, long start, long offset, int length) {
+	}
+
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	private final long maxSize;
+
+	private FileChannel channel;
+
+	private FileLock lock;
+
+	private MappedByteBuffer mapped;
+
+	private long size;
+
+	private int hits;
+
+	private int misses;
+
+	private long loadTime;
+
+	private long decodeTime;
+
+	/**
+	 * Returns the cache at {@link InternalPolicy#IMAGE_DATA_CACHE_LOCATION}.
+	 *
+	 * @return the cache or <code>null</code> if there is no cache location or
+	 *         the cache cannot be opened
+	 */
+	public static synchronized ImageDataCache getDefault() {
+		if (!defaultCacheOpened && InternalPolicy.IMAGE_DATA_CACHE_LOCATION != null) {
+			defaultCacheOpened = true;
+			try {
+				defaultCache = new ImageDataCache(InternalPolicy.IMAGE_DATA_CACHE_LOCATION);
+			} catch (IOException e) {
+				Policy.getLog().log(Status.warning("Cannot open the image data cache", e)); //$NON-NLS-1$
+			}
+		}
+		return defaultCache;
+	}
+
+	/**
+	 * Opens the cache in the given file, the file is created if it does not
+	 * exist.
+	 *
+	 * @param file the cache file
+	 * @throws IOException if the file cannot be opened
+	 */
+	public ImageDataCache(Path file) throws IOException {
+		this(file, MAX_SIZE);
+	}
+
+	/**
+	 * Opens the cache in the given file, the file is created if it does not
+	 * exist.
+	 *
+	 * @param file    the cache file
+	 * @param maxSize the size the cache file is not extended beyond
+	 * @throws IOException if the file cannot be opened
+	 */
+	public ImageDataCache(Path file, long maxSize) throws IOException {
+		this.maxSize = maxSize;
+		Files.createDirectories(file.getParent());
+		open(file);
+		if (lock != null) {
+			long live = 0;
+			for (Entry entry : entries.values()) {
+				live += entry.offset + entry.length - entry.start;
+			}
+			boolean full = live > maxSize * 3 / 4;
+			if (full || size - HEADER_SIZE - live > maxSize / 4) {
+				rewrite(file, !full);
+			}
+		}
+		if (lock != null && size == 0) {
+			mapped = null;
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+			channel.write(header, 0);
+			size = HEADER_SIZE;
+		}
+	}
+
+	private void open(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			lock = channel.tryLock();
+		} catch (IOException e) {
+			lock = null;
+		}
+		size = channel.size();
+		if (size > 0) {
+			mapped = channel.map(MapMode.READ_ONLY, 0, size);
+			size = readEntries(mapped);
+		}
+		if (lock != null && channel.size() != size) {
+			// drop an incomplete entry written by a crashed session
+			try {
+				channel.truncate(size);
+			} catch (IOException e) {
+				lock.release();
+				lock = null;
+			}
+		}
+	}
+
+	/**
+	 * Replaces the cache file by a file with only the current entries, or with
+	 * no entries. The file is kept if it cannot be replaced, for example while
+	 * another process reads it on Windows.
+	 *
+	 * @param keepEntries whether to keep the current entries
+	 */
+	private void rewrite(Path file, boolean keepEntries) throws IOException {
+		Path rewritten = file.resolveSibling(file.getFileName() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (FileChannel out = FileChannel.open(rewritten, StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				out.write(ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip());
+				if (keepEntries) {
+					List<Entry> live = new ArrayList<>(entries.values());
+					live.sort(Comparator.comparingLong(Entry::start));
+					for (Entry entry : live) {
+						ByteBuffer buffer = mapped.duplicate();
+						buffer.limit((int) (entry.offset + entry.length));
+						buffer.position((int) entry.start);
+						while (buffer.hasRemaining()) {
+							out.write(buffer);
+						}
+					}
+				}
+			}
+			close();
+			Files.move(rewritten, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Files.deleteIfExists(rewritten);
+		}
+		if (!channel.isOpen()) {
+			open(file);
+		}
+	}
+
+	/**
+	 * Reads the index of the mapped entries.
+	 *
+	 * @return the end of the last valid entry
+	 */
+	private long readEntries(ByteBuffer buffer) {
+		if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			return 0;
+		}
+		int position = HEADER_SIZE;
+		try {
+			while (position < buffer.limit()) {
+				buffer.position(position);
+				int length = buffer.getInt();
+				if (length <= 0 || length > buffer.remaining()) {
+					break;
+				}
+				byte[] key = new byte[buffer.getShort() & 0xffff];
+				buffer.get(key);
+				long stamp = buffer.getLong();
+				int dataOffset = buffer.position();
+				int end = position + 4 + length;
+				if (dataOffset > end) {
+					break;
+				}
+				entries.put(new String(key, StandardCharsets.UTF_8),
+						new Entry(stamp, position, dataOffset, end - dataOffset));
+				position = end;
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			// incomplete entry, ignore it
+		}
+		return position;
+	}
+
+	/**
+	 * Returns the cached image data of the key, or computes and caches it.
+	 *
+	 * @param key      the key of the image data
+	 * @param stamp    the modification stamp of the source of the image data
+	 * @param supplier computes the image data, may return <code>null</code>
+	 * @return the image data or <code>null</code>
+	 */
+	public ImageData get(String key, long stamp, Supplier<ImageData> supplier) {
+		long start = System.nanoTime();
+		ImageData data = get(key, stamp);
+		long loaded = System.nanoTime();
+		if (data != null) {
+			count(true, loaded - start);
+			return data;
+		}
+		data = supplier.get();
+		if (data != null) {
+			put(key, stamp, data);
+		}
+		count(false, System.nanoTime() - loaded);
+		return data;
+	}
+
+	/**
+	 * Returns the cached image data of the key.
+	 *
+	 * @param key   the key of the image data
+	 * @param stamp the modification stamp of the source of the image data
+	 * @return the image data or <code>null</code> if it is not cached or the
+	 *         stamp does not match
+	 */
+	public ImageData get(String key, long stamp) {
+		try {
+			ByteBuffer buffer;
+			synchronized (this) {
+				Entry entry = entries.get(key);
+				if (entry == null || entry.stamp != stamp) {
+					return null;
+				}
+				if (mapped != null && entry.offset + entry.length <= mapped.capacity()) {
+					buffer = mapped.duplicate();
+					buffer.limit((int) entry.offset + entry.length);
+					buffer.position((int) entry.offset);
+				} else {
+					// written in this session after the file has been mapped
+					buffer = ByteBuffer.allocate(entry.length);
+					try {
+						while (buffer.hasRemaining() && channel.read(buffer, entry.offset + buffer.position()) > 0) {
+							// read the entry completely
+						}
+					} catch (IOException e) {
+						return null;
+					}
+					buffer.flip();
+				}
+			}
+			return readImageData(buffer);
+		} catch (RuntimeException e) {
+			// a corrupt entry, decode the image again
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the image data of the key. Nothing is stored if the cache file is
+	 * read only for this process or full until it is opened again.
+	 *
+	 * @param key   the key of the image data
+	 * @param stamp the modification stamp of the source of the image data
+	 * @param data  the image data
+	 */
+	public void put(String key, long stamp, ImageData data) {
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		if (keyBytes.length > 0xffff) {
+			return;
+		}
+		int dataOffset = 4 + 2 + keyBytes.length + 8;
+		byte[] bytes;
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			DataOutputStream dataOut = new DataOutputStream(out);
+			dataOut.writeInt(0); // the length, set below
+			dataOut.writeShort(keyBytes.length);
+			dataOut.write(keyBytes);
+			dataOut.writeLong(stamp);
+			writeImageData(dataOut, data);
+			dataOut.close();
+			bytes = out.toByteArray();
+		} catch (IOException e) {
+			return;
+		}
+		ByteBuffer.wrap(bytes).putInt(0, bytes.length - 4);
+		synchronized (this) {
+			if (lock == null || size + bytes.length > maxSize) {
+				return;
+			}
+			try {
+				ByteBuffer buffer = ByteBuffer.wrap(bytes);
+				long position = size;
+				while (buffer.hasRemaining()) {
+					position += channel.write(buffer, position);
+				}
+				entries.put(key, new Entry(stamp, size, size + dataOffset, bytes.length - dataOffset));
+				size = position;
+			} catch (IOException e) {
+				Policy.getLog().log(Status.warning("Cannot write the image data cache", e)); //$NON-NLS-1$
+				lock = null;
+			}
+		}
+	}
+
+	private static void writeImageData(DataOutputStream out, ImageData data) throws IOException {
+		out.writeInt(data.width);
+		out.writeInt(data.height);
+		out.writeInt(data.depth);
+		out.writeInt(data.scanlinePad);
+		PaletteData palette = data.palette;
+		out.writeBoolean(palette.isDirect);
+		if (palette.isDirect) {
+			out.writeInt(palette.redMask);
+			out.writeInt(palette.greenMask);
+			out.writeInt(palette.blueMask);
+		} else {
+			out.writeInt(palette.colors.length);
+			for (RGB color : palette.colors) {
+				out.writeInt((color.red << 16) | (color.green << 8) | color.blue);
+			}
+		}
+		out.writeInt(data.transparentPixel);
+		out.writeInt(data.maskPad);
+		out.writeInt(data.alpha);
+		out.writeInt(data.type);
+		writeBytes(out, data.data);
+		writeBytes(out, data.maskData);
+		writeBytes(out, data.alphaData);
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		if (bytes == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+
+	private static ImageData readImageData(ByteBuffer buffer) {
+		int width = buffer.getInt();
+		int height = buffer.getInt();
+		int depth = buffer.getInt();
+		int scanlinePad = buffer.getInt();
+		PaletteData palette;
+		if (buffer.get() != 0) {
+			palette = new PaletteData(buffer.getInt(), buffer.getInt(), buffer.getInt());
+		} else {
+			RGB[] colors = new RGB[buffer.getInt()];
+			for (int i = 0; i < colors.length; i++) {
+				int rgb = buffer.getInt();
+				colors[i] = new RGB((rgb >> 16) & 0xff, (rgb >> 8) & 0xff, rgb & 0xff);
+			}
+			palette = new PaletteData(colors);
+		}
+		int transparentPixel = buffer.getInt();
+		int maskPad = buffer.getInt();
+		int alpha = buffer.getInt();
+		int type = buffer.getInt();
+		byte[] pixels = readBytes(buffer);
+		byte[] maskData = readBytes(buffer);
+		byte[] alphaData = readBytes(buffer);
+		ImageData data = new ImageData(width, height, depth, palette, scanlinePad, pixels);
+		data.transparentPixel = transparentPixel;
+		data.maskPad = maskPad;
+		data.maskData = maskData;
+		data.alpha = alpha;
+		data.alphaData = alphaData;
+		data.type = type;
+		return data;
+	}
+
+	private static byte[] readBytes(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	private synchronized void count(boolean hit, long time) {
+		if (hit) {
+			hits++;
+			loadTime += time;
+		} else {
+			misses++;
+			decodeTime += time;
+		}
+		if (InternalPolicy.DEBUG_TRACE_IMAGE_DATA_CACHE && (hits + misses) % 100 == 0) {
+			System.out.println(getStatistics());
+		}
+	}
+
+	/**
+	 * @return the number of image data read from the cache
+	 */
+	public synchronized int getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return the number of image data that had to be decoded
+	 */
+	public synchronized int getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return a description of the hit rate and the time spent, suitable for
+	 *         tracing
+	 */
+	public synchronized String getStatistics() {
+		int lookups = hits + misses;
+		return "ImageData cache: " + hits + " hits, " + misses + " misses (" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				+ (lookups == 0 ? 0 : hits * 100 / lookups) + "% hit rate), " //$NON-NLS-1$
+				+ loadTime / 1_000_000 + "ms reading cached, " + decodeTime / 1_000_000 + "ms decoding"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Closes the cache file.
+	 */
+	public synchronized void close() {
+		entries.clear();
+		mapped = null;
+		lock = null;
+		try {
+			channel.close(); // releases the lock
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+}
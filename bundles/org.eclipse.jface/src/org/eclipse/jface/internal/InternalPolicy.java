@@ -13,6 +13,8 @@
  ******************************************************************************/
 package org.eclipse.jface.internal;
 
+import java.nio.file.Path;
+
 import org.eclipse.jface.util.BidiUtils;
 import org.osgi.framework.FrameworkUtil;
 
@@ -94,6 +96,31 @@ public class InternalPolicy {
 	 */
 	public static boolean DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x_PNG_FOR_GIF = false;
 
+	/**
+	 * (NON-API) The file of the persistent {@link ImageDataCache} that keeps the
+	 * decoded images of URLImageDescriptors across sessions, <code>null</code>
+	 * disables the cache.
+	 *
+	 * @since 3.37
+	 */
+	public static Path IMAGE_DATA_CACHE_LOCATION = null;
+
+	/**
+	 * (NON-API) Trace the hit rate of the {@link ImageDataCache} and the time
+	 * spent loading images.
+	 *
+	 * @since 3.37
+	 */
+	public static boolean DEBUG_TRACE_IMAGE_DATA_CACHE = false;
+
+	/**
+	 * (NON-API) Report how much decoding the ImageDataPrefetcher moved off the
+	 * display thread.
+	 *
+	 * @since 3.37
+	 */
+	public static boolean DEBUG_TRACE_IMAGE_PREFETCH = false;
+
 	/**
 	 * (NON-API) A flag to indicate whether the JFace bundle is running inside
 	 * an OSGi container
@@ -13,11 +13,13 @@
  *******************************************************************************/
 package org.eclipse.jface.resource;
 
+import org.eclipse.jface.internal.ImageDataCache;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Device;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageDataProvider;
 import org.eclipse.swt.widgets.Display;
 
 /**
@@ -48,7 +50,7 @@ final class DerivedImageDescriptor extends ImageDescriptor {
 	@Override
 	public Object createResource(Device device) throws DeviceResourceException {
 		try {
-			return internalCreateImage(device);
+			return createImage(device);
 		} catch (SWTException e) {
 			throw new DeviceResourceException(this, e);
 		}
@@ -56,9 +58,25 @@ final class DerivedImageDescriptor extends ImageDescriptor {
 
 	@Override
 	public Image createImage(Device device) {
+		if (getImageDataCache() != null) {
+			// We really want a fresh ImageDataProvider instance to make
+			// sure the code that uses created images can use equals(),
+			// see Image#equals
+			return new Image(device, (ImageDataProvider) zoom -> getImageData(device, zoom));
+		}
 		return internalCreateImage(device);
 	}
 
+	/**
+	 * Returns the cache of the derived image data, only images derived from
+	 * URLs have a modification stamp and can be cached.
+	 *
+	 * @return the cache or <code>null</code>
+	 */
+	private ImageDataCache getImageDataCache() {
+		return original instanceof URLImageDescriptor ? ImageDataCache.getDefault() : null;
+	}
+
 	@Override
 	public int hashCode() {
 		return original.hashCode() + flags;
@@ -87,7 +105,24 @@ final class DerivedImageDescriptor extends ImageDescriptor {
 
 	@Override
 	public ImageData getImageData(int zoom) {
-		Image image = internalCreateImage(Display.getCurrent());
+		return getImageData(Display.getCurrent(), zoom);
+	}
+
+	private ImageData getImageData(Device device, int zoom) {
+		ImageDataCache cache = getImageDataCache();
+		if (cache != null) {
+			URLImageDescriptor urlDescriptor = (URLImageDescriptor) original;
+			long stamp = urlDescriptor.getModificationStamp();
+			if (stamp != 0) {
+				return cache.get(urlDescriptor.getCacheKey(zoom) + "#" + flags, stamp, //$NON-NLS-1$
+						() -> createImageData(device, zoom));
+			}
+		}
+		return createImageData(device, zoom);
+	}
+
+	private ImageData createImageData(Device device, int zoom) {
+		Image image = internalCreateImage(device);
 		ImageData result = image.getImageData(zoom);
 		image.dispose();
 		return result;
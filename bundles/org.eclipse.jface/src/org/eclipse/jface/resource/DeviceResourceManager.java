@@ -36,6 +36,12 @@ public final class DeviceResourceManager extends AbstractResourceManager {
 	private final Device device;
 	private Image missingImage;
 
+	/**
+	 * The prefetcher of the images created by this manager, only accessed from
+	 * the display thread.
+	 */
+	ImageDataPrefetcher imageDataPrefetcher;
+
 	@Override
 	public Device getDevice() {
 		return device;
@@ -53,9 +59,20 @@ public final class DeviceResourceManager extends AbstractResourceManager {
 	@Override
 	@SuppressWarnings("unchecked")
 	protected <R> R allocate(DeviceResourceDescriptor<R> descriptor) throws DeviceResourceException {
+		if (imageDataPrefetcher != null && descriptor instanceof ImageDescriptor imageDescriptor) {
+			Image image = imageDataPrefetcher.createImage(imageDescriptor, device);
+			if (image != null) {
+				return (R) image;
+			}
+		}
 		return (R) descriptor.createResource(device);
 	}
 
+	@Override
+	DeviceResourceManager getDeviceResourceManager() {
+		return this;
+	}
+
 	@Override
 	protected <R> void deallocate(Object resource, DeviceResourceDescriptor<R> descriptor) {
 		descriptor.destroyResource(resource);
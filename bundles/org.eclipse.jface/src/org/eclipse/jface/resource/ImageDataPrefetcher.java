@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.resource;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.jface.internal.InternalPolicy;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageDataProvider;
+import org.eclipse.swt.internal.DPIUtil;
+
+/**
+ * Decodes the image data of image descriptors on the common worker pool, so
+ * that creating their images on the display thread only has to create the
+ * {@link Image} from the decoded data. This is meant for the images that are
+ * known to be needed soon, like the icons of the parts and tool bars that are
+ * rendered at startup.
+ * <p>
+ * A prefetcher is attached to the device resource manager it is started for,
+ * which holds at most one prefetcher. The images of the prefetched descriptors
+ * that are created through that manager, or through a local manager or an
+ * image registry on top of it, are created from the prefetched image data,
+ * waiting for it if it is being decoded. The decoded image data is held until
+ * it is used or the prefetcher is closed, so it should be closed as soon as
+ * the images have been created.
+ * </p>
+ * <p>
+ * Only descriptors of images in files or at URLs are decoded in the
+ * background, other descriptors may need the display thread to compute their
+ * image data.
+ * </p>
+ *
+ * @since 3.37
+ */
+public final class ImageDataPrefetcher implements AutoCloseable {
+
+	private record Key(ImageDescriptor descriptor, int zoom) {
+	}
+
+	private static final class Prefetch {
+		// set by the thread that decodes the image data
+		final AtomicBoolean claimed = new AtomicBoolean();
+		final CompletableFuture<ImageData> result = new CompletableFuture<>();
+		volatile long decodeTime;
+	}
+
+	private final DeviceResourceManager manager;
+
+	private final Map<Key, Prefetch> prefetches = new ConcurrentHashMap<>();
+
+	private final int zoom;
+
+	private final AtomicInteger used = new AtomicInteger();
+
+	private final AtomicLong savedTime = new AtomicLong();
+
+	private final AtomicLong waitTime = new AtomicLong();
+
+	private ImageDataPrefetcher(DeviceResourceManager manager, int zoom) {
+		this.manager = manager;
+		this.zoom = zoom;
+	}
+
+	/**
+	 * Starts decoding the image data of the descriptors at the zoom of the
+	 * device, closing the prefetcher that was attached to the resource manager
+	 * before. Must be called from the thread of the display of the resource
+	 * manager.
+	 *
+	 * @param resourceManager the resource manager, like
+	 *                        {@link JFaceResources#getResources()}, that will
+	 *                        create the images
+	 * @param descriptors     the image descriptors whose images will be created
+	 * @return the prefetcher, which must be closed when the images have been
+	 *         created
+	 * @throws IllegalArgumentException if the resource manager does not allocate
+	 *                                  its resources through a
+	 *                                  {@link DeviceResourceManager}
+	 */
+	@SuppressWarnings("restriction")
+	public static ImageDataPrefetcher prefetch(ResourceManager resourceManager,
+			Collection<? extends ImageDescriptor> descriptors) {
+		DeviceResourceManager manager = resourceManager.getDeviceResourceManager();
+		if (manager == null) {
+			throw new IllegalArgumentException("The resource manager has no device resource manager"); //$NON-NLS-1$
+		}
+		if (manager.imageDataPrefetcher != null) {
+			manager.imageDataPrefetcher.close();
+		}
+		ImageDataPrefetcher prefetcher = new ImageDataPrefetcher(manager, DPIUtil.getDeviceZoom());
+		manager.imageDataPrefetcher = prefetcher;
+		for (ImageDescriptor descriptor : descriptors) {
+			if (descriptor instanceof URLImageDescriptor || descriptor instanceof FileImageDescriptor) {
+				Prefetch prefetch = new Prefetch();
+				if (prefetcher.prefetches.putIfAbsent(new Key(descriptor, prefetcher.zoom), prefetch) == null) {
+					ForkJoinPool.commonPool().execute(() -> prefetcher.decode(descriptor, prefetch));
+				}
+			}
+		}
+		return prefetcher;
+	}
+
+	private void decode(ImageDescriptor descriptor, Prefetch prefetch) {
+		if (!prefetch.claimed.compareAndSet(false, true)) {
+			return; // decoded by the display thread or closed
+		}
+		long start = System.nanoTime();
+		ImageData data = null;
+		try {
+			data = descriptor.getImageData(zoom);
+		} catch (RuntimeException e) {
+			// the image is decoded again and the error reported when it is created
+		}
+		prefetch.decodeTime = System.nanoTime() - start;
+		prefetch.result.complete(data);
+	}
+
+	/**
+	 * Creates the image of the descriptor from its prefetched image data.
+	 *
+	 * @return the image or <code>null</code> if the image data has not been
+	 *         prefetched and the descriptor has to create the image
+	 */
+	Image createImage(ImageDescriptor descriptor, Device device) {
+		Prefetch prefetch = prefetches.remove(new Key(descriptor, zoom));
+		if (prefetch == null || prefetch.claimed.compareAndSet(false, true)) {
+			// not decoded yet, faster to decode it here than waiting for it
+			return null;
+		}
+		long start = System.nanoTime();
+		ImageData prefetched = prefetch.result.join();
+		long waited = System.nanoTime() - start;
+		waitTime.addAndGet(waited);
+		if (prefetched == null) {
+			return null;
+		}
+		AtomicReference<ImageData> unused = new AtomicReference<>(prefetched);
+		Image image;
+		try {
+			image = new Image(device, (ImageDataProvider) z -> {
+				ImageData data = z == zoom ? unused.getAndSet(null) : null;
+				return data != null ? data : descriptor.getImageData(z);
+			});
+		} catch (IllegalArgumentException | SWTException e) {
+			return null;
+		}
+		used.incrementAndGet();
+		savedTime.addAndGet(prefetch.decodeTime - waited);
+		return image;
+	}
+
+	/**
+	 * @return the number of prefetched image data that has been used to create
+	 *         images
+	 */
+	public int getUsedCount() {
+		return used.get();
+	}
+
+	/**
+	 * Detaches the prefetcher from its resource manager, stops decoding and
+	 * releases the image data that has not been used. Must be called from the
+	 * thread of the display of the resource manager.
+	 */
+	@Override
+	public void close() {
+		if (manager.imageDataPrefetcher == this) {
+			manager.imageDataPrefetcher = null;
+		}
+		int unused = 0;
+		for (Prefetch prefetch : prefetches.values()) {
+			// the queued decodes skip the image data that is claimed here
+			prefetch.claimed.set(true);
+			unused++;
+		}
+		prefetches.clear();
+		if (InternalPolicy.DEBUG_TRACE_IMAGE_PREFETCH) {
+			System.out.println("Image prefetch: " + used.get() + " images used, " + unused + " not used, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ savedTime.get() / 1_000_000 + "ms of decoding moved off the display thread, " //$NON-NLS-1$
+					+ waitTime.get() / 1_000_000 + "ms waited for images being decoded"); //$NON-NLS-1$
+		}
+	}
+}
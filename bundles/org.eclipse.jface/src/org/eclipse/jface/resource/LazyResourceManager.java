@@ -82,6 +82,11 @@ public class LazyResourceManager extends ResourceManager {
 		return parent.getDefaultImage();
 	}
 
+	@Override
+	DeviceResourceManager getDeviceResourceManager() {
+		return parent.getDeviceResourceManager();
+	}
+
 	@Override
 	public <R> R create(DeviceResourceDescriptor<R> descriptor) {
 		if (!shouldBeCached(descriptor)) {
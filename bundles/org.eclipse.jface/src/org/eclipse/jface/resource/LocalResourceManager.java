@@ -76,6 +76,11 @@ public final class LocalResourceManager extends AbstractResourceManager {
 		parentRegistry.destroy(descriptor);
 	}
 
+	@Override
+	DeviceResourceManager getDeviceResourceManager() {
+		return parentRegistry.getDeviceResourceManager();
+	}
+
 	@Override
 	protected Image getDefaultImage() {
 		return parentRegistry.getDefaultImage();
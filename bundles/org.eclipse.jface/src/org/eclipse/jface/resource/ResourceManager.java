@@ -207,6 +207,17 @@ public abstract class ResourceManager {
 	 */
 	protected abstract Image getDefaultImage();
 
+	/**
+	 * Returns the device resource manager that allocates the resources of this
+	 * manager.
+	 *
+	 * @return the device resource manager or <code>null</code> if the
+	 *         resources are not allocated by one
+	 */
+	DeviceResourceManager getDeviceResourceManager() {
+		return null;
+	}
+
 	/**
 	 * Undoes everything that was done by {@link #createImage(ImageDescriptor)}.
 	 *
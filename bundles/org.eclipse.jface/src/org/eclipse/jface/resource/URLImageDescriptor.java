@@ -23,7 +23,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.util.function.Supplier;
 
@@ -31,6 +33,7 @@ import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.internal.ImageDataCache;
 import org.eclipse.jface.internal.InternalPolicy;
 import org.eclipse.jface.util.Policy;
 import org.eclipse.swt.SWT;
@@ -136,6 +139,17 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 	}
 
 	private static ImageData getImageData(String url, int zoom) {
+		ImageDataCache cache = ImageDataCache.getDefault();
+		if (cache != null) {
+			long stamp = getModificationStamp(getURL(url));
+			if (stamp != 0) {
+				return cache.get(getCacheKey(url, zoom), stamp, () -> decodeImageData(url, zoom));
+			}
+		}
+		return decodeImageData(url, zoom);
+	}
+
+	private static ImageData decodeImageData(String url, int zoom) {
 		URL tempURL = getURL(url);
 		if (tempURL != null) {
 			if (zoom == 100 || canLoadAtZoom(() -> getStream(tempURL), zoom)) {
@@ -159,6 +173,59 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 		return null;
 	}
 
+	/**
+	 * Returns the key of the image data at the zoom in the {@link ImageDataCache}.
+	 */
+	static String getCacheKey(String url, int zoom) {
+		return url + '@' + zoom;
+	}
+
+	/**
+	 * Returns the key of the image data at the zoom in the {@link ImageDataCache}.
+	 */
+	String getCacheKey(int zoom) {
+		return getCacheKey(url, zoom);
+	}
+
+	/**
+	 * Returns the modification stamp of the image file.
+	 *
+	 * @return the stamp or <code>0</code> if it is not known
+	 */
+	long getModificationStamp() {
+		return getModificationStamp(getURL(url));
+	}
+
+	private static long getModificationStamp(URL url) {
+		if (url == null) {
+			return 0;
+		}
+		try {
+			if (InternalPolicy.OSGI_AVAILABLE) {
+				URL platformURL = FileLocator.find(url);
+				if (platformURL != null) {
+					url = platformURL;
+				}
+			}
+			String protocol = url.getProtocol();
+			if ("http".equalsIgnoreCase(protocol) || "https".equalsIgnoreCase(protocol)) { //$NON-NLS-1$ //$NON-NLS-2$
+				return 0;
+			}
+			if (FILE_PROTOCOL.equalsIgnoreCase(protocol)) {
+				String path = IPath.fromOSString(url.getPath()).toOSString();
+				return Files.getLastModifiedTime(Path.of(path)).toMillis();
+			}
+			// an uncached connection releases its file when the stream is closed
+			URLConnection connection = url.openConnection();
+			connection.setUseCaches(false);
+			try (InputStream in = connection.getInputStream()) {
+				return connection.getLastModified();
+			}
+		} catch (IOException | InvalidPathException e) {
+			return 0;
+		}
+	}
+
 	@SuppressWarnings("resource")
 	private static ImageData getImageData(URL url, int fileZoom, int targetZoom) {
 		return loadImageData(getStream(url), fileZoom, targetZoom);
@@ -317,8 +384,10 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 			start = System.nanoTime();
 		}
 		try {
+			// the cached image data is only used by the ImageDataProvider
+			boolean cached = ImageDataCache.getDefault() != null;
 			if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x) {
-				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY) {
+				if (!InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY && !cached) {
 					try {
 						// We really want a fresh ImageFileNameProvider instance to make
 						// sure the code that uses created images can use equals(),
@@ -351,7 +420,7 @@ class URLImageDescriptor extends ImageDescriptor implements IAdaptable {
 				}
 				return image;
 			}
-			if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY) {
+			if (InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_DIRECTLY || cached) {
 				return super.createImage(returnMissingImageOnError, device);
 			}
 
@@ -22,6 +22,7 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.search.internal.core.text.DirtyFileProvider;
 import org.eclipse.search.internal.core.text.TextSearchEngineRegistry;
+import org.eclipse.search.internal.core.text.TrigramIndexManager;
 
 public class SearchCorePlugin extends Plugin {
 	/**
@@ -36,6 +37,7 @@ public class SearchCorePlugin extends Plugin {
 	private TextSearchEngineRegistry fTextSearchEngineRegistry;
 	private DirtyFileProvider fDirtyFileSearchParticipant;
 	private DirtyFileSearchParticipantServiceTracker fDirtyFileSearchParticipantTracker;
+	private TrigramIndexManager fTrigramIndexManager;
 
 	/**
 	 * @return Returns the search plugin instance.
@@ -58,7 +60,12 @@ public class SearchCorePlugin extends Plugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
-		// do nothing
+		synchronized (this) {
+			if (fTrigramIndexManager != null) {
+				fTrigramIndexManager.stop();
+				fTrigramIndexManager= null;
+			}
+		}
 	}
 
 	public TextSearchEngineRegistry getTextSearchEngineRegistry() {
@@ -68,6 +75,20 @@ public class SearchCorePlugin extends Plugin {
 		return fTextSearchEngineRegistry;
 	}
 
+	/**
+	 * Returns the manager of the trigram index used by the indexed text search engine. The
+	 * index is only built once it is requested for the first time.
+	 *
+	 * @return the trigram index manager
+	 */
+	public synchronized TrigramIndexManager getTrigramIndexManager() {
+		if (fTrigramIndexManager == null) {
+			fTrigramIndexManager= TrigramIndexManager.createDefault();
+			fTrigramIndexManager.start();
+		}
+		return fTrigramIndexManager;
+	}
+
 	public DirtyFileProvider getDirtyFileDiscovery() {
 		if (fDirtyFileSearchParticipant == null) {
 			this.fDirtyFileSearchParticipantTracker.open();
@@ -17,13 +17,20 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentDescription;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
 
 public class FileCharSequenceProvider {
 
@@ -33,6 +40,12 @@ public class FileCharSequenceProvider {
 	 **/
 	private static final int MAX_BUFFER_LENGTH = 999_999; // max 2MB.
 
+	/**
+	 * Mapped regions keep the file locked until they are garbage collected on Windows, so
+	 * memory-mapping is not used there.
+	 **/
+	private static final boolean USE_MAPPED_FILES = !Platform.OS_WIN32.equals(Platform.getOS());
+
 	private static int NUMBER_OF_BUFFERS = 3;
 	public static int BUFFER_SIZE = 2 << 18; // public for testing
 
@@ -43,8 +56,12 @@ public class FileCharSequenceProvider {
 		if (string != null) {
 			return string;
 		}
-		FileCharSequence charSequence = getCharSequence(file);
 		// File too large for String
+		CharSequence mapped = toMappedCharSequence(file);
+		if (mapped != null) {
+			return mapped;
+		}
+		FileCharSequence charSequence = getCharSequence(file);
 		return charSequence;
 	}
 
@@ -510,6 +527,58 @@ public class FileCharSequenceProvider {
 		}
 	}
 
+	/*
+	 * Try to map the file content into memory. Only supported for local files
+	 * in ASCII, ISO-8859-1 or well-formed UTF-8, otherwise the content is
+	 * decoded through a Reader.
+	 */
+	private static MappedFileCharSequence toMappedCharSequence(IFile file) {
+		if (!USE_MAPPED_FILES) {
+			return null;
+		}
+		IPath location = file.getLocation();
+		if (location == null || !file.isSynchronized(IResource.DEPTH_ZERO)) {
+			return null;
+		}
+		try {
+			Charset charset = Charset.forName(file.getCharset());
+			if (!StandardCharsets.UTF_8.equals(charset) && !StandardCharsets.US_ASCII.equals(charset)
+					&& !StandardCharsets.ISO_8859_1.equals(charset)) {
+				return null;
+			}
+			return map(location, charset);
+		} catch (Exception e) {
+			return null;
+		}
+	}
+
+	private static MappedFileCharSequence map(IPath location, Charset charset) throws IOException {
+		try (FileChannel channel = FileChannel.open(location.toFile().toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				return null;
+			}
+			ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			if (StandardCharsets.UTF_8.equals(charset) && startsWith(bytes, IContentDescription.BOM_UTF_8)) {
+				bytes.position(IContentDescription.BOM_UTF_8.length);
+				bytes = bytes.slice();
+			}
+			// the mapping stays valid after the channel is closed
+			return MappedFileCharSequence.create(bytes, charset);
+		}
+	}
+
+	private static boolean startsWith(ByteBuffer a, byte[] start) {
+		if (a.limit() < start.length) {
+			return false;
+		}
+		for (int i = 0; i < start.length; i++) {
+			if (a.get(i) != start[i])
+				return false;
+		}
+		return true;
+	}
+
 	private static boolean startsWith(byte[] a, byte[] start) {
 		if (a.length < start.length) {
 			return false;
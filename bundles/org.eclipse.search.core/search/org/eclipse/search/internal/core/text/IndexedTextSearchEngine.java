@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.text.MessageFormat;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.search.core.text.TextSearchEngine;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * A {@link TextSearchEngine} that uses the workspace {@link TrigramIndex} to skip files which
+ * cannot contain a match before handing the remaining files to the {@link TextSearchVisitor}.
+ * <p>
+ * Patterns from which no required literal of at least three characters can be extracted are
+ * searched like with the default engine. Files that are open in a dirty editor, not indexed
+ * yet or changed since they were indexed are always searched.
+ * </p>
+ */
+public class IndexedTextSearchEngine extends TextSearchEngine {
+
+	private final TrigramIndexManager fIndexManager;
+	private final DirtyFileProvider fDirtyDiscovery;
+
+	public IndexedTextSearchEngine() {
+		this(SearchCorePlugin.getDefault().getTrigramIndexManager(), SearchCorePlugin.getDefault().getDirtyFileDiscovery());
+	}
+
+	public IndexedTextSearchEngine(TrigramIndexManager indexManager, DirtyFileProvider dirtyDiscovery) {
+		fIndexManager= indexManager;
+		fDirtyDiscovery= dirtyDiscovery;
+	}
+
+	@Override
+	public IStatus search(TextSearchScope scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		MultiStatus status= new MultiStatus(SearchCorePlugin.PLUGIN_ID, IStatus.OK, SearchCoreMessages.TextSearchEngine_statusMessage, null);
+		IFile[] files= scope.evaluateFilesInScope(status);
+		IStatus searchStatus= search(files, requestor, searchPattern, monitor);
+		status.addAll(searchStatus);
+		return status;
+	}
+
+	@Override
+	public IStatus search(IFile[] scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		return new TextSearchVisitor(requestor, searchPattern, fDirtyDiscovery).search(selectCandidates(scope, searchPattern), monitor);
+	}
+
+	/**
+	 * Returns the files of the given scope that need to be searched for the given pattern.
+	 *
+	 * @param files the files in scope
+	 * @param searchPattern the search pattern
+	 * @return the files that may contain a match
+	 */
+	public IFile[] selectCandidates(IFile[] files, Pattern searchPattern) {
+		long[] trigrams= TrigramQuery.requiredTrigrams(searchPattern);
+		if (trigrams == null) {
+			return files;
+		}
+		long startTime= TextSearchVisitor.TRACING ? System.currentTimeMillis() : 0;
+		Set<IFile> candidates= new LinkedHashSet<>();
+		for (IFile file : fIndexManager.filterCandidates(files, trigrams)) {
+			candidates.add(file);
+		}
+		addFilesWithOpenBuffers(files, candidates);
+		if (TextSearchVisitor.TRACING) {
+			Object[] args= { Integer.valueOf(candidates.size()), Integer.valueOf(files.length), Long.valueOf(System.currentTimeMillis() - startTime) };
+			System.out.println(MessageFormat.format("[TextSearch] Trigram index selected {0} of {1} files in {2}ms", args)); //$NON-NLS-1$
+		}
+		return candidates.toArray(new IFile[candidates.size()]);
+	}
+
+	/**
+	 * Files with a dirty editor or file buffer are searched in memory, so the index does not
+	 * describe their content.
+	 */
+	private void addFilesWithOpenBuffers(IFile[] files, Set<IFile> candidates) {
+		Map<IFile, IDocument> dirtyFiles= fDirtyDiscovery != null ? fDirtyDiscovery.dirtyFiles() : null;
+		ITextFileBufferManager bufferManager= FileBuffers.getTextFileBufferManager();
+		boolean hasBuffers= bufferManager.getFileBuffers().length > 0;
+		if ((dirtyFiles == null || dirtyFiles.isEmpty()) && !hasBuffers) {
+			return;
+		}
+		for (IFile file : files) {
+			if (dirtyFiles != null && dirtyFiles.containsKey(file)) {
+				candidates.add(file);
+			} else if (hasBuffers) {
+				ITextFileBuffer buffer= bufferManager.getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+				if (buffer != null && buffer.isDirty()) {
+					candidates.add(file);
+				}
+			}
+		}
+	}
+}
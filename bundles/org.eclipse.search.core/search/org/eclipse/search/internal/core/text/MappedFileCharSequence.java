@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link CharSequence} that decodes the characters of a memory-mapped file on access,
+ * without copying the content into char buffers.
+ * <p>
+ * Only ASCII, ISO-8859-1 and well-formed UTF-8 content is supported. Files in which every
+ * character is a single byte are accessed directly. For other UTF-8 content the byte offset of
+ * every {@value #CHECKPOINT_INTERVAL}th character is remembered, so random access only decodes
+ * forward from the closest checkpoint.
+ * </p>
+ * <p>
+ * Literal searches can run on the mapped bytes using a {@link LiteralFinder}. Instances are not
+ * thread safe.
+ * </p>
+ */
+public final class MappedFileCharSequence implements CharSequence {
+
+	private static final int CHECKPOINT_INTERVAL= 1 << 12;
+
+	private final ByteBuffer fBytes;
+	private final int fByteLength;
+	private final boolean fSingleByte;
+	private final int fLength;
+
+	/** char offsets of the checkpoints, ascending */
+	private final int[] fCheckpointChars;
+	/** byte offsets of the checkpoints, ascending */
+	private final int[] fCheckpointBytes;
+
+	/** the decoding cursor, always at the start of a byte sequence */
+	private int fCursorChar;
+	private int fCursorByte;
+
+	private MappedFileCharSequence(ByteBuffer bytes, boolean singleByte, int length, int[] checkpointChars, int[] checkpointBytes) {
+		fBytes= bytes;
+		fByteLength= bytes.limit();
+		fSingleByte= singleByte;
+		fLength= length;
+		fCheckpointChars= checkpointChars;
+		fCheckpointBytes= checkpointBytes;
+	}
+
+	/**
+	 * Creates a char sequence for the given bytes.
+	 *
+	 * @param bytes the content without byte order mark, positioned at 0
+	 * @param charset the charset of the content
+	 * @return the char sequence or <code>null</code> if the charset or the content is not
+	 *         supported
+	 */
+	public static MappedFileCharSequence create(ByteBuffer bytes, Charset charset) {
+		if (StandardCharsets.ISO_8859_1.equals(charset)) {
+			return new MappedFileCharSequence(bytes, true, bytes.limit(), null, null);
+		}
+		if (StandardCharsets.US_ASCII.equals(charset)) {
+			return isAscii(bytes) ? new MappedFileCharSequence(bytes, true, bytes.limit(), null, null) : null;
+		}
+		if (StandardCharsets.UTF_8.equals(charset)) {
+			return createUtf8(bytes);
+		}
+		return null;
+	}
+
+	private static boolean isAscii(ByteBuffer bytes) {
+		int limit= bytes.limit();
+		for (int i= 0; i < limit; i++) {
+			if (bytes.get(i) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static MappedFileCharSequence createUtf8(ByteBuffer bytes) {
+		int limit= bytes.limit();
+		int[] checkpointChars= new int[16];
+		int[] checkpointBytes= new int[16];
+		int checkpoints= 0;
+		int nextCheckpoint= CHECKPOINT_INTERVAL;
+		int chars= 0;
+		int pos= 0;
+		boolean singleByte= true;
+		while (pos < limit) {
+			int b= bytes.get(pos);
+			if (b >= 0) {
+				pos++;
+				chars++;
+			} else {
+				int sequenceLength= utf8SequenceLength(bytes, pos, limit);
+				if (sequenceLength < 0) {
+					return null; // malformed, decode with replacement characters
+				}
+				singleByte= false;
+				pos+= sequenceLength;
+				chars+= sequenceLength == 4 ? 2 : 1;
+			}
+			if (chars >= nextCheckpoint && pos < limit) {
+				if (checkpoints == checkpointChars.length) {
+					checkpointChars= Arrays.copyOf(checkpointChars, checkpoints * 2);
+					checkpointBytes= Arrays.copyOf(checkpointBytes, checkpoints * 2);
+				}
+				checkpointChars[checkpoints]= chars;
+				checkpointBytes[checkpoints]= pos;
+				checkpoints++;
+				nextCheckpoint= chars + CHECKPOINT_INTERVAL;
+			}
+		}
+		if (singleByte) {
+			return new MappedFileCharSequence(bytes, true, limit, null, null);
+		}
+		return new MappedFileCharSequence(bytes, false, chars, Arrays.copyOf(checkpointChars, checkpoints), Arrays.copyOf(checkpointBytes, checkpoints));
+	}
+
+	/**
+	 * Returns the length of the well-formed multi-byte UTF-8 sequence starting at the given
+	 * position or <code>-1</code> if the sequence is malformed.
+	 */
+	private static int utf8SequenceLength(ByteBuffer bytes, int pos, int limit) {
+		int b0= bytes.get(pos) & 0xff;
+		int length;
+		int min;
+		if (b0 >= 0xc2 && b0 <= 0xdf) {
+			length= 2;
+			min= 0x80;
+		} else if (b0 >= 0xe0 && b0 <= 0xef) {
+			length= 3;
+			min= 0x800;
+		} else if (b0 >= 0xf0 && b0 <= 0xf4) {
+			length= 4;
+			min= 0x10000;
+		} else {
+			return -1;
+		}
+		if (pos + length > limit) {
+			return -1;
+		}
+		int codePoint= b0 & (0xff >> (length + 1));
+		for (int i= 1; i < length; i++) {
+			int b= bytes.get(pos + i) & 0xff;
+			if ((b & 0xc0) != 0x80) {
+				return -1;
+			}
+			codePoint= (codePoint << 6) | (b & 0x3f);
+		}
+		if (codePoint < min || codePoint > Character.MAX_CODE_POINT || Character.isSurrogate((char) codePoint) && codePoint <= 0xffff) {
+			return -1;
+		}
+		return length;
+	}
+
+	@Override
+	public int length() {
+		return fLength;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= fLength) {
+			throw new IndexOutOfBoundsException("index out of range: " + index); //$NON-NLS-1$
+		}
+		if (fSingleByte) {
+			return (char) (fBytes.get(index) & 0xff);
+		}
+		moveCursorToChar(index);
+		int b0= fBytes.get(fCursorByte) & 0xff;
+		if (b0 < 0x80) {
+			return (char) b0;
+		}
+		int codePoint= decode(fCursorByte, b0);
+		if (codePoint <= 0xffff) {
+			return (char) codePoint;
+		}
+		return index == fCursorChar ? Character.highSurrogate(codePoint) : Character.lowSurrogate(codePoint);
+	}
+
+	private int decode(int pos, int b0) {
+		int length= b0 >= 0xf0 ? 4 : b0 >= 0xe0 ? 3 : 2;
+		int codePoint= b0 & (0xff >> (length + 1));
+		for (int i= 1; i < length; i++) {
+			codePoint= (codePoint << 6) | (fBytes.get(pos + i) & 0x3f);
+		}
+		return codePoint;
+	}
+
+	private static int sequenceLength(int b0) {
+		return b0 < 0x80 ? 1 : b0 >= 0xf0 ? 4 : b0 >= 0xe0 ? 3 : 2;
+	}
+
+	/**
+	 * Moves the cursor to the byte sequence containing the char at the given index.
+	 */
+	private void moveCursorToChar(int index) {
+		if (index < fCursorChar || index - fCursorChar > CHECKPOINT_INTERVAL) {
+			int checkpoint= Arrays.binarySearch(fCheckpointChars, index);
+			if (checkpoint < 0) {
+				checkpoint= -checkpoint - 2;
+			}
+			if (checkpoint < 0) {
+				fCursorChar= 0;
+				fCursorByte= 0;
+			} else if (fCheckpointChars[checkpoint] > fCursorChar || index < fCursorChar) {
+				fCursorChar= fCheckpointChars[checkpoint];
+				fCursorByte= fCheckpointBytes[checkpoint];
+			}
+		}
+		while (true) {
+			int length= sequenceLength(fBytes.get(fCursorByte) & 0xff);
+			int chars= length == 4 ? 2 : 1;
+			if (index < fCursorChar + chars) {
+				return;
+			}
+			fCursorChar+= chars;
+			fCursorByte+= length;
+		}
+	}
+
+	/**
+	 * Returns the char offset corresponding to the given byte offset.
+	 *
+	 * @param byteOffset a byte offset at the start of a byte sequence
+	 * @return the char offset
+	 */
+	int toCharOffset(int byteOffset) {
+		if (fSingleByte) {
+			return byteOffset;
+		}
+		if (byteOffset < fCursorByte || byteOffset - fCursorByte > CHECKPOINT_INTERVAL * 4) {
+			int checkpoint= Arrays.binarySearch(fCheckpointBytes, byteOffset);
+			if (checkpoint < 0) {
+				checkpoint= -checkpoint - 2;
+			}
+			if (checkpoint < 0) {
+				fCursorChar= 0;
+				fCursorByte= 0;
+			} else if (fCheckpointBytes[checkpoint] > fCursorByte || byteOffset < fCursorByte) {
+				fCursorChar= fCheckpointChars[checkpoint];
+				fCursorByte= fCheckpointBytes[checkpoint];
+			}
+		}
+		while (fCursorByte < byteOffset) {
+			int length= sequenceLength(fBytes.get(fCursorByte) & 0xff);
+			fCursorChar+= length == 4 ? 2 : 1;
+			fCursorByte+= length;
+		}
+		return fCursorChar;
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > fLength || start > end) {
+			throw new IndexOutOfBoundsException("range out of bounds: " + start + ", " + end); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (fSingleByte) {
+			byte[] bytes= new byte[end - start];
+			fBytes.get(start, bytes);
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+		StringBuilder buf= new StringBuilder(end - start);
+		for (int i= start; i < end; i++) {
+			buf.append(charAt(i));
+		}
+		return buf.toString();
+	}
+
+	@Override
+	public String toString() {
+		return subSequence(0, fLength).toString();
+	}
+
+	/**
+	 * Returns the literal text matched by the given pattern if the pattern is a case sensitive
+	 * search for a quoted string, as created by {@link PatternConstructor} for plain searches.
+	 *
+	 * @param pattern the search pattern
+	 * @return the literal or <code>null</code>
+	 */
+	public static String getLiteral(Pattern pattern) {
+		if ((pattern.flags() & ~Pattern.MULTILINE) != 0) {
+			return null;
+		}
+		String regex= pattern.pattern();
+		if (regex.length() <= 4 || !regex.startsWith("\\Q") || !regex.endsWith("\\E")) { //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		}
+		String literal= regex.substring(2, regex.length() - 2);
+		return literal.contains("\\E") ? null : literal; //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates a finder for the occurrences of a literal string.
+	 *
+	 * @param literal the non-empty string to find
+	 * @return the finder or <code>null</code> if the literal cannot be encoded
+	 */
+	public LiteralFinder createLiteralFinder(String literal) {
+		CharsetEncoder encoder= (fSingleByte && !isAsciiLiteral(literal) ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8).newEncoder()
+				.onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+		try {
+			ByteBuffer encoded= encoder.encode(CharBuffer.wrap(literal));
+			byte[] needle= new byte[encoded.remaining()];
+			encoded.get(needle);
+			return new LiteralFinder(needle);
+		} catch (CharacterCodingException e) {
+			return null;
+		}
+	}
+
+	private static boolean isAsciiLiteral(String literal) {
+		// an all-ASCII literal has the same bytes in every supported charset
+		for (int i= 0; i < literal.length(); i++) {
+			if (literal.charAt(i) >= 0x80) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the non-overlapping occurrences of a literal in the mapped bytes, reporting them as
+	 * char offsets.
+	 */
+	public final class LiteralFinder {
+		private final byte[] fNeedle;
+		private int fNextByte;
+		private int fStart;
+		private int fEnd;
+
+		LiteralFinder(byte[] needle) {
+			fNeedle= needle;
+		}
+
+		/**
+		 * Finds the next occurrence.
+		 *
+		 * @return <code>true</code> if an occurrence was found
+		 */
+		public boolean find() {
+			byte first= fNeedle[0];
+			int last= fByteLength - fNeedle.length;
+			for (int i= fNextByte; i <= last; i++) {
+				if (fBytes.get(i) != first) {
+					continue;
+				}
+				int k= 1;
+				while (k < fNeedle.length && fBytes.get(i + k) == fNeedle[k]) {
+					k++;
+				}
+				if (k == fNeedle.length) {
+					fNextByte= i + fNeedle.length;
+					fStart= toCharOffset(i);
+					fEnd= toCharOffset(fNextByte);
+					return true;
+				}
+			}
+			fNextByte= fByteLength;
+			return false;
+		}
+
+		/**
+		 * @return the char offset of the last occurrence found
+		 */
+		public int start() {
+			return fStart;
+		}
+
+		/**
+		 * @return the char offset after the last occurrence found
+		 */
+		public int end() {
+			return fEnd;
+		}
+	}
+}
@@ -478,6 +478,13 @@ public class TextSearchVisitor {
 	}
 
 	private List<TextSearchMatchAccess> locateMatches(IFile file, CharSequence searchInput, Matcher matcher, IProgressMonitor monitor) throws CoreException {
+		if (searchInput instanceof MappedFileCharSequence mapped) {
+			String literal= MappedFileCharSequence.getLiteral(fSearchPattern);
+			MappedFileCharSequence.LiteralFinder finder= literal != null ? mapped.createLiteralFinder(literal) : null;
+			if (finder != null) {
+				return locateLiteralMatches(file, mapped, finder, monitor);
+			}
+		}
 		List<TextSearchMatchAccess> occurences= null;
 		matcher.reset(searchInput);
 		// Check for cancellation before calling matcher.find() since that call
@@ -504,6 +511,28 @@ public class TextSearchVisitor {
 		return occurences;
 	}
 
+	/**
+	 * Finds the matches of a literal pattern on the bytes of a memory-mapped file. Only the
+	 * content the requestor accesses for reported matches gets decoded.
+	 */
+	private List<TextSearchMatchAccess> locateLiteralMatches(IFile file, MappedFileCharSequence searchInput, MappedFileCharSequence.LiteralFinder finder, IProgressMonitor monitor) throws CoreException {
+		List<TextSearchMatchAccess> occurences= null;
+		while (!monitor.isCanceled() && finder.find()) {
+			if (occurences == null) {
+				occurences= new ArrayList<>();
+			}
+			ReusableMatchAccess access= new ReusableMatchAccess();
+			access.initialize(file, finder.start(), finder.end() - finder.start(), searchInput);
+			occurences.add(access);
+			if (!fCollector.acceptPatternMatch(access)) {
+				return occurences; // no further reporting requested
+			}
+		}
+		if (occurences == null) {
+			occurences= Collections.emptyList();
+		}
+		return occurences;
+	}
 
 	private String getExceptionMessage(Exception e) {
 		String message= e.getLocalizedMessage();
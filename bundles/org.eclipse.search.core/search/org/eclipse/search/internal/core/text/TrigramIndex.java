@@ -0,0 +1,403 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index from case folded character trigrams to the files containing them.
+ * <p>
+ * Files are identified by their workspace path and carry the modification stamp of the
+ * content that was indexed. Files are assigned ascending ids, so posting lists stay sorted
+ * without ever being re-sorted. Removed or re-indexed files only clear their bit in the live
+ * set; the stale ids are dropped by {@link #compact()} once they make up half of the index.
+ * </p>
+ * <p>
+ * The index is only used to rule out files: a file that is not indexed, or whose modification
+ * stamp differs from the indexed one, is always a candidate.
+ * </p>
+ * This class is thread safe.
+ */
+public class TrigramIndex {
+
+	private static final int MAGIC= 0x54524947; // "TRIG"
+	private static final int VERSION= 1;
+
+	private static final class FileEntry {
+		final int id;
+		final long stamp;
+
+		FileEntry(int id, long stamp) {
+			this.id= id;
+			this.stamp= stamp;
+		}
+	}
+
+	/**
+	 * A growable, sorted list of file ids.
+	 */
+	private static final class Postings {
+		int[] ids;
+		int size;
+
+		Postings(int capacity) {
+			ids= new int[capacity];
+		}
+
+		void add(int id) {
+			if (size == ids.length) {
+				ids= Arrays.copyOf(ids, Math.max(4, size * 2));
+			}
+			ids[size++]= id;
+		}
+	}
+
+	private final Map<String, FileEntry> fFiles= new HashMap<>();
+	private final List<String> fPaths= new ArrayList<>();
+	private final BitSet fLive= new BitSet();
+	private Map<Long, Postings> fPostings= new HashMap<>();
+	private int fDeadCount;
+
+	/**
+	 * Folds a character so that all characters which are equal ignoring case map to the same
+	 * character, also for the Unicode case insensitive matching done by
+	 * {@link java.util.regex.Pattern#UNICODE_CASE}.
+	 *
+	 * @param c the character
+	 * @return the folded character
+	 */
+	public static char fold(char c) {
+		if (c < 0x80) {
+			return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	/**
+	 * Returns the key of the trigram formed by the three given (already folded) characters.
+	 *
+	 * @param c1 the first character
+	 * @param c2 the second character
+	 * @param c3 the third character
+	 * @return the trigram key
+	 */
+	public static long trigram(char c1, char c2, char c3) {
+		return ((long) c1 << 32) | ((long) c2 << 16) | c3;
+	}
+
+	/**
+	 * Computes the distinct trigrams of the given content.
+	 *
+	 * @param content the content
+	 * @return the sorted, distinct trigram keys
+	 */
+	public static long[] computeTrigrams(CharSequence content) {
+		int length= content.length();
+		if (length < 3) {
+			return new long[0];
+		}
+		long[] keys= new long[length - 2];
+		char c1= fold(content.charAt(0));
+		char c2= fold(content.charAt(1));
+		for (int i= 2; i < length; i++) {
+			char c3= fold(content.charAt(i));
+			keys[i - 2]= trigram(c1, c2, c3);
+			c1= c2;
+			c2= c3;
+		}
+		Arrays.sort(keys);
+		int distinct= 0;
+		for (int i= 0; i < keys.length; i++) {
+			if (i == 0 || keys[i] != keys[i - 1]) {
+				keys[distinct++]= keys[i];
+			}
+		}
+		return Arrays.copyOf(keys, distinct);
+	}
+
+	/**
+	 * Adds or replaces the trigrams of a file.
+	 *
+	 * @param path the workspace path of the file
+	 * @param stamp the modification stamp of the indexed content
+	 * @param trigrams the distinct trigrams of the content as returned by
+	 *            {@link #computeTrigrams(CharSequence)}
+	 */
+	public synchronized void put(String path, long stamp, long[] trigrams) {
+		removeEntry(path);
+		int id= fPaths.size();
+		fPaths.add(path);
+		fLive.set(id);
+		fFiles.put(path, new FileEntry(id, stamp));
+		for (long key : trigrams) {
+			fPostings.computeIfAbsent(Long.valueOf(key), k -> new Postings(4)).add(id);
+		}
+		compactIfNeeded();
+	}
+
+	/**
+	 * Removes a file from the index.
+	 *
+	 * @param path the workspace path of the file
+	 */
+	public synchronized void remove(String path) {
+		removeEntry(path);
+		compactIfNeeded();
+	}
+
+	/**
+	 * Removes all files from the index that are not contained in the given set.
+	 *
+	 * @param paths the workspace paths of the files to keep
+	 */
+	public synchronized void retainAll(Set<String> paths) {
+		for (String path : new ArrayList<>(fFiles.keySet())) {
+			if (!paths.contains(path)) {
+				removeEntry(path);
+			}
+		}
+		compactIfNeeded();
+	}
+
+	/**
+	 * Tells whether the index holds the content of a file with the given modification stamp.
+	 *
+	 * @param path the workspace path of the file
+	 * @param stamp the current modification stamp of the file
+	 * @return <code>true</code> if the indexed content is up to date
+	 */
+	public synchronized boolean isCurrent(String path, long stamp) {
+		FileEntry entry= fFiles.get(path);
+		return entry != null && entry.stamp == stamp;
+	}
+
+	/**
+	 * @return the number of indexed files
+	 */
+	public synchronized int getFileCount() {
+		return fFiles.size();
+	}
+
+	/**
+	 * Returns a filter that tells for a file whether it can contain all the given trigrams.
+	 *
+	 * @param trigrams the trigram keys that a matching file must contain
+	 * @return the filter, only valid for the current state of the index
+	 */
+	public synchronized CandidateFilter createFilter(long[] trigrams) {
+		Postings[] lists= new Postings[trigrams.length];
+		for (int i= 0; i < trigrams.length; i++) {
+			Postings postings= fPostings.get(Long.valueOf(trigrams[i]));
+			if (postings == null) {
+				// no indexed file contains the trigram
+				return new CandidateFilter(this, new BitSet());
+			}
+			lists[i]= postings;
+		}
+		BitSet result= (BitSet) fLive.clone();
+		if (lists.length > 0) {
+			Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+			BitSet matches= new BitSet(fPaths.size());
+			Postings smallest= lists[0];
+			for (int i= 0; i < smallest.size; i++) {
+				matches.set(smallest.ids[i]);
+			}
+			for (int i= 1; i < lists.length && !matches.isEmpty(); i++) {
+				BitSet other= new BitSet(fPaths.size());
+				Postings postings= lists[i];
+				for (int k= 0; k < postings.size; k++) {
+					other.set(postings.ids[k]);
+				}
+				matches.and(other);
+			}
+			result.and(matches);
+		}
+		return new CandidateFilter(this, result);
+	}
+
+	/**
+	 * Filter over the files of a {@link TrigramIndex} computed for a set of required trigrams.
+	 */
+	public static final class CandidateFilter {
+		private final Map<String, FileEntry> fEntries;
+		private final BitSet fMatches;
+
+		CandidateFilter(TrigramIndex index, BitSet matches) {
+			synchronized (index) {
+				fEntries= new HashMap<>(index.fFiles);
+			}
+			fMatches= matches;
+		}
+
+		/**
+		 * Tells whether a file may contain the trigrams the filter was created for.
+		 *
+		 * @param path the workspace path of the file
+		 * @param stamp the current modification stamp of the file
+		 * @return <code>false</code> only if the file is indexed with the given stamp and does not
+		 *         contain all trigrams
+		 */
+		public boolean isCandidate(String path, long stamp) {
+			FileEntry entry= fEntries.get(path);
+			if (entry == null || entry.stamp != stamp) {
+				return true;
+			}
+			return fMatches.get(entry.id);
+		}
+	}
+
+	private void removeEntry(String path) {
+		FileEntry entry= fFiles.remove(path);
+		if (entry != null) {
+			fLive.clear(entry.id);
+			fDeadCount++;
+		}
+	}
+
+	private void compactIfNeeded() {
+		if (fDeadCount > 1024 && fDeadCount > fFiles.size()) {
+			compact();
+		}
+	}
+
+	/**
+	 * Drops the ids of removed files from the posting lists and renumbers the remaining files.
+	 */
+	public synchronized void compact() {
+		if (fDeadCount == 0) {
+			return;
+		}
+		int[] newIds= new int[fPaths.size()];
+		List<String> paths= new ArrayList<>(fFiles.size());
+		for (int id= 0; id < newIds.length; id++) {
+			if (fLive.get(id)) {
+				newIds[id]= paths.size();
+				String path= fPaths.get(id);
+				paths.add(path);
+				fFiles.put(path, new FileEntry(newIds[id], fFiles.get(path).stamp));
+			} else {
+				newIds[id]= -1;
+			}
+		}
+		Map<Long, Postings> postingsMap= new HashMap<>(fPostings.size());
+		for (Map.Entry<Long, Postings> entry : fPostings.entrySet()) {
+			Postings old= entry.getValue();
+			Postings postings= new Postings(old.size);
+			for (int i= 0; i < old.size; i++) {
+				int id= newIds[old.ids[i]];
+				if (id >= 0) {
+					postings.add(id);
+				}
+			}
+			if (postings.size > 0) {
+				postingsMap.put(entry.getKey(), postings);
+			}
+		}
+		fPaths.clear();
+		fPaths.addAll(paths);
+		fLive.clear();
+		fLive.set(0, paths.size());
+		fPostings= postingsMap;
+		fDeadCount= 0;
+	}
+
+	/**
+	 * Writes the index to the given file.
+	 *
+	 * @param file the file to write to
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void save(File file) throws IOException {
+		compact();
+		File tmp= new File(file.getPath() + ".tmp"); //$NON-NLS-1$
+		try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(fPaths.size());
+			for (String path : fPaths) {
+				out.writeUTF(path);
+				out.writeLong(fFiles.get(path).stamp);
+			}
+			out.writeInt(fPostings.size());
+			for (Map.Entry<Long, Postings> entry : fPostings.entrySet()) {
+				Postings postings= entry.getValue();
+				out.writeLong(entry.getKey().longValue());
+				out.writeInt(postings.size);
+				int previous= 0;
+				for (int i= 0; i < postings.size; i++) {
+					// ids are ascending, store the gaps
+					out.writeInt(postings.ids[i] - previous);
+					previous= postings.ids[i];
+				}
+			}
+		}
+		Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Reads an index written by {@link #save(File)}.
+	 *
+	 * @param file the file to read from
+	 * @return the index
+	 * @throws IOException if the file cannot be read or has an unknown format
+	 */
+	public static TrigramIndex load(File file) throws IOException {
+		TrigramIndex index= new TrigramIndex();
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Unknown trigram index format: " + file); //$NON-NLS-1$
+			}
+			int fileCount= in.readInt();
+			for (int id= 0; id < fileCount; id++) {
+				String path= in.readUTF();
+				long stamp= in.readLong();
+				index.fPaths.add(path);
+				index.fFiles.put(path, new FileEntry(id, stamp));
+			}
+			index.fLive.set(0, fileCount);
+			int trigramCount= in.readInt();
+			for (int i= 0; i < trigramCount; i++) {
+				long key= in.readLong();
+				int size= in.readInt();
+				Postings postings= new Postings(size);
+				int id= 0;
+				for (int k= 0; k < size; k++) {
+					id+= in.readInt();
+					if (id < 0 || id >= fileCount) {
+						throw new IOException("Corrupt trigram index: " + file); //$NON-NLS-1$
+					}
+					postings.add(id);
+				}
+				index.fPostings.put(Long.valueOf(key), postings);
+			}
+		}
+		return index;
+	}
+}
@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * Keeps a {@link TrigramIndex} of the workspace files up to date and persists it in the state
+ * location of the plug-in.
+ * <p>
+ * After start-up the whole workspace is swept once to pick up changes made while the index
+ * was not running. Afterwards only the files reported by resource deltas are re-indexed.
+ * </p>
+ */
+public class TrigramIndexManager implements IResourceChangeListener {
+
+	/**
+	 * Family of the jobs updating the index.
+	 */
+	public static final Object FAMILY_INDEX_UPDATE= new Object();
+
+	/**
+	 * Files larger than this are not indexed and are therefore always searched.
+	 */
+	private static final long MAX_FILE_SIZE= 8 * 1024 * 1024;
+
+	private static final String INDEX_FILE_NAME= "trigram.index"; //$NON-NLS-1$
+
+	private final File fIndexFile;
+	private final TrigramIndex fIndex;
+	private final Set<IFile> fPendingFiles= ConcurrentHashMap.newKeySet();
+	private final Job fUpdateJob;
+	private volatile boolean fSweepNeeded= true;
+
+	public TrigramIndexManager(File indexFile) {
+		fIndexFile= indexFile;
+		fIndex= loadIndex(indexFile);
+		fUpdateJob= new Job(SearchCoreMessages.TrigramIndexManager_update_job_name) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				return update(monitor);
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == FAMILY_INDEX_UPDATE;
+			}
+		};
+		fUpdateJob.setSystem(true);
+		fUpdateJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Creates a manager storing the index in the state location of the search core plug-in.
+	 *
+	 * @return the manager
+	 */
+	public static TrigramIndexManager createDefault() {
+		File indexFile= SearchCorePlugin.getDefault().getStateLocation().append(INDEX_FILE_NAME).toFile();
+		return new TrigramIndexManager(indexFile);
+	}
+
+	private static TrigramIndex loadIndex(File indexFile) {
+		if (indexFile.isFile()) {
+			try {
+				return TrigramIndex.load(indexFile);
+			} catch (IOException e) {
+				// start over with an empty index
+				SearchCorePlugin.log(e);
+			}
+		}
+		return new TrigramIndex();
+	}
+
+	public TrigramIndex getIndex() {
+		return fIndex;
+	}
+
+	public void start() {
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		fUpdateJob.schedule();
+	}
+
+	public void stop() {
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		fUpdateJob.cancel();
+		try {
+			fUpdateJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			fIndex.save(fIndexFile);
+		} catch (IOException e) {
+			SearchCorePlugin.log(e);
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(child -> {
+				IResource resource= child.getResource();
+				if (resource.getType() != IResource.FILE) {
+					return true;
+				}
+				IFile file= (IFile) resource;
+				switch (child.getKind()) {
+					case IResourceDelta.REMOVED:
+						fPendingFiles.remove(file);
+						fIndex.remove(file.getFullPath().toString());
+						break;
+					case IResourceDelta.ADDED:
+						fPendingFiles.add(file);
+						break;
+					case IResourceDelta.CHANGED:
+						if ((child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED | IResourceDelta.ENCODING)) != 0) {
+							fPendingFiles.add(file);
+						}
+						break;
+					default:
+						break;
+				}
+				return false;
+			});
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+		}
+		if (!fPendingFiles.isEmpty()) {
+			fUpdateJob.schedule();
+		}
+	}
+
+	private IStatus update(IProgressMonitor monitor) {
+		try {
+			if (fSweepNeeded) {
+				sweep(monitor);
+				fSweepNeeded= false;
+			}
+			while (!fPendingFiles.isEmpty()) {
+				List<IFile> files= new ArrayList<>(fPendingFiles);
+				fPendingFiles.removeAll(files);
+				for (IFile file : files) {
+					if (monitor.isCanceled()) {
+						fPendingFiles.addAll(files);
+						return Status.CANCEL_STATUS;
+					}
+					indexFile(file);
+				}
+			}
+		} catch (OperationCanceledException e) {
+			return Status.CANCEL_STATUS;
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * Queues all files whose indexed content is out of date and drops the files that no longer
+	 * exist.
+	 */
+	private void sweep(IProgressMonitor monitor) {
+		IWorkspace workspace= ResourcesPlugin.getWorkspace();
+		Set<String> existing= new HashSet<>();
+		try {
+			workspace.getRoot().accept(proxy -> {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				if (proxy.getType() == IResource.FILE) {
+					String path= proxy.requestFullPath().toString();
+					existing.add(path);
+					if (!fIndex.isCurrent(path, proxy.getModificationStamp())) {
+						fPendingFiles.add((IFile) proxy.requestResource());
+					}
+					return false;
+				}
+				return true;
+			}, IResource.NONE);
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+			return;
+		}
+		fIndex.retainAll(existing);
+	}
+
+	private void indexFile(IFile file) {
+		String path= file.getFullPath().toString();
+		long stamp= file.getModificationStamp();
+		if (!file.isAccessible() || stamp == IResource.NULL_STAMP) {
+			fIndex.remove(path);
+			return;
+		}
+		File localFile= file.getLocation() != null ? file.getLocation().toFile() : null;
+		if (localFile == null || localFile.length() > MAX_FILE_SIZE) {
+			// not indexed, always a candidate
+			fIndex.remove(path);
+			return;
+		}
+		try (InputStream stream= file.getContents(true);
+				Reader reader= new InputStreamReader(stream, Charset.forName(file.getCharset()))) {
+			StringBuilder content= new StringBuilder((int) localFile.length());
+			char[] buffer= new char[8192];
+			int read;
+			while ((read= reader.read(buffer)) != -1) {
+				content.append(buffer, 0, read);
+			}
+			fIndex.put(path, stamp, TrigramIndex.computeTrigrams(content));
+		} catch (CoreException | IOException | UnsupportedCharsetException | IllegalCharsetNameException e) {
+			// searched like any other file that is not indexed
+			fIndex.remove(path);
+		}
+	}
+
+	/**
+	 * Returns the files of the given array that may contain a match of the given trigrams.
+	 *
+	 * @param files the files to filter
+	 * @param trigrams the trigrams every match contains
+	 * @return the candidate files
+	 */
+	public IFile[] filterCandidates(IFile[] files, long[] trigrams) {
+		TrigramIndex.CandidateFilter filter= fIndex.createFilter(trigrams);
+		List<IFile> candidates= new ArrayList<>();
+		for (IFile file : files) {
+			if (filter.isCandidate(file.getFullPath().toString(), file.getModificationStamp())) {
+				candidates.add(file);
+			}
+		}
+		return candidates.toArray(new IFile[candidates.size()]);
+	}
+}
@@ -0,0 +1,310 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the literal strings that every match of a search pattern must contain.
+ * <p>
+ * The extraction is conservative: it understands the patterns created by
+ * {@link PatternConstructor} for plain and wildcard searches and the common subset of regular
+ * expressions. Everything that might make a character optional (alternatives, groups,
+ * character classes, quantifiers) ends the current literal. If in doubt, no literal is
+ * returned and all files have to be searched.
+ * </p>
+ */
+public final class TrigramQuery {
+
+	/**
+	 * The escapes followed by an operand: hexadecimal, unicode and octal characters, control
+	 * characters, named back references, unicode properties and named characters.
+	 */
+	private static final String ESCAPES_WITH_OPERAND= "xu0ckpPN"; //$NON-NLS-1$
+
+	/**
+	 * The inline flags which change how literals are parsed or matched: comments and unicode case.
+	 */
+	private static final String UNSUPPORTED_INLINE_FLAGS= "xu"; //$NON-NLS-1$
+
+	private TrigramQuery() {
+		// don't instantiate
+	}
+
+	/**
+	 * Computes the trigrams that every match of the given pattern must contain.
+	 *
+	 * @param pattern the search pattern
+	 * @return the sorted, distinct trigram keys, or <code>null</code> if the pattern does not
+	 *         require any trigram
+	 */
+	public static long[] requiredTrigrams(Pattern pattern) {
+		List<String> literals= requiredLiterals(pattern);
+		if (literals == null) {
+			return null;
+		}
+		long[] keys= new long[0];
+		for (String literal : literals) {
+			long[] trigrams= TrigramIndex.computeTrigrams(literal);
+			int offset= keys.length;
+			keys= Arrays.copyOf(keys, offset + trigrams.length);
+			System.arraycopy(trigrams, 0, keys, offset, trigrams.length);
+		}
+		if (keys.length == 0) {
+			return null;
+		}
+		Arrays.sort(keys);
+		int distinct= 0;
+		for (int i= 0; i < keys.length; i++) {
+			if (i == 0 || keys[i] != keys[i - 1]) {
+				keys[distinct++]= keys[i];
+			}
+		}
+		return Arrays.copyOf(keys, distinct);
+	}
+
+	/**
+	 * Computes the literal strings that every match of the given pattern must contain.
+	 *
+	 * @param pattern the search pattern
+	 * @return the literals, or <code>null</code> if the pattern is not understood
+	 */
+	public static List<String> requiredLiterals(Pattern pattern) {
+		int flags= pattern.flags();
+		if ((flags & Pattern.LITERAL) != 0) {
+			return List.of(pattern.pattern());
+		}
+		if ((flags & (Pattern.COMMENTS | Pattern.CANON_EQ)) != 0) {
+			return null;
+		}
+		String regex= pattern.pattern();
+		List<String> literals= new ArrayList<>();
+		StringBuilder current= new StringBuilder();
+		int length= regex.length();
+		int i= 0;
+		while (i < length) {
+			char ch= regex.charAt(i);
+			switch (ch) {
+				case '\\':
+					if (i + 1 >= length) {
+						return null;
+					}
+					char next= regex.charAt(i + 1);
+					if (next == 'Q') {
+						int end= regex.indexOf("\\E", i + 2); //$NON-NLS-1$
+						String quoted= end == -1 ? regex.substring(i + 2) : regex.substring(i + 2, end);
+						i= end == -1 ? length : end + 2;
+						if (isQuantifier(regex, i)) {
+							// only the last quoted character is affected by the quantifier
+							current.append(quoted, 0, Math.max(0, quoted.length() - 1));
+							flush(current, literals);
+							i= skipQuantifier(regex, i);
+						} else {
+							current.append(quoted);
+						}
+						continue;
+					}
+					if (ESCAPES_WITH_OPERAND.indexOf(next) != -1) {
+						// the character is given by the operand, which is not parsed
+						return null;
+					}
+					if (Character.isLetterOrDigit(next)) {
+						// character class, back reference or assertion
+						flush(current, literals);
+						i+= 2;
+						while (Character.isDigit(next) && i < length && Character.isDigit(regex.charAt(i))) {
+							// back references may have several digits
+							i++;
+						}
+						i= skipQuantifier(regex, i);
+						continue;
+					}
+					i= appendAtom(regex, i + 2, next, current, literals);
+					continue;
+				case '|':
+					// alternatives: no literal is required
+					return null;
+				case '(':
+					if (setsInlineFlag(regex, i, UNSUPPORTED_INLINE_FLAGS)) {
+						// the literals would have to be parsed differently
+						return null;
+					}
+					flush(current, literals);
+					i= skipGroup(regex, i);
+					if (i < 0) {
+						return null;
+					}
+					i= skipQuantifier(regex, i);
+					continue;
+				case '[':
+					flush(current, literals);
+					i= skipCharacterClass(regex, i);
+					if (i < 0) {
+						return null;
+					}
+					i= skipQuantifier(regex, i);
+					continue;
+				case ')':
+				case ']':
+				case '{':
+				case '}':
+				case '*':
+				case '+':
+				case '?':
+					return null;
+				case '.':
+				case '^':
+				case '$':
+					flush(current, literals);
+					i= skipQuantifier(regex, i + 1);
+					continue;
+				default:
+					i= appendAtom(regex, i + 1, ch, current, literals);
+					continue;
+			}
+		}
+		flush(current, literals);
+		return literals;
+	}
+
+	private static int appendAtom(String regex, int end, char ch, StringBuilder current, List<String> literals) {
+		if (!isQuantifier(regex, end)) {
+			current.append(ch);
+			return end;
+		}
+		if (regex.charAt(end) == '+' && !isQuantifier(regex, end + 1)) {
+			// the character occurs at least once
+			current.append(ch);
+		}
+		flush(current, literals);
+		return skipQuantifier(regex, end);
+	}
+
+	private static void flush(StringBuilder current, List<String> literals) {
+		if (current.length() > 0) {
+			literals.add(current.toString());
+			current.setLength(0);
+		}
+	}
+
+	private static boolean isQuantifier(String regex, int i) {
+		if (i >= regex.length()) {
+			return false;
+		}
+		char ch= regex.charAt(i);
+		return ch == '*' || ch == '+' || ch == '?' || ch == '{';
+	}
+
+	private static int skipQuantifier(String regex, int i) {
+		while (isQuantifier(regex, i)) {
+			if (regex.charAt(i) == '{') {
+				int end= regex.indexOf('}', i);
+				i= end == -1 ? regex.length() : end + 1;
+			} else {
+				i++;
+			}
+		}
+		return i;
+	}
+
+	/**
+	 * Tells whether the group at the given index sets one of the given inline flags, like
+	 * <code>(?x)</code> or <code>(?ix:...)</code>.
+	 */
+	private static boolean setsInlineFlag(String regex, int start, String flags) {
+		if (!regex.startsWith("(?", start)) { //$NON-NLS-1$
+			return false;
+		}
+		for (int i= start + 2; i < regex.length(); i++) {
+			char ch= regex.charAt(i);
+			if (!Character.isLetter(ch)) {
+				// end of the flags, the flags after '-' are cleared
+				return false;
+			}
+			if (flags.indexOf(ch) != -1) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int skipGroup(String regex, int start) {
+		int depth= 0;
+		int i= start;
+		while (i < regex.length()) {
+			char ch= regex.charAt(i);
+			if (ch == '\\') {
+				if (i + 1 < regex.length() && regex.charAt(i + 1) == 'Q') {
+					int end= regex.indexOf("\\E", i + 2); //$NON-NLS-1$
+					if (end == -1) {
+						return -1;
+					}
+					i= end + 2;
+				} else {
+					i+= 2;
+				}
+				continue;
+			}
+			if (ch == '[') {
+				i= skipCharacterClass(regex, i);
+				if (i < 0) {
+					return -1;
+				}
+				continue;
+			}
+			if (ch == '(') {
+				depth++;
+			} else if (ch == ')') {
+				depth--;
+				if (depth == 0) {
+					return i + 1;
+				}
+			}
+			i++;
+		}
+		return -1;
+	}
+
+	private static int skipCharacterClass(String regex, int start) {
+		int depth= 0;
+		int i= start;
+		while (i < regex.length()) {
+			char ch= regex.charAt(i);
+			if (ch == '\\') {
+				i+= 2;
+				continue;
+			}
+			if (ch == '[') {
+				depth++;
+				if (i + 1 < regex.length() && regex.charAt(i + 1) == '^') {
+					i++;
+				}
+				if (i + 1 < regex.length() && regex.charAt(i + 1) == ']') {
+					// a leading ']' is a literal
+					i++;
+				}
+			} else if (ch == ']') {
+				depth--;
+				if (depth == 0) {
+					return i + 1;
+				}
+			}
+			i++;
+		}
+		return -1;
+	}
+}
@@ -22,6 +22,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.PatternSyntaxException;
 
@@ -109,6 +110,13 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.4
 	 */
 	private final Map<String, List<Position>> fEndPositions= new HashMap<>();
+	/**
+	 * The interval indices of the position categories, <code>null</code> if disabled. An index
+	 * is created on demand, also by concurrent queries, and dropped when the positions of its
+	 * category change.
+	 * @since 3.15
+	 */
+	private Map<String, PositionIntervalIndex> fPositionIntervalIndices;
 	/** All registered document position updaters */
 	private final List<IPositionUpdater> fPositionUpdaters= new CopyOnWriteArrayList<>();
 	/**
@@ -352,6 +360,8 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (endPositions == null)
 			throw new BadPositionCategoryException(category);
 		endPositions.add(computeIndexInPositionList(endPositions, position.offset + position.length - 1, false), position);
+
+		invalidatePositionIntervalIndex(category);
 	}
 
 	@Override
@@ -594,6 +604,29 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		}
 	}
 
+	/**
+	 * Informs the document partitioning listeners that the partitioning computed by the given
+	 * partitioner changed in the given region although the document did not change, for example
+	 * because the partitioner completed work it deferred when the document was changed.
+	 *
+	 * @param partitioner the partitioner whose partitioning changed
+	 * @param offset the offset of the changed region
+	 * @param length the length of the changed region
+	 * @since 3.15
+	 */
+	public void notifyPartitioningChanged(IDocumentPartitioner partitioner, int offset, int length) {
+		if (fDocumentPartitioners == null)
+			return;
+
+		DocumentPartitioningChangedEvent event= new DocumentPartitioningChangedEvent(this);
+		for (Entry<String, IDocumentPartitioner> entry : fDocumentPartitioners.entrySet()) {
+			if (entry.getValue() == partitioner)
+				event.setPartitionChange(entry.getKey(), offset, length);
+		}
+		if (!event.isEmpty())
+			fireDocumentPartitioningChanged(event);
+	}
+
 	/**
 	 * Fires the given document event to all registers document listeners informing them
 	 * about the forthcoming document manipulation. Uses a robust iterator.
@@ -987,6 +1020,8 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		if (endPositions == null)
 			throw new BadPositionCategoryException(category);
 		removeFromPositionsList(endPositions, position, false);
+
+		invalidatePositionIntervalIndex(category);
 	}
 
 	/**
@@ -1047,6 +1082,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 
 		fPositions.remove(category);
 		fEndPositions.remove(category);
+		invalidatePositionIntervalIndex(category);
 	}
 
 	@Override
@@ -1143,6 +1179,54 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		for(IPositionUpdater u: fPositionUpdaters) {
 			u.update(event);
 		}
+		if (fPositionIntervalIndices != null) {
+			// the updaters leave positions ending before the change alone
+			int offset= event.getOffset();
+			fPositionIntervalIndices.values().removeIf(index -> index.reaches(offset));
+		}
+	}
+
+	/**
+	 * Sets whether {@link #getPositions(String, int, int, boolean, boolean)} answers queries for
+	 * positions overlapping a region from an interval tree.
+	 * <p>
+	 * The tree of a category is built on the first query after the positions of the category
+	 * changed and then answers overlap queries in <code>O(log n + k)</code> instead of scanning
+	 * all positions before or after the region. This pays off for documents with many positions
+	 * that are queried repeatedly between modifications, e.g. when painting annotations.
+	 * </p>
+	 * <p>
+	 * Positions must only be changed by the document's position updaters or by removing and
+	 * re-adding them, otherwise the tree does not notice the change. The trees of categories whose
+	 * positions all end before a document change are kept, so updaters must not change such
+	 * positions.
+	 * </p>
+	 *
+	 * @param enabled <code>true</code> to use interval trees, <code>false</code> to use the
+	 *            position lists only
+	 * @since 3.15
+	 */
+	public void setPositionIntervalIndexEnabled(boolean enabled) {
+		fPositionIntervalIndices= enabled ? new ConcurrentHashMap<>() : null;
+	}
+
+	/**
+	 * Returns whether overlap queries for positions are answered from an interval tree.
+	 *
+	 * @return <code>true</code> if interval trees are used
+	 * @see #setPositionIntervalIndexEnabled(boolean)
+	 * @since 3.15
+	 */
+	public boolean isPositionIntervalIndexEnabled() {
+		return fPositionIntervalIndices != null;
+	}
+
+	/*
+	 * @since 3.15
+	 */
+	private void invalidatePositionIntervalIndex(String category) {
+		if (fPositionIntervalIndices != null)
+			fPositionIntervalIndices.remove(category);
 	}
 
 	/**
@@ -1582,6 +1666,15 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 	 * @since 3.4
 	 */
 	public Position[] getPositions(String category, int offset, int length, boolean canStartBefore, boolean canEndAfter) throws BadPositionCategoryException {
+		if (canStartBefore && canEndAfter && fPositionIntervalIndices != null) {
+			List<Position> positions= fPositions.get(category);
+			if (positions == null)
+				throw new BadPositionCategoryException(category);
+			PositionIntervalIndex index= fPositionIntervalIndices.computeIfAbsent(category, c -> new PositionIntervalIndex(positions));
+			// same result as the list based lookup below which excludes positions starting at an empty region in the first half
+			int maxStart= length == 0 && offset < getLength() / 2 ? offset : Integer.MAX_VALUE;
+			return index.getOverlapping(offset, length, maxStart);
+		}
 		if (canStartBefore && canEndAfter || (!canStartBefore && !canEndAfter)) {
 			List<Position> documentPositions;
 			if (canStartBefore && canEndAfter) {
@@ -37,13 +37,23 @@ package org.eclipse.jface.text;
  * </p>
  * <p>
  * See {@link GapTextStore} and <code>TreeLineTracker</code> for algorithmic behavior of the used
- * document structures.
+ * document structures. Use {@link #create(String, int)} to get a document backed by a
+ * {@link RopeTextStore} for very large content.
  * </p>
  *
  * @see org.eclipse.jface.text.GapTextStore
  * @see org.eclipse.jface.text.CopyOnWriteTextStore
  */
 public class Document extends AbstractDocument {
+
+	/**
+	 * A content length of 16 million characters, above which {@link #create(String, int)} is
+	 * suggested to use a {@link RopeTextStore}.
+	 *
+	 * @since 3.15
+	 */
+	public static final int DEFAULT_ROPE_THRESHOLD= 16 * 1024 * 1024;
+
 	/**
 	 * Creates a new empty document.
 	 */
@@ -68,6 +78,41 @@ public class Document extends AbstractDocument {
 		completeInitialization();
 	}
 
+	/**
+	 * Creates a new document with the given text store and initial content.
+	 *
+	 * @param store the text store to use
+	 * @param initialContent the document's initial content
+	 * @since 3.15
+	 */
+	private Document(ITextStore store, String initialContent) {
+		super();
+		setTextStore(store);
+		setLineTracker(new DefaultLineTracker());
+		getStore().set(initialContent);
+		getTracker().set(initialContent);
+		completeInitialization();
+	}
+
+	/**
+	 * Creates a new document with the given initial content. If the content has at least
+	 * <code>ropeThreshold</code> characters, the document uses a {@link RopeTextStore} instead of
+	 * a {@link GapTextStore}, so that the content is not kept in one contiguous array and changes
+	 * far away from each other stay cheap. Smaller documents are created like with
+	 * {@link #Document(String)}.
+	 *
+	 * @param initialContent the document's initial content
+	 * @param ropeThreshold the minimal content length for which a rope is used, for example
+	 *            {@link #DEFAULT_ROPE_THRESHOLD}
+	 * @return the new document
+	 * @since 3.15
+	 */
+	public static Document create(String initialContent, int ropeThreshold) {
+		if (initialContent.length() < ropeThreshold)
+			return new Document(initialContent);
+		return new Document(new RopeTextStore(), initialContent);
+	}
+
 	@Override
 	public boolean isLineInformationRepairNeeded(int offset, int length, String text) throws BadLocationException {
 		if ((0 > offset) || (0 > length) || (offset + length > getLength()))
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+
+/**
+ * An immutable, augmented interval tree over a snapshot of the positions of one category.
+ * <p>
+ * The tree is stored implicitly in arrays sorted by position offset: the node of the range
+ * <code>[lo, hi)</code> is the middle element, its children are the middle elements of the
+ * two halves. Every node remembers the largest end offset in its subtree, so overlap queries
+ * skip subtrees that end before the queried region and run in <code>O(log n + k)</code>.
+ * </p>
+ * <p>
+ * Empty positions are treated as covering the single character at their offset, which makes
+ * the overlap test of the tree match {@link Position#overlapsWith(int, int)} called on the
+ * queried region.
+ * </p>
+ */
+final class PositionIntervalIndex {
+
+	private static final Comparator<Position> BY_OFFSET= Comparator.comparingInt(p -> p.offset);
+
+	private final Position[] fPositions;
+	private final int[] fStarts;
+	private final int[] fEnds;
+	private final int[] fMaxEnds;
+
+	/**
+	 * Creates an index for the given positions.
+	 *
+	 * @param positions the positions, usually already ordered by offset
+	 */
+	PositionIntervalIndex(List<Position> positions) {
+		fPositions= positions.toArray(new Position[positions.size()]);
+		// positions are mutable and updaters may have swapped equal offsets; the sort is linear on sorted input
+		Arrays.sort(fPositions, BY_OFFSET);
+		int size= fPositions.length;
+		fStarts= new int[size];
+		fEnds= new int[size];
+		fMaxEnds= new int[size];
+		for (int i= 0; i < size; i++) {
+			Position p= fPositions[i];
+			fStarts[i]= p.offset;
+			fEnds[i]= p.offset + Math.max(p.length, 1);
+		}
+		computeMaxEnds(0, size);
+	}
+
+	private int computeMaxEnds(int lo, int hi) {
+		if (lo >= hi)
+			return Integer.MIN_VALUE;
+		int mid= (lo + hi) >>> 1;
+		int max= Math.max(fEnds[mid], Math.max(computeMaxEnds(lo, mid), computeMaxEnds(mid + 1, hi)));
+		fMaxEnds[mid]= max;
+		return max;
+	}
+
+	/**
+	 * Returns whether an indexed position ends at or after the given offset and may thus be
+	 * updated by a document change at that offset.
+	 *
+	 * @param offset the offset of the change
+	 * @return <code>true</code> if the index may no longer match the positions
+	 */
+	boolean reaches(int offset) {
+		int size= fPositions.length;
+		// the root's maximum end covers all positions
+		return size > 0 && fMaxEnds[size >>> 1] >= offset;
+	}
+
+	/**
+	 * Returns the positions overlapping with the given region, ordered by offset.
+	 *
+	 * @param offset the offset of the region
+	 * @param length the length of the region
+	 * @param maxStart only positions with an offset smaller than this are returned
+	 * @return the overlapping positions
+	 */
+	Position[] getOverlapping(int offset, int length, int maxStart) {
+		int queryEnd= offset + Math.max(length, 1);
+		List<Position> result= new ArrayList<>();
+		collect(0, fPositions.length, offset, Math.min(queryEnd, maxStart), result);
+		return result.toArray(new Position[result.size()]);
+	}
+
+	private void collect(int lo, int hi, int offset, int queryEnd, List<Position> result) {
+		while (lo < hi) {
+			int mid= (lo + hi) >>> 1;
+			if (fMaxEnds[mid] <= offset)
+				return;
+			collect(lo, mid, offset, queryEnd, result);
+			if (fStarts[mid] >= queryEnd)
+				return; // the right subtree starts even later
+			if (fEnds[mid] > offset)
+				result.add(fPositions[mid]);
+			lo= mid + 1;
+		}
+	}
+}
@@ -0,0 +1,426 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+import org.eclipse.core.runtime.Assert;
+
+
+/**
+ * Implements a text store as a rope: a balanced binary tree whose leaves are chunks of a few
+ * thousand characters. Unlike {@link GapTextStore}, the content is never kept in one contiguous
+ * array, which makes this store suitable for documents of hundreds of megabytes.
+ * <p>
+ * <strong>Performance:</strong> A change copies at most the two chunks at its boundaries plus the
+ * inserted text and rebuilds <i>O(log n)</i> tree nodes, independent of the distance from the
+ * previous change. {@link #get(int)} performs in <i>O(log n)</i>, or <i>O(1)</i> when it is
+ * called for the same chunk as the previous call, {@linkplain #get(int, int) get(int,
+ * <var>length</var>)} in <i>O(log n + length)</i>.
+ * </p>
+ * <p>
+ * Tree nodes and chunks are never modified once created, so {@link #createSnapshot()} is
+ * <i>O(1)</i> and the snapshot is not affected by later changes of this store. The chunks can
+ * optionally be allocated outside the Java heap; that memory is bounded by the
+ * <code>-XX:MaxDirectMemorySize</code> VM setting and released when the chunks are garbage
+ * collected.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @see Document#create(String, int)
+ * @since 3.15
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class RopeTextStore implements ITextStore {
+
+	/** The default maximal number of characters of a chunk. */
+	private static final int DEFAULT_CHUNK_SIZE= 4096;
+
+	/** A node of the rope. */
+	private static abstract class Node {
+		/** The number of characters in this subtree. */
+		final int fLength;
+		/** The height of this subtree, <code>0</code> for chunks. */
+		final int fHeight;
+
+		Node(int length, int height) {
+			fLength= length;
+			fHeight= height;
+		}
+
+		abstract void getChars(int offset, int length, char[] dst, int dstOffset);
+	}
+
+	/** A leaf of the rope, holding the characters of one chunk. */
+	private static final class Chunk extends Node {
+		/** The characters, never modified. */
+		final CharBuffer fChars;
+
+		Chunk(CharBuffer chars) {
+			super(chars.limit(), 0);
+			fChars= chars;
+		}
+
+		@Override
+		void getChars(int offset, int length, char[] dst, int dstOffset) {
+			fChars.get(offset, dst, dstOffset, length);
+		}
+	}
+
+	/** An inner node of the rope. The heights of its children differ by at most one. */
+	private static final class Branch extends Node {
+		final Node fLeft;
+		final Node fRight;
+
+		Branch(Node left, Node right) {
+			super(left.fLength + right.fLength, Math.max(left.fHeight, right.fHeight) + 1);
+			fLeft= left;
+			fRight= right;
+		}
+
+		@Override
+		void getChars(int offset, int length, char[] dst, int dstOffset) {
+			int leftLength= fLeft.fLength;
+			if (offset < leftLength) {
+				int n= Math.min(length, leftLength - offset);
+				fLeft.getChars(offset, n, dst, dstOffset);
+				if (n < length)
+					fRight.getChars(0, length - n, dst, dstOffset + n);
+			} else {
+				fRight.getChars(offset - leftLength, length, dst, dstOffset);
+			}
+		}
+	}
+
+	/** A chunk and its offset in the rope, remembered to speed up sequential {@link #get(int)}. */
+	private static final class ChunkLocation {
+		final Chunk fChunk;
+		final int fStart;
+
+		ChunkLocation(Chunk chunk, int start) {
+			fChunk= chunk;
+			fStart= start;
+		}
+	}
+
+	/** A read-only view of the content of a rope at one point in time. */
+	private static final class Snapshot implements ITextStore {
+		private final RopeTextStore fStore;
+
+		Snapshot(RopeTextStore store) {
+			fStore= store;
+		}
+
+		@Override
+		public char get(int offset) {
+			return fStore.get(offset);
+		}
+
+		@Override
+		public String get(int offset, int length) {
+			return fStore.get(offset, length);
+		}
+
+		@Override
+		public int getLength() {
+			return fStore.getLength();
+		}
+
+		@Override
+		public void replace(int offset, int length, String text) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void set(String text) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/** The maximal number of characters of a chunk. */
+	private final int fChunkSize;
+	/** Whether chunks are allocated outside the Java heap. */
+	private final boolean fOffHeap;
+	/** The root of the rope, <code>null</code> if the store is empty. */
+	private Node fRoot;
+	/** The chunk of the last {@link #get(int)}, <code>null</code> if unknown. */
+	private ChunkLocation fLastChunk;
+
+	/**
+	 * Creates an empty text store with chunks of 4096 characters on the Java heap.
+	 */
+	public RopeTextStore() {
+		this(DEFAULT_CHUNK_SIZE, false);
+	}
+
+	/**
+	 * Creates an empty text store.
+	 *
+	 * @param chunkSize the maximal number of characters of a chunk (&gt;&nbsp;0)
+	 * @param offHeap <code>true</code> to allocate the chunks as direct buffers outside the Java
+	 *            heap, <code>false</code> to allocate them on the heap
+	 */
+	public RopeTextStore(int chunkSize, boolean offHeap) {
+		Assert.isLegal(chunkSize > 0);
+		fChunkSize= chunkSize;
+		fOffHeap= offHeap;
+	}
+
+	private RopeTextStore(RopeTextStore store) {
+		fChunkSize= store.fChunkSize;
+		fOffHeap= store.fOffHeap;
+		fRoot= store.fRoot;
+	}
+
+	@Override
+	public char get(int offset) {
+		ChunkLocation location= fLastChunk;
+		if (location == null || offset < location.fStart || offset >= location.fStart + location.fChunk.fLength) {
+			if (offset < 0 || offset >= getLength())
+				throw new IndexOutOfBoundsException(offset);
+			location= findChunk(offset);
+			fLastChunk= location;
+		}
+		return location.fChunk.fChars.get(offset - location.fStart);
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		if (offset < 0 || length < 0 || offset + length > getLength())
+			throw new IndexOutOfBoundsException();
+		if (length == 0)
+			return ""; //$NON-NLS-1$
+		char[] chars= new char[length];
+		fRoot.getChars(offset, length, chars, 0);
+		return new String(chars);
+	}
+
+	@Override
+	public int getLength() {
+		return fRoot == null ? 0 : fRoot.fLength;
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (text == null)
+			text= ""; //$NON-NLS-1$
+		int end= offset + length;
+		if (offset < 0 || length < 0 || end > getLength())
+			throw new IndexOutOfBoundsException();
+		if (length == 0 && text.isEmpty())
+			return;
+
+		// widen the change to chunk boundaries, so the split below never cuts a chunk and the
+		// surrounding characters are re-chunked together with the new text
+		int start= offset > 0 ? chunkStart(offset - 1) : 0;
+		int stop= end > start ? chunkEnd(end - 1) : start;
+		int newLength= (offset - start) + text.length() + (stop - end);
+		if (newLength < fChunkSize / 2) {
+			// merge small results with a neighbor chunk to avoid fragmentation
+			if (stop < getLength())
+				stop= chunkEnd(stop);
+			else if (start > 0)
+				start= chunkStart(start - 1);
+		}
+		String prefix= get(start, offset - start);
+		String suffix= get(end, stop - end);
+
+		Node[] split= split(fRoot, start);
+		Node right= split(split[1], stop - start)[1];
+		Node middle= build(prefix, text, suffix);
+		fRoot= concat(concat(split[0], middle), right);
+		fLastChunk= null;
+	}
+
+	@Override
+	public void set(String text) {
+		fRoot= build(text == null ? "" : text); //$NON-NLS-1$
+		fLastChunk= null;
+	}
+
+	/**
+	 * Returns a read-only text store with the current content of this store. The snapshot is
+	 * created in constant time and does not change when this store is modified.
+	 *
+	 * @return a read-only snapshot of this store
+	 */
+	public ITextStore createSnapshot() {
+		return new Snapshot(new RopeTextStore(this));
+	}
+
+	private ChunkLocation findChunk(int offset) {
+		Node node= fRoot;
+		int start= 0;
+		while (node instanceof Branch branch) {
+			if (offset - start < branch.fLeft.fLength) {
+				node= branch.fLeft;
+			} else {
+				start+= branch.fLeft.fLength;
+				node= branch.fRight;
+			}
+		}
+		return new ChunkLocation((Chunk) node, start);
+	}
+
+	private int chunkStart(int offset) {
+		return findChunk(offset).fStart;
+	}
+
+	private int chunkEnd(int offset) {
+		ChunkLocation location= findChunk(offset);
+		return location.fStart + location.fChunk.fLength;
+	}
+
+	/**
+	 * Builds a balanced rope from the concatenation of the given strings. The characters are
+	 * distributed evenly, so that no chunk is less than half full unless the whole text is.
+	 *
+	 * @param parts the strings to concatenate
+	 * @return the root of the rope, <code>null</code> if the strings are empty
+	 */
+	private Node build(String... parts) {
+		long total= 0;
+		for (String part : parts)
+			total+= part.length();
+		if (total == 0)
+			return null;
+
+		int count= (int) ((total + fChunkSize - 1) / fChunkSize);
+		Node[] chunks= new Node[count];
+		int part= 0;
+		int partOffset= 0;
+		for (int i= 0; i < count; i++) {
+			int size= (int) (total * (i + 1) / count - total * i / count);
+			char[] chars= new char[size];
+			int filled= 0;
+			while (filled < size) {
+				String s= parts[part];
+				int n= Math.min(size - filled, s.length() - partOffset);
+				s.getChars(partOffset, partOffset + n, chars, filled);
+				filled+= n;
+				partOffset+= n;
+				if (partOffset == s.length()) {
+					part++;
+					partOffset= 0;
+				}
+			}
+			chunks[i]= new Chunk(toBuffer(chars));
+		}
+		return build(chunks, 0, count);
+	}
+
+	private Node build(Node[] chunks, int from, int to) {
+		if (to - from == 1)
+			return chunks[from];
+		int mid= (from + to) >>> 1;
+		return new Branch(build(chunks, from, mid), build(chunks, mid, to));
+	}
+
+	private CharBuffer toBuffer(char[] chars) {
+		if (!fOffHeap)
+			return CharBuffer.wrap(chars);
+		CharBuffer buffer= ByteBuffer.allocateDirect(chars.length * 2).asCharBuffer();
+		buffer.put(chars);
+		return buffer.flip();
+	}
+
+	/**
+	 * Splits the rope at the given offset, which must be a chunk boundary.
+	 *
+	 * @param node the root of the rope, may be <code>null</code>
+	 * @param offset the offset to split at
+	 * @return the two ropes, elements are <code>null</code> if they are empty
+	 */
+	private static Node[] split(Node node, int offset) {
+		if (node == null || offset == 0)
+			return new Node[] { null, node };
+		if (offset == node.fLength)
+			return new Node[] { node, null };
+		Branch branch= (Branch) node;
+		int leftLength= branch.fLeft.fLength;
+		if (offset < leftLength) {
+			Node[] split= split(branch.fLeft, offset);
+			return new Node[] { split[0], concat(split[1], branch.fRight) };
+		}
+		if (offset > leftLength) {
+			Node[] split= split(branch.fRight, offset - leftLength);
+			return new Node[] { concat(branch.fLeft, split[0]), split[1] };
+		}
+		return new Node[] { branch.fLeft, branch.fRight };
+	}
+
+	/**
+	 * Concatenates two balanced ropes to a balanced rope in <i>O(|h(left) - h(right)|)</i>.
+	 *
+	 * @param left the left rope, may be <code>null</code>
+	 * @param right the right rope, may be <code>null</code>
+	 * @return the concatenation
+	 */
+	private static Node concat(Node left, Node right) {
+		if (left == null)
+			return right;
+		if (right == null)
+			return left;
+		if (left.fHeight > right.fHeight + 1)
+			return concatRight((Branch) left, right);
+		if (right.fHeight > left.fHeight + 1)
+			return concatLeft(left, (Branch) right);
+		return new Branch(left, right);
+	}
+
+	private static Node concatRight(Branch left, Node right) {
+		Node l= left.fLeft;
+		Node c= left.fRight;
+		if (c.fHeight <= right.fHeight + 1) {
+			Branch t= new Branch(c, right);
+			if (t.fHeight <= l.fHeight + 1)
+				return new Branch(l, t);
+			return rotateLeft(new Branch(l, rotateRight(t)));
+		}
+		Node t= concatRight((Branch) c, right);
+		Branch result= new Branch(l, t);
+		if (t.fHeight <= l.fHeight + 1)
+			return result;
+		return rotateLeft(result);
+	}
+
+	private static Node concatLeft(Node left, Branch right) {
+		Node r= right.fRight;
+		Node c= right.fLeft;
+		if (c.fHeight <= left.fHeight + 1) {
+			Branch t= new Branch(left, c);
+			if (t.fHeight <= r.fHeight + 1)
+				return new Branch(t, r);
+			return rotateRight(new Branch(rotateLeft(t), r));
+		}
+		Node t= concatLeft(left, (Branch) c);
+		Branch result= new Branch(t, r);
+		if (t.fHeight <= r.fHeight + 1)
+			return result;
+		return rotateRight(result);
+	}
+
+	private static Branch rotateLeft(Branch node) {
+		Branch right= (Branch) node.fRight;
+		return new Branch(new Branch(node.fLeft, right.fLeft), right.fRight);
+	}
+
+	private static Branch rotateRight(Branch node) {
+		Branch left= (Branch) node.fLeft;
+		return new Branch(left.fLeft, new Branch(left.fRight, node.fRight));
+	}
+}
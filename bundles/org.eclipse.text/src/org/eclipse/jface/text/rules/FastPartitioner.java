@@ -16,10 +16,12 @@ package org.eclipse.jface.text.rules;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.Platform;
 
+import org.eclipse.jface.text.AbstractDocument;
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DefaultPositionUpdater;
@@ -31,6 +33,7 @@ import org.eclipse.jface.text.IDocumentPartitionerExtension;
 import org.eclipse.jface.text.IDocumentPartitionerExtension2;
 import org.eclipse.jface.text.IDocumentPartitionerExtension3;
 import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ISynchronizable;
 import org.eclipse.jface.text.ITypedRegion;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
@@ -54,6 +57,13 @@ import org.eclipse.jface.text.TypedRegion;
  * {@link #clearPositionCache()} after modifying the partitioner's positions.
  * The cached positions may be accessed through {@link #getPositions()}.
  * </p>
+ * <p>
+ * By default a document change is repartitioned until the partitioning is
+ * known to be unchanged again, which can mean scanning the rest of a large
+ * document. With {@link #setIncrementalPartitioning(int, Executor)} the
+ * partitioner stops at a checkpoint instead and completes the partitioning on
+ * demand and in short slices on the client's thread.
+ * </p>
  *
  * Originally since 3.1, but moved to org.eclipse.text in 3.14
  *
@@ -99,6 +109,35 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 * someone requests partition information.
 	 */
 	private Position[] fCachedPositions= null;
+	/**
+	 * The number of characters scanned between two checkpoints in incremental mode,
+	 * <code>0</code> if incremental partitioning is disabled.
+	 */
+	private int fCheckpointInterval;
+	/**
+	 * Runs the remaining partitioning and the notification about it in incremental mode.
+	 */
+	private Executor fExecutor;
+	/**
+	 * The checkpoint from which on the partitioning is not known yet, <code>-1</code> if the
+	 * partitioning is complete. The scanner state at a checkpoint is the default content type.
+	 */
+	private int fPendingOffset= -1;
+	/**
+	 * The offset the scanner must pass behind the checkpoint before a partition that already
+	 * exists proves that the remaining partitions are still valid.
+	 */
+	private int fPendingSyncOffset;
+	/** The start of the region changed by deferred partitioning and not yet announced, or <code>-1</code>. */
+	private int fChangedStart= -1;
+	/** The end of the region changed by deferred partitioning and not yet announced, or <code>-1</code>. */
+	private int fChangedEnd= -1;
+	/** The highest offset queried by clients since the last document change, or <code>-1</code>. */
+	private int fHighestQueriedOffset= -1;
+	/** Whether a slice of deferred partitioning has been passed to the executor. */
+	private boolean fSliceScheduled;
+	/** The maximal time in milliseconds a slice of deferred partitioning runs in the executor. */
+	private static final long SLICE_TIME= 20;
 	/** Debug option for cache consistency checking. */
 	private static final boolean CHECK_CACHE_CONSISTENCY= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.jface.text/debug/FastPartitioner/PositionCache"));  //$NON-NLS-1$//$NON-NLS-2$;
 
@@ -116,6 +155,51 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		fPositionUpdater= new DefaultPositionUpdater(fPositionCategory);
 	}
 
+	/**
+	 * Enables or disables incremental partitioning.
+	 * <p>
+	 * In incremental mode a document change is repartitioned only up to a checkpoint
+	 * <code>checkpointInterval</code> characters behind the changed region or behind the highest
+	 * offset queried since the previous change, whichever is larger. Queries behind the checkpoint
+	 * continue the partitioning up to the queried offset, so clients always see partitions that
+	 * match the current document content. The rest of the document is partitioned in short
+	 * slices passed to <code>executor</code>. If the document is {@link ISynchronizable} with a
+	 * lock object, the slices and the queries hold that lock, since a query may continue the
+	 * partitioning. When the partitioning is complete, the document partitioning listeners are
+	 * informed about the changed region through the executor; this requires the document to be an
+	 * {@link AbstractDocument}.
+	 * </p>
+	 * <p>
+	 * The initial partitioning is deferred the same way.
+	 * </p>
+	 *
+	 * @param checkpointInterval the number of characters between two checkpoints, or
+	 *            <code>0</code> to disable incremental partitioning
+	 * @param executor executes deferred partitioning and notifications in the thread that is
+	 *            allowed to access the document, for example the display thread of an editor, may
+	 *            be <code>null</code> if incremental partitioning is disabled
+	 * @since 3.15
+	 */
+	public void setIncrementalPartitioning(int checkpointInterval, Executor executor) {
+		Assert.isLegal(checkpointInterval >= 0);
+		Assert.isLegal(checkpointInterval == 0 || executor != null);
+		if (checkpointInterval == 0 && fPendingOffset != -1)
+			ensurePartitioned(Integer.MAX_VALUE);
+		fCheckpointInterval= checkpointInterval;
+		fExecutor= executor;
+	}
+
+	/**
+	 * Returns whether incremental partitioning is enabled.
+	 *
+	 * @return <code>true</code> if incremental partitioning is enabled
+	 * @see #setIncrementalPartitioning(int, Executor)
+	 * @since 3.15
+	 */
+	public boolean isIncrementalPartitioning() {
+		return fCheckpointInterval > 0;
+	}
+
 	@Override
 	public String[] getManagingPositionCategories() {
 		return new String[] { fPositionCategory };
@@ -162,6 +246,12 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	protected void initialize() {
 		fIsInitialized= true;
 		clearPositionCache();
+		if (fCheckpointInterval > 0) {
+			fPendingOffset= 0;
+			fPendingSyncOffset= 0;
+			schedulePartitioning();
+			return;
+		}
 		fScanner.setRange(fDocument, 0, fDocument.getLength());
 
 		try {
@@ -195,6 +285,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 
 		Assert.isTrue(fDocument.containsPositionCategory(fPositionCategory));
 
+		resetPendingState();
 		try {
 			fDocument.removePositionCategory(fPositionCategory);
 		} catch (BadPositionCategoryException x) {
@@ -298,12 +389,21 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		try {
 			Assert.isTrue(e.getDocument() == fDocument);
 
+			int newLength= e.getText() == null ? 0 : e.getText().length();
+			if (fChangedStart != -1)
+				updateChangedRegion(e, newLength);
+			if (fPendingOffset != -1 && updatePendingState(e, newLength)) {
+				// the change is behind the checkpoint and gets partitioned together with the rest
+				fPositionUpdater.update(e);
+				schedulePartitioning();
+				return null;
+			}
+
 			Position[] category= getPositions();
 			IRegion line= fDocument.getLineInformationOfOffset(e.getOffset());
 			int reparseStart= line.getOffset();
 			int partitionStart= -1;
 			String contentType= null;
-			int newLength= e.getText() == null ? 0 : e.getText().length();
 
 			int first= fDocument.computeIndexInCategory(fPositionCategory, reparseStart);
 			if (first > 0)	{
@@ -336,82 +436,362 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 				}
 			}
 			clearPositionCache();
-			category= getPositions();
 
-			fScanner.setPartialRange(fDocument, reparseStart, fDocument.getLength() - reparseStart, contentType, partitionStart);
+			int limit= Integer.MAX_VALUE;
+			if (fCheckpointInterval > 0) {
+				limit= getLimit(Math.max(e.getOffset() + newLength, fHighestQueriedOffset));
+				fHighestQueriedOffset= -1;
+			}
+			scan(reparseStart, contentType, partitionStart, first, e.getOffset() + newLength, limit);
+
+			if (fPendingOffset != -1) {
+				schedulePartitioning();
+			} else if (fChangedStart != -1) {
+				// deferred changes that have not been announced yet are reported with this change
+				rememberRegion(fChangedStart, fChangedEnd - fChangedStart);
+				fChangedStart= -1;
+				fChangedEnd= -1;
+			}
 
-			int behindLastScannedPosition= reparseStart;
-			IToken token= fScanner.nextToken();
+		} catch (BadPositionCategoryException x) {
+			// should never happen on connected documents
+		} catch (BadLocationException x) {
+		} finally {
+			clearPositionCache();
+		}
 
-			while (!token.isEOF()) {
+		return createRegion();
+	}
+
+	/**
+	 * Scans the document from the given offset and updates the partitions until the scanner
+	 * reproduces an existing partition behind <code>syncOffset</code>, until the end of the
+	 * document, or in incremental mode until the first partition ending at or behind
+	 * <code>limit</code>, which becomes the new checkpoint.
+	 *
+	 * @param reparseStart the offset at which to start scanning
+	 * @param contentType the content type at <code>reparseStart</code>
+	 * @param partitionStart the start of the partition containing <code>reparseStart</code>
+	 * @param first the index of the first partition that may be affected
+	 * @param syncOffset the offset behind which existing partitions are known to be valid again
+	 * @param limit the offset at which to stop scanning
+	 * @throws BadLocationException if the scanner reports an invalid position
+	 * @throws BadPositionCategoryException if the partitioner is not connected
+	 */
+	private void scan(int reparseStart, String contentType, int partitionStart, int first, int syncOffset, int limit) throws BadLocationException, BadPositionCategoryException {
+		Position[] category= getPositions();
 
-				contentType= getTokenContentType(token);
+		fScanner.setPartialRange(fDocument, reparseStart, fDocument.getLength() - reparseStart, contentType, partitionStart);
 
-				if (!isSupportedContentType(contentType)) {
-					token= fScanner.nextToken();
-					continue;
-				}
+		int behindLastScannedPosition= reparseStart;
+		IToken token= fScanner.nextToken();
 
-				int start= fScanner.getTokenOffset();
-				int length= fScanner.getTokenLength();
+		while (!token.isEOF()) {
 
-				behindLastScannedPosition= start + length;
-				int lastScannedPosition= behindLastScannedPosition - 1;
+			contentType= getTokenContentType(token);
 
-				// remove all affected positions
-				while (first < category.length) {
-					TypedPosition p= (TypedPosition) category[first];
-					if (lastScannedPosition >= p.offset + p.length ||
-							(p.overlapsWith(start, length) &&
-							 	(!fDocument.containsPosition(fPositionCategory, start, length) ||
-							 	 !contentType.equals(p.getType())))) {
+			if (!isSupportedContentType(contentType)) {
+				token= fScanner.nextToken();
+				continue;
+			}
 
-						rememberRegion(p.offset, p.length);
-						fDocument.removePosition(fPositionCategory, p);
-						++ first;
+			int start= fScanner.getTokenOffset();
+			int length= fScanner.getTokenLength();
 
-					} else
-						break;
-				}
+			behindLastScannedPosition= start + length;
+			int lastScannedPosition= behindLastScannedPosition - 1;
 
-				// if position already exists and we have scanned at least the
-				// area covered by the event, we are done
-				if (fDocument.containsPosition(fPositionCategory, start, length)) {
-					if (lastScannedPosition >= e.getOffset() + newLength)
-						return createRegion();
+			// remove all affected positions
+			while (first < category.length) {
+				TypedPosition p= (TypedPosition) category[first];
+				if (lastScannedPosition >= p.offset + p.length ||
+						(p.overlapsWith(start, length) &&
+							(!fDocument.containsPosition(fPositionCategory, start, length) ||
+							 !contentType.equals(p.getType())))) {
+
+					rememberRegion(p.offset, p.length);
+					fDocument.removePosition(fPositionCategory, p);
 					++ first;
-				} else {
-					// insert the new type position
-					try {
-						fDocument.addPosition(fPositionCategory, new TypedPosition(start, length, contentType));
-						rememberRegion(start, length);
-					} catch (BadPositionCategoryException x) {
-					} catch (BadLocationException x) {
-					}
+
+				} else
+					break;
+			}
+
+			// if position already exists and we have scanned at least the
+			// area covered by the event, we are done
+			if (fDocument.containsPosition(fPositionCategory, start, length)) {
+				if (lastScannedPosition >= syncOffset && isSynchronized(start, lastScannedPosition)) {
+					if (fPendingOffset != -1 && start >= fPendingOffset)
+						fPendingOffset= -1;
+					return;
+				}
+				++ first;
+			} else {
+				// insert the new type position
+				try {
+					fDocument.addPosition(fPositionCategory, new TypedPosition(start, length, contentType));
+					rememberRegion(start, length);
+				} catch (BadPositionCategoryException x) {
+				} catch (BadLocationException x) {
 				}
+			}
 
-				token= fScanner.nextToken();
+			if (behindLastScannedPosition >= limit) {
+				// checkpoint, the partitions behind are the ones from before the change; if there
+				// was a checkpoint already, the partitions behind it are not known to be valid yet
+				if (fPendingOffset != -1)
+					syncOffset= Math.max(syncOffset, Math.max(fPendingSyncOffset, fPendingOffset));
+				fPendingSyncOffset= syncOffset;
+				fPendingOffset= behindLastScannedPosition;
+				return;
 			}
 
-			first= fDocument.computeIndexInCategory(fPositionCategory, behindLastScannedPosition);
+			token= fScanner.nextToken();
+		}
 
-			clearPositionCache();
-			category= getPositions();
-			TypedPosition p;
-			while (first < category.length) {
-				p= (TypedPosition) category[first++];
-				fDocument.removePosition(fPositionCategory, p);
-				rememberRegion(p.offset, p.length);
+		first= fDocument.computeIndexInCategory(fPositionCategory, behindLastScannedPosition);
+
+		clearPositionCache();
+		category= getPositions();
+		TypedPosition p;
+		while (first < category.length) {
+			p= (TypedPosition) category[first++];
+			fDocument.removePosition(fPositionCategory, p);
+			rememberRegion(p.offset, p.length);
+		}
+		fPendingOffset= -1;
+	}
+
+	/**
+	 * Returns whether an existing partition reproduced by the scanner proves that the following
+	 * partitions are valid. Partitions before the checkpoint are valid, partitions behind it only
+	 * once all changes behind the checkpoint have been scanned.
+	 *
+	 * @param start the start of the reproduced partition
+	 * @param lastScannedPosition the last offset of the reproduced partition
+	 * @return <code>true</code> if the following partitions are valid
+	 */
+	private boolean isSynchronized(int start, int lastScannedPosition) {
+		return fPendingOffset == -1 || start < fPendingOffset || lastScannedPosition >= fPendingSyncOffset;
+	}
+
+	/**
+	 * Adapts the not yet announced changed region to a document change.
+	 *
+	 * @param e the document event
+	 * @param newLength the length of the inserted text
+	 */
+	private void updateChangedRegion(DocumentEvent e, int newLength) {
+		int offset= e.getOffset();
+		int end= offset + e.getLength();
+		int delta= newLength - e.getLength();
+		fChangedStart= fChangedStart >= end ? fChangedStart + delta : Math.min(fChangedStart, offset);
+		if (fChangedEnd >= end)
+			fChangedEnd+= delta;
+		else if (fChangedEnd > offset)
+			fChangedEnd= offset + newLength;
+	}
+
+	/**
+	 * Adapts the checkpoint to a document change.
+	 *
+	 * @param e the document event
+	 * @param newLength the length of the inserted text
+	 * @return <code>true</code> if the change is completely behind the checkpoint
+	 * @throws BadLocationException if the change is not inside the document
+	 */
+	private boolean updatePendingState(DocumentEvent e, int newLength) throws BadLocationException {
+		int offset= e.getOffset();
+		int end= offset + e.getLength();
+		int delta= newLength - e.getLength();
+		if (fPendingSyncOffset >= end)
+			fPendingSyncOffset+= delta;
+		if (end < fPendingOffset) {
+			fPendingOffset+= delta;
+			return false;
+		}
+		fPendingSyncOffset= Math.max(fPendingSyncOffset, offset + newLength);
+		if (offset <= fPendingOffset) {
+			// a change at the checkpoint may continue the partition ending there
+			fPendingOffset= offset;
+			return false;
+		}
+		// like the regular repartitioning, assume that rules look ahead up to the end of the line
+		return fDocument.getLineInformationOfOffset(offset).getOffset() > fPendingOffset;
+	}
+
+	/**
+	 * Returns the scan limit for the given offset in incremental mode.
+	 *
+	 * @param offset the offset up to which the partitioning must be known
+	 * @return the offset of the next checkpoint
+	 */
+	private int getLimit(int offset) {
+		return offset > Integer.MAX_VALUE - fCheckpointInterval ? Integer.MAX_VALUE : offset + fCheckpointInterval;
+	}
+
+	/**
+	 * Makes sure the partitioning is known up to the given offset and remembers the offset as
+	 * queried.
+	 *
+	 * @param offset the offset
+	 */
+	private void ensurePartitioned(int offset) {
+		if (fCheckpointInterval == 0)
+			return;
+		Object lock= getLockObject();
+		if (lock == null) {
+			doEnsurePartitioned(offset);
+		} else {
+			synchronized (lock) {
+				doEnsurePartitioned(offset);
 			}
+		}
+	}
 
-		} catch (BadPositionCategoryException x) {
-			// should never happen on connected documents
-		} catch (BadLocationException x) {
+	private void doEnsurePartitioned(int offset) {
+		fHighestQueriedOffset= Math.max(fHighestQueriedOffset, Math.min(offset, fDocument.getLength()));
+		if (fPendingOffset != -1 && offset >= fPendingOffset) {
+			partitionUntil(getLimit(offset));
+			if (fPendingOffset == -1)
+				announceChanges();
+		}
+	}
+
+	/**
+	 * Continues the partitioning at the checkpoint up to the given limit. The changed partitions
+	 * are remembered for the notification once the partitioning is complete.
+	 *
+	 * @param limit the offset at which to stop
+	 */
+	private void partitionUntil(int limit) {
+		int startOffset= fStartOffset;
+		int endOffset= fEndOffset;
+		int deleteOffset= fDeleteOffset;
+		fStartOffset= -1;
+		fEndOffset= -1;
+		fDeleteOffset= -1;
+		try {
+			int offset= fPendingOffset;
+			int first= fDocument.computeIndexInCategory(fPositionCategory, offset);
+			scan(offset, null, offset, first, fPendingSyncOffset, limit);
+			IRegion changed= createRegion();
+			if (changed != null) {
+				int changedEnd= changed.getOffset() + changed.getLength();
+				fChangedStart= fChangedStart == -1 ? changed.getOffset() : Math.min(fChangedStart, changed.getOffset());
+				fChangedEnd= Math.max(fChangedEnd, changedEnd);
+			}
+		} catch (BadPositionCategoryException | BadLocationException x) {
+			// cannot happen as offsets come from the scanner, give up the deferred partitioning
+			fPendingOffset= -1;
 		} finally {
 			clearPositionCache();
+			fStartOffset= startOffset;
+			fEndOffset= endOffset;
+			fDeleteOffset= deleteOffset;
 		}
+	}
 
-		return createRegion();
+	/**
+	 * Schedules the partitioning of the rest of the document behind the checkpoint.
+	 */
+	private void schedulePartitioning() {
+		if (!fSliceScheduled) {
+			fSliceScheduled= true;
+			fExecutor.execute(this::partitionSlice);
+		}
+	}
+
+	private void partitionSlice() {
+		Object lock= getLockObject();
+		if (lock == null) {
+			doPartitionSlice();
+		} else {
+			synchronized (lock) {
+				doPartitionSlice();
+			}
+		}
+	}
+
+	/**
+	 * Partitions the document behind the checkpoint for a short time and reschedules itself if
+	 * the partitioning is not complete.
+	 */
+	private void doPartitionSlice() {
+		fSliceScheduled= false;
+		if (fPendingOffset == -1)
+			return;
+		long end= System.currentTimeMillis() + SLICE_TIME;
+		do {
+			partitionUntil(getLimit(fPendingOffset));
+		} while (fPendingOffset != -1 && System.currentTimeMillis() < end);
+		if (fPendingOffset != -1)
+			schedulePartitioning();
+		else
+			announceChanges();
+	}
+
+	/**
+	 * Informs the document partitioning listeners about the region changed by the deferred
+	 * partitioning.
+	 */
+	private void announceChanges() {
+		if (fChangedStart != -1)
+			fExecutor.execute(this::fireChanges);
+	}
+
+	private void fireChanges() {
+		Object lock= getLockObject();
+		if (lock == null) {
+			doFireChanges();
+		} else {
+			synchronized (lock) {
+				doFireChanges();
+			}
+		}
+	}
+
+	private void doFireChanges() {
+		if (fChangedStart == -1 || fPendingOffset != -1)
+			return; // reported with a document change or with the next notification
+		int length= fDocument.getLength();
+		int offset= Math.min(fChangedStart, length);
+		int end= Math.min(fChangedEnd, length);
+		fChangedStart= -1;
+		fChangedEnd= -1;
+		if (fDocument instanceof AbstractDocument document)
+			document.notifyPartitioningChanged(this, offset, end - offset);
+	}
+
+	/**
+	 * Forgets about deferred partitioning.
+	 */
+	private void resetPendingState() {
+		fPendingOffset= -1;
+		fChangedStart= -1;
+		fChangedEnd= -1;
+		fHighestQueriedOffset= -1;
+	}
+
+	/**
+	 * Returns the lock object of the document.
+	 *
+	 * @return the lock object or <code>null</code> if the document does not provide one
+	 */
+	private Object getLockObject() {
+		if (fDocument instanceof ISynchronizable synchronizable)
+			return synchronizable.getLockObject();
+		return null;
+	}
+
+	/**
+	 * Returns the lock to hold during a query. In incremental mode a query may continue the
+	 * partitioning, so concurrent queries must not read the partitions meanwhile.
+	 *
+	 * @return the lock object or <code>null</code> if no lock is needed
+	 */
+	private Object getQueryLockObject() {
+		return fCheckpointInterval > 0 ? getLockObject() : null;
 	}
 
 	/**
@@ -463,6 +843,16 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public String getContentType(int offset) {
 		checkInitialization();
+		Object lock= getQueryLockObject();
+		if (lock == null)
+			return findContentType(offset);
+		synchronized (lock) {
+			return findContentType(offset);
+		}
+	}
+
+	private String findContentType(int offset) {
+		ensurePartitioned(offset);
 
 		TypedPosition p= findClosestPosition(offset);
 		if (p != null && p.includes(offset))
@@ -480,6 +870,16 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public ITypedRegion getPartition(int offset) {
 		checkInitialization();
+		Object lock= getQueryLockObject();
+		if (lock == null)
+			return findPartition(offset);
+		synchronized (lock) {
+			return findPartition(offset);
+		}
+	}
+
+	private ITypedRegion findPartition(int offset) {
+		ensurePartitioned(offset);
 
 		try {
 
@@ -620,6 +1020,16 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public ITypedRegion[] computePartitioning(int offset, int length, boolean includeZeroLengthPartitions) {
 		checkInitialization();
+		Object lock= getQueryLockObject();
+		if (lock == null)
+			return findPartitioning(offset, length, includeZeroLengthPartitions);
+		synchronized (lock) {
+			return findPartitioning(offset, length, includeZeroLengthPartitions);
+		}
+	}
+
+	private ITypedRegion[] findPartitioning(int offset, int length, boolean includeZeroLengthPartitions) {
+		ensurePartitioned(offset + length);
 		List<TypedRegion> list= new ArrayList<>();
 
 		try {
@@ -781,6 +1191,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 		}
 		fDocument.addPositionCategory(fPositionCategory);
 
+		resetPendingState();
 		fIsInitialized= false;
 	}
 
@@ -802,8 +1213,10 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 *         document fails
 	 */
 	protected final Position[] getPositions() throws BadPositionCategoryException {
-		if (fCachedPositions == null) {
-			fCachedPositions= fDocument.getPositions(fPositionCategory);
+		Position[] cachedPositions= fCachedPositions;
+		if (cachedPositions == null) {
+			cachedPositions= fDocument.getPositions(fPositionCategory);
+			fCachedPositions= cachedPositions;
 		} else if (CHECK_CACHE_CONSISTENCY) {
 			Position[] positions= fDocument.getPositions(fPositionCategory);
 			int len= Math.min(positions.length, fCachedPositions.length);
@@ -816,7 +1229,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			for (int i= len; i < fCachedPositions.length; i++)
 				System.err.println("FastPartitioner.getPositions(): stale position in cache: " + toString(fCachedPositions[i])); //$NON-NLS-1$
 		}
-		return fCachedPositions;
+		return cachedPositions;
 	}
 
 	/**
@@ -105,6 +105,25 @@ public abstract class TextEdit {
 	 */
 	public static final int UPDATE_REGIONS= 1 << 1;
 
+	/**
+	 * Flag indicating that the edits of the tree are applied to the
+	 * document with a single replace operation. The resulting text is
+	 * computed in one pass and the document only sends one document
+	 * event covering all modified regions, instead of one event per
+	 * edit. Undo edits and edit regions are computed as without this
+	 * flag. Positions of the document inside the modified region are
+	 * however updated as for a single replace operation.
+	 * <p>
+	 * The flag is only honored for trees consisting of {@link MultiTextEdit}s,
+	 * {@link RangeMarker}s and {@link ReplaceEdit}s, {@link InsertEdit}s or
+	 * {@link DeleteEdit}s without children. Other trees are applied one edit
+	 * at a time.
+	 * </p>
+	 *
+	 * @since 3.15
+	 */
+	public static final int BATCH_UPDATES= 1 << 2;
+
 	private static class InsertionComparator implements Comparator<TextEdit> {
 		@Override
 		public int compare(TextEdit edit1, TextEdit edit2) throws MalformedTreeException {
@@ -695,7 +714,8 @@ public abstract class TextEdit {
 	 *
 	 * @param document the document to be manipulated
 	 * @param style flags controlling the execution of the edit tree. Valid
-	 *  flags are: <code>CREATE_UNDO</code> and <code>UPDATE_REGIONS</code>.
+	 *  flags are: <code>CREATE_UNDO</code>, <code>UPDATE_REGIONS</code> and
+	 *  <code>BATCH_UPDATES</code>.
 	 * @return a undo edit, if <code>CREATE_UNDO</code> is specified. Otherwise
 	 *  <code>null</code> is returned.
 	 *
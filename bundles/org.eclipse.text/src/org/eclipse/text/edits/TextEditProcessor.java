@@ -44,6 +44,21 @@ public class TextEditProcessor {
 
 	private List<List<TextEdit>> fSourceEdits;
 
+	/**
+	 * A replacement collected when applying the edits as a batch.
+	 */
+	private static final class Replacement {
+		final int offset;
+		final int length;
+		final String text;
+
+		Replacement(int offset, int length, String text) {
+			this.offset= offset;
+			this.length= length;
+			this.text= text;
+		}
+	}
+
 	/**
 	 * Constructs a new edit processor for the given
 	 * document.
@@ -55,7 +70,8 @@ public class TextEditProcessor {
 	 *  text edit processors. Clients must not modify the edit
 	 *  (e.g adding new children) any longer.
 	 *
-	 * @param style {@link TextEdit#NONE}, {@link TextEdit#CREATE_UNDO} or {@link TextEdit#UPDATE_REGIONS})
+	 * @param style {@link TextEdit#NONE} or a combination of {@link TextEdit#CREATE_UNDO},
+	 *  {@link TextEdit#UPDATE_REGIONS} and {@link TextEdit#BATCH_UPDATES}
 	 */
 	public TextEditProcessor(IDocument document, TextEdit root, int style) {
 		this(document, root, style, false);
@@ -113,6 +129,7 @@ public class TextEditProcessor {
 	 * @return the style bits
 	 * @see TextEdit#CREATE_UNDO
 	 * @see TextEdit#UPDATE_REGIONS
+	 * @see TextEdit#BATCH_UPDATES
 	 */
 	public int getStyle() {
 		return fStyle;
@@ -188,6 +205,8 @@ public class TextEditProcessor {
 	//---- execution --------------------------------------------------------------------
 
 	UndoEdit executeDo() throws BadLocationException {
+		if (batchUpdates() && isBatchable(fRoot))
+			return executeBatched();
 		UndoCollector collector= new UndoCollector(fRoot);
 		try {
 			if (createUndo())
@@ -228,6 +247,110 @@ public class TextEditProcessor {
 		return collector.undo;
 	}
 
+	/**
+	 * Tells whether the tree rooted by the given edit can be applied with a single
+	 * replace operation: only leaves modify the document and no edit relies on the
+	 * document being modified edit by edit.
+	 *
+	 * @param edit the root of the tree to check
+	 * @return <code>true</code> if the tree can be applied as a batch
+	 */
+	private static boolean isBatchable(TextEdit edit) {
+		List<TextEdit> children= edit.internalGetChildren();
+		if (children == null || children.isEmpty())
+			return edit instanceof ReplaceEdit || edit instanceof InsertEdit || edit instanceof DeleteEdit
+					|| edit instanceof RangeMarker || edit.getClass() == MultiTextEdit.class;
+		// subclasses of MultiTextEdit may rely on the childDocumentUpdated() hook
+		if (edit.getClass() != MultiTextEdit.class && !(edit instanceof RangeMarker))
+			return false;
+		for (TextEdit child : children) {
+			if (!isBatchable(child))
+				return false;
+		}
+		return true;
+	}
+
+	private UndoEdit executeBatched() throws BadLocationException {
+		UndoCollector collector= new UndoCollector(fRoot);
+		if (createUndo())
+			collector.start();
+		// the replacements in execution order, that is from the end of the document to its start
+		List<Replacement> replacements= new ArrayList<>();
+		int delta= updateBatched(fRoot, replacements);
+		int count= replacements.size();
+		if (count > 0) {
+			int start= replacements.get(count - 1).offset;
+			Replacement last= replacements.get(0);
+			int end= last.offset + last.length;
+			String current= fDocument.get(start, end - start);
+			StringBuilder buffer= new StringBuilder(current.length() + delta);
+			int position= start;
+			for (int i= count - 1; i >= 0; i--) {
+				Replacement replacement= replacements.get(i);
+				buffer.append(current, position - start, replacement.offset - start);
+				buffer.append(replacement.text);
+				position= replacement.offset + replacement.length;
+			}
+			buffer.append(current, position - start, current.length());
+			if (createUndo()) {
+				for (Replacement replacement : replacements) {
+					int offset= replacement.offset - start;
+					collector.replaced(replacement.offset, current.substring(offset, offset + replacement.length), replacement.text.length());
+				}
+			}
+			fDocument.replace(start, end - start, buffer.toString());
+		}
+		if (updateRegions()) {
+			fRoot.traverseRegionUpdating(this, fDocument, 0, false);
+		}
+		collector.finish();
+		return collector.undo;
+	}
+
+	/**
+	 * Performs the same updates of the edit's regions as
+	 * {@link TextEdit#traverseDocumentUpdating(TextEditProcessor, IDocument)} but
+	 * collects the replacements instead of applying them to the document. Like there,
+	 * edits not {@link #considerEdit(TextEdit) considered} by this processor are skipped.
+	 *
+	 * @param edit the edit to update
+	 * @param replacements the list to add the replacements to
+	 * @return the delta of the edit and its children
+	 */
+	private int updateBatched(TextEdit edit, List<Replacement> replacements) {
+		int delta= 0;
+		List<TextEdit> children= edit.internalGetChildren();
+		if (children != null) {
+			for (int i= children.size() - 1; i >= 0; i--) {
+				delta+= updateBatched(children.get(i), replacements);
+			}
+		}
+		if (!considerEdit(edit))
+			return delta;
+		if (delta != 0)
+			edit.adjustLength(delta);
+		String text= null;
+		if (edit instanceof ReplaceEdit)
+			text= ((ReplaceEdit) edit).getText();
+		else if (edit instanceof InsertEdit)
+			text= ((InsertEdit) edit).getText();
+		else if (edit instanceof DeleteEdit)
+			text= ""; //$NON-NLS-1$
+		if (text == null) {
+			edit.fDelta= 0;
+		} else {
+			replacements.add(new Replacement(edit.getOffset(), edit.getLength(), text));
+			edit.fDelta= text.length() - edit.getLength();
+			if (edit.fDelta != 0)
+				edit.adjustLength(edit.fDelta);
+		}
+		return delta + edit.fDelta;
+	}
+
+	private boolean batchUpdates() {
+		return (fStyle & TextEdit.BATCH_UPDATES) != 0;
+	}
+
 	private boolean createUndo() {
 		return (fStyle & TextEdit.CREATE_UNDO) != 0;
 	}
@@ -49,6 +49,39 @@ class UndoCollector implements IDocumentListener {
 		}
 	}
 
+	/**
+	 * Starts collecting the undo of replacements reported through
+	 * {@link #replaced(int, String, int)} instead of document events.
+	 *
+	 * @since 3.15
+	 */
+	public void start() {
+		undo= new UndoEdit();
+	}
+
+	/**
+	 * Finishes collecting the undo of reported replacements.
+	 *
+	 * @since 3.15
+	 */
+	public void finish() {
+		if (undo != null)
+			undo.defineRegion(fOffset, fLength);
+	}
+
+	/**
+	 * Reports a replacement which is not applied through a document event.
+	 *
+	 * @param offset the offset of the replaced text
+	 * @param currentText the replaced text
+	 * @param newLength the length of the new text
+	 * @since 3.15
+	 */
+	public void replaced(int offset, String currentText, int newLength) {
+		addUndo(offset, currentText, newLength);
+		fLength+= newLength - currentText.length();
+	}
+
 	@Override
 	public void documentChanged(DocumentEvent event) {
 		fLength+= getDelta(event);
@@ -69,7 +102,11 @@ class UndoCollector implements IDocumentListener {
 		} catch (BadLocationException cannotHappen) {
 			Assert.isTrue(false, "Can't happen"); //$NON-NLS-1$
 		}
+		String newText= event.getText();
+		addUndo(offset, currentText, newText != null ? newText.length() : 0);
+	}
 
+	private void addUndo(int offset, String currentText, int newLength) {
 		/*
 		 * see https://bugs.eclipse.org/bugs/show_bug.cgi?id=93634
 		 * If the same string is replaced on many documents (e.g. rename
@@ -82,7 +119,6 @@ class UndoCollector implements IDocumentListener {
 		else
 			fLastCurrentText= currentText;
 
-		String newText= event.getText();
-		undo.add(new ReplaceEdit(offset, newText != null ? newText.length() : 0, currentText));
+		undo.add(new ReplaceEdit(offset, newLength, currentText));
 	}
 }
@@ -46,12 +46,18 @@ public class Policy {
 	 */
 	public static boolean DEBUG_CORE_EXCEPTIONS = DEFAULT;
 
+	/**
+	 * Option for reporting incremental and full updates of the markers views.
+	 */
+	public static boolean DEBUG_MARKER_UPDATES = DEFAULT;
+
 	static {
 		if (getDebugOption("/debug")) { //$NON-NLS-1$
 			DEBUG_OPEN_ERROR_DIALOG = getDebugOption("/debug/internalerror/openDialog"); //$NON-NLS-1$
 			DEBUG_GC = getDebugOption("/debug/gc"); //$NON-NLS-1$
 			DEBUG_UNDOMONITOR = getDebugOption("/debug/undomonitor"); //$NON-NLS-1$
 			DEBUG_CORE_EXCEPTIONS = getDebugOption("/debug/coreExceptions"); //$NON-NLS-1$
+			DEBUG_MARKER_UPDATES = getDebugOption("/debug/markers/updates"); //$NON-NLS-1$
 		}
 	}
 
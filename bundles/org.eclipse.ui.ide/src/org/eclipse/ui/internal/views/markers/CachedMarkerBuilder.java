@@ -17,6 +17,8 @@ package org.eclipse.ui.internal.views.markers;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.jobs.Job;
@@ -43,6 +45,14 @@ public class CachedMarkerBuilder {
 	private static final String TAG_CATEGORY_GROUP = "categoryGroup"; //$NON-NLS-1$
 	private static final String VALUE_NONE = "none"; //$NON-NLS-1$
 
+	/**
+	 * Marker changes are merged into the existing markers unless this is set to
+	 * <code>false</code>, e.g. by starting eclipse with
+	 * -Dorg.eclipse.ui.MarkersView.incrementalUpdates=false
+	 */
+	private static final boolean INCREMENTAL_UPDATES = Boolean
+			.parseBoolean(System.getProperty("org.eclipse.ui.MarkersView.incrementalUpdates", "true")); //$NON-NLS-1$ //$NON-NLS-2$
+
 	// The MarkerContentGenerator we are using for building
 	private MarkerContentGenerator generator;
 	private MarkerUpdateJob updateJob;
@@ -130,7 +140,7 @@ public class CachedMarkerBuilder {
 
 		if (isIncremental()) {
 			if (incrementJob != null) {
-				incrementJob.clearEntries();
+				incrementJob.clearUpdates();
 			}
 		}
 	}
@@ -292,6 +302,7 @@ public class CachedMarkerBuilder {
 	 */
 	void scheduleUpdate() {
 		if (active) {
+			requestFullUpdate();
 			scheduler.scheduleUpdate(MarkerUpdateScheduler.SHORT_DELAY,true);
 		}
 	}
@@ -301,6 +312,7 @@ public class CachedMarkerBuilder {
 	 */
 	void scheduleUpdate(long delay) {
 		if (active) {
+			requestFullUpdate();
 			scheduler.scheduleUpdate(delay,true);
 		}
 	}
@@ -435,11 +447,12 @@ public class CachedMarkerBuilder {
 				// ensure cancellation before calling the method
 				// updateJob.cancel();
 			} else {
-				/*
-				 * updateJob = isIncremental() ? new IncrementUpdateJob(this):
-				 * new MarkerUpdateJob(this);
-				 */
-				updateJob = new MarkerUpdateJob(this);
+				if (isIncremental()) {
+					incrementJob = new IncrementUpdateJob(this);
+					updateJob = incrementJob;
+				} else {
+					updateJob = new MarkerUpdateJob(this);
+				}
 				updateJob.setPriority(Job.LONG);
 				updateJob.setSystem(true);
 			}
@@ -580,20 +593,68 @@ public class CachedMarkerBuilder {
 	}
 
 ///////	<Incremental update code>///////
-		private IncrementUpdateJob incrementJob;
+	private IncrementUpdateJob incrementJob;
+
+	private final AtomicBoolean fullUpdateRequested = new AtomicBoolean(true);
+
+	private final AtomicInteger incrementalUpdateCount = new AtomicInteger();
+
+	private final AtomicInteger fullUpdateCount = new AtomicInteger();
+
 	/**
-	 * Checks whether the builder should perform incrementally Note : Incremental
-	 * updating method is NOT used and tested yet but left out for further
-	 * investigation(*).
+	 * Checks whether the builder should perform incrementally, marker changes
+	 * are then merged into the existing markers instead of collecting all
+	 * markers again.
 	 *
 	 * @return Returns true if we should collect markers incrementally.
 	 */
 	boolean isIncremental() {
-		/*
-		 * We do not update incrementally. We have
-		 * code for further investigation(*) for this anyway.
-		 */
-		return false;
+		return INCREMENTAL_UPDATES;
+	}
+
+	/**
+	 * Request that the next update collects all markers again, e.g. because the
+	 * filters or the grouping changed.
+	 */
+	void requestFullUpdate() {
+		fullUpdateRequested.set(true);
+	}
+
+	/**
+	 * @return Returns true if a full update has been requested, and resets the
+	 *         request.
+	 */
+	boolean takeFullUpdateRequest() {
+		return fullUpdateRequested.getAndSet(false);
+	}
+
+	/**
+	 * Count an update that merged marker changes into the existing markers.
+	 */
+	void incrementalUpdateDone() {
+		incrementalUpdateCount.incrementAndGet();
+	}
+
+	/**
+	 * Count an update that collected all markers again.
+	 */
+	void fullUpdateDone() {
+		fullUpdateCount.incrementAndGet();
+	}
+
+	/**
+	 * @return Returns the number of updates that merged marker changes into
+	 *         the existing markers.
+	 */
+	int getIncrementalUpdateCount() {
+		return incrementalUpdateCount.get();
+	}
+
+	/**
+	 * @return Returns the number of updates that collected all markers again.
+	 */
+	int getFullUpdateCount() {
+		return fullUpdateCount.get();
 	}
 
 	/**
@@ -153,6 +153,13 @@ public class ExtendedMarkersView extends ViewPart {
 
 	private static final String TAG_COLUMN_WIDTHS = "columnWidths"; //$NON-NLS-1$
 
+	/*
+	 * With a lazy viewer only the visible rows are materialized, which keeps
+	 * views with hundreds of thousands of markers responsive. It can be enabled
+	 * with system property org.eclipse.ui.MarkersView.lazyViewer=true
+	 */
+	private static final boolean LAZY_VIEWER = Boolean.getBoolean("org.eclipse.ui.MarkersView.lazyViewer"); //$NON-NLS-1$
+
 	private final IMarker[] noMarkers = new IMarker[0];
 
 	private MarkerContentGenerator generator;
@@ -256,7 +263,7 @@ public class ExtendedMarkersView extends ViewPart {
 		parent.setLayout(new FillLayout());
 
 		viewer = new MarkersTreeViewer(new Tree(parent, SWT.H_SCROLL
-				/*| SWT.VIRTUAL */| SWT.V_SCROLL | SWT.MULTI | SWT.FULL_SELECTION));
+				| (LAZY_VIEWER ? SWT.VIRTUAL : SWT.NONE) | SWT.V_SCROLL | SWT.MULTI | SWT.FULL_SELECTION));
 		WorkbenchViewerSetup.setupViewer(viewer);
 		viewer.getTree().setLinesVisible(true);
 		viewer.setUseHashlookup(true);
@@ -709,6 +716,9 @@ public class ExtendedMarkersView extends ViewPart {
 	 * @return ITreeContentProvider
 	 */
 	private IContentProvider getContentProvider() {
+		if (LAZY_VIEWER) {
+			return new MarkerViewerLazyContentProvider(this);
+		}
 		return new MarkerViewerContentProvider(this);
 	}
 
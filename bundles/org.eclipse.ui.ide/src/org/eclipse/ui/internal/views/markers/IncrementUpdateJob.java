@@ -14,230 +14,159 @@
 
 package org.eclipse.ui.internal.views.markers;
 
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.ui.internal.ide.Policy;
 import org.eclipse.ui.views.markers.internal.MarkerMessages;
 
 /**
- * The job that performs incremental update. Once the processing is complete it
- * schedules an UI update. If it'll be possible and beneficial switch to
- * incremental updatation, this has been left out for further investigation(*).
- * only, and not used currently.
+ * The job that performs incremental update. The marker changes queued by the
+ * {@link MarkersChangeListener} are merged into the sorted and grouped
+ * {@link Markers}. All markers are collected again if this has been requested,
+ * e.g. because the filters changed, or if the changes cannot be merged. Once
+ * the processing is complete it schedules an UI update.
  *
  * @since 3.6
  */
 class IncrementUpdateJob extends MarkerUpdateJob {
 
-	private LinkedList<MarkerEntry> incrementEntryList;
 	private LinkedList<MarkerUpdate> updateQueue;
 
 	public IncrementUpdateJob(CachedMarkerBuilder builder) {
 		super(builder);
-		incrementEntryList = new LinkedList<>();
 	}
 
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
 		monitor.beginTask(MarkerMessages.MarkerView_processUpdates, IProgressMonitor.UNKNOWN);
-		boolean clean= isClean();
-		if (clean) {
-			clearEntries();
-		}
-		Collection<MarkerEntry> markerEntries = incrementalEntries();
-		if (clean) {
-			/*
-			 * Unfortunately we cannot lock marker operations between gathering
-			 * and updation. We have this code in place only for further
-			 * investigation
-			 */
-			clean = !clean(markerEntries, monitor);
-			LinkedList<MarkerUpdate> queue = getUpdatesQueue();
-			synchronized (queue) {
-				queue.clear();
+		boolean full = builder.takeFullUpdateRequest();
+		List<MarkerUpdate> updates = takeUpdates();
+		if (!full) {
+			if (mergeUpdates(updates, monitor)) {
+				return Status.OK_STATUS;
 			}
-		}
-		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
-		}
-		if (!clean) {
-			builder.registerTypesToListener();
-			if (!processUpdates(monitor)) {
+			if (monitor.isCanceled()) {
+				// the updates are lost, collect all markers next time
+				builder.requestFullUpdate();
 				return Status.CANCEL_STATUS;
 			}
 		}
-		if (!processMarkerEntries(markerEntries, monitor)) {
-			return Status.CANCEL_STATUS;
-		}
-		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
-		}
-		// update with sorted entries
-		updateIncrementalList(markerEntries);
-
-		if (monitor.isCanceled()) {
-			return Status.CANCEL_STATUS;
-		}
-		builder.getUpdateScheduler().scheduleUIUpdate(MarkerUpdateScheduler.SHORT_DELAY);
-		if (monitor.isCanceled()) {
+		monitor.setTaskName(MarkerMessages.MarkerView_searching_for_markers);
+		if (!buildMarkers(monitor)) {
+			builder.requestFullUpdate();
 			return Status.CANCEL_STATUS;
 		}
-		builder.setBuilding(false);
-		updateDone();
 		return Status.OK_STATUS;
 	}
 
 	/**
-	 * Update the list
+	 * Merge the updates into the markers.
+	 *
+	 * @return <code>false</code> if the updates have not been merged
 	 */
-	private boolean updateIncrementalList(Collection<MarkerEntry> markerEntries) {
-		markerEntries.clear();
-		Markers clone = builder.getMarkers();
-		synchronized (clone) {
-			clone = clone.getClone();
+	private boolean mergeUpdates(List<MarkerUpdate> updates, IProgressMonitor monitor) {
+		if (!updates.isEmpty()) {
+			Set<IMarker> removed = new HashSet<>();
+			Map<IMarker, MarkerEntry> added = new LinkedHashMap<>();
+			boolean[] changeFlags = processUpdates(updates, removed, added);
+			if (monitor.isCanceled()
+					|| !builder.getMarkers().mergeUpdates(removed, added.values(), monitor)) {
+				return false;
+			}
+			builder.updateChangeFlags(changeFlags);
+			builder.incrementalUpdateDone();
+			if (Policy.DEBUG_MARKER_UPDATES) {
+				System.out.println("Marker changes merged, full updates: " + builder.getFullUpdateCount() //$NON-NLS-1$
+						+ ", incremental updates: " + builder.getIncrementalUpdateCount()); //$NON-NLS-1$
+			}
 		}
-		markerEntries.addAll(Arrays.asList(clone.getMarkerEntryArray()));
+		builder.getUpdateScheduler().scheduleUIUpdate(MarkerUpdateScheduler.SHORT_DELAY);
+		builder.setBuilding(false);
+		updateDone();
 		return true;
 	}
 
 	/**
-	 * Process the incremental updates
+	 * Process the incremental updates in the order they were received. The
+	 * entries of added and changed markers replace any entry of the same
+	 * marker, so an update that has already been seen by a full update is not
+	 * shown twice.
+	 *
+	 * @param removed
+	 *            the markers whose entries have to be removed
+	 * @param added
+	 *            the selected entries to add by marker
+	 * @return the change flags {added,removed,changed}
 	 */
-	private boolean processUpdates(IProgressMonitor monitor) {
-		Collection<MarkerEntry> markerEntries = incrementalEntries();
-		int addCount = 0, removedCount = 0, changedCount = 0, size = 0, newSize = 0;
-		LinkedList<MarkerUpdate> queue = getUpdatesQueue();
-		MarkerUpdate next = null;
-		do {
-			synchronized (queue) {
-				if (!queue.isEmpty()) {
-					next = queue.removeFirst();
-				} else {
-					next = null;
-				}
-			}
-			if (monitor.isCanceled() || next == null) {
-				break;
-			}
-			/**
-			 * The following performs incremental updation of the markers that
-			 * were gathered intially, and keeps them synched at any point with
-			 * the markers of interest in Workspace
-			 */
-			// unfortunately marker operations cannot be locked
-			// so locking between gathering of markers and
-			// marker deltas is not possible
-			size = markerEntries.size();
-			handleRemovedEntries(markerEntries, next.removed);
-			newSize = markerEntries.size();
-			removedCount += size - newSize;
-
-			handleChangedEntries(markerEntries, next.changed);
-			changedCount += next.changed.size();
-
-			size = newSize;
-			handleAddedEntries(markerEntries, next.added);
-			newSize = markerEntries.size();
-			removedCount += newSize - size;
-		} while (next != null);
-		boolean[] changeFlags = new boolean[] { addCount > 0, removedCount > 0,
-				changedCount > 0 };
-		for (boolean changeFlag : changeFlags) {
-			if (changeFlag) {
-				builder.updateChangeFlags(changeFlags);
-				return true;
-			}
-		}
-		return false;
-	}
-
-	private void handleAddedEntries(Collection<MarkerEntry> markerEntries, Collection<MarkerEntry> added) {
+	private boolean[] processUpdates(List<MarkerUpdate> updates, Set<IMarker> removed,
+			Map<IMarker, MarkerEntry> added) {
 		MarkerContentGenerator generator = builder.getGenerator();
-		Iterator<MarkerEntry> iterator = added.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			if (generator.select(entry)) {
-				markerEntries.add(entry);
+		int addCount = 0, removedCount = 0, changedCount = 0;
+		for (MarkerUpdate update : updates) {
+			for (MarkerEntry entry : update.removed) {
+				removed.add(entry.getMarker());
+				added.remove(entry.getMarker());
+				removedCount++;
 			}
-		}
-	}
-
-	private void handleChangedEntries(Collection<MarkerEntry> markerEntries,
-			Collection<MarkerEntry> changed) {
-		MarkerContentGenerator generator = builder.getGenerator();
-		Iterator<MarkerEntry> iterator = changed.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			Iterator<MarkerEntry> iterator2 = markerEntries.iterator();
-			while (iterator2.hasNext()) {
-				MarkerEntry oldEntry = iterator2.next();
-				if (oldEntry.getMarker().equals(entry.getMarker())) {
-					iterator2.remove();
-				}
+			for (MarkerEntry entry : update.added) {
+				addCount += replaceEntry(generator, entry, removed, added);
 			}
-			if (!generator.select(entry)) {
-				iterator.remove();
+			for (MarkerEntry entry : update.changed) {
+				replaceEntry(generator, entry, removed, added);
+				changedCount++;
 			}
 		}
-		markerEntries.addAll(changed);
+		return new boolean[] { addCount > 0, removedCount > 0, changedCount > 0 };
 	}
 
-	private void handleRemovedEntries(Collection<MarkerEntry> markerEntries,
-			Collection<MarkerEntry> removed) {
-		boolean found = false;
-		Iterator<MarkerEntry> iterator = markerEntries.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			found = entry.getStaleState();
-			if (found) {
-				iterator.remove();
-			}
-			if (removed.isEmpty()) {
-				continue;
-			}
-			Iterator<MarkerEntry> iterator2 = removed.iterator();
-			while (iterator2.hasNext()) {
-				MarkerEntry stale = iterator2.next();
-				if (stale.getMarker().equals(entry.getMarker())) {
-					iterator2.remove();
-					if (!found) {
-						iterator.remove();
-					}
-					break;
-				}
-			}
-		}
-		if (removed.isEmpty()) {
-			// TODO: do we check for residuals?
-			return;
-		}
-		// TODO: do we check for residuals?
-		iterator = markerEntries.iterator();
-		while (iterator.hasNext()) {
-			MarkerEntry entry = iterator.next();
-			if (entry.getMarker() != null && !entry.getMarker().exists()) {
-				iterator.remove();
-			}
-		}
+	/**
+	 * Replace the entry of the marker.
+	 *
+	 * @return 1 if the entry is selected, else 0
+	 */
+	private int replaceEntry(MarkerContentGenerator generator, MarkerEntry entry, Set<IMarker> removed,
+			Map<IMarker, MarkerEntry> added) {
+		removed.add(entry.getMarker());
+		if (generator.select(entry)) {
+			added.put(entry.getMarker(), entry);
+			return 1;
+		}
+		added.remove(entry.getMarker());
+		return 0;
 	}
 
 	/**
-	 * Clean
+	 * Remove all queued updates.
+	 *
+	 * @return the updates in the order they were added
 	 */
-	void clearEntries() {
-		incrementEntryList = new LinkedList<>();
+	private List<MarkerUpdate> takeUpdates() {
+		LinkedList<MarkerUpdate> queue = getUpdatesQueue();
+		synchronized (queue) {
+			List<MarkerUpdate> updates = new ArrayList<>(queue);
+			queue.clear();
+			return updates;
+		}
 	}
 
 	/**
-	 * @return Returns the incrementEntryies.
+	 * Clean
 	 */
-	Collection<MarkerEntry> incrementalEntries() {
-		return incrementEntryList;
+	void clearUpdates() {
+		LinkedList<MarkerUpdate> queue = getUpdatesQueue();
+		synchronized (queue) {
+			queue.clear();
+		}
 	}
 
 	/**
@@ -269,4 +198,4 @@ class IncrementUpdateJob extends MarkerUpdateJob {
 		}
 		return super.belongsTo(family);
 	}
-}
\ No newline at end of file
+}
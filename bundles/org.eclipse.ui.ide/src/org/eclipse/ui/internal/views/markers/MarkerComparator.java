@@ -100,7 +100,17 @@ class MarkerComparator implements Comparator<MarkerItem> {
 	 * @return int
 	 */
 	public int compareFields(MarkerItem item0, MarkerItem item1) {
-		for (MarkerField field : fields) {
+		return compareFields(item0, item1, 0);
+	}
+
+	/**
+	 * Compare the two objects by the fields starting at firstField
+	 *
+	 * @return int
+	 */
+	int compareFields(MarkerItem item0, MarkerItem item1, int firstField) {
+		for (int i = firstField; i < fields.length; i++) {
+			MarkerField field = fields[i];
 			int value = field.compare(item0, item1);
 			if (value != 0) {
 				if (descendingFields.contains(field)) {
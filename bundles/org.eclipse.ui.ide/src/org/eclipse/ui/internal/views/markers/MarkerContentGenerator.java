@@ -24,7 +24,6 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 
 import org.eclipse.core.resources.IMarker;
@@ -899,7 +898,7 @@ public class MarkerContentGenerator {
 	 * Refresh gathered markers entries
 	 */
 	Collection<MarkerEntry> generateMarkerEntries(IProgressMonitor monitor) {
-		List<MarkerEntry> result = new LinkedList<>();
+		List<MarkerEntry> result = new ArrayList<>();
 		String[] typeIds = getTypes();
 		boolean includeSubTypes = builder.includeMarkerSubTypes();
 		boolean cancelled = gatherMarkers(typeIds, includeSubTypes, result,
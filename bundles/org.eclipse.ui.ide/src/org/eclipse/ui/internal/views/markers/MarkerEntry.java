@@ -69,7 +69,8 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 	private static final String LOCATION_STRING = "LOCATION_STRING"; //$NON-NLS-1$
 	private static final Object CACHED_NULL = new String("CACHED_NULL"); //$NON-NLS-1$
 	private MarkerCategory category;
-	private final Map<String, Object> cache = new ConcurrentHashMap<>();
+	// created on demand, most entries are never shown or compared
+	private volatile Map<String, Object> cache;
 	private static Map<String, CollationKey> collationCache = new ConcurrentHashMap<>();
 
 	/**
@@ -347,7 +348,17 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 	}
 
 	protected Object getCachedValueOrCompute(String key, Supplier<Object> supplier) {
-		Object cached = cache.computeIfAbsent(key, k -> {
+		Map<String, Object> map = cache;
+		if (map == null) {
+			synchronized (this) {
+				map = cache;
+				if (map == null) {
+					map = new ConcurrentHashMap<>(4);
+					cache = map;
+				}
+			}
+		}
+		Object cached = map.computeIfAbsent(key, k -> {
 			Object value = supplier.get();
 			// also remember null values:
 			Object toCache = (value != null) ? value : CACHED_NULL;
@@ -362,7 +373,7 @@ class MarkerEntry extends MarkerSupportItem implements IAdaptable {
 	 */
 	@Override
 	void clearCache() {
-		cache.clear();
+		cache = null;
 	}
 
 	static void clearCollationCache() {
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.internal.views.markers;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.ui.views.markers.MarkerField;
+
+/**
+ * The MarkerSortIndex sorts marker entries by primitive sort keys. The keys of
+ * the leading sort fields with a known ordering are read once per entry into
+ * <code>long</code> arrays, so sorting does not read and cache the marker
+ * attributes of every entry again for each comparison. Messages are replaced
+ * by their rank among the distinct messages. Only entries that are equal in all
+ * indexed fields are compared with the remaining fields of the comparator.
+ *
+ * @since 3.22
+ */
+class MarkerSortIndex {
+
+	private final MarkerEntry[] entries;
+	private final int from;
+	private final MarkerComparator comparator;
+
+	// the key columns, relative to from
+	private final List<long[]> keys = new ArrayList<>();
+	// the first field that is not indexed
+	private int firstUnindexedField;
+
+	private MarkerSortIndex(MarkerEntry[] entries, int from, MarkerComparator comparator) {
+		this.entries = entries;
+		this.from = from;
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Sort the entries between from and to (inclusive) by the fields of the
+	 * comparator, ignoring its category.
+	 *
+	 * @return <code>false</code> if the leading sort field is not indexable and
+	 *         the entries have not been sorted
+	 */
+	static boolean sort(MarkerEntry[] entries, int from, int to, MarkerComparator comparator,
+			IProgressMonitor monitor) {
+		if (from < 0 || to >= entries.length || from >= to) {
+			return true;
+		}
+		MarkerSortIndex index = new MarkerSortIndex(entries, from, comparator);
+		if (!index.createKeys(to - from + 1) || monitor.isCanceled()) {
+			return false;
+		}
+		index.sort(to - from + 1);
+		return true;
+	}
+
+	private boolean createKeys(int size) {
+		MarkerField[] fields = comparator.getFields();
+		int field = 0;
+		while (field < fields.length && addKeys(fields[field], size)) {
+			field++;
+		}
+		firstUnindexedField = field;
+		if (keys.isEmpty()) {
+			return false;
+		}
+		// the keys hold the attributes now
+		for (int i = 0; i < size; i++) {
+			entries[from + i].clearCache();
+		}
+		return true;
+	}
+
+	/**
+	 * Add the key columns of the field.
+	 *
+	 * @return <code>false</code> if the ordering of the field is not known
+	 */
+	private boolean addKeys(MarkerField field, int size) {
+		Class<?> type = field.getClass();
+		int sign = comparator.descendingFields.contains(field) ? -1 : 1;
+		if (type == MarkerSeverityField.class) {
+			// higher severities are sorted first
+			addKeys(size, -sign, e -> MarkerSupportInternalUtilities.getSeverity(e));
+		} else if (type == MarkerPriorityField.class) {
+			addKeys(size, -sign, e -> e.getAttributeValue(IMarker.PRIORITY, IMarker.PRIORITY_NORMAL));
+		} else if (type == MarkerCreationTimeField.class) {
+			addKeys(size, sign, MarkerEntry::getCreationTime);
+		} else if (type == MarkerIDField.class) {
+			addKeys(size, sign, MarkerEntry::getID);
+		} else if (type == MarkerDescriptionField.class) {
+			addMessageKeys(size, sign);
+		} else if (type == MarkerSeverityAndDescriptionField.class
+				|| type == MarkerProblemSeverityAndMessageField.class) {
+			addKeys(size, -sign, e -> MarkerSupportInternalUtilities.getSeverity(e));
+			addMessageKeys(size, sign);
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	private interface KeyFunction {
+		long getKey(MarkerEntry entry);
+	}
+
+	private void addKeys(int size, int sign, KeyFunction function) {
+		long[] column = new long[size];
+		for (int i = 0; i < size; i++) {
+			column[i] = sign * function.getKey(entries[from + i]);
+		}
+		keys.add(column);
+	}
+
+	/**
+	 * Add the ranks of the messages as key column, in the order defined by
+	 * {@link MarkerDescriptionField#compare(org.eclipse.ui.views.markers.MarkerItem, org.eclipse.ui.views.markers.MarkerItem)}.
+	 */
+	private void addMessageKeys(int size, int sign) {
+		String[] messages = new String[size];
+		Map<String, Integer> distinct = new HashMap<>();
+		for (int i = 0; i < size; i++) {
+			String message = entries[from + i].getAttributeValue(IMarker.MESSAGE,
+					MarkerSupportInternalUtilities.UNKNOWN_ATRRIBTE_VALUE_STRING);
+			messages[i] = message;
+			distinct.putIfAbsent(message, Integer.valueOf(0));
+		}
+		String[] sorted = distinct.keySet().toArray(new String[distinct.size()]);
+		Collator collator = Collator.getInstance();
+		Map<String, CollationKey> keyOf = new HashMap<>();
+		for (String message : sorted) {
+			keyOf.put(message, message.isEmpty() ? MarkerSupportInternalUtilities.EMPTY_COLLATION_KEY
+					: collator.getCollationKey(message));
+		}
+		Arrays.sort(sorted, (m1, m2) -> keyOf.get(m1).compareTo(keyOf.get(m2)));
+		int rank = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			if (i > 0 && keyOf.get(sorted[i - 1]).compareTo(keyOf.get(sorted[i])) != 0) {
+				rank++;
+			}
+			distinct.put(sorted[i], Integer.valueOf(rank));
+		}
+		long[] column = new long[size];
+		for (int i = 0; i < size; i++) {
+			column[i] = sign * distinct.get(messages[i]).intValue();
+		}
+		keys.add(column);
+	}
+
+	private int compare(int index1, int index2) {
+		for (long[] column : keys) {
+			int value = Long.compare(column[index1], column[index2]);
+			if (value != 0) {
+				return value;
+			}
+		}
+		return comparator.compareFields(entries[from + index1], entries[from + index2], firstUnindexedField);
+	}
+
+	/**
+	 * Sort the entries by a stable merge sort of their indices.
+	 */
+	private void sort(int size) {
+		int[] order = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		int[] buffer = new int[size];
+		for (int width = 1; width < size; width *= 2) {
+			for (int low = 0; low < size - width; low += 2 * width) {
+				merge(order, buffer, low, low + width, Math.min(low + 2 * width, size));
+			}
+		}
+		MarkerEntry[] sorted = new MarkerEntry[size];
+		for (int i = 0; i < size; i++) {
+			sorted[i] = entries[from + order[i]];
+		}
+		System.arraycopy(sorted, 0, entries, from, size);
+		if (firstUnindexedField < comparator.getFields().length) {
+			for (MarkerEntry entry : sorted) {
+				entry.clearCache();
+			}
+		}
+	}
+
+	private void merge(int[] order, int[] buffer, int low, int middle, int high) {
+		if (compare(order[middle - 1], order[middle]) <= 0) {
+			return; // already in order
+		}
+		System.arraycopy(order, low, buffer, low, high - low);
+		int left = low;
+		int right = middle;
+		for (int i = low; i < high; i++) {
+			if (right >= high || (left < middle && compare(buffer[left], buffer[right]) <= 0)) {
+				order[i] = buffer[left++];
+			} else {
+				order[i] = buffer[right++];
+			}
+		}
+	}
+}
@@ -29,7 +29,9 @@
 package org.eclipse.ui.internal.views.markers;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -66,6 +68,14 @@ public class MarkerSortUtil {
 	 */
 	private static float MERGE_OR_HEAP_SWITCH=1.5f;
 
+	/**
+	 * @return <code>true</code> if all entries are sorted, not only the first k
+	 *         entries
+	 */
+	static boolean sortsCompletely() {
+		return BATCH_SIZE == Integer.MAX_VALUE;
+	}
+
 	/**
 	 * Sorts [first,middle] in the array of [first,last] using a variant of
 	 * modified heapsort, such that {@literal
@@ -362,4 +372,108 @@ public class MarkerSortUtil {
 		sortStartingKElement(entries, comparator, from, entries.length - 1, k,monitor);
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Merges the added entries into entries that are sorted within their
+	 * categories, giving the same entries as sorting the kept and the added
+	 * entries of each category again. Each added entry is placed by a binary
+	 * search, so only O(k log n) comparisons are needed for k added entries.
+	 *
+	 * @param entries            the entries, sorted within each category
+	 * @param categoryEnds       the exclusive end of each category in
+	 *                           <code>entries</code>
+	 * @param removed            tells the entries to drop
+	 * @param added              the entries to add
+	 * @param addedCategories    the category of each added entry
+	 * @param comparator         the comparator of the entries of a category
+	 * @param mergedCategoryEnds receives the exclusive end of each category in
+	 *                           the result
+	 * @param compared           receives the entries compared to the added
+	 *                           ones, may be <code>null</code>
+	 * @param monitor            the progress monitor
+	 * @return the merged entries or <code>null</code> if canceled
+	 */
+	public static MarkerEntry[] mergeSorted(MarkerEntry[] entries, int[] categoryEnds,
+			Predicate<MarkerEntry> removed, MarkerEntry[] added, int[] addedCategories,
+			Comparator<MarkerItem> comparator, int[] mergedCategoryEnds, Collection<MarkerEntry> compared,
+			IProgressMonitor monitor) {
+		int categoryCount = categoryEnds.length;
+		// drop the removed entries, remembering the new category bounds
+		MarkerEntry[] kept = new MarkerEntry[entries.length];
+		int[] keptEnds = new int[categoryCount];
+		int size = 0;
+		int from = 0;
+		for (int category = 0; category < categoryCount; category++) {
+			for (int i = from; i < categoryEnds[category]; i++) {
+				if (!removed.test(entries[i])) {
+					kept[size++] = entries[i];
+				}
+			}
+			from = categoryEnds[category];
+			keptEnds[category] = size;
+		}
+
+		// find the insertion points
+		Integer[] order = new Integer[added.length];
+		int[] positions = new int[added.length];
+		for (int i = 0; i < added.length; i++) {
+			if (monitor.isCanceled()) {
+				return null;
+			}
+			int category = addedCategories[i];
+			int low = category == 0 ? 0 : keptEnds[category - 1];
+			int high = keptEnds[category];
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (compared != null) {
+					compared.add(kept[middle]);
+				}
+				if (comparator.compare(kept[middle], added[i]) <= 0) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			positions[i] = low;
+			order[i] = Integer.valueOf(i);
+		}
+		Arrays.sort(order, (i1, i2) -> {
+			int value = Integer.compare(positions[i1.intValue()], positions[i2.intValue()]);
+			if (value != 0) {
+				return value;
+			}
+			value = Integer.compare(addedCategories[i1.intValue()], addedCategories[i2.intValue()]);
+			if (value != 0) {
+				return value;
+			}
+			return comparator.compare(added[i1.intValue()], added[i2.intValue()]);
+		});
+
+		// merge, counting the entries of each category
+		MarkerEntry[] merged = new MarkerEntry[size + added.length];
+		int[] counts = new int[categoryCount];
+		int next = 0;
+		int index = 0;
+		int category = 0;
+		for (int i = 0; i <= size; i++) {
+			while (next < order.length && positions[order[next].intValue()] == i) {
+				int addedEntry = order[next++].intValue();
+				merged[index++] = added[addedEntry];
+				counts[addedCategories[addedEntry]]++;
+			}
+			while (category < categoryCount && keptEnds[category] == i) {
+				category++;
+			}
+			if (i < size) {
+				merged[index++] = kept[i];
+				counts[category]++;
+			}
+		}
+		int end = 0;
+		for (int i = 0; i < categoryCount; i++) {
+			end += counts[i];
+			mergedCategoryEnds[i] = end;
+		}
+		return merged;
+	}
+
+}
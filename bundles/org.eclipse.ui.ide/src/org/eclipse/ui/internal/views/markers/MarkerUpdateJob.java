@@ -14,8 +14,8 @@
 
 package org.eclipse.ui.internal.views.markers;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -23,6 +23,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.ide.IDEWorkbenchPlugin;
+import org.eclipse.ui.internal.ide.Policy;
 import org.eclipse.ui.views.markers.internal.MarkerMessages;
 import org.osgi.framework.Bundle;
 
@@ -53,38 +54,46 @@ class MarkerUpdateJob extends Job {
 
 	/**
 	 * gather all markers needed by the view.
+	 *
+	 * @return <code>false</code> if the update has not been completed
 	 */
-	void buildMarkers(IProgressMonitor monitor) {
+	boolean buildMarkers(IProgressMonitor monitor) {
 		//check for cancellation before we start
 		if (monitor.isCanceled()) {
-			return;
+			return false;
 		}
 		// builder.getUpdateScheduler().cancelQueuedUIUpdates();
 		// builder.getUpdateScheduler().indicateStatus(
 		// MarkerMessages.MarkerView_searching_for_markers, false);
 
-		Collection<MarkerEntry> markerEntries = new LinkedList<>();
+		Collection<MarkerEntry> markerEntries = new ArrayList<>();
 		//this is not incremental clean every time
 		clean = !clean(markerEntries, monitor);
 		if (monitor.isCanceled()) {
-			return;
+			return false;
 		}
 		// builder.getUpdateScheduler().indicateStatus(
 		// MarkerMessages.MarkerView_processUpdates, false);
 
 		monitor.setTaskName(MarkerMessages.MarkerView_processUpdates);
 		if (!processMarkerEntries(markerEntries, monitor)) {
-			return;
+			return false;
 		}
 		if (monitor.isCanceled()) {
-			return;
+			return false;
 		}
 		builder.getUpdateScheduler().scheduleUIUpdate(MarkerUpdateScheduler.SHORT_DELAY);
 		if (monitor.isCanceled()) {
-			return;
+			return false;
 		}
 		builder.setBuilding(false);
+		builder.fullUpdateDone();
+		if (Policy.DEBUG_MARKER_UPDATES) {
+			System.out.println("Markers collected again, full updates: " + builder.getFullUpdateCount() //$NON-NLS-1$
+					+ ", incremental updates: " + builder.getIncrementalUpdateCount()); //$NON-NLS-1$
+		}
 		updateDone();
+		return true;
 	}
 
 	/**
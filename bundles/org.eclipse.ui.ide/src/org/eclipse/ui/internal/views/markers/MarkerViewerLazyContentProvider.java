@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.internal.views.markers;
+
+import org.eclipse.jface.viewers.ILazyTreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+
+/**
+ * The lazy ContentProvider to the virtual TreeViewer used in Markers View. Only
+ * the rows that become visible are materialized, so the view does not create
+ * tree items for all marker entries.
+ *
+ * @since 3.22
+ */
+class MarkerViewerLazyContentProvider implements ILazyTreeContentProvider {
+
+	private TreeViewer viewer;
+	private Object input;
+	private final ExtendedMarkersView markersView;
+
+	public MarkerViewerLazyContentProvider(ExtendedMarkersView extendedMarkersView) {
+		this.markersView = extendedMarkersView;
+	}
+
+	@Override
+	public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
+		this.viewer = (TreeViewer) viewer;
+		this.input = newInput;
+	}
+
+	@Override
+	public void dispose() {
+
+	}
+
+	@Override
+	public void updateElement(Object parent, int index) {
+		MarkerSupportItem[] children = getChildren(parent);
+		if (index >= getLimitedCount(children.length)) {
+			return;
+		}
+		MarkerSupportItem child = children[index];
+		viewer.replace(parent, index, child);
+		viewer.setChildCount(child, getLimitedCount(child.getChildrenCount()));
+	}
+
+	@Override
+	public void updateChildCount(Object element, int currentChildCount) {
+		int count = getLimitedCount(getChildren(element).length);
+		if (count != currentChildCount) {
+			viewer.setChildCount(element, count);
+		}
+	}
+
+	/**
+	 * Get the children of the element, the viewer input is the original
+	 * {@link Markers}, so use the clone for the top level elements.
+	 *
+	 * @return MarkerSupportItem[]
+	 */
+	private MarkerSupportItem[] getChildren(Object element) {
+		if (element instanceof Markers) {
+			if (input == null) {
+				return MarkerSupportInternalUtilities.EMPTY_MARKER_ITEM_ARRAY;
+			}
+			return ((Markers) input).getElements();
+		}
+		if (element instanceof MarkerSupportItem markerItem) {
+			return markerItem.getChildren();
+		}
+		return MarkerSupportInternalUtilities.EMPTY_MARKER_ITEM_ARRAY;
+	}
+
+	/**
+	 * Get the number of children limited by the marker limits.
+	 *
+	 * @return int
+	 */
+	private int getLimitedCount(int count) {
+		boolean limitsEnabled = markersView.getGenerator().isMarkerLimitsEnabled();
+		int limits = markersView.getGenerator().getMarkerLimits();
+
+		if (!limitsEnabled || limits <= 0 || limits > count)
+			return count;
+		return limits;
+	}
+
+	@Override
+	public Object getParent(Object element) {
+		Object parent = null;
+		if (element instanceof MarkerSupportItem markerItem) {
+			parent = markerItem.getParent();
+		}
+		if (parent == null)
+			return viewer.getInput();
+		return parent;
+	}
+}
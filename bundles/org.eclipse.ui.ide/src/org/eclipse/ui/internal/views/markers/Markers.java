@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TreeMap;
 
 import org.eclipse.core.resources.IMarker;
@@ -61,6 +62,13 @@ class Markers {
 	private Map<IMarker, MarkerEntry> markerToEntryMap;
 	private Integer[] markerCounts;
 
+	// the grouping entries of the categories, in the same order
+	private MarkerGroupingEntry[] categoryEntries = new MarkerGroupingEntry[0];
+	// the group the categories have been built with
+	private MarkerGroup categoryGroup;
+	// true if the marker entries are completely sorted, so updates can be merged
+	private boolean sorted;
+
 	Markers(CachedMarkerBuilder builder) {
 		this.builder = builder;
 	}
@@ -83,9 +91,13 @@ class Markers {
 				markerToEntryMap = null;
 			}
 			markerCounts = null;
+			sorted = false;
 			if (markerEntries.isEmpty()) {
 				categories = EMPTY_CATEGORY_ARRAY;
+				categoryEntries = new MarkerGroupingEntry[0];
+				categoryGroup = builder.getCategoryGroup();
 				markerEntryArray = EMPTY_ENTRY_ARRAY;
+				sorted = true;
 				return true;
 			}
 			if (monitor.isCanceled()) {
@@ -105,6 +117,7 @@ class Markers {
 				}
 			} else {
 				categories = EMPTY_CATEGORY_ARRAY;
+				categoryEntries = new MarkerGroupingEntry[0];
 			}
 			return true;
 		} finally {
@@ -120,11 +133,13 @@ class Markers {
 		try {
 			inChange = true;
 			// Sort by Category first
+			categoryGroup = builder.getCategoryGroup();
 			if (builder.isShowingHierarchy()) {
 				MarkerCategory[] markerCategories = groupIntoCategories(monitor, markerEntryArray);
 				categories = markerCategories;
 			} else {
 				categories = EMPTY_CATEGORY_ARRAY;
+				categoryEntries = new MarkerGroupingEntry[0];
 			}
 
 			if (monitor.isCanceled()) {
@@ -147,6 +162,7 @@ class Markers {
 		MarkerCategory lastCategory = null;
 		try {
 			inChange = true;
+			sorted = false;
 			if (builder.isShowingHierarchy()) {
 				Comparator<MarkerItem> comparator = markerComparator.getFieldsComparator();
 				for (MarkerCategory category : categories) {
@@ -156,6 +172,10 @@ class Markers {
 					lastCategory = category;
 					// sort various categories
 					category.resetChildren(); // reset cached children
+					if (MarkerSortIndex.sort(markerEntryArray, category.start, category.end, markerComparator,
+							monitor)) {
+						continue;
+					}
 					int avaliable = category.end - category.start + 1;
 					int effLimit = getShowingLimit(avaliable);
 					MarkerSortUtil.sortStartingKElement(markerEntryArray,
@@ -166,14 +186,20 @@ class Markers {
 				if (monitor.isCanceled()) {
 					return false;
 				}
-				int avaialble = markerEntryArray.length - 1;
-				int effLimit = getShowingLimit(avaialble);
-				MarkerSortUtil.sortStartingKElement(markerEntryArray,
-						markerComparator, effLimit, monitor);
+				// the index ignores the category, which is only set when showing the hierarchy
+				if (markerComparator.getCategory() != null || !MarkerSortIndex.sort(markerEntryArray, 0,
+						markerEntryArray.length - 1, markerComparator, monitor)) {
+					int avaialble = markerEntryArray.length - 1;
+					int effLimit = getShowingLimit(avaialble);
+					MarkerSortUtil.sortStartingKElement(markerEntryArray,
+							markerComparator, effLimit, monitor);
+				}
 			}
 			if (monitor.isCanceled()) {
 				return false;
 			}
+			// only the first entries up to the limit are sorted in batches
+			sorted = MarkerSortUtil.sortsCompletely();
 			monitor.worked(50);
 			return true;
 		} catch (IllegalArgumentException e) {
@@ -192,6 +218,122 @@ class Markers {
 		}
 	}
 
+	/**
+	 * Merge marker changes into the sorted and grouped marker entries. Each new
+	 * entry is placed by a binary search within its category, so only
+	 * O(k log n) comparisons are needed for k changes instead of sorting all n
+	 * entries again.
+	 *
+	 * @param removed
+	 *            the markers whose entries are to be removed, including those
+	 *            of changed and added markers so that they are never shown
+	 *            twice
+	 * @param added
+	 *            the selected entries to add
+	 * @return <code>false</code> if the changes cannot be merged and the
+	 *         markers have to be built again
+	 */
+	synchronized boolean mergeUpdates(Set<IMarker> removed, Collection<MarkerEntry> added,
+			IProgressMonitor monitor) {
+		if (!sorted || categoryGroup != builder.getCategoryGroup()) {
+			return false;
+		}
+		boolean hierarchy = builder.isShowingHierarchy();
+		MarkerComparator markerComparator = builder.getComparator();
+		Comparator<MarkerItem> comparator = hierarchy ? markerComparator.getFieldsComparator() : markerComparator;
+		MarkerEntry[] entries = markerEntryArray;
+		MarkerCategory[] oldCategories = categories;
+		int categoryCount = hierarchy ? oldCategories.length : 1;
+
+		// the category of each new entry, a new category needs a rebuild
+		MarkerEntry[] newEntries = added.toArray(new MarkerEntry[added.size()]);
+		int[] newCategories = new int[newEntries.length];
+		for (int i = 0; i < newEntries.length; i++) {
+			if (hierarchy) {
+				newCategories[i] = findCategory(newEntries[i]);
+				if (newCategories[i] < 0) {
+					return false;
+				}
+			}
+		}
+		if (monitor.isCanceled()) {
+			return false;
+		}
+
+		boolean initialVal = inChange;
+		try {
+			inChange = true;
+			int[] categoryEnds = new int[categoryCount];
+			for (int category = 0; category < categoryCount; category++) {
+				categoryEnds[category] = hierarchy ? oldCategories[category].end + 1 : entries.length;
+			}
+			int[] mergedEnds = new int[categoryCount];
+			List<MarkerEntry> probed = new ArrayList<>();
+			MarkerEntry[] merged = MarkerSortUtil.mergeSorted(entries, categoryEnds, entry -> {
+				IMarker marker = entry.getMarker();
+				return marker != null && removed.contains(marker);
+			}, newEntries, newCategories, comparator, mergedEnds, probed, monitor);
+			if (merged == null) {
+				return false;
+			}
+
+			// rebuild the categories, dropping the empty ones
+			if (hierarchy) {
+				List<MarkerCategory> newCategoryList = new ArrayList<>();
+				List<MarkerGroupingEntry> newEntryList = new ArrayList<>();
+				int start = 0;
+				for (int i = 0; i < categoryCount; i++) {
+					if (mergedEnds[i] > start) {
+						newCategoryList.add(new MarkerCategory(this, start, mergedEnds[i] - 1, oldCategories[i].getName()));
+						newEntryList.add(categoryEntries[i]);
+						start = mergedEnds[i];
+					}
+				}
+				categories = newCategoryList.toArray(new MarkerCategory[newCategoryList.size()]);
+				categoryEntries = newEntryList.toArray(new MarkerGroupingEntry[newEntryList.size()]);
+			}
+			markerEntryArray = merged;
+			if (markerToEntryMap != null) {
+				markerToEntryMap.clear();
+				markerToEntryMap = null;
+			}
+			markerCounts = null;
+
+			// the attribute caches are only needed during the comparisons
+			for (MarkerEntry entry : probed) {
+				entry.clearCache();
+			}
+			for (MarkerEntry entry : newEntries) {
+				entry.clearCache();
+			}
+			MarkerEntry.clearCollationCache();
+			return true;
+		} finally {
+			inChange = initialVal;
+		}
+	}
+
+	/**
+	 * Find the category of the entry.
+	 *
+	 * @return the index of the category or <code>-1</code> if there is none
+	 */
+	private int findCategory(MarkerEntry entry) {
+		IMarker marker = entry.getMarker();
+		if (marker == null) {
+			return -1;
+		}
+		MarkerGroup group = builder.getCategoryGroup();
+		try {
+			MarkerGroupingEntry groupingEntry = group.findGroupValue(marker.getType(), marker);
+			int index = Arrays.binarySearch(categoryEntries, groupingEntry, group.getEntriesComparator());
+			return index < 0 ? -1 : index;
+		} catch (CoreException e) {
+			entry.checkIfMarkerStale();
+			return -1;
+		}
+	}
+
 	/**
 	 * get marker limit to show, if any.
 	 */
@@ -219,15 +361,18 @@ class Markers {
 				builder.getCategoryGroup(), newMarkers.length - 1, monitor);
 		int start = 0;
 		MarkerCategory[] markerCategories = new MarkerCategory[boundaryInfoMap.size()];
+		MarkerGroupingEntry[] groupingEntries = new MarkerGroupingEntry[boundaryInfoMap.size()];
 		int i = 0;
 		int end = 0;
 		for (Entry<MarkerGroupingEntry, Integer> entry : boundaryInfoMap.entrySet()) {
 			end = entry.getValue();
+			groupingEntries[i] = entry.getKey();
 			markerCategories[i++] = new MarkerCategory(this, start, end,
 					builder.getCategoryGroup().getMarkerField()
 							.getValue(newMarkers[start]));
 			start = end + 1;
 		}
+		categoryEntries = groupingEntries;
 		return markerCategories;
 	}
 
@@ -14,8 +14,8 @@
 
 package org.eclipse.ui.internal.views.markers;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
@@ -168,21 +168,19 @@ class MarkersChangeListener implements IResourceChangeListener {
 
 	/**
 	 * Handle changes incrementally.
-	 * The following performs incremental updation
-	 * of the markers that were gathered initially, and keeps them synched at
-	 * any point with the markers of interest in Workspace. Unfortunately marker
-	 * operations cannot be locked so locking between gathering of markers and
-	 * marker deltas is not possible.
-	 *
-	 * Note : this method of updating is NOT used and tested yet and has holes
-	 * but left out SOLELY for further investigation(*).
+	 * The following queues the marker deltas for the {@link IncrementUpdateJob},
+	 * which merges them into the markers that were gathered initially, and keeps
+	 * them synched at any point with the markers of interest in Workspace.
+	 * Unfortunately marker operations cannot be locked so locking between
+	 * gathering of markers and marker deltas is not possible, the job therefore
+	 * replaces any entry of an added marker.
 	 */
 	private void handleIncrementalChange(IResourceChangeEvent event) {
 		IMarkerDelta[] markerDeltas = event.findMarkerDeltas(null, true);
 		if (markerDeltas.length == 0) {
 			return;
 		}
-		Collection<MarkerEntry> removed = new LinkedList<>(), added = new LinkedList<>(), changed = new LinkedList<>();
+		Collection<MarkerEntry> removed = new ArrayList<>(), added = new ArrayList<>(), changed = new ArrayList<>();
 		String[] types = listeningTypes;
 		for (IMarkerDelta markerDelta : markerDeltas) {
 			try {
@@ -191,18 +189,18 @@ class MarkersChangeListener implements IResourceChangeListener {
 					continue;
 				}
 				IMarker marker = markerDelta.getMarker();
-				MarkerEntry markerEntry = new MarkerEntry(marker);
 				switch (markerDelta.getKind()) {
 				case IResourceDelta.REMOVED: {
-					removed.add(markerEntry);
+					// the attributes of a removed marker are only known by the delta
+					removed.add(new DeltaMarkerEntry(markerDelta));
 					break;
 				}
 				case IResourceDelta.ADDED: {
-					added.add(markerEntry);
+					added.add(new MarkerEntry(marker));
 					break;
 				}
 				case IResourceDelta.CHANGED: {
-					changed.add(markerEntry);
+					changed.add(new MarkerEntry(marker));
 					break;
 				}
 				default:{
@@ -15,9 +15,14 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.monitoring;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -49,6 +54,8 @@ import org.eclipse.ui.monitoring.UiFreezeEvent;
  */
 public class EventLoopMonitorThread extends Thread {
 	private static final int EVENT_HISTORY_SIZE = 100;
+	private static final int PROFILE_BUFFER_SIZE = 64 * 1024;
+	private static final long PROFILE_WRITE_INTERVAL = 60 * 1000;
 	private static final String EXTENSION_ID = "org.eclipse.ui.monitoring.logger"; //$NON-NLS-1$
 	private static final String NEW_LINE_AND_BULLET = "\n* "; //$NON-NLS-1$
 	private static final String TRACE_EVENT_MONITOR = "/debug/event_monitor"; //$NON-NLS-1$
@@ -80,6 +87,11 @@ public class EventLoopMonitorThread extends Thread {
 		public String uiThreadFilter;
 		/** @see org.eclipse.ui.monitoring.PreferenceConstants#NONINTERESTING_THREAD_FILTER */
 		public String noninterestingThreadFilter;
+		/**
+		 * If not null, the stacks of the UI thread sampled during UI freezes are aggregated into
+		 * a profile, which is written to this file in the collapsed stack format.
+		 */
+		public File profileFile;
 
 		/**
 		 * Checks if the values of parameters for UI responsiveness monitoring are valid.
@@ -363,6 +375,9 @@ public class EventLoopMonitorThread extends Thread {
 	private boolean dumpLockedMonitors;
 	private boolean dumpLockedSynchronizers;
 	private long monitoringThreadId;
+	private final File profileFile;
+	private final FreezeProfile profile;
+	private long profileWrittenAt;
 
 	/**
 	 * Initializes the static state of the monitoring thread.
@@ -395,6 +410,8 @@ public class EventLoopMonitorThread extends Thread {
 		logToErrorLog = args.logToErrorLog;
 		uiThreadFilter = new FilterHandler(args.uiThreadFilter);
 		noninterestingThreadFilter = new FilterHandler(args.noninterestingThreadFilter);
+		profileFile = args.profileFile;
+		profile = profileFile == null ? null : new FreezeProfile(PROFILE_BUFFER_SIZE);
 		sleepMonitor = new Object();
 	}
 
@@ -454,7 +471,7 @@ public class EventLoopMonitorThread extends Thread {
 
 		loadLoggerExtensions();
 
-		if (!logToErrorLog && externalLoggers.isEmpty()) {
+		if (!logToErrorLog && externalLoggers.isEmpty() && profile == null) {
 			MonitoringPlugin.logWarning(Messages.EventLoopMonitorThread_logging_disabled_error);
 		}
 
@@ -596,16 +613,22 @@ public class EventLoopMonitorThread extends Thread {
 				}
 
 				// Collect additional stack traces if enough time has elapsed.
-				if (maxStackSamples > 0 && currTime >= grabStackSampleAt) {
-					if (numSamples == maxStackSamples) {
-						numSamples = maxStackSamples / 2;
-						decimate(stackSamples, maxStackSamples, numSamples);
-					}
+				if ((maxStackSamples > 0 || profile != null) && currTime >= grabStackSampleAt) {
+					if (maxStackSamples > 0) {
+						if (numSamples == maxStackSamples) {
+							numSamples = maxStackSamples / 2;
+							decimate(stackSamples, maxStackSamples, numSamples);
+						}
 
-					ThreadInfo[] threadStacks = captureThreadStacks(dumpAllThreads);
-					stackSamples[numSamples++] = new StackSample(getTimestamp(), threadStacks);
-					if (numSamples == maxStackSamples) {
-						pollingDelay *= 2; // Reduce polling frequency.
+						ThreadInfo[] threadStacks = captureThreadStacks(dumpAllThreads);
+						stackSamples[numSamples++] = new StackSample(getTimestamp(), threadStacks);
+						recordProfileSample(threadStacks[0], pollingDelay);
+						if (numSamples == maxStackSamples) {
+							pollingDelay *= 2; // Reduce polling frequency.
+						}
+					} else {
+						recordProfileSample(threadMXBean.getThreadInfo(uiThreadId, Integer.MAX_VALUE),
+								pollingDelay);
 					}
 					grabStackSampleAt += pollingDelay;
 				}
@@ -638,11 +661,41 @@ public class EventLoopMonitorThread extends Thread {
 							false, starvedAwake, starvedAsleep));
 				}
 
+				if (profile != null && currTime >= profileWrittenAt + PROFILE_WRITE_INTERVAL) {
+					writeProfile();
+				}
+
 				resetStalledEventState = true;
 			}
 
 			lastEventStartOrResumeTime = currEventStartOrResumeTime;
 		}
+
+		if (profile != null) {
+			writeProfile();
+		}
+	}
+
+	/**
+	 * Records the stack of the UI thread into the profile.
+	 *
+	 * @param uiThread the UI thread, or {@code null} if it has terminated
+	 * @param time the time since the previous sample
+	 */
+	private void recordProfileSample(ThreadInfo uiThread, long time) {
+		if (profile != null && uiThread != null) {
+			profile.record(uiThread.getStackTrace(), (int) time);
+		}
+	}
+
+	private void writeProfile() {
+		profileWrittenAt = getTimestamp();
+		try (Writer writer = Files.newBufferedWriter(profileFile.toPath(), StandardCharsets.UTF_8)) {
+			profile.writeCollapsed(writer);
+		} catch (IOException e) {
+			MonitoringPlugin.logError(NLS.bind(Messages.EventLoopMonitorThread_profile_write_error_1,
+					profileFile), e);
+		}
 	}
 
 	private ThreadInfo[] captureThreadStacks(boolean dumpAllThreads) {
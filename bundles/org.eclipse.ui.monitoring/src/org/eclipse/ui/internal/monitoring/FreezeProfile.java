@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Profile of the stacks of the UI thread sampled during UI freezes.
+ * <p>
+ * Samples are recorded into a preallocated ring buffer as the ids of their interned frames,
+ * which doesn't allocate unless a frame is seen for the first time. The samples in the buffer
+ * are aggregated into a tree of frames when the buffer is full or when the profile is written.
+ * The profile is written in the collapsed stack format read by flame graph tools: one line per
+ * stack, with the frames from the bottom of the stack separated by semicolons, followed by the
+ * sampled time in milliseconds.
+ * </p>
+ * Accessed only by the monitoring thread.
+ */
+final class FreezeProfile {
+	/** The frames beyond this number are all aggregated into a single frame. */
+	private static final int MAX_FRAMES = 1 << 16;
+	private static final int OTHER_FRAMES_ID = 0;
+	private static final String OTHER_FRAMES = "[other]"; //$NON-NLS-1$
+
+	/**
+	 * A frame in the aggregated tree.
+	 */
+	private static class Node {
+		private static final Node[] NO_CHILDREN = {};
+
+		final int frameId;
+		long time; // Time sampled with this frame at the top of the stack.
+		Node[] children = NO_CHILDREN;
+		int childCount;
+
+		Node(int frameId) {
+			this.frameId = frameId;
+		}
+
+		Node getOrCreateChild(int childFrameId) {
+			for (int i = 0; i < childCount; i++) {
+				if (children[i].frameId == childFrameId) {
+					return children[i];
+				}
+			}
+			if (childCount == children.length) {
+				children = Arrays.copyOf(children, Math.max(4, childCount * 2));
+			}
+			Node child = new Node(childFrameId);
+			children[childCount++] = child;
+			return child;
+		}
+	}
+
+	private final Map<StackTraceElement, Integer> frameIds = new HashMap<>();
+	private final Map<String, Integer> frameNameIds = new HashMap<>();
+	private final List<String> frameNames = new ArrayList<>();
+
+	/**
+	 * Each sample is recorded as its time, its depth and the ids of its frames from the bottom of
+	 * the stack.
+	 */
+	private final int[] buffer;
+	private int start; // Index of the first recorded sample.
+	private int size;  // Number of used elements.
+
+	private final Node root = new Node(-1);
+
+	/**
+	 * @param capacity the number of elements of the ring buffer
+	 */
+	FreezeProfile(int capacity) {
+		buffer = new int[capacity];
+		frameNames.add(OTHER_FRAMES);
+	}
+
+	/**
+	 * Records a stack sample.
+	 *
+	 * @param stack the frames of the stack, from the top of the stack
+	 * @param time the time in milliseconds represented by the sample
+	 */
+	void record(StackTraceElement[] stack, int time) {
+		int depth = Math.min(stack.length, buffer.length - 2);
+		if (size + depth + 2 > buffer.length) {
+			aggregate();
+		}
+		int end = start + size;
+		put(end, time);
+		put(end + 1, depth);
+		for (int i = 0; i < depth; i++) {
+			put(end + 2 + i, getFrameId(stack[stack.length - 1 - i]));
+		}
+		size += depth + 2;
+	}
+
+	private void put(int index, int value) {
+		buffer[index % buffer.length] = value;
+	}
+
+	private int get(int index) {
+		return buffer[index % buffer.length];
+	}
+
+	private int getFrameId(StackTraceElement frame) {
+		Integer id = frameIds.get(frame);
+		if (id == null) {
+			// Frames of different lines of a method are shown as the method.
+			String name = frame.getClassName() + '.' + frame.getMethodName();
+			id = frameNameIds.get(name);
+			if (id == null) {
+				if (frameNames.size() >= MAX_FRAMES) {
+					return OTHER_FRAMES_ID;
+				}
+				id = frameNames.size();
+				frameNames.add(name);
+				frameNameIds.put(name, id);
+			}
+			frameIds.put(frame, id);
+		}
+		return id;
+	}
+
+	/**
+	 * Aggregates the samples in the ring buffer into the tree of frames.
+	 */
+	void aggregate() {
+		while (size > 0) {
+			int time = get(start);
+			int depth = get(start + 1);
+			Node node = root;
+			for (int i = 0; i < depth; i++) {
+				node = node.getOrCreateChild(get(start + 2 + i));
+			}
+			node.time += time;
+			start = (start + depth + 2) % buffer.length;
+			size -= depth + 2;
+		}
+	}
+
+	/**
+	 * Writes the profile in the collapsed stack format.
+	 */
+	void writeCollapsed(Appendable out) throws IOException {
+		aggregate();
+		writeCollapsed(root, new StringBuilder(), out);
+	}
+
+	private void writeCollapsed(Node node, StringBuilder stack, Appendable out) throws IOException {
+		int length = stack.length();
+		for (int i = 0; i < node.childCount; i++) {
+			Node child = node.children[i];
+			if (length > 0) {
+				stack.append(';');
+			}
+			stack.append(frameNames.get(child.frameId));
+			if (child.time > 0) {
+				out.append(stack).append(' ').append(Long.toString(child.time)).append('\n');
+			}
+			writeCollapsed(child, stack, out);
+			stack.setLength(length);
+		}
+	}
+}
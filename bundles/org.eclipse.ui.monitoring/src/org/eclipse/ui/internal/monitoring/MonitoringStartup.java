@@ -23,6 +23,8 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.monitoring.preferences.MonitoringPreferenceListener;
 import org.eclipse.ui.monitoring.PreferenceConstants;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
@@ -91,6 +93,11 @@ public class MonitoringStartup implements EventHandler {
 		args.noninterestingThreadFilter =
 				preferences.getString(PreferenceConstants.NONINTERESTING_THREAD_FILTER);
 		args.logToErrorLog = preferences.getBoolean(PreferenceConstants.LOG_TO_ERROR_LOG);
+		if (preferences.getBoolean(PreferenceConstants.PROFILE_UI_FREEZES)) {
+			Bundle bundle = FrameworkUtil.getBundle(MonitoringStartup.class);
+			args.profileFile = Platform.getStateLocation(bundle).append(PreferenceConstants.PROFILE_FILE_NAME)
+					.toFile();
+		}
 
 		return args;
 	}
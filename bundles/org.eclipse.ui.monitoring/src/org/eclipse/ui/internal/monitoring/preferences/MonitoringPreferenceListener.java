@@ -53,6 +53,7 @@ public class MonitoringPreferenceListener implements IPropertyChangeListener {
 				&& !property.equals(PreferenceConstants.LONG_EVENT_ERROR_THRESHOLD_MILLIS)
 				&& !property.equals(PreferenceConstants.LONG_EVENT_WARNING_THRESHOLD_MILLIS)
 				&& !property.equals(PreferenceConstants.LOG_TO_ERROR_LOG)
+				&& !property.equals(PreferenceConstants.PROFILE_UI_FREEZES)
 				&& !property.equals(PreferenceConstants.MAX_STACK_SAMPLES)
 				&& !property.equals(PreferenceConstants.UI_THREAD_FILTER)
 				&& !property.equals(PreferenceConstants.NONINTERESTING_THREAD_FILTER)) {
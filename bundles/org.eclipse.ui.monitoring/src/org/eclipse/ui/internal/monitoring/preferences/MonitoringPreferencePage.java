@@ -130,6 +130,8 @@ public class MonitoringPreferencePage extends FieldEditorPreferencePage
 				Messages.MonitoringPreferencePage_enable_monitoring_label, block);
 		createBooleanEditor(PreferenceConstants.LOG_TO_ERROR_LOG,
 				Messages.MonitoringPreferencePage_log_freeze_events_label, block);
+		createBooleanEditor(PreferenceConstants.PROFILE_UI_FREEZES,
+				Messages.MonitoringPreferencePage_profile_freezes_label, block);
 
 		longEventWarningThreshold = createIntegerEditor(
 				PreferenceConstants.LONG_EVENT_WARNING_THRESHOLD_MILLIS,
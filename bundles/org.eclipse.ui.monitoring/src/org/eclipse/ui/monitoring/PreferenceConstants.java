@@ -58,6 +58,21 @@ public class PreferenceConstants {
 	 * message if all stack frames of the thread match the filter.
 	 */
 	public static final String NONINTERESTING_THREAD_FILTER = "noninteresting_thread_filter"; //$NON-NLS-1$
+	/**
+	 * If true, the stacks of the UI thread sampled during UI freezes are aggregated into a profile,
+	 * which is written in the collapsed stack format read by flame graph tools to the file
+	 * {@value #PROFILE_FILE_NAME} in the state location of the plug-in.
+	 *
+	 * @since 1.4
+	 */
+	public static final String PROFILE_UI_FREEZES = "profile_ui_freezes"; //$NON-NLS-1$
+	/**
+	 * The name of the file of the profile of UI freezes.
+	 *
+	 * @see #PROFILE_UI_FREEZES
+	 * @since 1.4
+	 */
+	public static final String PROFILE_FILE_NAME = "ui_freezes.collapsed"; //$NON-NLS-1$
 
 	private PreferenceConstants() {}
 }
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.views.log;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * An index of the <code>!SESSION</code> and <code>!ENTRY</code> lines of a log
+ * file, so that entries can be read from anywhere in the file without reading
+ * the file up to them.
+ * <p>
+ * Indexing a log file only scans its bytes for the lines starting a session or
+ * an entry and remembers their offsets and, for entries, their severity. The
+ * entries themselves are only parsed when they are read.
+ * </p>
+ * <p>
+ * The file is only open while it is indexed, the sessions and entries are read
+ * from the file when they are opened. So the index does not keep the file open,
+ * which would prevent it from being deleted or rotated.
+ * </p>
+ */
+public final class LogFileIndex {
+
+	/**
+	 * The kind of the sessions. The kind of an entry is its severity.
+	 */
+	public static final byte SESSION = -1;
+
+	private static final byte[] SESSION_MARKER = LogSession.SESSION.getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] ENTRY_MARKER = "!ENTRY".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+
+	/** The size of the buffer the file is scanned with */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** The longest line start which is read to find the severity of an entry */
+	private static final int MAX_HEADER_LENGTH = 1024;
+
+	private final File file;
+	private final long length;
+
+	private long[] offsets;
+	private byte[] kinds;
+	private int count;
+
+	/** The line of the last session or entry, to tell if the file was replaced */
+	private byte[] lastLine;
+
+	private LogFileIndex(File file, long length) {
+		this.file = file;
+		this.length = length;
+	}
+
+	/**
+	 * Indexes the log file. If the previous index is of the same file and the
+	 * file only grew since, the previous index is extended instead of indexing
+	 * the file again.
+	 *
+	 * @param file
+	 *            the log file
+	 * @param previous
+	 *            the previous index of the log file or <code>null</code>
+	 * @return the index
+	 */
+	public static LogFileIndex create(File file, LogFileIndex previous) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long length = channel.size();
+			LogFileIndex index = new LogFileIndex(file, length);
+			if (previous != null && previous.file.equals(file) && previous.count > 0 && previous.length <= length
+					&& index.startsWith(channel, previous)) {
+				// the last entry may have been written only in part, index it again
+				index.offsets = Arrays.copyOf(previous.offsets, previous.offsets.length);
+				index.kinds = Arrays.copyOf(previous.kinds, previous.kinds.length);
+				index.count = previous.count - 1;
+				index.scan(channel, previous.offsets[previous.count - 1]);
+			} else {
+				index.offsets = new long[64];
+				index.kinds = new byte[64];
+				index.scan(channel, 0);
+			}
+			if (index.count > 0) {
+				index.lastLine = index.readLine(channel, index.offsets[index.count - 1]);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Compares the line of the last indexed entry, which is likely to differ if
+	 * the file was replaced.
+	 */
+	private boolean startsWith(FileChannel channel, LogFileIndex previous) throws IOException {
+		return Arrays.equals(readLine(channel, previous.offsets[previous.count - 1]), previous.lastLine);
+	}
+
+	private void scan(FileChannel channel, long start) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		boolean lineStart = true;
+		long position = start;
+		while (position < length) {
+			buffer.clear();
+			buffer.limit((int) Math.min(BUFFER_SIZE, length - position));
+			int read = channel.read(buffer, position);
+			if (read <= 0) {
+				// the file was truncated since its length was read
+				break;
+			}
+			for (int i = 0; i < read; i++) {
+				byte b = buffer.get(i);
+				if (lineStart && b == '!') {
+					long offset = position + i;
+					// the line is read again if it may not be complete in the buffer
+					byte[] line = read - i >= MAX_HEADER_LENGTH ? getLine(buffer, i, i + MAX_HEADER_LENGTH)
+							: readLine(channel, offset);
+					if (startsWith(line, SESSION_MARKER)) {
+						add(offset, SESSION);
+					} else if (startsWith(line, ENTRY_MARKER)) {
+						add(offset, parseSeverity(line));
+					}
+				}
+				lineStart = b == '\n' || b == '\r';
+			}
+			position += read;
+		}
+	}
+
+	private void add(long offset, byte kind) {
+		if (count == offsets.length) {
+			offsets = Arrays.copyOf(offsets, count * 2);
+			kinds = Arrays.copyOf(kinds, count * 2);
+		}
+		offsets[count] = offset;
+		kinds[count] = kind;
+		count++;
+	}
+
+	private static boolean startsWith(byte[] line, byte[] marker) {
+		return line.length >= marker.length && Arrays.equals(line, 0, marker.length, marker, 0, marker.length);
+	}
+
+	/**
+	 * @return the bytes of the line at the offset, up to
+	 *         {@link #MAX_HEADER_LENGTH}
+	 */
+	private byte[] readLine(FileChannel channel, long offset) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(MAX_HEADER_LENGTH, length - offset));
+		while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) >= 0) {
+			// read until the end of the line start
+		}
+		return getLine(buffer, 0, buffer.position());
+	}
+
+	/**
+	 * @return the bytes of the buffer from the start up to the end of the line
+	 *         or the given end
+	 */
+	private static byte[] getLine(ByteBuffer buffer, int start, int end) {
+		int lineEnd = start;
+		while (lineEnd < end) {
+			byte b = buffer.get(lineEnd);
+			if (b == '\n' || b == '\r') {
+				break;
+			}
+			lineEnd++;
+		}
+		byte[] line = new byte[lineEnd - start];
+		buffer.get(start, line);
+		return line;
+	}
+
+	/**
+	 * Finds the severity of an entry like {@link LogEntry#processEntry(String)}
+	 * does, without parsing its date.
+	 */
+	private static byte parseSeverity(byte[] line) {
+		// !ENTRY <pluginID> <severity> <code> <date>
+		String[] tokens = new String(line, StandardCharsets.UTF_8).trim().split(" +", 4); //$NON-NLS-1$
+		if (tokens.length > 2) {
+			try {
+				return (byte) Integer.parseInt(tokens[2]);
+			} catch (NumberFormatException e) {
+				// logged by the framework without severity
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * @return the number of sessions and entries of the log file
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * @return {@link #SESSION} or the severity of the entry at the index
+	 */
+	public byte getKind(int index) {
+		return kinds[index];
+	}
+
+	/**
+	 * Opens the log file to read its sessions and entries with
+	 * {@link #openReader(FileChannel, int)}.
+	 */
+	FileChannel open() throws IOException {
+		return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+	}
+
+	/**
+	 * Opens a reader of the lines of the session or the entry at the index, up
+	 * to the next session or entry.
+	 *
+	 * @param channel
+	 *            the log file opened by {@link #open()}
+	 */
+	BufferedReader openReader(FileChannel channel, int index) throws IOException {
+		long start = offsets[index];
+		long end = index + 1 < count ? offsets[index + 1] : length;
+		ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(end - start));
+		// the file may have been truncated since it was indexed
+		while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) >= 0) {
+			// read until the end of the entry
+		}
+		return new BufferedReader(new InputStreamReader(
+				new ByteArrayInputStream(buffer.array(), 0, buffer.position()), StandardCharsets.UTF_8));
+	}
+}
@@ -17,6 +17,7 @@
 package org.eclipse.ui.internal.views.log;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import org.eclipse.core.runtime.IStatus;
@@ -24,7 +25,13 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.ui.IMemento;
 
-class LogReader {
+public class LogReader {
+	/**
+	 * The system property which enables reading the log file through a
+	 * {@link LogFileIndex} instead of reading its tail.
+	 */
+	static final String INDEXED_READER = "org.eclipse.ui.views.log.indexedReader"; //$NON-NLS-1$
+
 	private static final int SESSION_STATE = 10;
 	public static final long MAX_FILE_LENGTH = 1024 * 1024;
 	private static final int ONE_MEGA_BYTE_IN_BYTES = 1024 * 1024;
@@ -61,19 +68,7 @@ class LogReader {
 				if (line0 == null)
 					break;
 				String line = line0.trim();
-
-				if (line.startsWith(LogSession.SESSION)) {
-					state = SESSION_STATE;
-				} else if (line.startsWith("!ENTRY")) { //$NON-NLS-1$
-					state = ENTRY_STATE;
-				} else if (line.startsWith("!SUBENTRY")) { //$NON-NLS-1$
-					state = SUBENTRY_STATE;
-				} else if (line.startsWith("!MESSAGE")) { //$NON-NLS-1$
-					state = MESSAGE_STATE;
-				} else if (line.startsWith("!STACK")) { //$NON-NLS-1$
-					state = STACK_STATE;
-				} else
-					state = TEXT_STATE;
+				state = getState(line);
 
 				if (state == TEXT_STATE) {
 					if (writer != null) {
@@ -179,6 +174,192 @@ class LogReader {
 		return parseLogFile(file, ONE_MEGA_BYTE_IN_BYTES, entries, memento);
 	}
 
+	/**
+	 * Reads the entries of the log file through its index. Unlike the tail of
+	 * the log file, the index reaches back to the first entry of the file, and
+	 * only the entries which are logged and within the count limit are parsed,
+	 * starting with the most recent one.
+	 */
+	public static LogSession parseLogFile(LogFileIndex index, List<LogEntry> entries, IMemento memento)
+			throws IOException {
+		boolean useLimit = memento.getString(LogView.P_USE_LIMIT).equals("true"); //$NON-NLS-1$
+		int limit = useLimit ? memento.getInteger(LogView.P_LOG_LIMIT).intValue() : Integer.MAX_VALUE;
+		if (limit == 0)
+			return null;
+		boolean showAllSessions = memento.getString(LogView.P_SHOW_ALL_SESSIONS).equals("true"); //$NON-NLS-1$
+
+		// the sessions are few, read them all to know the session of each entry,
+		// which is the current and the last read session from the given start
+		List<Integer> sessionStarts = new ArrayList<>();
+		List<LogSession[]> sessions = new ArrayList<>();
+		LogSession session = null;
+		LogSession currentSession = null;
+		int firstEntry = 0;
+		List<LogEntry> recentEntries = new ArrayList<>();
+		try (FileChannel channel = index.open()) {
+			for (int i = 0; i < index.size(); i++) {
+				if (index.getKind(i) == LogFileIndex.SESSION) {
+					try (BufferedReader reader = index.openReader(channel, i)) {
+						session = parseSession(reader);
+					}
+					currentSession = updateCurrentSession(currentSession, session);
+					if (currentSession == session && !showAllSessions)
+						firstEntry = i + 1;
+				} else if (currentSession == null) { // create fake session if there was no any
+					currentSession = new LogSession();
+				} else {
+					continue;
+				}
+				sessionStarts.add(Integer.valueOf(i));
+				sessions.add(new LogSession[] { currentSession, session });
+			}
+
+			int s = sessions.size() - 1;
+			for (int i = index.size() - 1; i >= firstEntry && recentEntries.size() < limit; i--) {
+				byte kind = index.getKind(i);
+				if (kind == LogFileIndex.SESSION || !isLogged(kind, memento))
+					continue;
+				while (sessionStarts.get(s).intValue() > i)
+					s--;
+				try (BufferedReader reader = index.openReader(channel, i)) {
+					LogEntry entry = parseEntry(reader, sessions.get(s)[0], sessions.get(s)[1]);
+					if (entry != null)
+						recentEntries.add(entry);
+				}
+			}
+		}
+		Collections.reverse(recentEntries);
+		entries.addAll(recentEntries);
+		return currentSession;
+	}
+
+	private static int getState(String line) {
+		if (line.startsWith(LogSession.SESSION)) {
+			return SESSION_STATE;
+		} else if (line.startsWith("!ENTRY")) { //$NON-NLS-1$
+			return ENTRY_STATE;
+		} else if (line.startsWith("!SUBENTRY")) { //$NON-NLS-1$
+			return SUBENTRY_STATE;
+		} else if (line.startsWith("!MESSAGE")) { //$NON-NLS-1$
+			return MESSAGE_STATE;
+		} else if (line.startsWith("!STACK")) { //$NON-NLS-1$
+			return STACK_STATE;
+		}
+		return TEXT_STATE;
+	}
+
+	/**
+	 * Parses the lines of a session read through the index.
+	 */
+	private static LogSession parseSession(BufferedReader reader) throws IOException {
+		LogSession session = new LogSession();
+		String line = reader.readLine();
+		if (line != null)
+			session.processLogLine(line.trim());
+		StringWriter swriter = new StringWriter();
+		try (PrintWriter writer = new PrintWriter(swriter, true)) {
+			while ((line = reader.readLine()) != null) {
+				if (swriter.getBuffer().length() > 0)
+					writer.println();
+				writer.print(line);
+			}
+		}
+		session.setSessionData(swriter.toString());
+		return session;
+	}
+
+	/**
+	 * Parses the lines of an entry read through the index, like
+	 * {@link #parseLogFile(File, long, List, IMemento)} does.
+	 *
+	 * @return the entry or <code>null</code> if it can't be parsed
+	 */
+	private static LogEntry parseEntry(BufferedReader reader, LogSession currentSession, LogSession session)
+			throws IOException {
+		ArrayList<LogEntry> parents = new ArrayList<>();
+		LogEntry root = null;
+		LogEntry current = null;
+		int writerState = UNKNOWN_STATE;
+		StringWriter swriter = null;
+		PrintWriter writer = null;
+		for (;;) {
+			String line0 = reader.readLine();
+			if (line0 == null)
+				break;
+			String line = line0.trim();
+			int state = getState(line);
+
+			if (state == TEXT_STATE) {
+				if (writer != null) {
+					if (swriter.getBuffer().length() > 0)
+						writer.println();
+					writer.print(line0);
+				}
+				continue;
+			}
+
+			if (writer != null) {
+				setData(current, session, writerState, swriter);
+				writerState = UNKNOWN_STATE;
+				swriter = null;
+				writer.close();
+				writer = null;
+			}
+
+			switch (state) {
+			case STACK_STATE:
+				swriter = new StringWriter();
+				writer = new PrintWriter(swriter, true);
+				writerState = STACK_STATE;
+				break;
+			case ENTRY_STATE:
+				try {
+					root = new LogEntry();
+					root.setSession(currentSession);
+					root.processEntry(line);
+					setNewParent(parents, root, 0);
+					current = root;
+				} catch (IllegalArgumentException pe) {
+					return null;
+				}
+				break;
+			case SUBENTRY_STATE:
+				if (parents.size() > 0) {
+					try {
+						LogEntry entry = new LogEntry();
+						entry.setSession(session);
+						int depth = entry.processSubEntry(line);
+						setNewParent(parents, entry, depth);
+						current = entry;
+						LogEntry parent = parents.get(depth - 1);
+						parent.addChild(entry);
+					} catch (IllegalArgumentException pe) {
+						//do nothing, just toss the bad entry
+					}
+				}
+				break;
+			case MESSAGE_STATE:
+				swriter = new StringWriter();
+				writer = new PrintWriter(swriter, true);
+				String message = ""; //$NON-NLS-1$
+				if (line.length() > 8)
+					message = line.substring(9);
+				if (current != null)
+					current.setMessage(message);
+				writerState = MESSAGE_STATE;
+				break;
+			default:
+				break;
+			}
+		}
+
+		if (writer != null) {
+			setData(current, session, writerState, swriter);
+			writer.close();
+		}
+		return root;
+	}
+
 	/**
 	 * Assigns data from writer to appropriate field of current Log Entry or Session,
 	 * depending on writer state.
@@ -238,7 +419,10 @@ class LogReader {
 	 * @return is entry logged or filtered
 	 */
 	public static boolean isLogged(LogEntry entry, IMemento memento) {
-		int severity = entry.getSeverity();
+		return isLogged(entry.getSeverity(), memento);
+	}
+
+	private static boolean isLogged(int severity, IMemento memento) {
 		switch (severity) {
 			case IStatus.INFO :
 				return memento.getString(LogView.P_LOG_INFO).equals("true"); //$NON-NLS-1$
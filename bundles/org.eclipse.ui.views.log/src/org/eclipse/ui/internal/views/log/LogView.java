@@ -124,6 +124,8 @@ public class LogView extends ViewPart implements LogListener {
 
 	private IMemento fMemento;
 	private File fInputFile;
+	/** The index of the input file, replaced by the thread reading the file */
+	private volatile LogFileIndex fInputFileIndex;
 	private String fDirectory;
 
 	private Comparator<?> fComparator;
@@ -846,6 +848,7 @@ public class LogView extends ViewPart implements LogListener {
 		if (open != Window.OK) {
 			return;
 		}
+		fInputFileIndex = null;
 		if (fInputFile.delete() || elements.size() > 0) {
 			handleClear();
 		}
@@ -903,8 +906,7 @@ public class LogView extends ViewPart implements LogListener {
 	private CompletableFuture<List<LogEntry>> fetchLogEntries() {
 		return CompletableFuture.supplyAsync(() -> {
 			List<LogEntry> result = new ArrayList<>();
-			LogSession lastLogSession = LogReader.parseLogFile(this.fInputFile, getLogMaxTailSize(), result,
-					this.fMemento);
+			LogSession lastLogSession = parseLogFile(result);
 			if (lastLogSession != null
 					&& (lastLogSession.getDate() == null || isEclipseStartTime(lastLogSession.getDate()))) {
 				currentSession = lastLogSession;
@@ -915,6 +917,21 @@ public class LogView extends ViewPart implements LogListener {
 		});
 	}
 
+	private LogSession parseLogFile(List<LogEntry> result) {
+		if (Boolean.getBoolean(LogReader.INDEXED_READER) && fInputFile.exists()) {
+			try {
+				LogFileIndex index = LogFileIndex.create(fInputFile, fInputFileIndex);
+				fInputFileIndex = index;
+				return LogReader.parseLogFile(index, result, fMemento);
+			} catch (IOException e) {
+				// read the tail of the log file instead
+				fInputFileIndex = null;
+				result.clear();
+			}
+		}
+		return LogReader.parseLogFile(fInputFile, getLogMaxTailSize(), result, fMemento);
+	}
+
 	private void updateLogViewer(List<LogEntry> entries) {
 		OptionalInt maxSeverity = entries.stream().mapToInt(LogEntry::getSeverity).max();
 		synchronized (elements) {
@@ -140,6 +140,18 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	/** The delay after which the initialization job is triggered. */
 	private static final int INITIALIZE_DELAY= 500;
 
+	/**
+	 * Tells whether the differences are computed by the {@link HistogramDiff} instead of the
+	 * <code>RangeDifferencer</code>.
+	 */
+	private static final boolean HISTOGRAM_DIFF= Boolean.getBoolean("org.eclipse.ui.workbench.texteditor.quickdiff.histogramDiff"); //$NON-NLS-1$
+
+	/**
+	 * The maximal number of lines rediffed after a change before the differ is
+	 * reinitialized instead.
+	 */
+	private static final int MAX_REDIFF_LINES= HISTOGRAM_DIFF ? 1000 : 50;
+
 	/** Suspended state */
 	private static final int SUSPENDED= 0;
 	/** Initializing state */
@@ -642,12 +654,17 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 				IHashFunction hash= new DJBHashFunction();
 				DocumentEquivalenceClass leftEquivalent= new DocumentEquivalenceClass(reference, hash);
 				fLeftEquivalent= leftEquivalent;
-				IRangeComparator ref= new DocEquivalenceComparator(leftEquivalent, null);
 
 				DocumentEquivalenceClass rightEquivalent= new DocumentEquivalenceClass(actual, hash);
 				fRightEquivalent= rightEquivalent;
-				IRangeComparator act= new DocEquivalenceComparator(rightEquivalent, null);
-				ArrayList<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, monitor, ref, act));
+				List<QuickDiffRangeDifference> diffs;
+				if (HISTOGRAM_DIFF) {
+					diffs= HistogramDiff.findRanges(monitor, leftEquivalent, null, rightEquivalent, null);
+				} else {
+					IRangeComparator ref= new DocEquivalenceComparator(leftEquivalent, null);
+					IRangeComparator act= new DocEquivalenceComparator(rightEquivalent, null);
+					diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, monitor, ref, act));
+				}
 				// 7:	Reset the model to the just gotten differences
 				// 		re-inject stored events to get up to date.
 				synchronized (DocumentLineDiffer.this) {
@@ -938,7 +955,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		// size: the size of the document change in lines
 
 		// put an upper bound to the delay we can afford
-		if (added > 50 || fNLines > 50) {
+		if (added > MAX_REDIFF_LINES || fNLines > MAX_REDIFF_LINES) {
 			initialize();
 			return;
 		}
@@ -1002,7 +1019,6 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			leftLine += lineDelta;
 		int leftEndLine= leftLine - shiftAfter;
 		ILineRange leftRange= new LineRange(leftStartLine, leftEndLine - leftStartLine);
-		IRangeComparator reference= new DocEquivalenceComparator(leftEquivalent, leftRange);
 
 		// right (actual) document
 		int rightStartLine= consistentBefore.rightStart() + shiftBefore;
@@ -1011,10 +1027,9 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			rightLine += lineDelta;
 		int rightEndLine= rightLine - shiftAfter;
 		ILineRange rightRange= new LineRange(rightStartLine, rightEndLine - rightStartLine);
-		IRangeComparator change= new DocEquivalenceComparator(rightEquivalent, rightRange);
 
 		// put an upper bound to the delay we can afford
-		if (leftLine - shiftAfter - leftStartLine > 50 || rightLine - shiftAfter - rightStartLine > 50) {
+		if (leftLine - shiftAfter - leftStartLine > MAX_REDIFF_LINES || rightLine - shiftAfter - rightStartLine > MAX_REDIFF_LINES) {
 			initialize();
 			return;
 		}
@@ -1024,7 +1039,14 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 //					">\n\n<" + right.get(rightRegion.getOffset(), rightRegion.getLength()) + ">\n"); //$NON-NLS-1$ //$NON-NLS-2$
 
 		// compare
-		List<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, null, reference, change));
+		List<QuickDiffRangeDifference> diffs;
+		if (HISTOGRAM_DIFF) {
+			diffs= HistogramDiff.findRanges(null, leftEquivalent, leftRange, rightEquivalent, rightRange);
+		} else {
+			IRangeComparator reference= new DocEquivalenceComparator(leftEquivalent, leftRange);
+			IRangeComparator change= new DocEquivalenceComparator(rightEquivalent, rightRange);
+			diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, null, reference, change));
+		}
 		if (diffs.isEmpty()) {
 			diffs.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, 0, 0, 0, 0));
 		}
@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.texteditor.quickdiff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.source.ILineRange;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.Hash;
+
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+
+
+/**
+ * Line oriented histogram diff, an alternative to the <code>RangeDifferencer</code> that needs
+ * space linear in the number of lines.
+ * <p>
+ * The lines are compared through the hashes of a <code>DocumentEquivalenceClass</code>, which are
+ * first mapped to integers. The two ranges of lines are aligned on the longest common run of
+ * lines that occur the least often in the left range, and the lines before and after that run are
+ * diffed the same way. Lines occurring too often are not used to align the ranges, so a range
+ * which has only such lines in common is reported as one change. Ranges which are small enough
+ * are aligned on their longest common subsequence of lines instead, like by the
+ * <code>RangeDifferencer</code>.
+ * </p>
+ * <p>
+ * The result has the same form as the result of
+ * <code>RangeDifferencer.findRanges(AbstractRangeDifferenceFactory, IProgressMonitor, IRangeComparator, IRangeComparator)</code>:
+ * the unchanged and changed ranges covering both ranges of lines, in document order.
+ * </p>
+ */
+public final class HistogramDiff {
+
+	/** Lines occurring more often than this in a range of the left document are not used to align the documents. */
+	private static final int MAX_OCCURRENCES= 64;
+
+	/** Ranges whose line counts multiply to at most this are aligned on their longest common subsequence. */
+	private static final int MAX_SUBSEQUENCE_CELLS= 1 << 14;
+
+	/** The ids of the lines of the left range. */
+	private final int[] fLeft;
+	/** The ids of the lines of the right range. */
+	private final int[] fRight;
+
+	/** The number of occurrences of each line id in the indexed left range. */
+	private final int[] fCount;
+	/** The last occurrence of each line id in the indexed left range. */
+	private final int[] fLastOccurrence;
+	/** The previous occurrence of the line at each index of the left range, or <code>-1</code>. */
+	private final int[] fPreviousOccurrence;
+
+	/** The matching runs of lines, as left start, right start and length. */
+	private int[] fMatches= new int[48];
+	private int fMatchesSize;
+
+	/** The ranges still to be diffed, as left start, left end, right start and right end. */
+	private int[] fRanges= new int[32];
+	private int fRangesSize;
+
+	private HistogramDiff(int[] left, int[] right, int ids) {
+		fLeft= left;
+		fRight= right;
+		fCount= new int[ids];
+		fLastOccurrence= new int[ids];
+		fPreviousOccurrence= new int[left.length];
+	}
+
+	/**
+	 * Computes the differences between ranges of lines of two documents.
+	 *
+	 * @param monitor the progress monitor, may be <code>null</code>
+	 * @param left the equivalence class of the left document
+	 * @param leftRange the range of lines of the left document, or <code>null</code> for all lines
+	 * @param right the equivalence class of the right document
+	 * @param rightRange the range of lines of the right document, or <code>null</code> for all lines
+	 * @return the unchanged and changed ranges, relative to the start of the ranges
+	 */
+	public static List<QuickDiffRangeDifference> findRanges(IProgressMonitor monitor, DocumentEquivalenceClass left, ILineRange leftRange, DocumentEquivalenceClass right, ILineRange rightRange) {
+		Map<Hash, Integer> ids= new HashMap<>();
+		int[] leftIds= toIds(left, leftRange, ids);
+		int[] rightIds= toIds(right, rightRange, ids);
+		return findRanges(monitor, leftIds, rightIds, ids.size());
+	}
+
+	private static int[] toIds(DocumentEquivalenceClass equivalenceClass, ILineRange range, Map<Hash, Integer> ids) {
+		int start= range == null ? 0 : range.getStartLine();
+		int lines= range == null ? equivalenceClass.getCount() : range.getNumberOfLines();
+		int[] result= new int[lines];
+		for (int i= 0; i < lines; i++) {
+			Integer id= ids.computeIfAbsent(equivalenceClass.getHash(start + i), hash -> Integer.valueOf(ids.size()));
+			result[i]= id.intValue();
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the differences between two sequences of line ids.
+	 *
+	 * @param monitor the progress monitor, may be <code>null</code>
+	 * @param left the ids of the left lines
+	 * @param right the ids of the right lines
+	 * @param ids the number of distinct ids, which are between zero and this number
+	 * @return the unchanged and changed ranges
+	 */
+	static List<QuickDiffRangeDifference> findRanges(IProgressMonitor monitor, int[] left, int[] right, int ids) {
+		HistogramDiff diff= new HistogramDiff(left, right, ids);
+		diff.pushRange(0, left.length, 0, right.length);
+		while (diff.fRangesSize > 0) {
+			if (monitor != null && monitor.isCanceled())
+				break;
+			diff.fRangesSize-= 4;
+			int[] r= diff.fRanges;
+			int i= diff.fRangesSize;
+			diff.diff(r[i], r[i + 1], r[i + 2], r[i + 3]);
+		}
+		return diff.toRanges();
+	}
+
+	private void pushRange(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+		if (leftStart == leftEnd || rightStart == rightEnd)
+			return; // no lines in common
+		if (fRangesSize + 4 > fRanges.length)
+			fRanges= Arrays.copyOf(fRanges, fRanges.length * 2);
+		fRanges[fRangesSize++]= leftStart;
+		fRanges[fRangesSize++]= leftEnd;
+		fRanges[fRangesSize++]= rightStart;
+		fRanges[fRangesSize++]= rightEnd;
+	}
+
+	private void addMatch(int leftStart, int rightStart, int length) {
+		if (length == 0)
+			return;
+		if (fMatchesSize + 3 > fMatches.length)
+			fMatches= Arrays.copyOf(fMatches, fMatches.length * 2);
+		fMatches[fMatchesSize++]= leftStart;
+		fMatches[fMatchesSize++]= rightStart;
+		fMatches[fMatchesSize++]= length;
+	}
+
+	/**
+	 * Finds the matching lines of two ranges, and pushes the ranges before and after them.
+	 */
+	private void diff(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+		// common prefix and suffix
+		int prefix= 0;
+		while (leftStart + prefix < leftEnd && rightStart + prefix < rightEnd && fLeft[leftStart + prefix] == fRight[rightStart + prefix])
+			prefix++;
+		addMatch(leftStart, rightStart, prefix);
+		leftStart+= prefix;
+		rightStart+= prefix;
+		int suffix= 0;
+		while (leftStart < leftEnd - suffix && rightStart < rightEnd - suffix && fLeft[leftEnd - suffix - 1] == fRight[rightEnd - suffix - 1])
+			suffix++;
+		addMatch(leftEnd - suffix, rightEnd - suffix, suffix);
+		leftEnd-= suffix;
+		rightEnd-= suffix;
+		if (leftStart == leftEnd || rightStart == rightEnd)
+			return;
+
+		if ((long) (leftEnd - leftStart) * (rightEnd - rightStart) <= MAX_SUBSEQUENCE_CELLS) {
+			diffSubsequence(leftStart, leftEnd, rightStart, rightEnd);
+			return;
+		}
+
+		// index the left range
+		for (int i= leftStart; i < leftEnd; i++) {
+			int id= fLeft[i];
+			fPreviousOccurrence[i]= fCount[id] == 0 ? -1 : fLastOccurrence[id];
+			fLastOccurrence[id]= i;
+			fCount[id]++;
+		}
+
+		// find the longest run of lines occurring the least often
+		int bestLeft= 0, bestRight= 0, bestLength= 0;
+		int bestCount= MAX_OCCURRENCES;
+		for (int r= rightStart; r < rightEnd;) {
+			int id= fRight[r];
+			int count= fCount[id];
+			int next= r + 1;
+			if (count != 0 && count <= bestCount) {
+				for (int l= fLastOccurrence[id]; l != -1; l= fPreviousOccurrence[l]) {
+					int runCount= count;
+					int ls= l, rs= r;
+					while (ls > leftStart && rs > rightStart && fLeft[ls - 1] == fRight[rs - 1]) {
+						ls--;
+						rs--;
+						runCount= Math.min(runCount, fCount[fLeft[ls]]);
+					}
+					int le= l + 1, re= r + 1;
+					while (le < leftEnd && re < rightEnd && fLeft[le] == fRight[re]) {
+						runCount= Math.min(runCount, fCount[fLeft[le]]);
+						le++;
+						re++;
+					}
+					// the lines up to the end of the run are part of the run
+					next= Math.max(next, re);
+					if (bestLength < le - ls || runCount < bestCount) {
+						bestLeft= ls;
+						bestRight= rs;
+						bestLength= le - ls;
+						bestCount= runCount;
+					}
+				}
+			}
+			r= next;
+		}
+
+		for (int i= leftStart; i < leftEnd; i++)
+			fCount[fLeft[i]]= 0;
+
+		if (bestLength == 0)
+			return; // nothing to align the ranges on, so all lines changed
+
+		addMatch(bestLeft, bestRight, bestLength);
+		pushRange(leftStart, bestLeft, rightStart, bestRight);
+		pushRange(bestLeft + bestLength, leftEnd, bestRight + bestLength, rightEnd);
+	}
+
+	/**
+	 * Finds the longest common subsequence of the lines of two small ranges.
+	 */
+	private void diffSubsequence(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+		int leftLength= leftEnd - leftStart;
+		int rightLength= rightEnd - rightStart;
+		int width= rightLength + 1;
+		// the length of the longest common subsequence of the lines from each pair of indices on
+		int[] lengths= new int[(leftLength + 1) * width];
+		for (int l= leftLength - 1; l >= 0; l--) {
+			for (int r= rightLength - 1; r >= 0; r--) {
+				int i= l * width + r;
+				if (fLeft[leftStart + l] == fRight[rightStart + r])
+					lengths[i]= lengths[i + width + 1] + 1;
+				else
+					lengths[i]= Math.max(lengths[i + width], lengths[i + 1]);
+			}
+		}
+
+		int l= 0, r= 0;
+		while (l < leftLength && r < rightLength) {
+			int length= 0;
+			while (l + length < leftLength && r + length < rightLength && fLeft[leftStart + l + length] == fRight[rightStart + r + length])
+				length++;
+			if (length > 0) {
+				addMatch(leftStart + l, rightStart + r, length);
+				l+= length;
+				r+= length;
+			} else if (lengths[(l + 1) * width + r] >= lengths[l * width + r + 1]) {
+				l++;
+			} else {
+				r++;
+			}
+		}
+	}
+
+	/**
+	 * Converts the matching runs of lines to unchanged and changed ranges.
+	 */
+	private List<QuickDiffRangeDifference> toRanges() {
+		int matches= fMatchesSize / 3;
+		Integer[] order= new Integer[matches];
+		for (int i= 0; i < matches; i++)
+			order[i]= Integer.valueOf(i * 3);
+		Arrays.sort(order, (a, b) -> Integer.compare(fMatches[a.intValue()], fMatches[b.intValue()]));
+
+		List<QuickDiffRangeDifference> ranges= new ArrayList<>(2 * matches + 1);
+		int left= 0, right= 0;
+		for (Integer index : order) {
+			int i= index.intValue();
+			int matchLeft= fMatches[i], matchRight= fMatches[i + 1], length= fMatches[i + 2];
+			if (matchLeft > left || matchRight > right) {
+				ranges.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, right, matchRight - right, left, matchLeft - left));
+			} else if (!ranges.isEmpty()) {
+				// merge adjacent runs
+				QuickDiffRangeDifference last= ranges.remove(ranges.size() - 1);
+				matchLeft= last.leftStart();
+				matchRight= last.rightStart();
+				length+= last.leftLength();
+			}
+			ranges.add(new QuickDiffRangeDifference(RangeDifference.NOCHANGE, matchRight, length, matchLeft, length));
+			left= matchLeft + length;
+			right= matchRight + length;
+		}
+		if (left < fLeft.length || right < fRight.length)
+			ranges.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, right, fRight.length - right, left, fLeft.length - left));
+		return ranges;
+	}
+}
@@ -14,9 +14,13 @@
 
 package org.eclipse.ui.internal;
 
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
+import org.eclipse.core.runtime.URIUtil;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences.NodeChangeEvent;
 import org.eclipse.core.runtime.preferences.InstanceScope;
@@ -25,6 +29,7 @@ import org.eclipse.jface.preference.JFacePreferences;
 import org.eclipse.jface.util.Policy;
 import org.eclipse.jface.util.SafeRunnable;
 import org.eclipse.jface.util.StatusHandler;
+import org.eclipse.osgi.service.datalocation.Location;
 import org.eclipse.ui.statushandlers.IStatusAdapterConstants;
 import org.eclipse.ui.statushandlers.StatusAdapter;
 import org.eclipse.ui.statushandlers.StatusManager;
@@ -36,6 +41,12 @@ import org.eclipse.ui.statushandlers.StatusManager;
  */
 final class JFaceUtil {
 
+	/**
+	 * System property that enables the persistent image data cache of JFace,
+	 * e.g. -Dorg.eclipse.jface.imageDataCache=true
+	 */
+	private static final String IMAGE_DATA_CACHE_PROPERTY = "org.eclipse.jface.imageDataCache"; //$NON-NLS-1$
+
 	private JFaceUtil() {
 		// prevents instantiation
 	}
@@ -91,6 +102,34 @@ final class JFaceUtil {
 					.equalsIgnoreCase(Platform.getDebugOption(Policy.JFACE + "/debug/loadURLImageDescriptor2x")); //$NON-NLS-1$
 			InternalPolicy.DEBUG_LOAD_URL_IMAGE_DESCRIPTOR_2x_PNG_FOR_GIF = "true".equalsIgnoreCase( //$NON-NLS-1$
 					Platform.getDebugOption(Policy.JFACE + "/debug/loadURLImageDescriptor2xPngForGif")); //$NON-NLS-1$
+			InternalPolicy.DEBUG_TRACE_IMAGE_DATA_CACHE = "true" //$NON-NLS-1$
+					.equalsIgnoreCase(Platform.getDebugOption(Policy.JFACE + "/debug/trace/imageDataCache")); //$NON-NLS-1$
+			InternalPolicy.DEBUG_TRACE_IMAGE_PREFETCH = "true" //$NON-NLS-1$
+					.equalsIgnoreCase(Platform.getDebugOption(Policy.JFACE + "/debug/trace/imagePrefetch")); //$NON-NLS-1$
+		}
+
+		// Keep the decoded images in the configuration area if requested, so
+		// they are not decoded again on the next start
+		if (Boolean.getBoolean(IMAGE_DATA_CACHE_PROPERTY)) {
+			InternalPolicy.IMAGE_DATA_CACHE_LOCATION = getImageDataCacheLocation();
+		}
+	}
+
+	/**
+	 * Returns the file of the image data cache in the configuration area.
+	 *
+	 * @return the file or <code>null</code> if the configuration area is not
+	 *         writable
+	 */
+	private static Path getImageDataCacheLocation() {
+		Location location = Platform.getConfigurationLocation();
+		if (location == null || location.isReadOnly() || location.getURL() == null) {
+			return null;
+		}
+		try {
+			return Path.of(URIUtil.toURI(location.getURL())).resolve(Policy.JFACE).resolve("imagedata.cache"); //$NON-NLS-1$
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return null;
 		}
 	}
 
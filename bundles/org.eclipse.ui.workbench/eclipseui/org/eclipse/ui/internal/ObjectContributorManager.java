@@ -24,6 +24,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IAdapterManager;
@@ -80,19 +81,21 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 
 	/**
 	 * Cache of object class contributor search paths; <code>null</code> if none.
+	 * The caches are concurrent maps since several decoration jobs look up
+	 * contributors at the same time.
 	 */
-	protected Map objectLookup;
+	protected volatile Map objectLookup;
 
 	/**
 	 * Cache of resource adapter class contributor search paths; <code>null</code>
 	 * if none.
 	 */
-	protected Map resourceAdapterLookup;
+	protected volatile Map resourceAdapterLookup;
 
 	/**
 	 * Cache of adaptable class contributor search paths; <code>null</code> if none.
 	 */
-	protected Map adaptableLookup;
+	protected volatile Map adaptableLookup;
 
 	protected Set contributorRecordSet;
 
@@ -184,9 +187,9 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 	/**
 	 * Cache the real adapter class contributor search path.
 	 */
-	private void cacheResourceAdapterLookup(Class adapterClass, List results) {
+	private synchronized void cacheResourceAdapterLookup(Class adapterClass, List results) {
 		if (resourceAdapterLookup == null) {
-			resourceAdapterLookup = new HashMap();
+			resourceAdapterLookup = new ConcurrentHashMap();
 		}
 		resourceAdapterLookup.put(adapterClass, results);
 	}
@@ -194,9 +197,9 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 	/**
 	 * Cache the real adapter class contributor search path.
 	 */
-	private void cacheAdaptableLookup(String adapterClass, List results) {
+	private synchronized void cacheAdaptableLookup(String adapterClass, List results) {
 		if (adaptableLookup == null) {
-			adaptableLookup = new HashMap();
+			adaptableLookup = new ConcurrentHashMap();
 		}
 		adaptableLookup.put(adapterClass, results);
 	}
@@ -204,9 +207,9 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 	/**
 	 * Cache the object class contributor search path.
 	 */
-	private void cacheObjectLookup(Class objectClass, List results) {
+	private synchronized void cacheObjectLookup(Class objectClass, List results) {
 		if (objectLookup == null) {
-			objectLookup = new HashMap();
+			objectLookup = new ConcurrentHashMap();
 		}
 		objectLookup.put(objectClass, results);
 	}
@@ -411,8 +414,9 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 	protected List getObjectContributors(Class objectClass) {
 		List objectList = null;
 		// Lookup the results in the cache first.
-		if (objectLookup != null) {
-			objectList = (List) objectLookup.get(objectClass);
+		Map lookup = objectLookup;
+		if (lookup != null) {
+			objectList = (List) lookup.get(objectClass);
 		}
 		if (objectList == null) {
 			objectList = addContributorsFor(objectClass);
@@ -439,8 +443,9 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 	 */
 	protected List getResourceContributors(Class resourceClass) {
 		List resourceList = null;
-		if (resourceAdapterLookup != null) {
-			resourceList = (List) resourceAdapterLookup.get(resourceClass);
+		Map lookup = resourceAdapterLookup;
+		if (lookup != null) {
+			resourceList = (List) lookup.get(resourceClass);
 		}
 		if (resourceList == null) {
 			resourceList = addContributorsFor(resourceClass);
@@ -468,8 +473,9 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 		// Lookup the results in the cache first, there are two caches
 		// one that stores non-adapter contributions and the other
 		// contains adapter contributions.
-		if (adaptableLookup != null) {
-			adaptableList = (List) adaptableLookup.get(adapterType);
+		Map lookup = adaptableLookup;
+		if (lookup != null) {
+			adaptableList = (List) lookup.get(adapterType);
 		}
 		if (adaptableList == null) {
 			// ignore resource adapters because these must be adapted via the
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.decorators;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.eclipse.jface.viewers.IDecorationContext;
+
+/**
+ * The elements awaiting decoration by the {@link DecorationScheduler}, in the
+ * order in which they are decorated: the newest generation of requests first,
+ * then in the order of the requests. An element requested again moves to the
+ * newer generation.
+ * <p>
+ * An element taken from the queue is being decorated until it is
+ * {@link #done(DecorationReference) done}. A request made for it in the
+ * meantime is queued once it is done, so an element is never decorated by two
+ * jobs at the same time. Once an element has been taken, the elements of older
+ * generations are only taken after {@link #resetGeneration()}, so that the
+ * labels of the newer elements are updated first.
+ * </p>
+ * <p>
+ * This class is not thread safe, the scheduler synchronizes the accesses.
+ * </p>
+ */
+public final class DecorationQueue {
+
+	/** The newest generation first, then in the order of the requests. */
+	private static final Comparator<DecorationReference> QUEUE_ORDER = Comparator
+			.comparingInt(DecorationReference::getGeneration).reversed()
+			.thenComparingLong(DecorationReference::getSequence);
+
+	private final Map<Object, DecorationReference> awaitingDecoration = new HashMap<>();
+
+	/**
+	 * The references of awaitingDecoration in the order in which they are
+	 * decorated, except the ones of elements being decorated.
+	 */
+	private final TreeSet<DecorationReference> queue = new TreeSet<>(QUEUE_ORDER);
+
+	/** Elements being decorated. */
+	private final Set<Object> decorating = new HashSet<>();
+
+	private long sequence;
+
+	/** The generation of the last element taken, or 0 after a reset. */
+	private int decoratedGeneration;
+
+	/**
+	 * Queue the element for decoration, or add the request to the one already
+	 * queued.
+	 *
+	 * @param adaptedElement  The adapted value of element. May be null.
+	 * @param forceUpdate     If true then a labelProviderChanged is fired whether
+	 *                        decoration occurred or not.
+	 * @param undecoratedText The original text for the element if it is known.
+	 * @param context         The decoration context
+	 * @param generation      The generation of the request
+	 * @return <code>true</code> if the element has been added to the queue,
+	 *         <code>false</code> if it was queued already or is queued once its
+	 *         running decoration is done
+	 */
+	public boolean add(Object element, Object adaptedElement, boolean forceUpdate, String undecoratedText,
+			IDecorationContext context, int generation) {
+		DecorationReference reference = awaitingDecoration.get(element);
+		if (reference != null) {
+			if (forceUpdate) {// Make sure we don't loose a force
+				reference.setForceUpdate(forceUpdate);
+			}
+			reference.addContext(context);
+			if (reference.getGeneration() < generation) {
+				// Requested again, decorate it with the newer requests
+				boolean queued = queue.remove(reference);
+				reference.setPosition(generation, sequence++);
+				if (queued) {
+					queue.add(reference);
+				}
+			}
+			return false;
+		}
+		reference = new DecorationReference(element, adaptedElement, context);
+		reference.setForceUpdate(forceUpdate);
+		reference.setUndecoratedText(undecoratedText);
+		reference.setPosition(generation, sequence++);
+		awaitingDecoration.put(element, reference);
+		// If the element is being decorated it is queued once it is done
+		// so that the results are cached in the order of the requests
+		if (decorating.contains(element)) {
+			return false;
+		}
+		queue.add(reference);
+		return true;
+	}
+
+	/**
+	 * Take the next element to decorate.
+	 *
+	 * @return the reference of the element, or <code>null</code> if the queue is
+	 *         empty or the next element is of a generation older than the last
+	 *         element taken
+	 */
+	public DecorationReference next() {
+		if (queue.isEmpty()) {
+			return null;
+		}
+		DecorationReference reference = queue.first();
+		if (reference.getGeneration() < decoratedGeneration) {
+			// Update the labels of the newer elements before decorating the
+			// older ones
+			return null;
+		}
+		queue.pollFirst();
+		decoratedGeneration = reference.getGeneration();
+		awaitingDecoration.remove(reference.getElement());
+		decorating.add(reference.getElement());
+		return reference;
+	}
+
+	/**
+	 * The element of the reference has been decorated. Queue it again if it has
+	 * been requested in the meantime.
+	 *
+	 * @param reference the reference returned by {@link #next()}
+	 */
+	public void done(DecorationReference reference) {
+		Object element = reference.getElement();
+		decorating.remove(element);
+		DecorationReference next = awaitingDecoration.get(element);
+		if (next != null) {
+			queue.add(next);
+		}
+	}
+
+	/**
+	 * The labels of the decorated elements have been updated, the elements of
+	 * older generations may be taken again.
+	 */
+	public void resetGeneration() {
+		decoratedGeneration = 0;
+	}
+
+	/**
+	 * @return the number of elements that can be taken, regardless of their
+	 *         generation
+	 */
+	public int size() {
+		return queue.size();
+	}
+
+	/**
+	 * @return whether no element can be taken, regardless of its generation
+	 */
+	public boolean isEmpty() {
+		return queue.isEmpty();
+	}
+
+	/**
+	 * @return whether no element is awaiting decoration or being decorated
+	 */
+	public boolean isIdle() {
+		return awaitingDecoration.isEmpty() && decorating.isEmpty();
+	}
+}
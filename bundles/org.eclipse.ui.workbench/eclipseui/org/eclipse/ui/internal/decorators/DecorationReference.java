@@ -27,7 +27,7 @@ import org.eclipse.ui.internal.WorkbenchMessages;
  * of a decoration. Its main purpose is to act as a data object for decorations
  * scheduled to be calculated asynchonously by the {@link DecorationScheduler}.
  */
-class DecorationReference {
+public class DecorationReference {
 	// all members are accessed from different threads and therefore have to be
 	// either final or volatile
 
@@ -41,6 +41,13 @@ class DecorationReference {
 
 	private final Set<IDecorationContext> contexts = ConcurrentHashMap.newKeySet();
 
+	// the position in the DecorationQueue, only accessed while synchronized on
+	// the scheduler
+
+	private int generation;
+
+	private long sequence;
+
 	DecorationReference(Object object, Object adaptedObject, IDecorationContext context) {
 		Assert.isNotNull(object);
 		element = object;
@@ -62,7 +69,7 @@ class DecorationReference {
 	 *
 	 * @return Object
 	 */
-	Object getElement() {
+	public Object getElement() {
 		return element;
 	}
 
@@ -116,4 +123,31 @@ class DecorationReference {
 	void addContext(IDecorationContext context) {
 		contexts.add(context);
 	}
+
+	/**
+	 * Returns the generation of the requests for the element. Requests of newer
+	 * generations are decorated first.
+	 *
+	 * @return int
+	 */
+	int getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Returns the order of the request for the element within its generation.
+	 *
+	 * @return long
+	 */
+	long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Sets the position of the element in the queue of the scheduler.
+	 */
+	void setPosition(int generation, long sequence) {
+		this.generation = generation;
+		this.sequence = sequence;
+	}
 }
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.decorators;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.jface.viewers.IDecorationContext;
+
+/**
+ * The DecorationResultCache holds the decoration results computed by the
+ * {@link DecorationScheduler} for elements in a decoration context. Elements
+ * are compared with <code>equals</code> and only weakly referenced, so that
+ * the results of elements that are not used anymore are dropped. The cache
+ * holds at most a given number of results and evicts the least recently used
+ * one when it is full.
+ * <p>
+ * The cache counts the hits, misses and evictions of its results. Results
+ * dropped because their element has been garbage collected are not evictions.
+ * </p>
+ */
+public class DecorationResultCache {
+
+	/**
+	 * A weak key of a result. A key whose element has been garbage collected is
+	 * only equal to itself.
+	 */
+	private static final class WeakKey extends WeakReference<Object> {
+
+		final IDecorationContext context;
+
+		final int hash;
+
+		WeakKey(Object element, IDecorationContext context, ReferenceQueue<Object> queue) {
+			super(element, queue);
+			this.context = context;
+			this.hash = hash(element, context);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof WeakKey)) {
+				return false;
+			}
+			WeakKey other = (WeakKey) obj;
+			Object element = get();
+			return hash == other.hash && element != null && element.equals(other.get())
+					&& context.equals(other.context);
+		}
+	}
+
+	/**
+	 * The key used to look up a result, which does not need to be weak.
+	 */
+	private static final class LookupKey {
+
+		final Object element;
+
+		final IDecorationContext context;
+
+		final int hash;
+
+		LookupKey(Object element, IDecorationContext context) {
+			this.element = element;
+			this.context = context;
+			this.hash = hash(element, context);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof WeakKey)) {
+				return false;
+			}
+			WeakKey other = (WeakKey) obj;
+			return hash == other.hash && element.equals(other.get()) && context.equals(other.context);
+		}
+	}
+
+	private static int hash(Object element, IDecorationContext context) {
+		return Objects.hash(element, context);
+	}
+
+	private final ReferenceQueue<Object> collectedKeys = new ReferenceQueue<>();
+
+	private final Map<Object, DecorationResult> results;
+
+	private final int maxSize;
+
+	private long hitCount;
+
+	private long missCount;
+
+	private long evictionCount;
+
+	/**
+	 * Create a new instance of the receiver.
+	 *
+	 * @param maxSize the maximum number of results held by the cache
+	 */
+	public DecorationResultCache(int maxSize) {
+		Assert.isLegal(maxSize > 0);
+		this.maxSize = maxSize;
+		// in access order to evict the least recently used result
+		results = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, DecorationResult> eldest) {
+				if (size() > DecorationResultCache.this.maxSize) {
+					evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Return the result of the element in the context.
+	 *
+	 * @param element the element
+	 * @param context the decoration context
+	 * @return DecorationResult or <code>null</code> if there is none
+	 */
+	public synchronized DecorationResult get(Object element, IDecorationContext context) {
+		expungeCollectedKeys();
+		DecorationResult result = results.get(new LookupKey(element, context));
+		if (result == null) {
+			missCount++;
+		} else {
+			hitCount++;
+		}
+		return result;
+	}
+
+	/**
+	 * Cache the result of the element in the context, evicting the least
+	 * recently used result if the cache is full.
+	 *
+	 * @param element the element
+	 * @param context the decoration context
+	 * @param result  the result
+	 */
+	public synchronized void put(Object element, IDecorationContext context, DecorationResult result) {
+		expungeCollectedKeys();
+		results.put(new WeakKey(element, context, collectedKeys), result);
+	}
+
+	/**
+	 * Remove all of the results.
+	 */
+	public synchronized void clear() {
+		results.clear();
+		// the keys are not in the cache anymore
+		while (collectedKeys.poll() != null) {
+			// keep polling
+		}
+	}
+
+	/**
+	 * Return the number of results in the cache.
+	 *
+	 * @return int
+	 */
+	public synchronized int size() {
+		expungeCollectedKeys();
+		return results.size();
+	}
+
+	/**
+	 * Return the maximum number of results in the cache.
+	 *
+	 * @return int
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Return the number of lookups which found a result.
+	 *
+	 * @return long
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Return the number of lookups which found no result.
+	 *
+	 * @return long
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Return the number of results evicted because the cache was full.
+	 *
+	 * @return long
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	private void expungeCollectedKeys() {
+		Reference<?> key;
+		while ((key = collectedKeys.poll()) != null) {
+			results.remove(key);
+		}
+	}
+}
@@ -19,13 +19,8 @@ package org.eclipse.ui.internal.decorators;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -42,6 +37,7 @@ import org.eclipse.jface.viewers.LabelProviderChangedEvent;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.WorkbenchMessages;
 import org.eclipse.ui.progress.UIJob;
@@ -60,22 +56,27 @@ import org.eclipse.ui.progress.WorkbenchJob;
  * needs an element decorated, it calls <code>queueForDecoration</code>.</li>
  *
  * <li><code>queueForDecoration</code> inserts (or, if already present, updates)
- * the <code>element</code> into <code>awaitingDecoration</code> and an
- * associated <code>DecorationReference</code> into
- * <code>awaitingDecorationValues</code> and schedules the
- * <code>decorationJob</code> to be executed asynchonously.</li>
+ * the <code>element</code> and an associated <code>DecorationReference</code>
+ * into the {@link DecorationQueue} <code>decorationQueue</code> and
+ * schedules the <code>decorationJobs</code> to be executed asynchonously. The
+ * queue is ordered by the generation of the requests: the requests made by the
+ * UI thread while it handles an event, for example the labels a viewer needs
+ * for the items it has just revealed, are decorated before the requests made
+ * while it handled the previous events.</li>
  *
- * <li>The <code>decorationJob</code> processes the list of elements in
- * <code>awaitingDecoration</code> one by one. For each element, it calls
- * <code>ensureResultCached</code>, which in turn calls the actual lightweight
- * decorator(s) for the element and stores the decoration result in the
+ * <li>The <code>decorationJobs</code> process the elements in
+ * <code>decorationQueue</code> in parallel. For each element, they call
+ * <code>queue</code>, which in turn calls the actual lightweight decorator(s)
+ * for the element and stores the decoration result in the
  * <code>resultCache</code> and adds the element to the
  * <code>pendingUpdate</code> collection to remember that it needs to be updated
- * in the UI.</li>
+ * in the UI. Decorators which are not thread safe decorate one element at a
+ * time. An element is never decorated by two jobs at the same time.</li>
  *
- * <li>When the <code>decorationJob</code> has finished processing all elements
- * in <code>awaitingDecoration</code>, it finally schedules the
- * <code>updateJob</code>.</li>
+ * <li>When the <code>decorationJobs</code> have finished processing all elements
+ * in <code>decorationQueue</code>, or all elements of the newest generation, the
+ * last one finally schedules the <code>updateJob</code>. The jobs continue with
+ * the older generations once the <code>updateJob</code> is done.</li>
  *
  * <li>
  * <p>
@@ -105,7 +106,7 @@ import org.eclipse.ui.progress.WorkbenchJob;
  * </ol>
  *
  * So, in summary, a decoration is first enqueued, then calculated
- * asynchronously by the <code>decorationJob</code> and enqueued for UI-update,
+ * asynchronously by the <code>decorationJobs</code> and enqueued for UI-update,
  * and finally, the <code>updateJob</code> fires events which cause the viewers
  * to update the UI using the now available decoration results.
  */
@@ -113,9 +114,23 @@ public class DecorationScheduler {
 
 	private static final ILabelProviderListener[] EMPTY_LISTENER_LIST = new ILabelProviderListener[0];
 
+	/** The number of jobs decorating elements in parallel. */
+	private static final int DECORATION_JOB_COUNT = Math.max(1,
+			Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	/** The maximum number of decoration results in the cache. */
+	private static final int RESULT_CACHE_SIZE = 10000;
+
+	/**
+	 * The number of results awaiting a label update after which the labels are
+	 * updated before decorating more elements, so that the results are not
+	 * evicted before the update.
+	 */
+	private static final int MAX_PENDING_UPDATES = RESULT_CACHE_SIZE / 2;
+
 	// When decorations are computed they are added to this cache via
 	// scheduleUpdateJob() method
-	private final Map<IDecorationContext, Map<Object, DecorationResult>> resultCache = new ConcurrentHashMap<>();
+	private final DecorationResultCache resultCache = new DecorationResultCache(RESULT_CACHE_SIZE);
 
 	/**
 	 * Objects that are awaiting a label update. manually synchronized on
@@ -124,14 +139,29 @@ public class DecorationScheduler {
 	private final Set<Object> pendingUpdate = new LinkedHashSet<>();
 
 	/** manually synchronized on DecorationScheduler.this **/
-	private final LinkedHashMap<Object, DecorationReference> awaitingDecoration = new LinkedHashMap<>();
+	private final DecorationQueue decorationQueue = new DecorationQueue();
+
+	/**
+	 * The generation of the requests made by the UI thread while it handles the
+	 * current event. manually synchronized on DecorationScheduler.this
+	 **/
+	private int generation;
+
+	/** manually synchronized on DecorationScheduler.this **/
+	private boolean generationOpen;
+
+	/** manually synchronized on DecorationScheduler.this **/
+	private int runningJobs;
+
+	/** manually synchronized on DecorationScheduler.this **/
+	private boolean resultsQueued;
 
 	/** manually synchronized on DecorationScheduler.this **/
 	private boolean shutdown = false;
 
 	private final DecoratorManager decoratorManager;
 
-	private final Job decorationJob;
+	private final Job[] decorationJobs;
 
 	// Notifies about updateJob or clearJob finishing
 	private final class JobChangeListener extends JobChangeAdapter {
@@ -181,7 +211,10 @@ public class DecorationScheduler {
 	 */
 	DecorationScheduler(DecoratorManager manager) {
 		decoratorManager = manager;
-		decorationJob = createDecorationJob();
+		decorationJobs = new Job[DECORATION_JOB_COUNT];
+		for (int i = 0; i < decorationJobs.length; i++) {
+			decorationJobs[i] = createDecorationJob();
+		}
 	}
 
 	/**
@@ -219,31 +252,42 @@ public class DecorationScheduler {
 			String undecoratedText, IDecorationContext context) {
 
 		Assert.isNotNull(context);
-		DecorationReference reference = awaitingDecoration.get(element);
-		if (reference != null) {
-			if (forceUpdate) {// Make sure we don't loose a force
-				reference.setForceUpdate(forceUpdate);
-			}
-			reference.addContext(context);
-		} else {
-			reference = new DecorationReference(element, adaptedElement, context);
-			reference.setForceUpdate(forceUpdate);
-			reference.setUndecoratedText(undecoratedText);
-			awaitingDecoration.put(element, reference);
-			if (shutdown) {
-				return;
-			}
+		if (decorationQueue.add(element, adaptedElement, forceUpdate, undecoratedText, context,
+				getRequestGeneration()) && !shutdown) {
 			schedule();
 		}
 
 	}
 
+	/**
+	 * Return the generation of a request. A new generation starts with the first
+	 * request the UI thread makes while handling an event.
+	 */
+	private int getRequestGeneration() {
+		if (!generationOpen) {
+			Display display = Display.getCurrent();
+			if (display != null && !display.isDisposed()) {
+				generation++;
+				generationOpen = true;
+				display.asyncExec(this::closeGeneration);
+			}
+		}
+		return generation;
+	}
+
+	private synchronized void closeGeneration() {
+		generationOpen = false;
+	}
+
 	/*
 	 * should not be called before constructor finished. Would leak reference to
 	 * incomplete constructed DecorationScheduler.this
 	 */
-	void schedule() {
-		decorationJob.schedule();
+	synchronized void schedule() {
+		int jobCount = Math.max(1, Math.min(decorationQueue.size(), decorationJobs.length));
+		for (int i = 0; i < jobCount; i++) {
+			decorationJobs[i].schedule();
+		}
 	}
 
 	/**
@@ -292,16 +336,11 @@ public class DecorationScheduler {
 	}
 
 	private DecorationResult internalGetResult(Object element, IDecorationContext context) {
-		Map<Object, DecorationResult> results = resultCache.get(context);
-		if (results != null) {
-			return results.get(element);
-		}
-		return null;
+		return resultCache.get(element, context);
 	}
 
 	protected void internalPutResult(Object element, IDecorationContext context, DecorationResult result) {
-		Map<Object, DecorationResult> results = resultCache.computeIfAbsent(context, ctx -> new ConcurrentHashMap<>());
-		results.put(element, result);
+		resultCache.put(element, context, result);
 	}
 
 	/**
@@ -336,14 +375,59 @@ public class DecorationScheduler {
 	 * @return IResource
 	 */
 	synchronized DecorationReference removeNextReference() {
-		Iterator<Entry<Object, DecorationReference>> iterator = awaitingDecoration.entrySet().iterator();
-		if (shutdown || !iterator.hasNext()) {
+		if (shutdown) {
 			return null;
 		}
-		Entry<Object, DecorationReference> entry = iterator.next();
-		iterator.remove();
-		DecorationReference reference = entry.getValue();
-		return reference;
+		synchronized (pendingUpdate) {
+			if (pendingUpdate.size() >= MAX_PENDING_UPDATES) {
+				return null;
+			}
+		}
+		return decorationQueue.next();
+	}
+
+	/**
+	 * The element of the reference has been decorated. Queue it again if it has
+	 * been requested in the meantime.
+	 */
+	synchronized void decorationDone(DecorationReference reference) {
+		decorationQueue.done(reference);
+	}
+
+	/**
+	 * Start a decoration job unless an update is pending. The update job is only
+	 * scheduled while no decoration job runs.
+	 *
+	 * @return <code>true</code> if the job can start
+	 */
+	synchronized boolean decorationJobStarting() {
+		if (updatesPending()) {
+			return false;
+		}
+		runningJobs++;
+		return true;
+	}
+
+	/**
+	 * A decoration job is done. The last one schedules the update of the labels
+	 * and, if elements are left, the decoration jobs again.
+	 *
+	 * @param queued whether the job has cached results
+	 */
+	synchronized void decorationJobDone(boolean queued) {
+		runningJobs--;
+		resultsQueued |= queued;
+		if (runningJobs > 0) {
+			return;
+		}
+		decorationQueue.resetGeneration();
+		if (resultsQueued) {
+			resultsQueued = false;
+			scheduleUpdateJob();
+		}
+		if (!shutdown && !decorationQueue.isEmpty()) {
+			schedule();
+		}
 	}
 
 	/**
@@ -360,7 +444,7 @@ public class DecorationScheduler {
 					}
 				}
 
-				while (updatesPending()) {
+				while (!decorationJobStarting()) {
 
 					try {
 						jobFinishListener.sleep(100);
@@ -371,28 +455,32 @@ public class DecorationScheduler {
 					}
 				}
 
-				SubMonitor subMonitor = SubMonitor.convert(monitor,
-						WorkbenchMessages.DecorationScheduler_CalculatingTask, awaitingDecoration.size() + 1);
-				// will block if there are no resources to be decorated
-				DecorationReference reference;
-
 				boolean queued = false;
-				// for each in awaitingDecorationValues, but not locking the map during the whole iteration:
-				while ((reference = removeNextReference()) != null) {
-					subMonitor.split(1);
-					queued = true;
-					Object element = reference.getElement();
-					boolean force = reference.shouldForceUpdate();
-					Collection<IDecorationContext> contexts = reference.getContexts();
-					for (IDecorationContext context : contexts) {
-						queued |= queue(element, force, context);
+				try {
+					SubMonitor subMonitor = SubMonitor.convert(monitor,
+							WorkbenchMessages.DecorationScheduler_CalculatingTask, decorationQueue.size() + 1);
+					DecorationReference reference;
+
+					// for each in decorationQueue, but not locking the queue during the whole iteration:
+					while ((reference = removeNextReference()) != null) {
+						try {
+							subMonitor.split(1);
+							queued = true;
+							Object element = reference.getElement();
+							boolean force = reference.shouldForceUpdate();
+							Collection<IDecorationContext> contexts = reference.getContexts();
+							for (IDecorationContext context : contexts) {
+								queued |= queue(element, force, context);
+							}
+						} finally {
+							decorationDone(reference);
+						}
+						subMonitor.setWorkRemaining(decorationQueue.size() + 1); // may grow asynchronously
 					}
-					subMonitor.setWorkRemaining(awaitingDecoration.size() + 1); // may grow asynchronously
-					// Only notify listeners when we have exhausted the
+				} finally {
+					// Only notify listeners when the jobs have exhausted the
 					// queue of decoration requests.
-				}
-				if (queued) {
-					scheduleUpdateJob();
+					decorationJobDone(queued);
 				}
 				return Status.OK_STATUS;
 			}
@@ -587,8 +675,10 @@ public class DecorationScheduler {
 				// Other decoration requests may have occurred due to
 				// updates or we may have timed out updating listeners.
 				// Only clear the results if there are none pending.
-				if (awaitingDecoration.isEmpty()) {
-					resultCache.clear();
+				synchronized (DecorationScheduler.this) {
+					if (decorationQueue.isIdle()) {
+						resultCache.clear();
+					}
 				}
 			}
 
@@ -641,6 +731,16 @@ public class DecorationScheduler {
 		return false;
 	}
 
+	/**
+	 * Return the cache of the decoration results, which publishes its hit, miss
+	 * and eviction counts.
+	 *
+	 * @return DecorationResultCache
+	 */
+	public DecorationResultCache getResultCache() {
+		return resultCache;
+	}
+
 	/**
 	 * Return the background Color for element. If there is no result cue for
 	 * decoration and return null, otherwise return the value in the result.
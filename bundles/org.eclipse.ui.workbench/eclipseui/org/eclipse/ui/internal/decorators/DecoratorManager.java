@@ -612,7 +612,6 @@ public class DecoratorManager implements ILabelProviderListener, IDecoratorManag
 	 * occur due to changes in enablement.
 	 */
 	public void clearCaches() {
-		getLightweightManager().reset();
 		fullTextRunnable.clearReferences();
 		fullImageRunnable.clearReferences();
 	}
@@ -926,6 +925,16 @@ public class DecoratorManager implements ILabelProviderListener, IDecoratorManag
 		return lightweightManager;
 	}
 
+	/**
+	 * Returns the cache of the results of the lightweight decorators, which
+	 * publishes its hit, miss and eviction counts.
+	 *
+	 * @return DecorationResultCache
+	 */
+	public DecorationResultCache getResultCache() {
+		return scheduler.getResultCache();
+	}
+
 	/**
 	 * @see org.eclipse.ui.IDecoratorManager#update(java.lang.String)
 	 */
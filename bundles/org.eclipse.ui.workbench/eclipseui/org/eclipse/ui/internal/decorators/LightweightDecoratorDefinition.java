@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.decorators;
 
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.ISafeRunnable;
@@ -34,6 +36,8 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 
 	private static final String ATT_LOCATION = "location"; //$NON-NLS-1$
 
+	private static final String ATT_THREAD_SAFE = "threadSafe"; //$NON-NLS-1$
+
 	static final String ATT_ICON = "icon"; //$NON-NLS-1$
 
 	// Constants for quadrants
@@ -84,7 +88,20 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 	 * The DeclarativeDecorator is the internal decorator supplied by the decorator
 	 * definition.
 	 */
-	private ILightweightLabelDecorator decorator;
+	private volatile ILightweightLabelDecorator decorator;
+
+	/**
+	 * The lock held while decorating with a decorator that is not thread safe.
+	 */
+	private final Object decorationLock = new Object();
+
+	private final boolean threadSafe;
+
+	private final LongAdder decorationCount = new LongAdder();
+
+	private final LongAdder decorationTime = new LongAdder();
+
+	private final LongAccumulator maxDecorationTime = new LongAccumulator(Math::max, 0);
 
 	private int quadrant;
 
@@ -94,6 +111,7 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 
 	LightweightDecoratorDefinition(String identifier, IConfigurationElement element) {
 		super(identifier, element);
+		threadSafe = isDeclarative() || Boolean.parseBoolean(element.getAttribute(ATT_THREAD_SAFE));
 	}
 
 	/**
@@ -162,6 +180,64 @@ class LightweightDecoratorDefinition extends DecoratorDefinition implements IObj
 		return definingElement.getAttribute(DecoratorDefinition.ATT_CLASS) == null;
 	}
 
+	/**
+	 * Return whether or not the decorator may decorate several elements at the
+	 * same time. Declarative decorators are always thread safe.
+	 *
+	 * @return boolean <code>true</code> if the decorator is thread safe
+	 */
+	boolean isThreadSafe() {
+		return threadSafe;
+	}
+
+	/**
+	 * Return the lock to hold while decorating with a decorator that is not
+	 * thread safe.
+	 *
+	 * @return Object
+	 */
+	Object getDecorationLock() {
+		return decorationLock;
+	}
+
+	/**
+	 * Record the time spent by the decorator decorating an element.
+	 *
+	 * @param nanos the time in nanoseconds
+	 */
+	void recordDecoration(long nanos) {
+		decorationCount.increment();
+		decorationTime.add(nanos);
+		maxDecorationTime.accumulate(nanos);
+	}
+
+	/**
+	 * Return the number of elements decorated by the decorator.
+	 *
+	 * @return long
+	 */
+	long getDecorationCount() {
+		return decorationCount.sum();
+	}
+
+	/**
+	 * Return the total time spent by the decorator decorating elements.
+	 *
+	 * @return long the time in nanoseconds
+	 */
+	long getDecorationTime() {
+		return decorationTime.sum();
+	}
+
+	/**
+	 * Return the longest time spent by the decorator decorating an element.
+	 *
+	 * @return long the time in nanoseconds
+	 */
+	long getMaxDecorationTime() {
+		return maxDecorationTime.get();
+	}
+
 	/**
 	 * Return the icon location.
 	 *
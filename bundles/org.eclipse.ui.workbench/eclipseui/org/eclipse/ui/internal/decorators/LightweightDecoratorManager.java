@@ -117,8 +117,6 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 		}
 	}
 
-	private LightweightRunnable runnable = new LightweightRunnable();
-
 	// The lightweight definitions read from the registry
 	private LightweightDecoratorDefinition[] lightweightDefinitions;
 
@@ -270,13 +268,6 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 		return false;
 	}
 
-	/**
-	 * Reset any cached values.
-	 */
-	void reset() {
-		runnable.clearReferences();
-	}
-
 	/**
 	 * Shutdown the decorator manager by disabling all of the decorators so that
 	 * dispose() will be called on them.
@@ -354,9 +345,58 @@ public class LightweightDecoratorManager extends ObjectContributorManager {
 	 * @param decorator  The decorator being applied.
 	 */
 	private void decorate(Object element, DecorationBuilder decoration, LightweightDecoratorDefinition decorator) {
-
+		LightweightRunnable runnable = new LightweightRunnable();
 		runnable.setValues(element, decoration, decorator);
+		// Elements are decorated by several jobs. Decorators which are not
+		// thread safe, or not created yet, decorate one element at a time.
+		if (decorator.isThreadSafe() && decorator.getDecorator() != null) {
+			run(runnable, decorator);
+		} else {
+			synchronized (decorator.getDecorationLock()) {
+				run(runnable, decorator);
+			}
+		}
+	}
+
+	private void run(LightweightRunnable runnable, LightweightDecoratorDefinition decorator) {
+		long start = System.nanoTime();
 		SafeRunner.run(runnable);
+		decorator.recordDecoration(System.nanoTime() - start);
+	}
+
+	/**
+	 * Return the number of elements decorated by the decorator with the id.
+	 *
+	 * @param decoratorId the id of the decorator
+	 * @return the number of elements, or 0 if there is no such decorator
+	 */
+	public long getDecorationCount(String decoratorId) {
+		LightweightDecoratorDefinition definition = getDecoratorDefinition(decoratorId);
+		return definition == null ? 0 : definition.getDecorationCount();
+	}
+
+	/**
+	 * Return the total time spent decorating elements by the decorator with the
+	 * id.
+	 *
+	 * @param decoratorId the id of the decorator
+	 * @return the time in nanoseconds, or 0 if there is no such decorator
+	 */
+	public long getDecorationTime(String decoratorId) {
+		LightweightDecoratorDefinition definition = getDecoratorDefinition(decoratorId);
+		return definition == null ? 0 : definition.getDecorationTime();
+	}
+
+	/**
+	 * Return the longest time spent decorating an element by the decorator with
+	 * the id.
+	 *
+	 * @param decoratorId the id of the decorator
+	 * @return the time in nanoseconds, or 0 if there is no such decorator
+	 */
+	public long getMaxDecorationTime(String decoratorId) {
+		LightweightDecoratorDefinition definition = getDecoratorDefinition(decoratorId);
+		return definition == null ? 0 : definition.getMaxDecorationTime();
 	}
 
 	/**
@@ -122,9 +122,12 @@ public abstract class QuickAccessContents {
 	protected boolean resized = false;
 	private TriggerSequence keySequence;
 	private Job computeProposalsJob;
+	private final QuickAccessIndex index;
 
 	public QuickAccessContents(QuickAccessProvider[] providers) {
 		this.providers = providers;
+		this.index = new QuickAccessIndex(providers);
+		index.schedule();
 	}
 
 	/**
@@ -384,14 +387,14 @@ public abstract class QuickAccessContents {
 				continue;
 			}
 			if (!filter.isEmpty() || isPreviousPickProvider || showAllMatches) {
-				AtomicReference<List<QuickAccessElement>> sortedElementRef = new AtomicReference<>();
+				AtomicReference<QuickAccessElement[]> sortedElementRef = new AtomicReference<>();
 				if (provider.requiresUiAccess()) {
 					UIJob job = new UIJob(
 							NLS.bind(QuickAccessMessages.QuickAccessContents_processingProviderInUI,
 									provider.getName())) {
 						@Override
 						public IStatus runInUIThread(IProgressMonitor monitor) {
-							sortedElementRef.set(Arrays.asList(provider.getElementsSorted(finalFilter, monitor)));
+							sortedElementRef.set(provider.getElementsSorted(finalFilter, monitor));
 							return Status.OK_STATUS;
 						}
 					};
@@ -403,11 +406,18 @@ public abstract class QuickAccessContents {
 						WorkbenchPlugin.log(e);
 					}
 				} else {
-					sortedElementRef.set(Arrays.asList(provider.getElementsSorted(filter, aMonitor)));
+					sortedElementRef.set(provider.getElementsSorted(filter, aMonitor));
 				}
-				List<QuickAccessElement> sortedElements = sortedElementRef.get();
-				if (sortedElements == null) {
+				QuickAccessElement[] sortedElementArray = sortedElementRef.get();
+				List<QuickAccessElement> sortedElements = null;
+				if (sortedElementArray == null) {
 					sortedElements = Collections.emptyList();
+				} else if (!filter.isEmpty() && !isPreviousPickProvider) {
+					// only keep the indexed elements which match the filter
+					sortedElements = index.getMatchingElements(provider, sortedElementArray, filter, aMonitor);
+				}
+				if (sortedElements == null) {
+					sortedElements = Arrays.asList(sortedElementArray);
 				}
 				if (!(provider instanceof PreviousPicksProvider)) {
 					for (QuickAccessElement element : sortedElements) {
@@ -535,26 +545,17 @@ public abstract class QuickAccessContents {
 	 * seems to be a more expensive operation
 	 */
 	private static List<QuickAccessElement> putPrefixMatchFirst(List<QuickAccessElement> elements, String prefix) {
-		List<QuickAccessElement> res = new ArrayList<>(elements);
-		List<Integer> matchingIndexes = new ArrayList<>();
-		for (int i = 0; i < elements.size(); i++) {
-			if (elements.get(i).getLabel().toLowerCase().startsWith(prefix.toLowerCase())) {
-				matchingIndexes.add(Integer.valueOf(i));
-			}
-		}
-		int currentMatchIndex = 0;
-		int currentNonMatchIndex = matchingIndexes.size();
-		for (int i = 0; i < res.size(); i++) {
-			boolean isMatch = !matchingIndexes.isEmpty() && matchingIndexes.iterator().next().intValue() == i;
-			if (isMatch) {
-				matchingIndexes.remove(0);
-				res.set(currentMatchIndex, elements.get(i));
-				currentMatchIndex++;
+		String lowerPrefix = prefix.toLowerCase();
+		List<QuickAccessElement> res = new ArrayList<>(elements.size());
+		List<QuickAccessElement> nonMatching = new ArrayList<>();
+		for (QuickAccessElement element : elements) {
+			if (element.getLabel().toLowerCase().startsWith(lowerPrefix)) {
+				res.add(element);
 			} else {
-				res.set(currentNonMatchIndex, elements.get(i));
-				currentNonMatchIndex++;
+				nonMatching.add(element);
 			}
 		}
+		res.addAll(nonMatching);
 		return res;
 	}
 
@@ -584,6 +585,7 @@ public abstract class QuickAccessContents {
 	}
 
 	private void doDispose() {
+		index.cancel();
 		if (textLayout != null && !textLayout.isDisposed()) {
 			textLayout.dispose();
 		}
@@ -83,7 +83,9 @@ public class QuickAccessExtensionManager {
 			} };
 		}
 
-		private boolean canDelegate() {
+		// the computer is called while holding the lock of the provider, since the
+		// elements may be requested by several jobs of a session
+		private synchronized boolean canDelegate() {
 			if (bundle != null && bundle.getState() == Bundle.ACTIVE) {
 				if (computer == null) {
 					try {
@@ -119,7 +121,7 @@ public class QuickAccessExtensionManager {
 		}
 
 		@Override
-		public QuickAccessElement[] getElementsSorted(String filter, IProgressMonitor monitor) {
+		public synchronized QuickAccessElement[] getElementsSorted(String filter, IProgressMonitor monitor) {
 			if (canDelegate()) {
 				boolean[] needsRefresh = new boolean[1];
 				SafeRunner.run(() -> needsRefresh[0] = computer.needsRefresh());
@@ -132,7 +134,7 @@ public class QuickAccessExtensionManager {
 		}
 
 		@Override
-		public QuickAccessElement[] getElements() {
+		public synchronized QuickAccessElement[] getElements() {
 			if (canDelegate()) {
 				QuickAccessElement[][] elements = new QuickAccessElement[1][];
 				SafeRunner.run(() -> elements[0] = computer.computeElements());
@@ -142,7 +144,7 @@ public class QuickAccessExtensionManager {
 		}
 
 		@Override
-		public QuickAccessElement[] getElements(String filter, IProgressMonitor monitor) {
+		public synchronized QuickAccessElement[] getElements(String filter, IProgressMonitor monitor) {
 			if (canDelegate()) {
 				if (computer instanceof IQuickAccessComputerExtension) {
 					QuickAccessElement[][] elements = new QuickAccessElement[1][];
@@ -156,7 +158,7 @@ public class QuickAccessExtensionManager {
 		}
 
 		@Override
-		protected void doReset() {
+		protected synchronized void doReset() {
 			if (canDelegate()) {
 				SafeRunner.run(computer::resetState);
 			}
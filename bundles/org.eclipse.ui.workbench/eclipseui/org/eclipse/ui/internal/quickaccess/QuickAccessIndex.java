@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.quickaccess;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.progress.UIJob;
+import org.eclipse.ui.quickaccess.QuickAccessElement;
+
+/**
+ * An index of the elements of the {@link QuickAccessProvider}s of a quick
+ * access session, which holds the labels the {@link QuickAccessMatcher} checks
+ * in lower and camel case, computed in advance.
+ * <p>
+ * The index of a provider also remembers the elements which matched the
+ * previous filters. When the filter is extended, only the elements which
+ * matched a prefix of the filter are checked again. The filters which aren't a
+ * prefix of the new filter are forgotten, so that removing characters from the
+ * filter reuses the matches of the shorter filter.
+ * </p>
+ *
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public final class QuickAccessIndex {
+
+	/**
+	 * Characters of a filter whose pattern may match elements that a shorter
+	 * filter doesn't match.
+	 */
+	private static final String NOT_INCREMENTAL_CHARS = "\\^$.|+()[]{}"; //$NON-NLS-1$
+
+	private static final class Matches {
+		final String filter;
+
+		final int[] indices;
+
+		Matches(String filter, int[] indices) {
+			this.filter = filter;
+			this.indices = indices;
+		}
+	}
+
+	private static final class ProviderIndex {
+		final QuickAccessElement[] elements;
+		final String[] matchLabels;
+		final String[] lowerMatchLabels;
+		final String[] lowerCombinedMatchLabels;
+		final String[] camelCases;
+		final String[] combinedCamelCases;
+
+		/** The matches of the previous filters, each one a prefix of the next. */
+		final Deque<Matches> previousMatches = new ArrayDeque<>();
+
+		ProviderIndex(QuickAccessProvider provider, QuickAccessElement[] elements) {
+			this.elements = elements;
+			int length = elements.length;
+			matchLabels = new String[length];
+			lowerMatchLabels = new String[length];
+			lowerCombinedMatchLabels = new String[length];
+			camelCases = new String[length];
+			combinedCamelCases = new String[length];
+			String providerName = provider.getName();
+			for (int i = 0; i < length; i++) {
+				QuickAccessElement element = elements[i];
+				String matchLabel = element.getMatchLabel();
+				String label = element.getLabel();
+				matchLabels[i] = matchLabel;
+				lowerMatchLabels[i] = matchLabel.toLowerCase();
+				lowerCombinedMatchLabels[i] = (providerName + " " + matchLabel).toLowerCase(); //$NON-NLS-1$
+				camelCases[i] = CamelUtil.getCamelCase(label);
+				combinedCamelCases[i] = CamelUtil.getCamelCase(providerName + " " + label); //$NON-NLS-1$
+			}
+		}
+
+		synchronized List<QuickAccessElement> getMatchingElements(String filter, IProgressMonitor monitor) {
+			boolean incremental = isIncremental(filter);
+			while (!previousMatches.isEmpty()
+					&& (!incremental || !filter.startsWith(previousMatches.peek().filter))) {
+				previousMatches.pop();
+			}
+			Matches previous = previousMatches.peek();
+			if (previous != null && previous.filter.equals(filter)) {
+				return toElements(previous.indices);
+			}
+			int candidateCount = previous == null ? elements.length : previous.indices.length;
+			int[] indices = new int[candidateCount];
+			int count = 0;
+			Pattern pattern = QuickAccessMatcher.createPattern(filter);
+			for (int c = 0; c < candidateCount; c++) {
+				if ((c & 0xff) == 0 && monitor.isCanceled()) {
+					// the results of a canceled computation are not used
+					return List.of();
+				}
+				int i = previous == null ? c : previous.indices[c];
+				if (QuickAccessMatcher.matches(filter, pattern, matchLabels[i], lowerMatchLabels[i],
+						lowerCombinedMatchLabels[i], camelCases[i], combinedCamelCases[i])) {
+					indices[count++] = i;
+				}
+			}
+			indices = Arrays.copyOf(indices, count);
+			if (incremental) {
+				previousMatches.push(new Matches(filter, indices));
+			}
+			return toElements(indices);
+		}
+
+		private List<QuickAccessElement> toElements(int[] indices) {
+			return new AbstractList<>() {
+				@Override
+				public QuickAccessElement get(int index) {
+					return elements[indices[index]];
+				}
+
+				@Override
+				public int size() {
+					return indices.length;
+				}
+			};
+		}
+	}
+
+	private final QuickAccessProvider[] providers;
+
+	private final Map<QuickAccessProvider, ProviderIndex> indexes = new HashMap<>();
+
+	private Job indexJob;
+
+	/**
+	 * @param providers the providers of the quick access session
+	 */
+	public QuickAccessIndex(QuickAccessProvider[] providers) {
+		this.providers = providers;
+	}
+
+	/**
+	 * Indexes the elements of the providers in the background. The elements of
+	 * the providers which require UI access are read in the UI thread and indexed
+	 * in the background. The elements of a provider can't be filtered with the
+	 * index until they are indexed.
+	 */
+	public synchronized void schedule() {
+		if (indexJob != null) {
+			return;
+		}
+		indexJob = Job.create(QuickAccessMessages.QuickAccessIndex_jobName, monitor -> {
+			SubMonitor subMonitor = SubMonitor.convert(monitor, providers.length);
+			for (QuickAccessProvider provider : providers) {
+				if (subMonitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				if (provider instanceof PreviousPicksProvider) {
+					// previous picks change during the session
+					subMonitor.worked(1);
+					continue;
+				}
+				QuickAccessElement[] elements = getElementsSorted(provider, subMonitor.split(1));
+				if (elements != null) {
+					ProviderIndex index = new ProviderIndex(provider, elements);
+					synchronized (indexes) {
+						indexes.put(provider, index);
+					}
+				}
+			}
+			return Status.OK_STATUS;
+		});
+		indexJob.setSystem(true);
+		indexJob.setPriority(Job.SHORT);
+		indexJob.schedule();
+	}
+
+	private static QuickAccessElement[] getElementsSorted(QuickAccessProvider provider, IProgressMonitor monitor) {
+		if (!provider.requiresUiAccess()) {
+			return provider.getElementsSorted(null, monitor);
+		}
+		AtomicReference<QuickAccessElement[]> elements = new AtomicReference<>();
+		UIJob job = new UIJob(
+				NLS.bind(QuickAccessMessages.QuickAccessContents_processingProviderInUI, provider.getName())) {
+			@Override
+			public IStatus runInUIThread(IProgressMonitor uiMonitor) {
+				elements.set(provider.getElementsSorted(null, uiMonitor));
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+		try {
+			job.join(0, monitor);
+		} catch (Exception e) {
+			WorkbenchPlugin.log(e);
+		}
+		return elements.get();
+	}
+
+	/**
+	 * Waits until the elements of the providers are indexed.
+	 *
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public void join() throws InterruptedException {
+		Job job;
+		synchronized (this) {
+			job = indexJob;
+		}
+		if (job != null) {
+			job.join();
+		}
+	}
+
+	/**
+	 * Cancels the indexing.
+	 */
+	public synchronized void cancel() {
+		if (indexJob != null) {
+			indexJob.cancel();
+		}
+	}
+
+	/**
+	 * Returns the elements which match the filter, in the order of the elements
+	 * of the provider.
+	 *
+	 * @param provider the provider
+	 * @param elements the elements returned by
+	 *                 {@link QuickAccessProvider#getElementsSorted(String, IProgressMonitor)}
+	 *                 for the filter
+	 * @param filter   filter for matching, not empty
+	 * @param monitor  the progress monitor, may be <code>null</code>
+	 * @return the elements matching the filter, or <code>null</code> if the
+	 *         elements are not indexed yet, or are not the indexed elements of
+	 *         the provider because it has elements specific to the filter
+	 */
+	public List<QuickAccessElement> getMatchingElements(QuickAccessProvider provider, QuickAccessElement[] elements,
+			String filter, IProgressMonitor monitor) {
+		ProviderIndex index;
+		synchronized (indexes) {
+			index = indexes.get(provider);
+		}
+		if (index == null || index.elements != elements) {
+			return null;
+		}
+		if (monitor == null) {
+			monitor = new NullProgressMonitor();
+		}
+		return index.getMatchingElements(filter, monitor);
+	}
+
+	/**
+	 * Returns whether the elements matching the filter are all among the elements
+	 * matching each prefix of the filter.
+	 */
+	private static boolean isIncremental(String filter) {
+		for (int i = 0; i < filter.length(); i++) {
+			if (NOT_INCREMENTAL_CHARS.indexOf(filter.charAt(i)) != -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -53,14 +53,18 @@ public final class QuickAccessMatcher {
 	private Pattern getWhitespacesPattern(String filter) {
 		if (wsPattern == null || !filter.equals(wsFilter)) {
 			wsFilter = filter;
-			String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
-					.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
-			sFilter = String.format(".*(%s).*", sFilter.replaceAll(ANY_WS, ").*(")); //$NON-NLS-1$//$NON-NLS-2$
-			wsPattern = safeCompile(sFilter);
+			wsPattern = createWhitespacesPattern(filter);
 		}
 		return wsPattern;
 	}
 
+	private static Pattern createWhitespacesPattern(String filter) {
+		String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
+				.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
+		sFilter = String.format(".*(%s).*", sFilter.replaceAll(ANY_WS, ").*(")); //$NON-NLS-1$//$NON-NLS-2$
+		return safeCompile(sFilter);
+	}
+
 	// wildcard filter and patterns
 	private String wcFilter;
 	private Pattern wcPattern;
@@ -74,34 +78,76 @@ public final class QuickAccessMatcher {
 		filter = filter.replaceAll("\\*+", "*"); //$NON-NLS-1$ //$NON-NLS-2$
 		if (wcPattern == null || !filter.equals(wcFilter)) {
 			wcFilter = filter;
-			String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
-					.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
-			// replace '*' and '?' with their matchers ").*(" and ").?("
-			StringBuilder sb = new StringBuilder();
-			for (int i = 0; i < sFilter.length(); i++) {
-				char c = sFilter.charAt(i);
-				if (c == '*') {
-					sb.append(").").append(c).append("("); //$NON-NLS-1$ //$NON-NLS-2$
-				} else if (c == '?') {
-					int n = 1;
-					for (; (i + 1) < sFilter.length(); i++) {
-						if (sFilter.charAt(i + 1) != '?') {
-							break;
-						}
-						n++;
+			wcPattern = createWildcardsPattern(filter);
+		}
+		return wcPattern;
+	}
+
+	private static Pattern createWildcardsPattern(String filter) {
+		String sFilter = filter.replaceFirst(WS_WILD_START, EMPTY_STR).replaceFirst(WS_WILD_END, EMPTY_STR)
+				.replaceAll(PAR_START, ONE_CHAR).replaceAll(PAR_END, ONE_CHAR);
+		// replace '*' and '?' with their matchers ").*(" and ").?("
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < sFilter.length(); i++) {
+			char c = sFilter.charAt(i);
+			if (c == '*') {
+				sb.append(").").append(c).append("("); //$NON-NLS-1$ //$NON-NLS-2$
+			} else if (c == '?') {
+				int n = 1;
+				for (; (i + 1) < sFilter.length(); i++) {
+					if (sFilter.charAt(i + 1) != '?') {
+						break;
 					}
-					sb.append(").").append(n == 1 ? '?' : String.format("{0,%d}", n)).append("("); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-				} else {
-					sb.append(c);
+					n++;
 				}
+				sb.append(").").append(n == 1 ? '?' : String.format("{0,%d}", n)).append("("); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			} else {
+				sb.append(c);
 			}
-			sFilter = String.format(".*(%s).*", sb.toString()); //$NON-NLS-1$
-			// remove empty capturing groups
-			sFilter = sFilter.replace("()", EMPTY_STR); //$NON-NLS-1$
-			//
-			wcPattern = safeCompile(sFilter);
 		}
-		return wcPattern;
+		sFilter = String.format(".*(%s).*", sb.toString()); //$NON-NLS-1$
+		// remove empty capturing groups
+		sFilter = sFilter.replace("()", EMPTY_STR); //$NON-NLS-1$
+		//
+		return safeCompile(sFilter);
+	}
+
+	/**
+	 * Creates the pattern {@link #match(String, QuickAccessProvider)} checks the
+	 * match label against when it doesn't contain the filter.
+	 *
+	 * @param filter filter for matching
+	 * @return the pattern
+	 */
+	static Pattern createPattern(String filter) {
+		if (filter.contains("*") || filter.contains("?")) { //$NON-NLS-1$ //$NON-NLS-2$
+			return createWildcardsPattern(filter.replaceAll("\\*+", "*")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return createWhitespacesPattern(filter);
+	}
+
+	/**
+	 * Returns whether {@link #match(String, QuickAccessProvider)} returns an entry
+	 * for an element, from labels of the element computed in advance.
+	 *
+	 * @param filter                  filter for matching
+	 * @param pattern                 the pattern created for the filter by
+	 *                                {@link #createPattern(String)}
+	 * @param matchLabel              the match label of the element
+	 * @param lowerMatchLabel         the match label in lower case
+	 * @param lowerCombinedMatchLabel the name of the provider, a space and the
+	 *                                match label, in lower case
+	 * @param camelCase               the camel case of the label
+	 * @param combinedCamelCase       the camel case of the name of the provider, a
+	 *                                space and the label
+	 * @return <code>true</code> if the element matches the filter
+	 */
+	static boolean matches(String filter, Pattern pattern, String matchLabel, String lowerMatchLabel,
+			String lowerCombinedMatchLabel, String camelCase, String combinedCamelCase) {
+		// same checks in the same order as match()
+		return lowerMatchLabel.contains(filter) || pattern.matcher(matchLabel).matches()
+				|| lowerCombinedMatchLabel.contains(filter) || camelCase.contains(filter)
+				|| combinedCamelCase.contains(filter);
 	}
 
 	/**
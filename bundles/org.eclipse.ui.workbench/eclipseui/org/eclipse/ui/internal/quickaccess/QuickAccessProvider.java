@@ -29,9 +29,11 @@ import org.eclipse.ui.quickaccess.QuickAccessElement;
 public abstract class QuickAccessProvider {
 
 	/*
-	 * Cached elements that are always returned
+	 * Cached elements that are always returned, only set once sorted. The elements
+	 * may be requested by several jobs of a session, so they are computed while
+	 * holding the lock of the provider.
 	 */
-	private QuickAccessElement[] cacheSortedElements;
+	private volatile QuickAccessElement[] cacheSortedElements;
 
 	/**
 	 * Returns the unique ID of this provider.
@@ -79,26 +81,38 @@ public abstract class QuickAccessProvider {
 	}
 
 	public QuickAccessElement[] getElementsSorted(String filter, IProgressMonitor monitor) {
-		if (cacheSortedElements == null) {
-			cacheSortedElements = getElements();
-			if (cacheSortedElements == null) {
-				cacheSortedElements = new QuickAccessElement[0];
-			}
-			Arrays.sort(cacheSortedElements, Comparator.comparing(QuickAccessElement::getSortLabel));
-		}
+		QuickAccessElement[] sortedElements = getCachedElementsSorted();
 		if (filter == null) {
-			return cacheSortedElements;
+			return sortedElements;
 		}
 		QuickAccessElement[] filterSpecificElements = getElements(filter, monitor);
 		if (filterSpecificElements == null || filterSpecificElements.length == 0) {
-			return cacheSortedElements;
+			return sortedElements;
 		}
 		SortedSet<QuickAccessElement> res = new TreeSet<>(Comparator.comparing(QuickAccessElement::getSortLabel));
-		res.addAll(Arrays.asList(cacheSortedElements));
+		res.addAll(Arrays.asList(sortedElements));
 		res.addAll(Arrays.asList(filterSpecificElements));
 		return res.toArray(new QuickAccessElement[res.size()]);
 	}
 
+	private QuickAccessElement[] getCachedElementsSorted() {
+		QuickAccessElement[] sortedElements = cacheSortedElements;
+		if (sortedElements == null) {
+			synchronized (this) {
+				sortedElements = cacheSortedElements;
+				if (sortedElements == null) {
+					sortedElements = getElements();
+					if (sortedElements == null) {
+						sortedElements = new QuickAccessElement[0];
+					}
+					Arrays.sort(sortedElements, Comparator.comparing(QuickAccessElement::getSortLabel));
+					cacheSortedElements = sortedElements;
+				}
+			}
+		}
+		return sortedElements;
+	}
+
 	/**
 	 * Returns the element for the given ID if available, or null if no matching
 	 * element is available.
@@ -112,8 +126,9 @@ public abstract class QuickAccessProvider {
 		if (id == null) {
 			return null;
 		}
-		if (cacheSortedElements != null) {
-			for (QuickAccessElement element : cacheSortedElements) {
+		QuickAccessElement[] sortedElements = cacheSortedElements;
+		if (sortedElements != null) {
+			for (QuickAccessElement element : sortedElements) {
 				if (id.equals(element.getId())) {
 					return element;
 				}
@@ -127,8 +142,10 @@ public abstract class QuickAccessProvider {
 	 * method will retrigger computation of elements.
 	 */
 	public final void reset() {
-		cacheSortedElements = null;
-		doReset();
+		synchronized (this) {
+			cacheSortedElements = null;
+			doReset();
+		}
 	}
 
 	/**
@@ -480,6 +480,42 @@ public class BindingLookupTest {
 		assertEquals(commandMatches, matches);
 	}
 
+	@Test
+	public void testLookupAfterContextSwitch() {
+		ECommandService cs = workbenchContext.get(ECommandService.class);
+		ParameterizedCommand cmd = cs.createCommand(TEST_ID1, null);
+		ParameterizedCommand cmd2 = cs.createCommand(TEST_ID2, null);
+
+		EBindingService bs = workbenchContext.get(EBindingService.class);
+		TriggerSequence seq = bs.createSequence("CTRL+5 T");
+		TriggerSequence partialMatch = bs.createSequence("CTRL+5");
+		Binding dawBinding = createDefaultBinding(bs, seq, cmd, ID_DIALOG_AND_WINDOW);
+		bs.activateBinding(dawBinding);
+		assertEquals(cmd, bs.getPerfectMatch(seq).getParameterizedCommand());
+		assertTrue(bs.isPartialMatch(partialMatch));
+		assertFalse(bs.isPartialMatch(seq));
+
+		EContextService es = workbenchContext.get(EContextService.class);
+		es.activateContext(ID_WINDOW);
+		assertEquals(cmd, bs.getPerfectMatch(seq).getParameterizedCommand());
+
+		// the binding of the more specific context wins
+		Binding windowBinding = createDefaultBinding(bs, seq, cmd2, ID_WINDOW);
+		bs.activateBinding(windowBinding);
+		assertEquals(cmd2, bs.getPerfectMatch(seq).getParameterizedCommand());
+
+		es.deactivateContext(ID_WINDOW);
+		assertEquals(cmd, bs.getPerfectMatch(seq).getParameterizedCommand());
+
+		bs.deactivateBinding(dawBinding);
+		assertNull(bs.getPerfectMatch(seq));
+		assertFalse(bs.isPartialMatch(partialMatch));
+
+		es.activateContext(ID_WINDOW);
+		assertEquals(cmd2, bs.getPerfectMatch(seq).getParameterizedCommand());
+		assertTrue(bs.isPartialMatch(partialMatch));
+	}
+
 	private Binding createDefaultBinding(EBindingService bs,
 			TriggerSequence sequence, ParameterizedCommand command,
 			String contextId) {
@@ -16,17 +16,25 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.tests.css.core;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.eclipse.e4.ui.css.core.dom.properties.ICSSPropertyHandler;
 import org.eclipse.e4.ui.css.core.impl.engine.CSSEngineImpl;
 import org.eclipse.e4.ui.tests.css.core.util.TestElement;
 import org.junit.jupiter.api.Test;
 import org.w3c.css.sac.Selector;
 import org.w3c.css.sac.SelectorList;
 import org.w3c.dom.Element;
+import org.w3c.dom.css.CSSValue;
 
 class CSSEngineTest {
 
@@ -80,6 +88,68 @@ class CSSEngineTest {
 		assertFalse(engine.matches(selector, "", null));
 	}
 
+	@Test
+	void testMarkDirtyAppliesChangedProperties() throws Exception {
+		List<String> applied = new ArrayList<>();
+		TestCSSEngine engine = new TestCSSEngine() {
+			@Override
+			public ICSSPropertyHandler applyCSSProperty(Object element, String property, CSSValue value,
+					String pseudo) {
+				applied.add(property);
+				return null;
+			}
+		};
+		Map<Object, TestElement> elements = new HashMap<>();
+		engine.setElementProvider(
+				(widget, aEngine) -> elements.computeIfAbsent(widget, w -> new TestElement(w, "Button", aEngine)));
+		engine.parseStyleSheet(new StringReader("Button { color: red; font-size: 9px; }\n"
+				+ "Button.warning { background-color: yellow; }"));
+		Object widget = new Object();
+
+		engine.markDirty(widget, false);
+		assertEquals(1, engine.getRestyledElementCount());
+		assertEquals(2, engine.getRestyleAppliedPropertyCount());
+
+		applied.clear();
+		elements.get(widget).setClass("warning");
+		engine.markDirty(widget, false);
+		assertEquals(List.of("background-color"), applied);
+		assertEquals(1, engine.getRestyleAppliedPropertyCount());
+
+		applied.clear();
+		engine.markDirty(widget, false);
+		assertEquals(1, engine.getRestyledElementCount());
+		assertEquals(0, engine.getRestyleAppliedPropertyCount());
+		assertTrue(applied.isEmpty());
+	}
+
+	@Test
+	void testMarkDirtyResetsRemovedProperties() throws Exception {
+		Map<String, String> applied = new HashMap<>();
+		TestCSSEngine engine = new TestCSSEngine() {
+			@Override
+			public ICSSPropertyHandler applyCSSProperty(Object element, String property, CSSValue value,
+					String pseudo) {
+				applied.put(property, value.getCssText());
+				return null;
+			}
+		};
+		engine.setElementProvider((widget, aEngine) -> new TestElement(widget, "Button", aEngine));
+		engine.parseStyleSheet(new StringReader("Button { color: red; }\n"
+				+ "Button.dark { background-color: black; }"));
+		Object widget = new Object();
+		TestElement element = (TestElement) engine.getElement(widget);
+		element.setDefaultStyleDeclaration(null, engine.parseStyleDeclaration("background-color: white;"));
+		element.setClass("dark");
+
+		engine.applyStyles(widget, false);
+		assertEquals("black", applied.get("background-color"));
+
+		applied.clear();
+		element.setClass(null);
+		engine.markDirty(widget, false);
+		assertEquals(Map.of("background-color", "white"), applied);
+	}
 
 	private TestCSSEngine engineWhichProducesElementsWithAttributeA() {
 		TestCSSEngine engine = new TestCSSEngine();
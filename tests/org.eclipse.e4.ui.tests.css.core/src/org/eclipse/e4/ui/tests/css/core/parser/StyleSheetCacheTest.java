@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.tests.css.core.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.e4.ui.css.core.impl.engine.AbstractCSSEngine;
+import org.eclipse.e4.ui.css.core.impl.engine.StyleSheetCache;
+import org.eclipse.e4.ui.tests.css.core.util.ParserTestUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.css.sac.InputSource;
+import org.w3c.dom.css.CSSRuleList;
+import org.w3c.dom.css.CSSStyleSheet;
+
+public class StyleSheetCacheTest {
+
+	private static final String IMPORTED_CSS = "Label { color: #ff0000; }\n";
+
+	private static final String ROOT_CSS = """
+			@import url('imported.css');
+			Button.warning, Shell > Composite#main:selected {
+				font-size: 9px;
+				font-family: Arial, sans-serif;
+				background-color: rgb(10, 20, 30) #102030 100%;
+			}
+			""";
+
+	@TempDir
+	File folder;
+
+	@Test
+	void testLoadUnchangedStyleSheet() throws Exception {
+		writeFile("imported.css", IMPORTED_CSS);
+		writeFile("root.css", ROOT_CSS);
+		StyleSheetCache cache = new StyleSheetCache(new File(folder, "cache"));
+
+		CSSStyleSheet parsed = parseStyleSheet(cache, "root.css");
+		assertEquals(1, cache.getParsedCount());
+		assertEquals(0, cache.getLoadedCount());
+
+		CSSStyleSheet loaded = parseStyleSheet(cache, "root.css");
+		assertEquals(1, cache.getParsedCount());
+		assertEquals(1, cache.getLoadedCount());
+		assertEquals(getCssText(parsed), getCssText(loaded));
+	}
+
+	@Test
+	void testParseChangedImport() throws Exception {
+		writeFile("imported.css", IMPORTED_CSS);
+		writeFile("root.css", ROOT_CSS);
+		StyleSheetCache cache = new StyleSheetCache(new File(folder, "cache"));
+		parseStyleSheet(cache, "root.css");
+
+		writeFile("imported.css", "Label { color: #00ff00; }\n");
+		CSSStyleSheet parsed = parseStyleSheet(cache, "root.css");
+		assertEquals(2, cache.getParsedCount());
+		assertEquals(0, cache.getLoadedCount());
+		assertTrue(getCssText(parsed).contains("rgb(0, 255, 0)"));
+	}
+
+	private CSSStyleSheet parseStyleSheet(StyleSheetCache cache, String name) throws IOException {
+		AbstractCSSEngine engine = (AbstractCSSEngine) ParserTestUtil.createEngine();
+		engine.setStyleSheetCache(cache);
+		try (InputStream stream = new FileInputStream(new File(folder, name))) {
+			InputSource source = new InputSource();
+			// we need a file URL so that the import can be resolved
+			source.setURI("file:///" + folder.getPath() + "/" + name);
+			source.setByteStream(stream);
+			return (CSSStyleSheet) engine.parseStyleSheet(source);
+		}
+	}
+
+	private void writeFile(String name, String css) throws IOException {
+		try (FileWriter fileWriter = new FileWriter(new File(folder, name))) {
+			fileWriter.write(css);
+		}
+	}
+
+	private static String getCssText(CSSStyleSheet styleSheet) {
+		StringBuilder text = new StringBuilder();
+		CSSRuleList rules = styleSheet.getCssRules();
+		for (int i = 0; i < rules.getLength(); i++) {
+			text.append(rules.item(i).getCssText()).append('\n');
+		}
+		return text.toString();
+	}
+}
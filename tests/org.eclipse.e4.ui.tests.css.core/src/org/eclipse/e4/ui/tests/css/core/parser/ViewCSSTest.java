@@ -123,6 +123,46 @@ public class ViewCSSTest {
 		assertEquals("color: blue;", buttonStyle.getCssText());
 	}
 
+	@Test
+	void testMatchedRulesFollowClassChanges() throws Exception {
+		String css = """
+			Button { color: black; }
+			.dark Button { color: white; }
+			#special.big { font-weight: bold; }
+			""";
+		ViewCSS viewCSS = createViewCss(css);
+
+		final TestElement shell = new TestElement("Shell", engine);
+		final TestElement button = new TestElement("Button", shell, engine);
+		assertEquals("color: black;", viewCSS.getComputedStyle(button, null).getCssText());
+
+		// a class of an ancestor changes
+		shell.setClass("dark");
+		assertEquals("color: white;", viewCSS.getComputedStyle(button, null).getCssText());
+
+		shell.setClass(null);
+		assertEquals("color: black;", viewCSS.getComputedStyle(button, null).getCssText());
+
+		// the id and the class of the element change
+		button.setId("special");
+		assertEquals(1, viewCSS.getComputedStyle(button, null).getLength());
+		button.setClass("small big");
+		assertEquals(2, viewCSS.getComputedStyle(button, null).getLength());
+	}
+
+	@Test
+	void testMatchedRulesFollowPseudoClassChanges() throws Exception {
+		String css = "Button:selected { color: red; }\n" + "Button { color: blue; }\n";
+		ViewCSS viewCSS = createViewCss(css);
+
+		final TestElement button = new TestElement("Button", engine);
+		assertEquals("color: blue;", viewCSS.getComputedStyle(button, "selected").getCssText());
+
+		button.addStaticPseudoInstance("selected");
+		assertEquals("color: red;", viewCSS.getComputedStyle(button, "selected").getCssText());
+		assertEquals("color: blue;", viewCSS.getComputedStyle(button, null).getCssText());
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	void testRuleCaching() throws Exception {
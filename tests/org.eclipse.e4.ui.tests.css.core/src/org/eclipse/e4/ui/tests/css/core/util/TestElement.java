@@ -39,7 +39,11 @@ public class TestElement extends ElementAdapter {
 	private List<Node> children = null;
 
 	public TestElement(String type, CSSEngine engine) {
-		super(null, engine);
+		this(null, type, engine);
+	}
+
+	public TestElement(Object nativeWidget, String type, CSSEngine engine) {
+		super(nativeWidget, engine);
 		this.typeName = type;
 	}
 
@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.e4.ui.tests.application;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
+import org.eclipse.e4.ui.internal.workbench.swt.E4Application;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.ui.MUIElement;
+import org.eclipse.e4.ui.model.application.ui.advanced.MArea;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspective;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspectiveStack;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPlaceholder;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartSashContainer;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimBar;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.e4.ui.model.application.ui.menu.MToolBar;
+import org.eclipse.e4.ui.workbench.modeling.EModelService;
+import org.eclipse.e4.ui.workbench.modeling.ElementMatcher;
+import org.eclipse.emf.common.notify.Notifier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the searches answered by the index of the model elements find
+ * the same elements, in the same order, as the walk of the model.
+ */
+public class EModelServiceIndexTest {
+
+	private static final String MODEL_INDEX = "org.eclipse.e4.ui.workbench.modelIndex";
+
+	private IEclipseContext applicationContext;
+	private EModelService modelService;
+	private MApplication app;
+	private MTrimmedWindow window;
+	private MPerspectiveStack perspectiveStack;
+	private MPart sharedPart;
+	private MArea area;
+
+	@Before
+	public void setUp() {
+		System.setProperty(MODEL_INDEX, Boolean.TRUE.toString());
+		applicationContext = E4Application.createDefaultContext();
+		modelService = applicationContext.get(EModelService.class);
+
+		app = modelService.createModelElement(MApplication.class);
+		window = modelService.createModelElement(MTrimmedWindow.class);
+		app.getChildren().add(window);
+
+		sharedPart = createPart("shared", "view");
+		window.getSharedElements().add(sharedPart);
+		area = modelService.createModelElement(MArea.class);
+		area.setElementId("area");
+		MPartStack editorStack = modelService.createModelElement(MPartStack.class);
+		editorStack.getChildren().add(createPart("editor", "editor"));
+		area.getChildren().add(editorStack);
+		window.getSharedElements().add(area);
+
+		perspectiveStack = modelService.createModelElement(MPerspectiveStack.class);
+		window.getChildren().add(perspectiveStack);
+		perspectiveStack.getChildren().add(createPerspective("perspective1"));
+		perspectiveStack.getChildren().add(createPerspective("perspective2"));
+
+		MTrimBar trimBar = modelService.createModelElement(MTrimBar.class);
+		MToolBar toolBar = modelService.createModelElement(MToolBar.class);
+		toolBar.setElementId("shared");
+		trimBar.getChildren().add(toolBar);
+		window.getTrimBars().add(trimBar);
+
+		app.setContext(applicationContext);
+		applicationContext.set(MApplication.class, app);
+		UIEventPublisher publisher = new UIEventPublisher(applicationContext);
+		((Notifier) app).eAdapters().add(publisher);
+		applicationContext.set(UIEventPublisher.class, publisher);
+	}
+
+	@After
+	public void tearDown() {
+		applicationContext.dispose();
+		System.clearProperty(MODEL_INDEX);
+	}
+
+	private MPart createPart(String id, String tag) {
+		MPart part = modelService.createModelElement(MPart.class);
+		part.setElementId(id);
+		part.getTags().add(tag);
+		return part;
+	}
+
+	private MPerspective createPerspective(String id) {
+		MPerspective perspective = modelService.createModelElement(MPerspective.class);
+		perspective.setElementId(id);
+		MPartSashContainer sash = modelService.createModelElement(MPartSashContainer.class);
+		perspective.getChildren().add(sash);
+		MPartStack stack = modelService.createModelElement(MPartStack.class);
+		stack.getChildren().add(createPart(id + ".part", "view"));
+		MPlaceholder sharedPlaceholder = modelService.createModelElement(MPlaceholder.class);
+		sharedPlaceholder.setElementId("shared");
+		sharedPlaceholder.setRef(sharedPart);
+		stack.getChildren().add(sharedPlaceholder);
+		sash.getChildren().add(stack);
+		MPlaceholder areaPlaceholder = modelService.createModelElement(MPlaceholder.class);
+		areaPlaceholder.setElementId("area");
+		areaPlaceholder.setRef(area);
+		sash.getChildren().add(areaPlaceholder);
+		return perspective;
+	}
+
+	private void assertFound(MUIElement searchRoot, String id, Class<?> clazz, String... tags) {
+		List<String> tagsToMatch = tags.length == 0 ? null : Arrays.asList(tags);
+		List<?> walked = modelService.findElements(searchRoot, clazz, EModelService.ANYWHERE,
+				new ElementMatcher(id, clazz, tagsToMatch));
+		List<?> found = modelService.findElements(searchRoot, id, clazz, tagsToMatch);
+		assertEquals(walked, found);
+	}
+
+	private void assertAllFound() {
+		for (MUIElement searchRoot : Arrays.asList(app, window, perspectiveStack.getChildren().get(0), area)) {
+			assertFound(searchRoot, "shared", MUIElement.class);
+			assertFound(searchRoot, "shared", MPart.class);
+			assertFound(searchRoot, "area", null);
+			assertFound(searchRoot, "missing", null);
+			assertFound(searchRoot, null, MPart.class);
+			assertFound(searchRoot, null, MPlaceholder.class);
+			assertFound(searchRoot, null, null, "view");
+			assertFound(searchRoot, null, MPart.class, "editor");
+		}
+	}
+
+	@Test
+	public void testFindElements() {
+		assertAllFound();
+		List<MUIElement> shared = modelService.findElements(app, "shared", MUIElement.class);
+		assertEquals(4, shared.size());
+		// the placeholder is found before the part it references
+		assertTrue(shared.get(0) instanceof MPlaceholder);
+		assertSame(sharedPart, shared.get(1));
+		MPerspective perspective = perspectiveStack.getChildren().get(1);
+		assertSame(perspective, modelService.getPerspectiveFor(modelService.find("shared", perspective)));
+	}
+
+	@Test
+	public void testFindChangedElements() {
+		assertAllFound();
+
+		sharedPart.setElementId("renamed");
+		sharedPart.getTags().add("editor");
+		sharedPart.getTags().remove("view");
+		assertAllFound();
+		assertEquals(1, modelService.findElements(app, "renamed", MPart.class).size());
+
+		MPerspective perspective = perspectiveStack.getChildren().get(0);
+		MPartStack stack = (MPartStack) modelService.find("perspective1.part", app).getParent();
+		MPerspective added = createPerspective("perspective3");
+		perspectiveStack.getChildren().add(0, added);
+		perspectiveStack.getChildren().remove(perspective);
+		window.getChildren().add(0, stack);
+		assertAllFound();
+		assertEquals(0, modelService.findElements(app, "perspective1", null).size());
+		assertSame(stack, modelService.find("perspective1.part", app).getParent());
+
+		for (MPlaceholder placeholder : modelService.findElements(app, "area", MPlaceholder.class)) {
+			placeholder.setRef(null);
+		}
+		assertAllFound();
+		assertEquals(0, modelService.findElements(app, "editor", MPart.class).size());
+	}
+}
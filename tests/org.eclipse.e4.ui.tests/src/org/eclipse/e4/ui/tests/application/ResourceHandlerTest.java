@@ -16,9 +16,11 @@
 package org.eclipse.e4.ui.tests.application;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -54,6 +56,8 @@ import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.util.tracker.ServiceTracker;
 
 public class ResourceHandlerTest {
+	private static final String MODEL_SNAPSHOT = "org.eclipse.e4.ui.workbench.modelSnapshot";
+
 	@SuppressWarnings("rawtypes")
 	private ServiceTracker locationTracker;
 
@@ -78,11 +82,15 @@ public class ResourceHandlerTest {
 	}
 
 	private ResourceHandler createHandler(URI uri) {
+		return createHandler(uri, true);
+	}
+
+	private ResourceHandler createHandler(URI uri, boolean clearPersistedState) {
 		IEclipseContext appContext = E4Application.createDefaultContext();
 		IEclipseContext localContext = appContext.createChild();
 		localContext.set(E4Workbench.INSTANCE_LOCATION, getInstanceLocation());
 		localContext.set(IWorkbench.PERSIST_STATE, Boolean.TRUE);
-		localContext.set(IWorkbench.CLEAR_PERSISTED_STATE, Boolean.TRUE);
+		localContext.set(IWorkbench.CLEAR_PERSISTED_STATE, Boolean.valueOf(clearPersistedState));
 
 		localContext.set(E4Workbench.INITIAL_WORKBENCH_MODEL_URI, uri);
 
@@ -233,4 +241,49 @@ public class ResourceHandlerTest {
 		MApplication unchangedApplication = (MApplication) verifyResource.getContents().get(0);
 		assertEquals(2, unchangedApplication.getChildren().size());
 	}
+
+	@Test
+	public void testModelSnapshot() throws IOException {
+		URI uri = URI.createPlatformPluginURI("org.eclipse.e4.ui.tests/xmi/modelprocessor/base.e4xmi", true);
+		System.setProperty(MODEL_SNAPSHOT, Boolean.TRUE.toString());
+		try {
+			ResourceHandler handler = createHandler(uri);
+			E4XMIResource resource = (E4XMIResource) handler.loadMostRecentModel();
+			assertFalse(handler.isRestoredFromSnapshot());
+			MApplication application = (MApplication) resource.getContents().get(0);
+			MWindow dynamicWindow = MBasicFactory.INSTANCE.createWindow();
+			dynamicWindow.getPersistedState().put(IWorkbench.PERSIST_STATE, "false");
+			application.getChildren().add(dynamicWindow);
+			handler.save();
+			File snapshot = new File(new File(resource.getURI().toFileString()).getParentFile(), "workbench.bin");
+			assertTrue(snapshot.isFile());
+
+			// the fragments are not merged a second time into the restored model
+			ResourceHandler restoringHandler = createHandler(uri, false);
+			E4XMIResource restoredResource = (E4XMIResource) restoringHandler.loadMostRecentModel();
+			assertTrue(restoringHandler.isRestoredFromSnapshot());
+			MApplication restored = (MApplication) restoredResource.getContents().get(0);
+			assertEquals(2, restored.getChildren().size());
+			assertEquals(application.getHandlers().size(), restored.getHandlers().size());
+			assertEquals(application.getChildren().get(0).getChildren().size(),
+					restored.getChildren().get(0).getChildren().size());
+
+			// the identifiers of the elements are restored
+			MWindow window = application.getChildren().get(1);
+			MWindow restoredWindow = restored.getChildren().get(1);
+			assertEquals(window.getElementId(), restoredWindow.getElementId());
+			assertEquals(resource.getID((EObject) window), restoredResource.getID((EObject) restoredWindow));
+
+			// the model is loaded from the XMI file if the snapshot is damaged
+			Files.writeString(snapshot.toPath(), "damaged");
+			restoringHandler = createHandler(uri, false);
+			restoredResource = (E4XMIResource) restoringHandler.loadMostRecentModel();
+			assertFalse(restoringHandler.isRestoredFromSnapshot());
+			restored = (MApplication) restoredResource.getContents().get(0);
+			assertEquals(2, restored.getChildren().size());
+			assertEquals(window.getElementId(), restored.getChildren().get(1).getElementId());
+		} finally {
+			System.clearProperty(MODEL_SNAPSHOT);
+		}
+	}
 }
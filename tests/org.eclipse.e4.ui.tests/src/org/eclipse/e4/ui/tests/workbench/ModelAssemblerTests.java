@@ -76,6 +76,7 @@ public class ModelAssemblerTests {
 	private static final String EXTENSION_POINT_ID = "org.eclipse.e4.workbench.model";
 	private static final String BUNDLE_SYMBOLIC_NAME = "org.eclipse.e4.ui.tests";
 	private static final String APPLICATION_ID = "org.eclipse.e4.ui.tests.modelassembler.app";
+	private static final String PARALLEL_FRAGMENT_LOADING = "org.eclipse.e4.ui.workbench.parallelFragmentLoading";
 	private IEclipseContext appContext;
 	private MApplication application;
 	private E4XMIResourceFactory factory;
@@ -350,6 +351,25 @@ public class ModelAssemblerTests {
 	 */
 	@Test
 	public void testModelProcessingOrder() throws Exception {
+		checkModelProcessingOrder();
+	}
+
+	/**
+	 * Tests the order of the model processing like
+	 * {@link #testModelProcessingOrder()}, with the fragment resources loaded
+	 * in parallel.
+	 */
+	@Test
+	public void testModelProcessingOrder_parallelFragmentLoading() throws Exception {
+		System.setProperty(PARALLEL_FRAGMENT_LOADING, Boolean.TRUE.toString());
+		try {
+			checkModelProcessingOrder();
+		} finally {
+			System.clearProperty(PARALLEL_FRAGMENT_LOADING);
+		}
+	}
+
+	private void checkModelProcessingOrder() throws Exception {
 		/* setup application model */
 		/* this creates a window, containing a part and an area */
 		MTrimmedWindow trimmedWindow = modelService.createModelElement(MTrimmedWindow.class);
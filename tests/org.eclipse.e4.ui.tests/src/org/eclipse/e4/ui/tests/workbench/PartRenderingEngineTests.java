@@ -25,12 +25,17 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeFalse;
 
 import jakarta.inject.Inject;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.e4.core.contexts.ContextInjectionFactory;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.services.statusreporter.StatusReporter;
 import org.eclipse.e4.ui.internal.workbench.swt.IEventLoopAdvisor;
+import org.eclipse.e4.ui.internal.workbench.swt.PartRenderingEngine;
 import org.eclipse.e4.ui.model.application.MApplication;
 import org.eclipse.e4.ui.model.application.descriptor.basic.MPartDescriptor;
 import org.eclipse.e4.ui.model.application.ui.advanced.MArea;
@@ -518,6 +523,67 @@ public class PartRenderingEngineTests {
 		contextRule.spinEventLoop();
 	}
 
+	@Test
+	public void testDeferredRenderingOfHiddenElements() throws Exception {
+		System.setProperty(PartRenderingEngine.DEFER_HIDDEN_RENDERING, "true");
+		try {
+			MWindow window = ems.createModelElement(MWindow.class);
+			application.getChildren().add(window);
+
+			MPartSashContainer sash = ems.createModelElement(MPartSashContainer.class);
+			window.getChildren().add(sash);
+
+			MPart partA = createSampleView("partA");
+			MPart partB = createSampleView("partB");
+			partB.setVisible(false);
+			MPart partC = createSampleView("partC");
+			MPart partD = createSampleView("partD");
+			partD.setVisible(false);
+			sash.getChildren().add(partA);
+			sash.getChildren().add(partB);
+			sash.getChildren().add(partC);
+			sash.getChildren().add(partD);
+
+			contextRule.createAndRunWorkbench(window);
+
+			assertNotNull(partA.getWidget());
+			assertNull(partB.getWidget());
+			assertNotNull(partC.getWidget());
+			assertNull(partD.getWidget());
+
+			// shown for the first time, rendered between its siblings
+			partB.setVisible(true);
+			assertTrue(partB.getWidget() instanceof Control);
+			Control controlA = (Control) partA.getWidget();
+			Control controlB = (Control) partB.getWidget();
+			Control controlC = (Control) partC.getWidget();
+			assertEquals(controlA.getParent(), controlB.getParent());
+			List<Control> children = Arrays.asList(controlA.getParent().getChildren());
+			assertTrue(children.indexOf(controlA) < children.indexOf(controlB));
+			assertTrue(children.indexOf(controlB) < children.indexOf(controlC));
+
+			// removed before it was ever shown
+			sash.getChildren().remove(partD);
+			Field field = PartRenderingEngine.class.getDeclaredField("deferredElements");
+			field.setAccessible(true);
+			Set<?> deferredElements = (Set<?>) field.get(appContext.get(IPresentationEngine.class));
+			assertFalse(deferredElements.contains(partD));
+			partD.setVisible(true);
+			assertNull(partD.getWidget());
+
+			checkLog();
+		} finally {
+			System.clearProperty(PartRenderingEngine.DEFER_HIDDEN_RENDERING);
+		}
+	}
+
+	private MPart createSampleView(String id) {
+		MPart part = ems.createModelElement(MPart.class);
+		part.setElementId(id);
+		part.setContributionURI("bundleclass://org.eclipse.e4.ui.tests/org.eclipse.e4.ui.tests.workbench.SampleView");
+		return part;
+	}
+
 	@Test
 	public void testPart_ToBeRendered() {
 		MWindow window = ems.createModelElement(MWindow.class);
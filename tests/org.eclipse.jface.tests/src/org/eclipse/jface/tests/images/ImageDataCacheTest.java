@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.tests.images;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.jface.internal.ImageDataCache;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ImageDataCacheTest {
+
+	@Rule
+	public TemporaryFolder tempFolder = new TemporaryFolder();
+
+	private static ImageData createDirectImageData() {
+		ImageData data = new ImageData(16, 16, 24, new PaletteData(0xff0000, 0xff00, 0xff));
+		for (int i = 0; i < data.data.length; i++) {
+			data.data[i] = (byte) i;
+		}
+		data.alphaData = new byte[16 * 16];
+		data.alphaData[5] = (byte) 128;
+		return data;
+	}
+
+	private static ImageData createIndexedImageData() {
+		ImageData data = new ImageData(8, 4, 2,
+				new PaletteData(new RGB(0, 0, 0), new RGB(255, 0, 0), new RGB(0, 255, 0), new RGB(1, 2, 3)));
+		data.setPixel(3, 2, 3);
+		data.transparentPixel = 1;
+		return data;
+	}
+
+	private static void assertSameImageData(ImageData expected, ImageData actual) {
+		assertNotNull(actual);
+		assertEquals(expected.width, actual.width);
+		assertEquals(expected.height, actual.height);
+		assertEquals(expected.depth, actual.depth);
+		assertEquals(expected.bytesPerLine, actual.bytesPerLine);
+		assertEquals(expected.transparentPixel, actual.transparentPixel);
+		assertEquals(expected.alpha, actual.alpha);
+		assertEquals(expected.palette.isDirect, actual.palette.isDirect);
+		assertArrayEquals(expected.palette.getRGBs(), actual.palette.getRGBs());
+		assertArrayEquals(expected.data, actual.data);
+		assertArrayEquals(expected.alphaData, actual.alphaData);
+		assertArrayEquals(expected.maskData, actual.maskData);
+	}
+
+	@Test
+	public void testCachedInSession() throws Exception {
+		ImageDataCache cache = new ImageDataCache(tempFolder.getRoot().toPath().resolve("cache"));
+		ImageData direct = createDirectImageData();
+		ImageData indexed = createIndexedImageData();
+		assertSameImageData(direct, cache.get("direct", 1, () -> direct));
+		assertSameImageData(indexed, cache.get("indexed", 1, () -> indexed));
+		assertSameImageData(direct, cache.get("direct", 1, () -> null));
+		assertSameImageData(indexed, cache.get("indexed", 1, () -> null));
+		assertEquals(2, cache.getHits());
+		assertEquals(2, cache.getMisses());
+		cache.close();
+	}
+
+	@Test
+	public void testCachedAcrossSessions() throws Exception {
+		Path file = tempFolder.getRoot().toPath().resolve("cache");
+		ImageDataCache cache = new ImageDataCache(file);
+		ImageData direct = createDirectImageData();
+		cache.put("direct", 42, direct);
+		cache.close();
+
+		cache = new ImageDataCache(file);
+		assertSameImageData(direct, cache.get("direct", 42));
+		assertNull("Modified images must be decoded again", cache.get("direct", 43));
+		assertNull(cache.get("unknown", 42));
+		cache.close();
+	}
+
+	@Test
+	public void testIncompleteEntryIgnored() throws Exception {
+		Path file = tempFolder.getRoot().toPath().resolve("cache");
+		ImageDataCache cache = new ImageDataCache(file);
+		ImageData direct = createDirectImageData();
+		cache.put("direct", 1, direct);
+		cache.close();
+		long size = Files.size(file);
+		// a crash while writing the second entry
+		Files.write(file, new byte[] { 0, 0, 1, 0, 0, 3 }, StandardOpenOption.APPEND);
+
+		cache = new ImageDataCache(file);
+		assertSameImageData(direct, cache.get("direct", 1));
+		assertEquals(size, Files.size(file));
+		ImageData indexed = createIndexedImageData();
+		cache.put("indexed", 1, indexed);
+		cache.close();
+
+		cache = new ImageDataCache(file);
+		assertSameImageData(direct, cache.get("direct", 1));
+		assertSameImageData(indexed, cache.get("indexed", 1));
+		cache.close();
+	}
+
+	@Test
+	public void testCorruptEntryIsMiss() throws Exception {
+		Path file = tempFolder.getRoot().toPath().resolve("cache");
+		ByteBuffer buffer = ByteBuffer.allocate(100);
+		buffer.putInt(0x4a464944).putInt(1); // the header
+		// an entry whose image data is garbage
+		buffer.putInt(2 + 1 + 8 + 40).putShort((short) 1).put("a".getBytes(StandardCharsets.UTF_8)).putLong(1);
+		for (int i = 0; i < 40; i++) {
+			buffer.put((byte) 0xff);
+		}
+		// an entry whose key and stamp exceed its length
+		buffer.putInt(10).putShort((short) 1).put("b".getBytes(StandardCharsets.UTF_8)).putLong(1);
+		Files.write(file, buffer.flip().array());
+
+		ImageDataCache cache = new ImageDataCache(file);
+		assertNull(cache.get("a", 1));
+		assertNull(cache.get("b", 1));
+		ImageData direct = createDirectImageData();
+		assertSameImageData(direct, cache.get("b", 1, () -> direct));
+		assertSameImageData(direct, cache.get("b", 1));
+		cache.close();
+	}
+
+	@Test
+	public void testSupersededEntriesRemoved() throws Exception {
+		Path file = tempFolder.getRoot().toPath().resolve("cache");
+		ImageDataCache cache = new ImageDataCache(file, 64 * 1024);
+		ImageData direct = createDirectImageData();
+		ImageData indexed = createIndexedImageData();
+		cache.put("indexed", 1, indexed);
+		// the image changed in every session
+		for (int stamp = 1; stamp <= 20; stamp++) {
+			cache.put("direct", stamp, direct);
+		}
+		cache.close();
+		long size = Files.size(file);
+
+		cache = new ImageDataCache(file, 64 * 1024);
+		assertTrue("Superseded entries must be removed", Files.size(file) < size / 4);
+		assertSameImageData(indexed, cache.get("indexed", 1));
+		assertSameImageData(direct, cache.get("direct", 20));
+		assertNull(cache.get("direct", 19));
+		cache.put("direct", 21, direct);
+		cache.close();
+
+		cache = new ImageDataCache(file, 64 * 1024);
+		assertSameImageData(indexed, cache.get("indexed", 1));
+		assertSameImageData(direct, cache.get("direct", 21));
+		cache.close();
+	}
+
+	@Test
+	public void testFullCacheStartsOver() throws Exception {
+		Path file = tempFolder.getRoot().toPath().resolve("cache");
+		ImageDataCache cache = new ImageDataCache(file, 16 * 1024);
+		ImageData direct = createDirectImageData();
+		long size = 0;
+		for (int i = 0; size != Files.size(file); i++) {
+			size = Files.size(file);
+			cache.put("direct" + i, 1, direct);
+		}
+		assertTrue(size <= 16 * 1024);
+		assertSameImageData(direct, cache.get("direct0", 1));
+		cache.close();
+
+		cache = new ImageDataCache(file, 16 * 1024);
+		assertNull(cache.get("direct0", 1));
+		assertEquals(8, Files.size(file));
+		cache.put("direct0", 1, direct);
+		assertSameImageData(direct, cache.get("direct0", 1));
+		cache.close();
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.jface.tests.images;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.resource.ImageDataPrefetcher;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.resource.JFaceResources;
+import org.eclipse.jface.resource.LocalResourceManager;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.junit.Test;
+
+public class ImageDataPrefetcherTest {
+
+	private static final String[] ICONS = { "/icons/imagetests/anything.gif", "/icons/imagetests/zoomIn.png",
+			"/icons/imagetests/16x16/zoomIn.png" };
+
+	private static List<ImageDescriptor> createDescriptors() {
+		List<ImageDescriptor> descriptors = new ArrayList<>();
+		for (String icon : ICONS) {
+			descriptors.add(ImageDescriptor.createFromURL(ImageDataPrefetcherTest.class.getResource(icon)));
+		}
+		return descriptors;
+	}
+
+	/**
+	 * Images created while the prefetcher is attached to the resource manager
+	 * must be the same as images created without it.
+	 */
+	@Test
+	public void testPrefetchedImages() {
+		List<ImageDescriptor> descriptors = createDescriptors();
+		LocalResourceManager resources = new LocalResourceManager(JFaceResources.getResources());
+		try (ImageDataPrefetcher prefetcher = ImageDataPrefetcher.prefetch(resources, descriptors)) {
+			// equal descriptors created by someone else use the prefetched data
+			for (ImageDescriptor descriptor : createDescriptors()) {
+				Image image = resources.create(descriptor);
+				assertNotNull(image);
+				ImageData expected = descriptor.getImageData(100);
+				ImageData actual = image.getImageData(100);
+				assertEquals(expected.width, actual.width);
+				assertEquals(expected.height, actual.height);
+			}
+			assertTrue(prefetcher.getUsedCount() <= ICONS.length);
+		} finally {
+			resources.dispose();
+		}
+	}
+
+	@Test
+	public void testImagesAfterClose() {
+		List<ImageDescriptor> descriptors = createDescriptors();
+		LocalResourceManager resources = new LocalResourceManager(JFaceResources.getResources());
+		try {
+			ImageDataPrefetcher prefetcher = ImageDataPrefetcher.prefetch(resources, descriptors);
+			prefetcher.close();
+			for (ImageDescriptor descriptor : descriptors) {
+				assertNotNull(resources.create(descriptor));
+			}
+			assertEquals(0, prefetcher.getUsedCount());
+		} finally {
+			resources.dispose();
+		}
+	}
+
+	/**
+	 * Starting a prefetch for a resource manager closes the prefetcher that was
+	 * attached to it, so that only the new one is used.
+	 */
+	@Test
+	public void testPrefetchClosesPrevious() {
+		List<ImageDescriptor> descriptors = createDescriptors();
+		LocalResourceManager resources = new LocalResourceManager(JFaceResources.getResources());
+		ImageDataPrefetcher first = ImageDataPrefetcher.prefetch(JFaceResources.getResources(), descriptors);
+		try (ImageDataPrefetcher second = ImageDataPrefetcher.prefetch(resources, descriptors)) {
+			for (ImageDescriptor descriptor : descriptors) {
+				assertNotNull(resources.create(descriptor));
+			}
+			assertEquals(0, first.getUsedCount());
+		} finally {
+			first.close();
+			resources.dispose();
+		}
+	}
+}
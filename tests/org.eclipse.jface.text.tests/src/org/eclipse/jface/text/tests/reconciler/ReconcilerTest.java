@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.reconciler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
+import org.eclipse.jface.text.reconciler.Reconciler;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.tests.TestTextViewer;
+
+/**
+ * Tests the {@link Reconciler} running its reconciling strategies in parallel.
+ */
+public class ReconcilerTest {
+
+	private static final String COMMENT= "__comment";
+
+	/**
+	 * Reconciling strategy recording the threads reconciling its partitions.
+	 */
+	private static class RecordingStrategy implements IReconcilingStrategy {
+
+		final List<Thread> fThreads= new CopyOnWriteArrayList<>();
+
+		@Override
+		public void setDocument(IDocument document) {
+		}
+
+		@Override
+		public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
+			reconcile(subRegion);
+		}
+
+		@Override
+		public void reconcile(IRegion partition) {
+			fThreads.add(Thread.currentThread());
+		}
+	}
+
+	private static class TestReconciler extends Reconciler {
+
+		void processNow(DirtyRegion dirtyRegion) {
+			process(dirtyRegion);
+		}
+	}
+
+	private TestReconciler fReconciler;
+	private NullProgressMonitor fProgressMonitor;
+	private Document fDocument;
+
+	@Before
+	public void setUp() {
+		fReconciler= new TestReconciler();
+		// the tests process the document themselves
+		fReconciler.setDelay(Integer.MAX_VALUE);
+		fReconciler.setIsIncrementalReconciler(false);
+		fReconciler.setRunStrategiesInParallel(true);
+		fProgressMonitor= new NullProgressMonitor();
+		fReconciler.setProgressMonitor(fProgressMonitor);
+	}
+
+	@After
+	public void tearDown() {
+		fReconciler.uninstall();
+	}
+
+	private void install() {
+		fDocument= new Document("code /* comment */ code /* comment */ code");
+		FastPartitioner partitioner= new FastPartitioner(createScanner(), new String[] { COMMENT });
+		fDocument.setDocumentPartitioner(partitioner);
+		partitioner.connect(fDocument);
+		TestTextViewer viewer= new TestTextViewer();
+		viewer.setDocument(fDocument);
+		fReconciler.install(viewer);
+	}
+
+	private static RuleBasedPartitionScanner createScanner() {
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		scanner.setPredicateRules(new IPredicateRule[] { new MultiLineRule("/*", "*/", new Token(COMMENT)) });
+		return scanner;
+	}
+
+	@Test
+	public void testStrategiesRunInParallel() {
+		CountDownLatch bothReconciling= new CountDownLatch(2);
+		RecordingStrategy code= new RecordingStrategy() {
+			@Override
+			public void reconcile(IRegion partition) {
+				super.reconcile(partition);
+				awaitOtherStrategy(bothReconciling);
+			}
+		};
+		RecordingStrategy comment= new RecordingStrategy() {
+			@Override
+			public void reconcile(IRegion partition) {
+				super.reconcile(partition);
+				awaitOtherStrategy(bothReconciling);
+			}
+		};
+		fReconciler.setReconcilingStrategy(code, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setReconcilingStrategy(comment, COMMENT);
+		install();
+
+		fReconciler.processNow(null);
+
+		assertEquals(3, code.fThreads.size());
+		assertEquals(2, comment.fThreads.size());
+		// a strategy reconciles all of its partitions in the same thread
+		assertSame(code.fThreads.get(0), code.fThreads.get(2));
+		assertSame(comment.fThreads.get(0), comment.fThreads.get(1));
+		assertNotSame(code.fThreads.get(0), comment.fThreads.get(0));
+	}
+
+	private static void awaitOtherStrategy(CountDownLatch latch) {
+		latch.countDown();
+		try {
+			if (!latch.await(5, TimeUnit.SECONDS))
+				fail("strategies not run in parallel");
+		} catch (InterruptedException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	@Test
+	public void testStaleDocumentNotReconciled() {
+		RecordingStrategy code= new RecordingStrategy();
+		RecordingStrategy comment= new RecordingStrategy();
+		fReconciler.setReconcilingStrategy(code, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setReconcilingStrategy(comment, COMMENT);
+		install();
+
+		fProgressMonitor.setCanceled(true);
+		fReconciler.processNow(null);
+
+		assertEquals(0, code.fThreads.size());
+		assertEquals(0, comment.fThreads.size());
+	}
+
+	@Test
+	public void testDirtyRegionReconciledWhenCanceled() {
+		RecordingStrategy code= new RecordingStrategy();
+		RecordingStrategy comment= new RecordingStrategy();
+		fReconciler.setReconcilingStrategy(code, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setReconcilingStrategy(comment, COMMENT);
+		install();
+
+		fProgressMonitor.setCanceled(true);
+		fReconciler.processNow(new DirtyRegion(0, fDocument.getLength(), DirtyRegion.INSERT, fDocument.get()));
+
+		assertEquals(3, code.fThreads.size());
+		assertEquals(2, comment.fThreads.size());
+	}
+
+	@Test
+	public void testFailingStrategy() {
+		RecordingStrategy code= new RecordingStrategy() {
+			@Override
+			public void reconcile(IRegion partition) {
+				throw new IllegalStateException();
+			}
+		};
+		RecordingStrategy comment= new RecordingStrategy();
+		fReconciler.setReconcilingStrategy(code, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setReconcilingStrategy(comment, COMMENT);
+		install();
+
+		try {
+			fReconciler.processNow(null);
+			fail("failure of the strategy not reported");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		// the other strategy is done when the failure is reported
+		assertEquals(2, comment.fThreads.size());
+	}
+}
@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentPartitioner;
+import org.eclipse.jface.text.IDocumentPartitioningListener;
+import org.eclipse.jface.text.IDocumentPartitioningListenerExtension2;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ISynchronizable;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPartitionTokenScanner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.Token;
+
+/**
+ * Runs the {@link FastPartitionerTest} tests on a partitioner in incremental mode whose
+ * background work never runs, so every query has to complete the partitioning on demand, and
+ * tests the deferred partitioning.
+ */
+public class IncrementalFastPartitionerTest extends FastPartitionerTest {
+
+	private static final String STRING= "string";
+
+	private static class PartitioningListener implements IDocumentPartitioningListener, IDocumentPartitioningListenerExtension2 {
+		final List<IRegion> fChanges= new ArrayList<>();
+
+		@Override
+		public void documentPartitioningChanged(IDocument document) {
+		}
+
+		@Override
+		public void documentPartitioningChanged(DocumentPartitioningChangedEvent event) {
+			fChanges.add(event.getCoverage());
+		}
+	}
+
+	private static class SynchronizedDocument extends Document implements ISynchronizable {
+		private Object fLockObject= new Object();
+
+		SynchronizedDocument(String content) {
+			super(content);
+		}
+
+		@Override
+		public void setLockObject(Object lockObject) {
+			fLockObject= lockObject;
+		}
+
+		@Override
+		public Object getLockObject() {
+			return fLockObject;
+		}
+	}
+
+	private final Queue<Runnable> fQueue= new ArrayDeque<>();
+
+	@Override
+	protected IDocumentPartitioner createPartitioner(IPartitionTokenScanner scanner) {
+		FastPartitioner partitioner= new FastPartitioner(scanner, new String[] { DEFAULT, COMMENT });
+		partitioner.setIncrementalPartitioning(4, runnable -> {
+			// never complete the partitioning in the background
+		});
+		return partitioner;
+	}
+
+	private static IPartitionTokenScanner createScanner() {
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		scanner.setPredicateRules(new IPredicateRule[] {
+				new MultiLineRule("/*", "*/", new Token(COMMENT), (char) 0, true),
+				new MultiLineRule("'", "'", new Token(STRING)) });
+		return scanner;
+	}
+
+	private FastPartitioner connect(IDocument document, boolean incremental) {
+		FastPartitioner partitioner= new FastPartitioner(createScanner(), new String[] { DEFAULT, COMMENT, STRING });
+		if (incremental)
+			partitioner.setIncrementalPartitioning(16, fQueue::add);
+		partitioner.connect(document);
+		document.setDocumentPartitioner(partitioner);
+		return partitioner;
+	}
+
+	private void runQueue() {
+		while (!fQueue.isEmpty())
+			fQueue.poll().run();
+	}
+
+	@Test
+	public void testDeferredPartitioning() throws BadLocationException {
+		String content= "'a' b\n".repeat(200);
+		IDocument expected= new Document(content);
+		IDocument actual= new Document(content);
+		FastPartitioner regular= connect(expected, false);
+		FastPartitioner incremental= connect(actual, true);
+		PartitioningListener listener= new PartitioningListener();
+		actual.addDocumentPartitioningListener(listener);
+		assertTrue(incremental.isIncrementalPartitioning());
+		// the initial partitioning is deferred as well
+		runQueue();
+		assertEquals(1, listener.fChanges.size());
+		listener.fChanges.clear();
+
+		// an additional quote changes all following partitions, but only the region up to the
+		// checkpoint is repartitioned with the change
+		expected.replace(0, 0, "'");
+		actual.replace(0, 0, "'");
+		assertEquals(1, listener.fChanges.size());
+		IRegion immediate= listener.fChanges.get(0);
+		assertTrue(immediate.getOffset() + immediate.getLength() < actual.getLength() / 2);
+		assertFalse(fQueue.isEmpty());
+
+		// queries see the complete partitioning
+		int offset= actual.getLength() - 3;
+		assertEquals(toString(new ITypedRegion[] { regular.getPartition(offset) }), toString(new ITypedRegion[] { incremental.getPartition(offset) }));
+
+		runQueue();
+		assertEquals(2, listener.fChanges.size());
+		IRegion deferred= listener.fChanges.get(1);
+		assertTrue(deferred.getOffset() + deferred.getLength() > immediate.getOffset() + immediate.getLength());
+		assertEquals(toString(regular.computePartitioning(0, expected.getLength())), toString(incremental.computePartitioning(0, actual.getLength())));
+	}
+
+	@Test
+	public void testSynchronizedDocument() throws Exception {
+		String content= "'a' b\n".repeat(200);
+		IDocument expected= new Document(content);
+		SynchronizedDocument actual= new SynchronizedDocument(content);
+		FastPartitioner regular= connect(expected, false);
+		FastPartitioner incremental= connect(actual, true);
+		runQueue();
+
+		// the rest of the partitioning is passed to the executor, not done in a background job
+		expected.replace(0, 0, "'");
+		actual.replace(0, 0, "'");
+		assertFalse(fQueue.isEmpty());
+
+		// queries wait for the lock, both before and behind the checkpoint
+		assertEquals(toString(new ITypedRegion[] { regular.getPartition(1) }), toString(new ITypedRegion[] { getPartitionWhileLocked(incremental, actual, 1) }));
+		int offset= actual.getLength() - 3;
+		assertEquals(toString(new ITypedRegion[] { regular.getPartition(offset) }), toString(new ITypedRegion[] { getPartitionWhileLocked(incremental, actual, offset) }));
+
+		runQueue();
+		assertEquals(toString(regular.computePartitioning(0, expected.getLength())), toString(incremental.computePartitioning(0, actual.getLength())));
+	}
+
+	private static ITypedRegion getPartitionWhileLocked(FastPartitioner partitioner, ISynchronizable document, int offset) throws InterruptedException {
+		AtomicReference<ITypedRegion> partition= new AtomicReference<>();
+		Thread query= new Thread(() -> partition.set(partitioner.getPartition(offset)));
+		synchronized (document.getLockObject()) {
+			query.start();
+			query.join(200);
+			assertTrue(query.isAlive());
+			assertNull(partition.get());
+		}
+		query.join();
+		return partition.get();
+	}
+
+	@Test
+	public void testSameResultsAsRegularPartitioning() throws BadLocationException {
+		String[] fragments= { "/*", "*/", "'", "x", "\n", "code ", " " };
+		Random random= new Random(4711);
+		for (int run= 0; run < 50; run++) {
+			StringBuilder content= new StringBuilder();
+			for (int i= random.nextInt(400); i > 0; i--)
+				content.append(fragments[random.nextInt(fragments.length)]);
+			IDocument expected= new Document(content.toString());
+			IDocument actual= new Document(content.toString());
+			FastPartitioner regular= connect(expected, false);
+			FastPartitioner incremental= connect(actual, true);
+
+			for (int step= 0; step < 50; step++) {
+				int offset= random.nextInt(expected.getLength() + 1);
+				int length= random.nextInt(Math.min(expected.getLength() - offset, 10) + 1);
+				String text= fragments[random.nextInt(fragments.length)];
+				expected.replace(offset, length, text);
+				actual.replace(offset, length, text);
+
+				int queryOffset= random.nextInt(expected.getLength() + 1);
+				int queryLength= random.nextInt(expected.getLength() - queryOffset + 1);
+				assertEquals(toString(regular.computePartitioning(queryOffset, queryLength)), toString(incremental.computePartitioning(queryOffset, queryLength)));
+				if (random.nextInt(4) == 0)
+					runQueue();
+			}
+			runQueue();
+			assertEquals(toString(regular.computePartitioning(0, expected.getLength())), toString(incremental.computePartitioning(0, actual.getLength())));
+		}
+	}
+
+	private static String toString(ITypedRegion[] regions) {
+		return Arrays.stream(regions).map(r -> r.getType() + '[' + r.getOffset() + ',' + r.getLength() + ']').toList().toString();
+	}
+}
@@ -17,6 +17,8 @@ import static org.junit.Assert.assertFalse;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -30,6 +32,7 @@ import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 
 import org.eclipse.search.internal.core.text.FileCharSequenceProvider;
+import org.eclipse.search.internal.core.text.MappedFileCharSequence;
 import org.eclipse.search.tests.ResourceHelper;
 
 public class FileCharSequenceTests {
@@ -75,6 +78,47 @@ public class FileCharSequenceTests {
 		testForEncoding(buf, StandardCharsets.UTF_16.name());
 	}
 
+	@Test
+	public void testMappedFileCharSequence() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < 15000; i++) {
+			buf.append(TEST_CONTENT);
+		}
+		buf.append("\uD834\uDD1E"); // supplementary character at the end
+		testForEncoding(buf, StandardCharsets.UTF_8.name());
+	}
+
+	@Test
+	public void testMappedLiteralFinder() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < 15000; i++) {
+			buf.append(TEST_CONTENT);
+		}
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file1= ResourceHelper.createFile(folder, "file1", buf.toString(), StandardCharsets.UTF_8.name());
+
+		FileCharSequenceProvider provider= new FileCharSequenceProvider();
+		CharSequence cs= provider.newCharSequence(file1);
+		try {
+			if (!(cs instanceof MappedFileCharSequence mapped)) {
+				return; // not supported on this platform
+			}
+			for (String literal : new String[] { "xyz", "èéù", "$¢ABC" }) {
+				MappedFileCharSequence.LiteralFinder finder= mapped.createLiteralFinder(literal);
+				Matcher matcher= Pattern.compile(Pattern.quote(literal)).matcher(buf);
+				while (matcher.find()) {
+					Assert.assertTrue(literal, finder.find());
+					Assert.assertEquals(literal, matcher.start(), finder.start());
+					Assert.assertEquals(literal, matcher.end(), finder.end());
+				}
+				assertFalse(literal, finder.find());
+			}
+		} finally {
+			provider.releaseCharSequence(cs);
+			file1.delete(true, null);
+		}
+	}
+
 	private void testForEncoding(CharSequence buf, String encoding) throws CoreException, IOException {
 		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
 		IFile file1= ResourceHelper.createFile(folder, "file1", buf.toString(), encoding);
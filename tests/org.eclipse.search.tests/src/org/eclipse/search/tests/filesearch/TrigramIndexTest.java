@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.core.text.TextSearchEngine;
+import org.eclipse.search.core.text.TextSearchMatchAccess;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.internal.core.text.IndexedTextSearchEngine;
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TrigramIndex;
+import org.eclipse.search.internal.core.text.TrigramIndexManager;
+import org.eclipse.search.internal.core.text.TrigramQuery;
+import org.eclipse.search.tests.ResourceHelper;
+import org.eclipse.search.ui.text.FileTextSearchScope;
+
+public class TrigramIndexTest {
+
+	private static class CollectingRequestor extends TextSearchRequestor {
+		final List<String> fMatches= new ArrayList<>();
+
+		@Override
+		public boolean acceptPatternMatch(TextSearchMatchAccess match) {
+			fMatches.add(match.getFile().getFullPath() + ":" + match.getMatchOffset() + ":" + match.getMatchLength());
+			return true;
+		}
+	}
+
+	private IProject fProject;
+	private File fIndexFile;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourceHelper.createProject("trigram-project");
+		fIndexFile= File.createTempFile("trigram", ".index");
+		fIndexFile.delete();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ResourceHelper.deleteProject("trigram-project");
+		fIndexFile.delete();
+	}
+
+	@Test
+	public void testRequiredLiterals() {
+		assertEquals(List.of("hello"), TrigramQuery.requiredLiterals(PatternConstructor.createPattern("hello", false, false)));
+		assertEquals(List.of("mor", "ng"), TrigramQuery.requiredLiterals(PatternConstructor.createPattern("mor*ng", false, false)));
+		assertEquals(List.of("foo", "baz"), TrigramQuery.requiredLiterals(Pattern.compile("foo(bar)?baz")));
+		assertEquals(List.of("def.ghi"), TrigramQuery.requiredLiterals(Pattern.compile("[abc]def\\.ghi")));
+		assertEquals(List.of("ab", "c"), TrigramQuery.requiredLiterals(Pattern.compile("ab+c")));
+		assertNull(TrigramQuery.requiredLiterals(Pattern.compile("foo|bar")));
+		assertNull(TrigramQuery.requiredTrigrams(Pattern.compile("ab.cd")));
+	}
+
+	@Test
+	public void testRequiredLiteralsOfEscapes() {
+		assertEquals(List.of("abc", "def"), TrigramQuery.requiredLiterals(Pattern.compile("abc\\s+def")));
+		assertEquals(List.of("(a", "b"), TrigramQuery.requiredLiterals(Pattern.compile("\\(a\\bb")));
+		assertEquals(List.of("bc"), TrigramQuery.requiredLiterals(Pattern.compile("(a)\\12bc")));
+		for (String regex : new String[] { "\\x41bcd", "\\x{41}bcd", "\\u0041bcd", "\\0101bcd", "\\cAbcd", "(?<n>a)\\k<n>bcd",
+				"\\p{Lu}bcd", "\\pLbcd", "\\P{Lu}bcd", "\\N{LATIN CAPITAL LETTER A}bcd" }) {
+			assertNull(regex, TrigramQuery.requiredLiterals(Pattern.compile(regex)));
+		}
+	}
+
+	@Test
+	public void testRequiredLiteralsOfInlineFlags() {
+		assertTrue(Pattern.compile("(?x)foo bar").matcher("foobar").matches());
+		assertNull(TrigramQuery.requiredLiterals(Pattern.compile("(?x)foo bar")));
+		assertNull(TrigramQuery.requiredLiterals(Pattern.compile("(?ix:foo) bar # comment")));
+		assertNull(TrigramQuery.requiredLiterals(Pattern.compile("(?iu)foobar")));
+		assertEquals(List.of("foo bar"), TrigramQuery.requiredLiterals(Pattern.compile("(?i)foo bar")));
+		assertEquals(List.of("foo bar"), TrigramQuery.requiredLiterals(Pattern.compile("(?-x)foo bar")));
+	}
+
+	@Test
+	public void testCandidates() {
+		TrigramIndex index= new TrigramIndex();
+		index.put("/p/a", 1, TrigramIndex.computeTrigrams("Hello World"));
+		index.put("/p/b", 1, TrigramIndex.computeTrigrams("goodbye world"));
+
+		TrigramIndex.CandidateFilter filter= index.createFilter(TrigramQuery.requiredTrigrams(Pattern.compile("hello", Pattern.CASE_INSENSITIVE)));
+		assertTrue(filter.isCandidate("/p/a", 1));
+		assertFalse(filter.isCandidate("/p/b", 1));
+		// changed and unknown files are always candidates
+		assertTrue(filter.isCandidate("/p/b", 2));
+		assertTrue(filter.isCandidate("/p/c", 1));
+
+		index.put("/p/b", 2, TrigramIndex.computeTrigrams("hello again"));
+		filter= index.createFilter(TrigramQuery.requiredTrigrams(Pattern.compile("hello")));
+		assertTrue(filter.isCandidate("/p/b", 2));
+		index.remove("/p/a");
+		filter= index.createFilter(TrigramQuery.requiredTrigrams(Pattern.compile("World")));
+		assertTrue(filter.isCandidate("/p/a", 1));
+		assertFalse(filter.isCandidate("/p/b", 2));
+	}
+
+	@Test
+	public void testSaveAndLoad() throws Exception {
+		TrigramIndex index= new TrigramIndex();
+		index.put("/p/a", 1, TrigramIndex.computeTrigrams("alpha beta"));
+		index.put("/p/b", 1, TrigramIndex.computeTrigrams("gamma delta"));
+		index.put("/p/a", 2, TrigramIndex.computeTrigrams("epsilon"));
+		index.retainAll(Set.of("/p/a", "/p/b"));
+		index.save(fIndexFile);
+
+		TrigramIndex loaded= TrigramIndex.load(fIndexFile);
+		assertEquals(2, loaded.getFileCount());
+		assertTrue(loaded.isCurrent("/p/a", 2));
+		assertFalse(loaded.isCurrent("/p/a", 1));
+		long[] trigrams= TrigramQuery.requiredTrigrams(Pattern.compile("delta"));
+		assertTrue(loaded.createFilter(trigrams).isCandidate("/p/b", 1));
+		assertFalse(loaded.createFilter(trigrams).isCandidate("/p/a", 2));
+	}
+
+	@Test
+	public void testSearchMatchesDefaultEngine() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder"));
+		for (int i= 0; i < 20; i++) {
+			ResourceHelper.createFile(folder, "file" + i + ".txt", "line " + i + "\n" + (i % 3 == 0 ? "needle in a haystack\n" : "just hay\n"));
+		}
+		TrigramIndexManager manager= new TrigramIndexManager(fIndexFile);
+		manager.start();
+		try {
+			Job.getJobManager().join(TrigramIndexManager.FAMILY_INDEX_UPDATE, null);
+			IndexedTextSearchEngine engine= new IndexedTextSearchEngine(manager, null);
+			FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] { fProject }, (String[]) null, false);
+			for (String search : new String[] { "needle", "Needle", "hay*", "line 1" }) {
+				Pattern pattern= PatternConstructor.createPattern(search, false, false);
+				CollectingRequestor expected= new CollectingRequestor();
+				TextSearchEngine.createDefault().search(scope, expected, pattern, null);
+				CollectingRequestor actual= new CollectingRequestor();
+				engine.search(scope, actual, pattern, null);
+				expected.fMatches.sort(null);
+				actual.fMatches.sort(null);
+				assertEquals(search, expected.fMatches, actual.fMatches);
+			}
+
+			IFile[] files= scope.evaluateFilesInScope(new MultiStatus("org.eclipse.search.tests", IStatus.OK, "", null));
+			assertEquals(7, engine.selectCandidates(files, PatternConstructor.createPattern("needle", false, false)).length);
+
+			// content changes are picked up from the resource delta
+			IFile changed= folder.getFile("file1.txt");
+			changed.setContents("another needle\n".getBytes(), IResource.FORCE, null);
+			Job.getJobManager().join(TrigramIndexManager.FAMILY_INDEX_UPDATE, null);
+			IFile[] candidates= engine.selectCandidates(files, PatternConstructor.createPattern("needle", false, false));
+			assertEquals(8, candidates.length);
+			assertArrayEquals(new IFile[0], engine.selectCandidates(files, PatternConstructor.createPattern("xyzzy", false, false)));
+		} finally {
+			manager.stop();
+		}
+		assertTrue(fIndexFile.isFile());
+	}
+}
@@ -37,10 +37,12 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		DocumentTest.class,
 		FindReplaceDocumentAdapterTest.class,
 		PositionUpdatingCornerCasesTest.class,
+		PositionIntervalIndexTest.class,
 		ExclusivePositionUpdaterTest.class,
 		TextEditTests.class,
 		GapTextTest.class,
 		GapTextStoreTest.class,
+		RopeTextStoreTest.class,
 		ChildDocumentTest.class,
 		ProjectionTestSuite.class,
 		LinkTestSuite.class,
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+
+/**
+ * Compares the position queries of a document using the position interval index with a scan
+ * of the positions of a document without the index.
+ */
+public class PositionIntervalIndexTest {
+
+	private static final Comparator<Position> ORDER= Comparator.<Position> comparingInt(p -> p.offset).thenComparingInt(p -> p.length);
+
+	@Test
+	public void testEnablement() {
+		Document document= new Document();
+		assertFalse(document.isPositionIntervalIndexEnabled());
+		document.setPositionIntervalIndexEnabled(true);
+		assertTrue(document.isPositionIntervalIndexEnabled());
+	}
+
+	@Test
+	public void testOverlappingPositions() throws Exception {
+		Document document= new Document("0123456789");
+		document.setPositionIntervalIndexEnabled(true);
+		Position p1= new Position(0, 3);
+		Position p2= new Position(2, 4);
+		Position p3= new Position(7, 0);
+		document.addPosition(p1);
+		document.addPosition(p2);
+		document.addPosition(p3);
+
+		assertPositions(document.getPositions(IDocument.DEFAULT_CATEGORY, 1, 2, true, true), p1, p2);
+		assertPositions(document.getPositions(IDocument.DEFAULT_CATEGORY, 6, 2, true, true), p3);
+		assertPositions(document.getPositions(IDocument.DEFAULT_CATEGORY, 8, 2, true, true));
+
+		// the index follows document changes
+		document.replace(0, 0, "abc");
+		assertPositions(document.getPositions(IDocument.DEFAULT_CATEGORY, 1, 2, true, true));
+		assertPositions(document.getPositions(IDocument.DEFAULT_CATEGORY, 9, 2, true, true), p3);
+
+		document.removePosition(p3);
+		assertPositions(document.getPositions(IDocument.DEFAULT_CATEGORY, 9, 2, true, true));
+	}
+
+	@Test
+	public void testChangeAfterCategory() throws Exception {
+		Document document= new Document("0123456789");
+		document.setPositionIntervalIndexEnabled(true);
+		document.addPositionCategory("early");
+		document.addPositionUpdater(new DefaultPositionUpdater("early"));
+		Position p1= new Position(1, 2);
+		Position p2= new Position(6, 2);
+		document.addPosition("early", p1);
+		document.addPosition(p2);
+		assertPositions(document.getPositions("early", 0, 10, true, true), p1);
+		assertPositions(document.getPositions(IDocument.DEFAULT_CATEGORY, 0, 10, true, true), p2);
+
+		// only the positions of the default category are moved
+		document.replace(4, 0, "abc");
+		assertPositions(document.getPositions("early", 1, 1, true, true), p1);
+		assertPositions(document.getPositions(IDocument.DEFAULT_CATEGORY, 6, 2, true, true));
+		assertPositions(document.getPositions(IDocument.DEFAULT_CATEGORY, 9, 1, true, true), p2);
+
+		// changes at and before the end of a position
+		document.replace(3, 1, "");
+		assertEquals(1, p1.offset);
+		assertEquals(2, p1.length);
+		assertPositions(document.getPositions("early", 3, 0, true, true));
+		document.replace(1, 2, "");
+		assertEquals(0, p1.length);
+		assertPositions(document.getPositions("early", 2, 2, true, true));
+		assertPositions(document.getPositions("early", 0, 2, true, true), p1);
+	}
+
+	@Test
+	public void testSameResultsAsScan() throws Exception {
+		Random random= new Random(4711);
+		for (int run= 0; run < 20; run++) {
+			Document indexed= new Document();
+			Document plain= new Document();
+			indexed.setPositionIntervalIndexEnabled(true);
+			char[] content= new char[2000];
+			Arrays.fill(content, 'x');
+			indexed.set(new String(content));
+			plain.set(new String(content));
+			for (int i= 0; i < 500; i++) {
+				int offset= random.nextInt(content.length);
+				int length= random.nextInt(4) == 0 ? 0 : random.nextInt(Math.min(100, content.length - offset) + 1);
+				indexed.addPosition(new Position(offset, length));
+				plain.addPosition(new Position(offset, length));
+			}
+			for (int step= 0; step < 50; step++) {
+				assertSameQueries(random, indexed, plain);
+				int offset= random.nextInt(plain.getLength());
+				int length= random.nextInt(Math.min(20, plain.getLength() - offset) + 1);
+				String text= "y".repeat(random.nextInt(20));
+				indexed.replace(offset, length, text);
+				plain.replace(offset, length, text);
+			}
+		}
+	}
+
+	private void assertSameQueries(Random random, Document indexed, Document plain) throws BadPositionCategoryException {
+		for (int i= 0; i < 20; i++) {
+			int offset= random.nextInt(plain.getLength() + 1);
+			int length= random.nextInt(3) == 0 ? 0 : random.nextInt(plain.getLength() - offset + 1);
+			Position[] expected= scan(plain, offset, length);
+			Position[] actual= indexed.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, true, true);
+			Arrays.sort(expected, ORDER);
+			Arrays.sort(actual, ORDER);
+			assertEquals("query " + offset + ", " + length, Arrays.asList(expected), Arrays.asList(actual));
+		}
+	}
+
+	/*
+	 * The lists of the plain document are searched by end offset, but updaters may leave equal
+	 * or adjacent end offsets out of order, so the overlapping positions are scanned for.
+	 */
+	private Position[] scan(Document plain, int offset, int length) throws BadPositionCategoryException {
+		Position region= new Position(offset, length);
+		List<Position> result= new ArrayList<>();
+		for (Position position : plain.getPositions(IDocument.DEFAULT_CATEGORY)) {
+			// the list based lookup excludes positions starting at an empty region in the first half
+			if (length == 0 && offset < plain.getLength() / 2 && position.offset >= offset)
+				continue;
+			if (region.overlapsWith(position.offset, position.length))
+				result.add(position);
+		}
+		return result.toArray(new Position[result.size()]);
+	}
+
+	private void assertPositions(Position[] actual, Position... expected) {
+		assertEquals(Arrays.asList(expected), Arrays.asList(actual));
+	}
+}
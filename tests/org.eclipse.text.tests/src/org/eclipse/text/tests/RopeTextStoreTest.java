@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.RopeTextStore;
+
+/**
+ * Runs the {@link TextStoreTest} tests on a {@link RopeTextStore} with tiny chunks, so that the
+ * test content spans many chunks, and compares the store with a {@link GapTextStore} on random
+ * changes.
+ */
+public class RopeTextStoreTest extends TextStoreTest {
+
+	@Override
+	protected ITextStore createTextStore() {
+		return new RopeTextStore(3, false);
+	}
+
+	@Test
+	public void testRandomChanges() {
+		Random random= new Random(4711);
+		for (int chunkSize= 1; chunkSize <= 64; chunkSize*= 2) {
+			assertRandomChanges(random, new RopeTextStore(chunkSize, false));
+			assertRandomChanges(random, new RopeTextStore(chunkSize, true));
+		}
+	}
+
+	private void assertRandomChanges(Random random, RopeTextStore store) {
+		GapTextStore expected= new GapTextStore();
+		String initial= "0123456789\n".repeat(100);
+		store.set(initial);
+		expected.set(initial);
+		for (int i= 0; i < 1000; i++) {
+			int offset= random.nextInt(expected.getLength() + 1);
+			int length= random.nextInt(Math.min(expected.getLength() - offset, 50) + 1);
+			String text= "abcdefghijklmnopqrstuvwxyz".substring(0, random.nextInt(27));
+			if (random.nextInt(20) == 0)
+				text= text.repeat(20);
+			store.replace(offset, length, text);
+			expected.replace(offset, length, text);
+
+			assertEquals(expected.getLength(), store.getLength());
+			int from= random.nextInt(expected.getLength() + 1);
+			int count= random.nextInt(expected.getLength() - from + 1);
+			assertEquals(expected.get(from, count), store.get(from, count));
+			if (expected.getLength() > 0) {
+				int index= random.nextInt(expected.getLength());
+				assertEquals(expected.get(index), store.get(index));
+			}
+		}
+		assertEquals(expected.get(0, expected.getLength()), store.get(0, store.getLength()));
+		for (int i= 0; i < expected.getLength(); i++)
+			assertEquals(expected.get(i), store.get(i));
+	}
+
+	@Test
+	public void testSnapshot() {
+		RopeTextStore store= new RopeTextStore(4, false);
+		store.set("first line\nsecond line\n");
+		ITextStore snapshot= store.createSnapshot();
+
+		store.replace(0, 5, "1st");
+		store.replace(store.getLength(), 0, "third line\n");
+		assertEquals("1st line\nsecond line\nthird line\n", store.get(0, store.getLength()));
+		assertEquals("first line\nsecond line\n", snapshot.get(0, snapshot.getLength()));
+		assertEquals('f', snapshot.get(0));
+
+		try {
+			snapshot.replace(0, 0, "x");
+			fail();
+		} catch (UnsupportedOperationException e) {
+		}
+		try {
+			snapshot.set("x");
+			fail();
+		} catch (UnsupportedOperationException e) {
+		}
+	}
+
+	@Test
+	public void testDocumentFactory() throws Exception {
+		Document small= Document.create("small", 10);
+		assertEquals("small", small.get());
+
+		Document large= Document.create("a large\ndocument\n", 10);
+		assertEquals(3, large.getNumberOfLines());
+		large.replace(2, 5, "rope");
+		assertEquals("a rope\ndocument\n", large.get());
+		assertEquals(7, large.getLineOffset(1));
+	}
+
+	@Test
+	public void testOutOfBounds() {
+		RopeTextStore store= new RopeTextStore();
+		store.set("abc");
+		assertEquals(3, store.getLength());
+		try {
+			store.get(-1);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+		}
+		try {
+			store.replace(2, 2, "x");
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+		}
+		store.set(null);
+		assertEquals(0, store.getLength());
+	}
+}
@@ -18,6 +18,7 @@ import static org.junit.Assert.*;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -38,10 +39,13 @@ import org.eclipse.text.edits.RangeMarker;
 import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.text.edits.TextEdit;
 import org.eclipse.text.edits.TextEditCopier;
+import org.eclipse.text.edits.TextEditProcessor;
 import org.eclipse.text.edits.UndoEdit;
 
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 
 public class TextEditTests {
@@ -1385,6 +1389,123 @@ public class TextEditTests {
 		assertEquals(result, 2, 1);
 	}
 
+	@Test
+	public void testBatchUpdates() throws Exception {
+		List<DocumentEvent> events= new ArrayList<>();
+		fDocument.addDocumentListener(new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {
+			}
+
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				events.add(event);
+			}
+		});
+		TextEdit e1= new InsertEdit(1, "xx");
+		TextEdit e2= new ReplaceEdit(3, 2, "y");
+		TextEdit e3= new DeleteEdit(7, 2);
+		fRoot.addChild(e1);
+		fRoot.addChild(e2);
+		fRoot.addChild(e3);
+		UndoEdit undo= fRoot.apply(fDocument, TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS | TextEdit.BATCH_UPDATES);
+		Assert.assertEquals("Buffer content", "0xx12y569", fDocument.get());
+		Assert.assertEquals("Document events", 1, events.size());
+		Assert.assertEquals("Event offset", 1, events.get(0).getOffset());
+		Assert.assertEquals("Event length", 8, events.get(0).getLength());
+		assertEquals(fRoot, 1, 7);
+		assertEquals(e1, 1, 2);
+		assertEquals(e2, 5, 1);
+		assertEquals(e3, 8, 0);
+		assertEquals(undo, 1, 7);
+		doUndoRedo(undo, "0xx12y569");
+	}
+
+	@Test
+	public void testBatchUpdatesSameAsSequential() throws Exception {
+		Random random= new Random(4711);
+		for (int run= 0; run < 200; run++) {
+			String content= "0123456789".repeat(1 + random.nextInt(10));
+			long seed= random.nextLong();
+			MultiTextEdit root= new MultiTextEdit();
+			addRandomEdits(new Random(seed), root, 0, content.length());
+			MultiTextEdit copy= new MultiTextEdit();
+			addRandomEdits(new Random(seed), copy, 0, content.length());
+
+			IDocument sequential= new Document(content);
+			IDocument batched= new Document(content);
+			UndoEdit sequentialUndo= copy.apply(sequential, TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS);
+			UndoEdit batchedUndo= root.apply(batched, TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS | TextEdit.BATCH_UPDATES);
+			Assert.assertEquals("Buffer content", sequential.get(), batched.get());
+			assertSameRegions(flatten(copy), flatten(root));
+			assertSameRegions(flatten(sequentialUndo), flatten(batchedUndo));
+
+			batchedUndo.apply(batched);
+			Assert.assertEquals("Buffer content undo", content, batched.get());
+		}
+	}
+
+	@Test
+	public void testBatchUpdatesConsiderEdit() throws Exception {
+		TextEdit e1= new ReplaceEdit(1, 2, "x");
+		TextEdit e2= new InsertEdit(5, "yy");
+		TextEdit e3= new DeleteEdit(7, 2);
+		fRoot.addChild(e1);
+		fRoot.addChild(e2);
+		fRoot.addChild(e3);
+		TextEditProcessor processor= new TextEditProcessor(fDocument, fRoot, TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS | TextEdit.BATCH_UPDATES) {
+			@Override
+			protected boolean considerEdit(TextEdit edit) {
+				return edit != e2;
+			}
+		};
+		UndoEdit undo= processor.performEdits();
+		Assert.assertEquals("Buffer content", "0x34569", fDocument.get());
+		assertEquals(e1, 1, 1);
+		assertEquals(e3, 6, 0);
+		doUndoRedo(undo, "0x34569");
+	}
+
+	private static void addRandomEdits(Random random, TextEdit parent, int start, int end) {
+		int offset= start;
+		while (offset < end) {
+			offset+= random.nextInt(5);
+			if (offset > end)
+				break;
+			int length= random.nextInt(Math.min(end - offset, 6) + 1);
+			TextEdit edit;
+			switch (random.nextInt(5)) {
+				case 0:
+					edit= new InsertEdit(offset, "i".repeat(random.nextInt(3)));
+					length= 0;
+					break;
+				case 1:
+					edit= new DeleteEdit(offset, length);
+					break;
+				case 2:
+					edit= new RangeMarker(offset, length);
+					break;
+				case 3:
+					edit= new MultiTextEdit(offset, length);
+					addRandomEdits(random, edit, offset, offset + length);
+					break;
+				default:
+					edit= new ReplaceEdit(offset, length, "r".repeat(random.nextInt(8)));
+					break;
+			}
+			parent.addChild(edit);
+			offset+= length;
+		}
+	}
+
+	private static void assertSameRegions(List<TextEdit> expected, List<TextEdit> actual) {
+		Assert.assertEquals("Number of edits", expected.size(), actual.size());
+		for (int i= 0; i < expected.size(); i++) {
+			Assert.assertEquals("Offset", expected.get(i).getOffset(), actual.get(i).getOffset());
+			Assert.assertEquals("Length", expected.get(i).getLength(), actual.get(i).getLength());
+		}
+	}
+
 	private void doUndoRedo(UndoEdit undo, String redoResult) throws Exception {
 		UndoEdit redo= undo.apply(fDocument);
 		assertBufferContent();
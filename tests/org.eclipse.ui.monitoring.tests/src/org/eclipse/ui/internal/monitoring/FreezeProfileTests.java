@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.monitoring;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link FreezeProfile} class.
+ */
+public class FreezeProfileTests {
+
+	private static StackTraceElement[] createStack(String... methods) {
+		// The top of the stack comes first.
+		StackTraceElement[] stack = new StackTraceElement[methods.length];
+		for (int i = 0; i < methods.length; i++) {
+			int line = i + 1;
+			stack[methods.length - 1 - i] = new StackTraceElement("Main", methods[i], "Main.java", line);
+		}
+		return stack;
+	}
+
+	private static String writeCollapsed(FreezeProfile profile) throws Exception {
+		StringBuilder out = new StringBuilder();
+		profile.writeCollapsed(out);
+		return out.toString();
+	}
+
+	@Test
+	public void testAggregateSamples() throws Exception {
+		FreezeProfile profile = new FreezeProfile(1024);
+		profile.record(createStack("main", "run", "paint"), 100);
+		profile.record(createStack("main", "run", "layout"), 50);
+		profile.record(createStack("main", "run", "paint"), 200);
+		profile.record(createStack("main", "run"), 10);
+
+		assertEquals("Main.main;Main.run 10\n"
+				+ "Main.main;Main.run;Main.paint 300\n"
+				+ "Main.main;Main.run;Main.layout 50\n", writeCollapsed(profile));
+	}
+
+	@Test
+	public void testMergeLinesOfMethod() throws Exception {
+		FreezeProfile profile = new FreezeProfile(1024);
+		profile.record(createStack("main", "run"), 10);
+		profile.record(new StackTraceElement[] { new StackTraceElement("Main", "run", "Main.java", 42),
+				new StackTraceElement("Main", "main", "Main.java", 7) }, 20);
+
+		assertEquals("Main.main;Main.run 30\n", writeCollapsed(profile));
+	}
+
+	@Test
+	public void testWrapAroundRingBuffer() throws Exception {
+		// Each sample takes 5 elements, so the buffer is aggregated before it overflows.
+		FreezeProfile profile = new FreezeProfile(12);
+		for (int i = 0; i < 10; i++) {
+			profile.record(createStack("main", "run", i % 2 == 0 ? "paint" : "layout"), 1);
+		}
+
+		assertEquals("Main.main;Main.run;Main.paint 5\n"
+				+ "Main.main;Main.run;Main.layout 5\n", writeCollapsed(profile));
+	}
+
+	@Test
+	public void testTruncateDeepStack() throws Exception {
+		FreezeProfile profile = new FreezeProfile(5);
+		profile.record(createStack("main", "run", "paint", "layout"), 1);
+
+		assertEquals("Main.main;Main.run;Main.paint 1\n", writeCollapsed(profile));
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.commands.Category;
+import org.eclipse.core.commands.ParameterizedCommand;
+import org.eclipse.core.commands.contexts.ContextManager;
+import org.eclipse.e4.core.commands.CommandServiceAddon;
+import org.eclipse.e4.core.commands.ECommandService;
+import org.eclipse.e4.core.contexts.ContextInjectionFactory;
+import org.eclipse.e4.core.contexts.IEclipseContext;
+import org.eclipse.e4.ui.bindings.BindingServiceAddon;
+import org.eclipse.e4.ui.bindings.EBindingService;
+import org.eclipse.e4.ui.bindings.internal.BindingTable;
+import org.eclipse.e4.ui.bindings.internal.BindingTableManager;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.services.ContextServiceAddon;
+import org.eclipse.e4.ui.services.EContextService;
+import org.eclipse.jface.bindings.TriggerSequence;
+import org.eclipse.jface.bindings.keys.KeySequence;
+import org.eclipse.jface.bindings.keys.KeyStroke;
+import org.eclipse.swt.SWT;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.ui.PlatformUI;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Measures the lookups the key binding dispatcher makes for each key stroke,
+ * in a binding service with thousands of bindings of three key strokes spread
+ * over a hierarchy of contexts.
+ */
+@SuppressWarnings("restriction")
+@RunWith(Parameterized.class)
+public class KeyBindingLookupTest extends BasicPerformanceTest {
+
+	private static final String SCHEME_ID = "org.eclipse.ui.defaultAcceleratorConfiguration";
+
+	private static final String CATEGORY_ID = "org.eclipse.ui.tests.performance.keys";
+
+	private static final String COMMAND_ID = "org.eclipse.ui.tests.performance.keys.command";
+
+	private static final String[] CONTEXT_IDS = { "org.eclipse.ui.tests.performance.keys.window",
+			"org.eclipse.ui.tests.performance.keys.text", "org.eclipse.ui.tests.performance.keys.java" };
+
+	private static final char[] KEYS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+
+	private static final int LOOKUPS = 200000;
+
+	private final int bindings;
+
+	private IEclipseContext context;
+
+	private EBindingService bindingService;
+
+	private final List<TriggerSequence> sequences = new ArrayList<>();
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] { { 1000 }, { 10000 } });
+	}
+
+	public KeyBindingLookupTest(int bindings) {
+		super("testKeyBindingLookup:" + bindings, BasicPerformanceTest.NONE);
+		this.bindings = bindings;
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		IEclipseContext workbenchContext = PlatformUI.getWorkbench().getService(IEclipseContext.class);
+		context = workbenchContext.createChild(getName());
+		ContextInjectionFactory.make(CommandServiceAddon.class, context);
+		ContextInjectionFactory.make(ContextServiceAddon.class, context);
+		ContextInjectionFactory.make(BindingServiceAddon.class, context);
+
+		ContextManager contextManager = context.get(ContextManager.class);
+		BindingTableManager tableManager = context.get(BindingTableManager.class);
+		MApplication application = context.get(MApplication.class);
+		String parentId = null;
+		for (String contextId : CONTEXT_IDS) {
+			contextManager.getContext(contextId).define(contextId, null, parentId);
+			tableManager.addTable(new BindingTable(contextManager.getContext(contextId), application));
+			parentId = contextId;
+		}
+		EContextService contextService = context.get(EContextService.class);
+		for (String contextId : CONTEXT_IDS) {
+			contextService.activateContext(contextId);
+		}
+
+		ECommandService commandService = context.get(ECommandService.class);
+		Category category = commandService.defineCategory(CATEGORY_ID, "Keys", null);
+		commandService.defineCommand(COMMAND_ID, "Command", null, category, null);
+		ParameterizedCommand command = commandService.createCommand(COMMAND_ID, null);
+
+		bindingService = context.get(EBindingService.class);
+		Map<String, String> attributes = Map.of(EBindingService.SCHEME_ID_ATTR_TAG, SCHEME_ID);
+		for (int i = 0; i < bindings; i++) {
+			TriggerSequence sequence = KeySequence.getInstance(new KeyStroke[] {
+					KeyStroke.getInstance(SWT.MOD1, KEYS[i / (KEYS.length * KEYS.length) % KEYS.length]),
+					KeyStroke.getInstance(KEYS[i / KEYS.length % KEYS.length]),
+					KeyStroke.getInstance(KEYS[i % KEYS.length]) });
+			String contextId = CONTEXT_IDS[i % CONTEXT_IDS.length];
+			bindingService.activateBinding(bindingService.createBinding(sequence, command, contextId, attributes));
+			sequences.add(sequence);
+		}
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		context.dispose();
+		sequences.clear();
+		super.doTearDown();
+	}
+
+	@Test
+	public void test() throws Throwable {
+		tagIfNecessary("UI - Key Binding Lookup", Dimension.ELAPSED_PROCESS);
+
+		exercise(() -> {
+			processEvents();
+			EditorTestHelper.calmDown(500, 30000, 500);
+
+			startMeasuring();
+			for (int i = 0; i < LOOKUPS; i++) {
+				// like the dispatcher, check for a partial match first
+				TriggerSequence sequence = sequences.get(i % sequences.size());
+				if (bindingService.isPartialMatch(sequence) || bindingService.getPerfectMatch(sequence) == null) {
+					fail("No binding for " + sequence);
+				}
+			}
+			stopMeasuring();
+		});
+
+		commitMeasurements();
+		assertPerformance();
+	}
+}
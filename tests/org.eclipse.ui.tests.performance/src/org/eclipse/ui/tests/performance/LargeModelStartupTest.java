@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+import org.eclipse.e4.ui.internal.workbench.E4XMIResourceFactory;
+import org.eclipse.e4.ui.model.application.MApplication;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspective;
+import org.eclipse.e4.ui.model.application.ui.advanced.MPerspectiveStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MPart;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartSashContainer;
+import org.eclipse.e4.ui.model.application.ui.basic.MPartStack;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimBar;
+import org.eclipse.e4.ui.model.application.ui.basic.MTrimmedWindow;
+import org.eclipse.e4.ui.model.application.ui.menu.MDirectToolItem;
+import org.eclipse.e4.ui.model.application.ui.menu.MToolBar;
+import org.eclipse.e4.ui.workbench.modeling.EModelService;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.tests.performance.parts.PerformanceModelPart;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Measures the time from loading a large stored window model until its shell
+ * is first painted. Most of the branches of the perspectives and the tool bars
+ * in the trim are hidden, like in a workbench whose views were closed and
+ * whose tool bars were customized.
+ * <p>
+ * Run with <code>-Dorg.eclipse.e4.ui.workbench.deferHiddenRendering=true</code>
+ * to measure the rendering which defers the widgets of the hidden branches.
+ * </p>
+ */
+@RunWith(Parameterized.class)
+public class LargeModelStartupTest extends BasicPerformanceTest {
+
+	private static final String PART_URI = "bundleclass://org.eclipse.ui.tests.performance/"
+			+ PerformanceModelPart.class.getName();
+
+	private static final long PAINT_TIMEOUT = 60000;
+
+	private final int perspectives;
+
+	private final int branches;
+
+	private File modelFile;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] { { 4, 8 }, { 16, 32 } });
+	}
+
+	public LargeModelStartupTest(int perspectives, int branches) {
+		super("testLargeModelStartup:" + perspectives + "x" + branches, BasicPerformanceTest.NONE);
+		this.perspectives = perspectives;
+		this.branches = branches;
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		modelFile = File.createTempFile("workbench", ".xmi");
+		Resource resource = new E4XMIResourceFactory().createResource(URI.createFileURI(modelFile.getAbsolutePath()));
+		resource.getContents().add((EObject) createWindow());
+		resource.save(null);
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		modelFile.delete();
+		super.doTearDown();
+	}
+
+	@Test
+	public void test() throws Throwable {
+		tagIfNecessary("UI - Large Model Time To First Paint", Dimension.ELAPSED_PROCESS);
+
+		MApplication application = PlatformUI.getWorkbench().getService(MApplication.class);
+		Display display = Display.getCurrent();
+		exercise(() -> {
+			processEvents();
+			EditorTestHelper.calmDown(500, 30000, 500);
+
+			Set<Shell> shells = Set.of(display.getShells());
+			boolean[] painted = new boolean[1];
+			Listener paintListener = event -> {
+				if (event.widget instanceof Control && !shells.contains(((Control) event.widget).getShell())) {
+					painted[0] = true;
+				}
+			};
+			display.addFilter(SWT.Paint, paintListener);
+			try {
+				startMeasuring();
+				MTrimmedWindow window = loadWindow();
+				application.getChildren().add(window);
+				long timeout = System.currentTimeMillis() + PAINT_TIMEOUT;
+				while (!painted[0] && System.currentTimeMillis() < timeout) {
+					display.readAndDispatch();
+				}
+				stopMeasuring();
+				assertTrue("The window was not painted", painted[0]);
+
+				window.setToBeRendered(false);
+				application.getChildren().remove(window);
+				processEvents();
+			} finally {
+				display.removeFilter(SWT.Paint, paintListener);
+			}
+		});
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private MTrimmedWindow loadWindow() {
+		Resource resource = new E4XMIResourceFactory().createResource(URI.createFileURI(modelFile.getAbsolutePath()));
+		try {
+			resource.load(null);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return (MTrimmedWindow) resource.getContents().get(0);
+	}
+
+	private MTrimmedWindow createWindow() {
+		EModelService modelService = PlatformUI.getWorkbench().getService(EModelService.class);
+		MTrimmedWindow window = modelService.createModelElement(MTrimmedWindow.class);
+		window.setLabel(getName());
+		window.setWidth(1024);
+		window.setHeight(768);
+
+		MTrimBar trimBar = modelService.createModelElement(MTrimBar.class);
+		for (int i = 0; i < branches; i++) {
+			MToolBar toolBar = createToolBar(modelService, "toolbar." + i);
+			toolBar.setVisible(i % 4 == 0);
+			trimBar.getChildren().add(toolBar);
+		}
+		window.getTrimBars().add(trimBar);
+
+		MPerspectiveStack perspectiveStack = modelService.createModelElement(MPerspectiveStack.class);
+		for (int p = 0; p < perspectives; p++) {
+			MPerspective perspective = modelService.createModelElement(MPerspective.class);
+			perspective.setElementId("perspective." + p);
+			perspective.setLabel(perspective.getElementId());
+			MPartSashContainer sash = modelService.createModelElement(MPartSashContainer.class);
+			sash.setHorizontal(true);
+			for (int b = 0; b < branches; b++) {
+				MPartSashContainer branch = modelService.createModelElement(MPartSashContainer.class);
+				branch.setVisible(b % 4 == 0);
+				for (int s = 0; s < 2; s++) {
+					MPartStack stack = modelService.createModelElement(MPartStack.class);
+					for (int i = 0; i < 4; i++) {
+						MPart part = modelService.createModelElement(MPart.class);
+						part.setLabel("Part " + i);
+						part.setContributionURI(PART_URI);
+						part.setToolbar(createToolBar(modelService, null));
+						stack.getChildren().add(part);
+					}
+					branch.getChildren().add(stack);
+				}
+				sash.getChildren().add(branch);
+			}
+			perspective.getChildren().add(sash);
+			perspectiveStack.getChildren().add(perspective);
+		}
+		perspectiveStack.setSelectedElement(perspectiveStack.getChildren().get(0));
+		window.getChildren().add(perspectiveStack);
+		return window;
+	}
+
+	private MToolBar createToolBar(EModelService modelService, String id) {
+		MToolBar toolBar = modelService.createModelElement(MToolBar.class);
+		toolBar.setElementId(id);
+		for (int i = 0; i < 8; i++) {
+			MDirectToolItem item = modelService.createModelElement(MDirectToolItem.class);
+			item.setLabel("Item " + i);
+			toolBar.getChildren().add(item);
+		}
+		return toolBar;
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+import org.eclipse.jface.text.Document;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.ui.internal.texteditor.quickdiff.HistogramDiff;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DJBHashFunction;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Measures diffing the lines of a document with a hundred thousand lines
+ * against a copy with a thousand lines changed, inserted or removed, like the
+ * quick diff does when it is initialized, with the
+ * <code>RangeDifferencer</code> and with the {@link HistogramDiff}.
+ */
+@SuppressWarnings("restriction")
+@RunWith(Parameterized.class)
+public class LineDiffTest extends BasicPerformanceTest {
+
+	private static final int LINES = 100_000;
+
+	private static final int EDITS = 1_000;
+
+	private final boolean histogram;
+
+	private Document left;
+
+	private Document right;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] { { Boolean.FALSE }, { Boolean.TRUE } });
+	}
+
+	public LineDiffTest(boolean histogram) {
+		super("testLineDiff:" + (histogram ? "histogram" : "rangeDifferencer"), BasicPerformanceTest.NONE);
+		this.histogram = histogram;
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		Random random = new Random(42);
+		StringBuilder reference = new StringBuilder();
+		for (int i = 0; i < LINES; i++) {
+			// code like lines, many of them repeated
+			reference.append(random.nextInt(4) == 0 ? "}" : "\tfield" + random.nextInt(LINES / 4) + "= value;")
+					.append('\n');
+		}
+		left = new Document(reference.toString());
+		right = new Document(reference.toString());
+		for (int i = 0; i < EDITS; i++) {
+			int offset = right.getLineInformation(random.nextInt(right.getNumberOfLines() - 1)).getOffset();
+			switch (random.nextInt(3)) {
+			case 0 -> right.replace(offset, 0, "\tinserted" + i + "();\n");
+			case 1 -> right.replace(offset, right.getLineLength(right.getLineOfOffset(offset)), "");
+			default -> right.replace(offset, 0, "changed ");
+			}
+		}
+	}
+
+	@Test
+	public void test() throws Throwable {
+		tagIfNecessary("Text - Quick Diff Line Diff", Dimension.ELAPSED_PROCESS);
+
+		exercise(() -> {
+			processEvents();
+			EditorTestHelper.calmDown(500, 30000, 500);
+
+			DJBHashFunction hash = new DJBHashFunction();
+			DocumentEquivalenceClass leftEquivalent = new DocumentEquivalenceClass(left, hash);
+			DocumentEquivalenceClass rightEquivalent = new DocumentEquivalenceClass(right, hash);
+			// hash the lines before measuring, the quick diff does it ahead too
+			leftEquivalent.loadAndForget();
+			rightEquivalent.loadAndForget();
+
+			int ranges;
+			startMeasuring();
+			if (histogram) {
+				ranges = HistogramDiff.findRanges(null, leftEquivalent, null, rightEquivalent, null).size();
+			} else {
+				ranges = RangeDifferencer.findRanges(null, new DocEquivalenceComparator(leftEquivalent, null),
+						new DocEquivalenceComparator(rightEquivalent, null)).length;
+			}
+			stopMeasuring();
+			assertTrue(ranges > EDITS);
+		});
+
+		commitMeasurements();
+		assertPerformance();
+	}
+}
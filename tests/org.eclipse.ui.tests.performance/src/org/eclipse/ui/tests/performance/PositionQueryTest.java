@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+import org.eclipse.test.performance.Dimension;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Measures typing in a large document with tens of thousands of positions,
+ * querying the positions around the caret after each key stroke like
+ * annotation painters do, with and without the position interval index.
+ */
+@RunWith(Parameterized.class)
+public class PositionQueryTest extends BasicPerformanceTest {
+
+	private static final int DOCUMENT_LENGTH = 2_000_000;
+
+	private static final int POSITIONS = 50_000;
+
+	private static final int EDITS = 500;
+
+	private static final int QUERIES_PER_EDIT = 10;
+
+	private final boolean indexed;
+
+	private Document document;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] { { Boolean.FALSE }, { Boolean.TRUE } });
+	}
+
+	public PositionQueryTest(boolean indexed) {
+		super("testPositionQuery:" + (indexed ? "index" : "lists"), BasicPerformanceTest.NONE);
+		this.indexed = indexed;
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		Random random = new Random(42);
+		document = new Document("x".repeat(DOCUMENT_LENGTH));
+		document.setPositionIntervalIndexEnabled(indexed);
+		for (int i = 0; i < POSITIONS; i++) {
+			int offset = random.nextInt(DOCUMENT_LENGTH - 100);
+			document.addPosition(new Position(offset, random.nextInt(100)));
+		}
+	}
+
+	@Test
+	public void test() throws Throwable {
+		tagIfNecessary("Text - Position Query", Dimension.ELAPSED_PROCESS);
+
+		Random random = new Random(42);
+		exercise(() -> {
+			processEvents();
+			EditorTestHelper.calmDown(500, 30000, 500);
+
+			int found = 0;
+			startMeasuring();
+			try {
+				for (int edit = 0; edit < EDITS; edit++) {
+					int caret = random.nextInt(document.getLength() - 5000);
+					document.replace(caret, 0, "y");
+					for (int query = 0; query < QUERIES_PER_EDIT; query++) {
+						int offset = caret + random.nextInt(4000);
+						found += document.getPositions(IDocument.DEFAULT_CATEGORY, offset, 1000, true, true).length;
+					}
+				}
+			} catch (BadLocationException | BadPositionCategoryException e) {
+				fail(e.getMessage());
+			}
+			stopMeasuring();
+			assertTrue(found > 0);
+		});
+
+		commitMeasurements();
+		assertPerformance();
+	}
+}
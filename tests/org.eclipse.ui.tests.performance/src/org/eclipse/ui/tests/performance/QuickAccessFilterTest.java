@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.ui.internal.quickaccess.QuickAccessIndex;
+import org.eclipse.ui.internal.quickaccess.QuickAccessMatcher;
+import org.eclipse.ui.internal.quickaccess.QuickAccessProvider;
+import org.eclipse.ui.quickaccess.QuickAccessElement;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Measures the filtering of the quick access elements while a request is typed
+ * one character at a time, with tens of thousands of elements.
+ */
+@SuppressWarnings("restriction")
+@RunWith(Parameterized.class)
+public class QuickAccessFilterTest extends BasicPerformanceTest {
+
+	private static final String[] WORDS = { "Open", "Show", "Toggle", "Run", "Debug", "Java", "Type", "Hierarchy",
+			"Console", "Editor", "Project", "Explorer", "Search", "Breakpoint", "Format", "Source" };
+
+	private static final String[] REQUESTS = { "show console", "type hier", "tog break", "sr", "*explorer" };
+
+	private static final int ENTRIES_SHOWN = 20;
+
+	private static final class Element extends QuickAccessElement {
+
+		private final String label;
+
+		Element(String label) {
+			this.label = label;
+		}
+
+		@Override
+		public String getLabel() {
+			return label;
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public String getId() {
+			return label;
+		}
+
+		@Override
+		public void execute() {
+		}
+	}
+
+	private static final class Provider extends QuickAccessProvider {
+
+		private final int elementCount;
+
+		Provider(int elementCount) {
+			this.elementCount = elementCount;
+		}
+
+		@Override
+		public String getId() {
+			return "org.eclipse.ui.tests.performance.quickaccess";
+		}
+
+		@Override
+		public String getName() {
+			return "Tests";
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public QuickAccessElement[] getElements() {
+			QuickAccessElement[] elements = new QuickAccessElement[elementCount];
+			for (int i = 0; i < elementCount; i++) {
+				int words = i;
+				StringBuilder label = new StringBuilder();
+				do {
+					label.append(WORDS[words % WORDS.length]).append(' ');
+					words /= WORDS.length;
+				} while (words > 0);
+				elements[i] = new Element(label.append(i).toString());
+			}
+			return elements;
+		}
+
+		@Override
+		protected void doReset() {
+		}
+	}
+
+	private final int elementCount;
+
+	private Provider provider;
+
+	private QuickAccessIndex index;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] { { 5000 }, { 50000 } });
+	}
+
+	public QuickAccessFilterTest(int elementCount) {
+		super("testQuickAccessFilter:" + elementCount, BasicPerformanceTest.NONE);
+		this.elementCount = elementCount;
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		provider = new Provider(elementCount);
+		index = new QuickAccessIndex(new QuickAccessProvider[] { provider });
+		index.schedule();
+		index.join();
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		index.cancel();
+		super.doTearDown();
+	}
+
+	@Test
+	public void test() throws Throwable {
+		tagIfNecessary("UI - Quick Access Filter", Dimension.ELAPSED_PROCESS);
+
+		exercise(() -> {
+			processEvents();
+			EditorTestHelper.calmDown(500, 30000, 500);
+
+			startMeasuring();
+			for (String request : REQUESTS) {
+				for (int length = 1; length <= request.length(); length++) {
+					filter(request.substring(0, length));
+				}
+				// and correct the last character
+				filter(request.substring(0, request.length() - 1));
+			}
+			stopMeasuring();
+		});
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Computes the entries shown for the filter, like the quick access contents.
+	 */
+	private void filter(String filter) {
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		QuickAccessElement[] elements = provider.getElementsSorted(filter, monitor);
+		List<QuickAccessElement> matchingElements = index.getMatchingElements(provider, elements, filter, monitor);
+		if (matchingElements == null) {
+			fail("Elements not indexed");
+		}
+		int entries = 0;
+		for (QuickAccessElement element : matchingElements) {
+			if (entries == ENTRIES_SHOWN) {
+				break;
+			}
+			if (new QuickAccessMatcher(element).match(filter, provider) == null) {
+				fail(element.getLabel() + " doesn't match " + filter);
+			}
+			entries++;
+		}
+	}
+}
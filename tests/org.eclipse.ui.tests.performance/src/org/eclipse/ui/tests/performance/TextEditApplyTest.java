@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.text.edits.MalformedTreeException;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Measures applying an edit tree with a hundred thousand replacements to a
+ * document, like a rename refactoring does, one edit at a time and with
+ * {@link TextEdit#BATCH_UPDATES}.
+ */
+@RunWith(Parameterized.class)
+public class TextEditApplyTest extends BasicPerformanceTest {
+
+	private static final int EDITS = 100_000;
+
+	private static final String LINE = "\tfoo.bar(foo, 42);\n";
+
+	private final int style;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] { { Boolean.FALSE }, { Boolean.TRUE } });
+	}
+
+	public TextEditApplyTest(boolean batched) {
+		super("testTextEditApply:" + (batched ? "batched" : "sequential"), BasicPerformanceTest.NONE);
+		this.style = TextEdit.CREATE_UNDO | TextEdit.UPDATE_REGIONS | (batched ? TextEdit.BATCH_UPDATES : 0);
+	}
+
+	@Test
+	public void test() throws Throwable {
+		tagIfNecessary("Text - Apply Text Edits", Dimension.ELAPSED_PROCESS);
+
+		String content = LINE.repeat(EDITS);
+		Document document = new Document(content);
+		exercise(() -> {
+			processEvents();
+			EditorTestHelper.calmDown(500, 30000, 500);
+
+			MultiTextEdit root = new MultiTextEdit();
+			for (int i = 0; i < EDITS; i++) {
+				root.addChild(new ReplaceEdit(i * LINE.length() + 1, 3, "renamedFoo"));
+			}
+			try {
+				startMeasuring();
+				UndoEdit undo = root.apply(document, style);
+				stopMeasuring();
+				undo.apply(document);
+			} catch (MalformedTreeException | BadLocationException e) {
+				fail(e.getMessage());
+			}
+			assertEquals(content, document.get());
+		});
+
+		commitMeasurements();
+		assertPerformance();
+	}
+}
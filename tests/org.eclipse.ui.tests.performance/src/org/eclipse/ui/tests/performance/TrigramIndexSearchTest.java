@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.ui.tests.performance;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.search.core.text.TextSearchEngine;
+import org.eclipse.search.core.text.TextSearchMatchAccess;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.internal.core.text.IndexedTextSearchEngine;
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TrigramIndexManager;
+import org.eclipse.search.ui.text.FileTextSearchScope;
+import org.eclipse.test.performance.Dimension;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Measures searching a rare word in a workspace with ten thousand files, with
+ * the default text search engine and with the engine filtering the files
+ * through the trigram index.
+ */
+@SuppressWarnings("restriction")
+@RunWith(Parameterized.class)
+public class TrigramIndexSearchTest extends BasicPerformanceTest {
+
+	private static final String PROJECT_NAME = "trigramIndexSearchProject";
+
+	private static final String[] WORDS = { "alpha", "beta", "gamma", "delta", "epsilon", "zeta", "theta", "iota",
+			"kappa", "lambda" };
+
+	private static final String NEEDLE = "rareNeedleToken";
+
+	private static final int FOLDERS = 50;
+
+	private static final int FILES_PER_FOLDER = 200;
+
+	private static final int LINES_PER_FILE = 200;
+
+	private final boolean indexed;
+
+	private IProject project;
+
+	private File indexFile;
+
+	private TrigramIndexManager indexManager;
+
+	private TextSearchEngine engine;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		return Arrays.asList(new Object[][] { { Boolean.FALSE }, { Boolean.TRUE } });
+	}
+
+	public TrigramIndexSearchTest(boolean indexed) {
+		super("testTrigramIndexSearch:" + (indexed ? "indexed" : "default"), BasicPerformanceTest.NONE);
+		this.indexed = indexed;
+	}
+
+	@Override
+	protected void doSetUp() throws Exception {
+		super.doSetUp();
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(PROJECT_NAME);
+		Random random = new Random(42);
+		IWorkspaceRunnable create = monitor -> {
+			project.create(monitor);
+			project.open(monitor);
+			for (int f = 0; f < FOLDERS; f++) {
+				IFolder folder = project.getFolder("folder" + f);
+				folder.create(true, true, monitor);
+				for (int i = 0; i < FILES_PER_FOLDER; i++) {
+					StringBuilder content = new StringBuilder();
+					for (int l = 0; l < LINES_PER_FILE; l++) {
+						for (int w = 0; w < 8; w++) {
+							content.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(1000))
+									.append(' ');
+						}
+						content.append('\n');
+					}
+					if (i % 97 == 0) {
+						content.append(NEEDLE).append('\n');
+					}
+					folder.getFile("file" + i + ".txt").create(content.toString().getBytes(), true, monitor);
+				}
+			}
+		};
+		ResourcesPlugin.getWorkspace().run(create, new NullProgressMonitor());
+
+		if (indexed) {
+			indexFile = File.createTempFile("trigram", ".index");
+			indexFile.delete();
+			indexManager = new TrigramIndexManager(indexFile);
+			indexManager.start();
+			Job.getJobManager().join(TrigramIndexManager.FAMILY_INDEX_UPDATE, null);
+			engine = new IndexedTextSearchEngine(indexManager, null);
+		} else {
+			engine = TextSearchEngine.createDefault();
+		}
+	}
+
+	@Override
+	protected void doTearDown() throws Exception {
+		if (indexManager != null) {
+			indexManager.stop();
+			indexFile.delete();
+		}
+		try {
+			project.delete(true, true, new NullProgressMonitor());
+		} catch (CoreException e) {
+			fail(e.getMessage());
+		}
+		super.doTearDown();
+	}
+
+	@Test
+	public void test() throws Throwable {
+		tagIfNecessary("UI - Trigram Index Search", Dimension.ELAPSED_PROCESS);
+
+		FileTextSearchScope scope = FileTextSearchScope.newSearchScope(new IResource[] { project }, (String[]) null,
+				false);
+		Pattern pattern = PatternConstructor.createPattern(NEEDLE, false, false);
+		int expected = FOLDERS * ((FILES_PER_FOLDER + 96) / 97);
+		exercise(() -> {
+			processEvents();
+			EditorTestHelper.calmDown(500, 30000, 500);
+
+			AtomicInteger matches = new AtomicInteger();
+			TextSearchRequestor requestor = new TextSearchRequestor() {
+				@Override
+				public boolean canRunInParallel() {
+					return true;
+				}
+
+				@Override
+				public boolean acceptPatternMatch(TextSearchMatchAccess match) {
+					matches.incrementAndGet();
+					return true;
+				}
+			};
+			startMeasuring();
+			engine.search(scope, requestor, pattern, null);
+			stopMeasuring();
+			assertEquals(expected, matches.get());
+		});
+
+		commitMeasurements();
+		assertPerformance();
+	}
+}
@@ -43,7 +43,14 @@ public class UIPerformanceTestSuite extends FilteredTestSuite {
 		addTest(new JUnit4TestAdapter(OpenMultipleEditorTest.class));
 		addTest(new JUnit4TestAdapter(EditorSwitchTest.class));
 		addTestSuite(CommandsPerformanceTest.class);
+		addTest(new JUnit4TestAdapter(KeyBindingLookupTest.class));
+		addTest(new JUnit4TestAdapter(QuickAccessFilterTest.class));
+		addTest(new JUnit4TestAdapter(TrigramIndexSearchTest.class));
+		addTest(new JUnit4TestAdapter(PositionQueryTest.class));
+		addTest(new JUnit4TestAdapter(TextEditApplyTest.class));
+		addTest(new JUnit4TestAdapter(LineDiffTest.class));
 		addTest(new JUnit4TestAdapter(LabelProviderTest.class));
+		addTest(new JUnit4TestAdapter(LargeModelStartupTest.class));
 		addTestSuite(ProgressReportingTest.class);
 		addTestSuite(OpenProjectExplorerFolderTest.class);
 	}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.performance.parts;
+
+import jakarta.inject.Inject;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+
+/**
+ * The contribution of the parts of the models rendered by
+ * {@link org.eclipse.ui.tests.performance.LargeModelStartupTest}.
+ */
+public class PerformanceModelPart {
+
+	@Inject
+	public PerformanceModelPart(Composite parent) {
+		new Label(parent, SWT.NONE).setText(getClass().getSimpleName());
+	}
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.decorators;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.jface.viewers.DecorationContext;
+import org.eclipse.ui.internal.decorators.DecorationQueue;
+import org.eclipse.ui.internal.decorators.DecorationReference;
+import org.junit.Test;
+
+/**
+ * Tests the order in which the decoration scheduler decorates the elements.
+ */
+public class DecorationQueueTest {
+
+	private final DecorationQueue queue = new DecorationQueue();
+
+	private boolean add(String element, int generation) {
+		return queue.add(element, null, false, null, DecorationContext.DEFAULT_CONTEXT, generation);
+	}
+
+	private DecorationReference assertNext(String element) {
+		DecorationReference reference = queue.next();
+		assertEquals(element, reference.getElement());
+		return reference;
+	}
+
+	@Test
+	public void testNewestGenerationFirst() {
+		assertTrue(add("a", 1));
+		assertTrue(add("b", 1));
+		assertTrue(add("c", 2));
+		assertTrue(add("d", 2));
+
+		assertNext("c");
+		assertNext("d");
+		assertNull(queue.next());
+		queue.resetGeneration();
+		assertNext("a");
+		assertNext("b");
+		assertNull(queue.next());
+	}
+
+	@Test
+	public void testRequestedAgain() {
+		add("a", 1);
+		add("b", 1);
+		add("c", 1);
+
+		// the same generation keeps the order of the first request
+		assertFalse(add("a", 1));
+		// a newer one moves the element to the newer generation
+		assertFalse(add("b", 2));
+
+		assertEquals(3, queue.size());
+		assertNext("b");
+		queue.resetGeneration();
+		assertNext("a");
+		assertNext("c");
+	}
+
+	@Test
+	public void testNeverDecoratedTwiceAtOnce() {
+		add("a", 1);
+		add("b", 1);
+		DecorationReference a = assertNext("a");
+
+		// requested while being decorated
+		assertFalse(add("a", 1));
+		assertNext("b");
+		assertNull(queue.next());
+		assertFalse(queue.isIdle());
+
+		queue.done(a);
+		DecorationReference again = assertNext("a");
+		assertNotSame(a, again);
+		queue.done(again);
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void testOlderGenerationsWaitForUpdate() {
+		add("a", 1);
+		add("b", 2);
+		DecorationReference b = assertNext("b");
+		// a newer request is decorated before the update
+		add("c", 3);
+		assertNext("c");
+		queue.done(b);
+		assertNull(queue.next());
+		assertEquals(1, queue.size());
+
+		// once the labels are updated the older requests are decorated
+		queue.resetGeneration();
+		assertNext("a");
+	}
+
+	@Test
+	public void testIdle() {
+		assertTrue(queue.isIdle());
+		add("a", 1);
+		assertFalse(queue.isIdle());
+		DecorationReference a = assertNext("a");
+		assertFalse(queue.isIdle());
+		queue.done(a);
+		assertTrue(queue.isIdle());
+	}
+}
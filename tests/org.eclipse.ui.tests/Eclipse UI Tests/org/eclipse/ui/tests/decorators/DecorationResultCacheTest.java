@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.decorators;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.jface.viewers.DecorationContext;
+import org.eclipse.jface.viewers.IDecorationContext;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.decorators.DecorationResult;
+import org.eclipse.ui.internal.decorators.DecorationResultCache;
+import org.junit.Test;
+
+/**
+ * Tests for the cache of the results of the lightweight decorators.
+ */
+public class DecorationResultCacheTest {
+
+	private final DecorationResult result = WorkbenchPlugin.getDefault().getDecoratorManager()
+			.getLightweightManager().getDecorationResult(new Object());
+
+	@Test
+	public void testHitsAndMisses() {
+		DecorationResultCache cache = new DecorationResultCache(10);
+		IDecorationContext otherContext = new DecorationContext();
+		cache.put("a", DecorationContext.DEFAULT_CONTEXT, result);
+
+		assertSame(result, cache.get(new String("a"), DecorationContext.DEFAULT_CONTEXT));
+		assertNull(cache.get("a", otherContext));
+		assertNull(cache.get("b", DecorationContext.DEFAULT_CONTEXT));
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		DecorationResultCache cache = new DecorationResultCache(2);
+		cache.put("a", DecorationContext.DEFAULT_CONTEXT, result);
+		cache.put("b", DecorationContext.DEFAULT_CONTEXT, result);
+		cache.get("a", DecorationContext.DEFAULT_CONTEXT);
+		cache.put("c", DecorationContext.DEFAULT_CONTEXT, result);
+
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		assertSame(result, cache.get("a", DecorationContext.DEFAULT_CONTEXT));
+		assertNull(cache.get("b", DecorationContext.DEFAULT_CONTEXT));
+		assertSame(result, cache.get("c", DecorationContext.DEFAULT_CONTEXT));
+	}
+
+	@Test
+	public void testCollectedElement() throws InterruptedException {
+		DecorationResultCache cache = new DecorationResultCache(10);
+		cache.put(new Object(), DecorationContext.DEFAULT_CONTEXT, result);
+		cache.put("a", DecorationContext.DEFAULT_CONTEXT, result);
+
+		for (int i = 0; i < 100 && cache.size() > 1; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertEquals(1, cache.size());
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	@Test
+	public void testClear() {
+		DecorationResultCache cache = new DecorationResultCache(10);
+		cache.put("a", DecorationContext.DEFAULT_CONTEXT, result);
+		cache.clear();
+
+		assertEquals(0, cache.size());
+		assertNull(cache.get("a", DecorationContext.DEFAULT_CONTEXT));
+	}
+}
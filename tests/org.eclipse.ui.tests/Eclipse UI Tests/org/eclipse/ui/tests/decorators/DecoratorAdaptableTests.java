@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.ui.tests.decorators;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import org.eclipse.core.resources.IProject;
@@ -101,6 +102,25 @@ public class DecoratorAdaptableTests {
 			);
 	}
 
+	/**
+	 * Test the latency metrics of the decorators
+	 */
+	@Test
+	public final void testDecorationStatistics() {
+		LightweightDecoratorManager ldm = getDecoratorManager().getLightweightManager();
+		long count = ldm.getDecorationCount(TestAdaptableDecoratorContributor.ID);
+		long time = ldm.getDecorationTime(TestAdaptableDecoratorContributor.ID);
+
+		getDecorationTextFor(new ObjectContributionClasses.A());
+		getDecorationTextFor(new ObjectContributionClasses.B());
+
+		assertEquals(count + 2, ldm.getDecorationCount(TestAdaptableDecoratorContributor.ID));
+		assertTrue(ldm.getDecorationTime(TestAdaptableDecoratorContributor.ID) >= time);
+		assertTrue(ldm.getMaxDecorationTime(TestAdaptableDecoratorContributor.ID) <= ldm
+				.getDecorationTime(TestAdaptableDecoratorContributor.ID));
+		assertEquals(0, ldm.getDecorationCount("org.eclipse.ui.tests.noSuchDecorator"));
+	}
+
 	/**
 	 * Test non-adaptable contributions
 	 *
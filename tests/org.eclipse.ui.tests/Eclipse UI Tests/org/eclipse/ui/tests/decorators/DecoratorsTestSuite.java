@@ -27,6 +27,8 @@ import org.junit.runners.Suite;
 	DecoratorTableTest.class,
 	DecoratorAdaptableTests.class,
 	DecoratorCacheTest.class,
+	DecorationResultCacheTest.class,
+	DecorationQueueTest.class,
 })
 public class DecoratorsTestSuite {
 }
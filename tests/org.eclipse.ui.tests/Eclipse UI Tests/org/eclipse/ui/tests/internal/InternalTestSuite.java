@@ -21,6 +21,7 @@ import org.eclipse.ui.tests.markers.DeclarativeFilterDeclarationTest;
 import org.eclipse.ui.tests.markers.MarkerHelpRegistryReaderTest;
 import org.eclipse.ui.tests.markers.MarkerHelpRegistryTest;
 import org.eclipse.ui.tests.markers.MarkerQueryTest;
+import org.eclipse.ui.tests.markers.MarkerSortIndexTest;
 import org.eclipse.ui.tests.markers.MarkerSortUtilTest;
 import org.eclipse.ui.tests.markers.MarkerSupportRegistryTests;
 import org.eclipse.ui.tests.markers.MarkerSupportViewTest;
@@ -47,6 +48,7 @@ import org.junit.runners.Suite;
 	MarkerSupportRegistryTests.class,
 	MarkerSupportViewTest.class,
 	MarkerSortUtilTest.class,
+	MarkerSortIndexTest.class,
 	MarkerViewTests.class,
 	MarkerViewUtilTest.class,
 	MarkerHelpRegistryTest.class,
@@ -69,6 +71,7 @@ import org.junit.runners.Suite;
 	LargeFileLimitsPreferenceHandlerTest.class,
 	WorkbookEditorsHandlerTest.class,
 	ScopeAreaTest.class,
+	LogReaderTest.class,
 		MarkerTypeTests.class
 })
 public class InternalTestSuite {}
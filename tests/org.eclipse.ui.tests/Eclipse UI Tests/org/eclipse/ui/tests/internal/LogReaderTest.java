@@ -0,0 +1,241 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.ui.IMemento;
+import org.eclipse.ui.XMLMemento;
+import org.eclipse.ui.internal.views.log.AbstractEntry;
+import org.eclipse.ui.internal.views.log.LogEntry;
+import org.eclipse.ui.internal.views.log.LogFileIndex;
+import org.eclipse.ui.internal.views.log.LogReader;
+import org.eclipse.ui.internal.views.log.LogSession;
+import org.eclipse.ui.internal.views.log.LogView;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests reading the error log through a {@link LogFileIndex}.
+ */
+public class LogReaderTest {
+
+	private static final String FIRST_SESSION = "2025-01-01 10:00:00.000";
+	private static final String SECOND_SESSION = "2025-01-02 10:00:00.000";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testSessions() throws IOException {
+		File file = write(session(FIRST_SESSION) + entry("a", IStatus.ERROR, "first")
+				+ entry("a", IStatus.ERROR, "second") + session(SECOND_SESSION) + entry("a", IStatus.ERROR, "third"));
+		LogFileIndex index = LogFileIndex.create(file, null);
+		assertEquals(5, index.size());
+		assertEquals(LogFileIndex.SESSION, index.getKind(0));
+		assertEquals(IStatus.ERROR, index.getKind(1));
+
+		List<LogEntry> entries = new ArrayList<>();
+		LogSession session = LogReader.parseLogFile(index, entries, memento(false, 0));
+		assertEquals(List.of("third"), messages(entries));
+		assertSame(session, entries.get(0).getSession());
+		assertEquals(date(SECOND_SESSION), session.getDate());
+
+		entries.clear();
+		session = LogReader.parseLogFile(index, entries, memento(true, 0));
+		assertEquals(List.of("first", "second", "third"), messages(entries));
+		assertEquals(date(FIRST_SESSION), entries.get(0).getSession().getDate());
+		assertSame(session, entries.get(2).getSession());
+	}
+
+	@Test
+	public void testSeverityFilter() throws IOException {
+		File file = write(session(FIRST_SESSION) + entry("a", IStatus.OK, "ok") + entry("a", IStatus.INFO, "info")
+				+ entry("a", IStatus.WARNING, "warning") + entry("a", IStatus.ERROR, "error"));
+		IMemento memento = memento(true, 0);
+		memento.putString(LogView.P_LOG_OK, "false");
+		memento.putString(LogView.P_LOG_INFO, "false");
+		List<LogEntry> entries = new ArrayList<>();
+		LogReader.parseLogFile(LogFileIndex.create(file, null), entries, memento);
+		assertEquals(List.of("warning", "error"), messages(entries));
+	}
+
+	@Test
+	public void testLimit() throws IOException {
+		StringBuilder log = new StringBuilder(session(FIRST_SESSION));
+		for (int i = 0; i < 10; i++) {
+			log.append(entry("a", i % 2 == 0 ? IStatus.ERROR : IStatus.INFO, "entry" + i));
+		}
+		File file = write(log.toString());
+		IMemento memento = memento(true, 3);
+		memento.putString(LogView.P_LOG_INFO, "false");
+		List<LogEntry> entries = new ArrayList<>();
+		LogReader.parseLogFile(LogFileIndex.create(file, null), entries, memento);
+		assertEquals(List.of("entry4", "entry6", "entry8"), messages(entries));
+
+		entries.clear();
+		memento.putInteger(LogView.P_LOG_LIMIT, 0);
+		assertNull(LogReader.parseLogFile(LogFileIndex.create(file, null), entries, memento));
+		assertEquals(List.of(), messages(entries));
+	}
+
+	@Test
+	public void testGrownFile() throws IOException {
+		// the last entry is still being written
+		File file = write(session(FIRST_SESSION) + entry("a", IStatus.ERROR, "first")
+				+ "!ENTRY a 4 0 2025-01-01 10:00:02.000\n");
+		LogFileIndex index = LogFileIndex.create(file, null);
+		assertEquals(3, index.size());
+		append(file, "!MESSAGE second\n\n" + entry("a", IStatus.WARNING, "third"));
+
+		LogFileIndex grown = LogFileIndex.create(file, index);
+		assertEquals(4, grown.size());
+		assertEquals(IStatus.WARNING, grown.getKind(3));
+		List<LogEntry> entries = new ArrayList<>();
+		LogReader.parseLogFile(grown, entries, memento(true, 0));
+		assertEquals(List.of("first", "second", "third"), messages(entries));
+	}
+
+	@Test
+	public void testReplacedFile() throws IOException {
+		File file = write(session(FIRST_SESSION) + entry("a", IStatus.ERROR, "first"));
+		LogFileIndex index = LogFileIndex.create(file, null);
+		// rotated, the new file is longer than the old one and the previous
+		// offsets are no longer at the start of a session or an entry
+		write(entry("b", IStatus.WARNING, "replaced") + session(SECOND_SESSION) + entry("b", IStatus.INFO, "more"));
+
+		LogFileIndex replaced = LogFileIndex.create(file, index);
+		assertEquals(3, replaced.size());
+		List<LogEntry> entries = new ArrayList<>();
+		LogSession session = LogReader.parseLogFile(replaced, entries, memento(true, 0));
+		assertEquals(List.of("replaced", "more"), messages(entries));
+		assertEquals(date(SECOND_SESSION), session.getDate());
+	}
+
+	@Test
+	public void testLikeTailParser() throws IOException {
+		String log = entry("before.session", IStatus.INFO, "no session yet") + session(FIRST_SESSION)
+				+ "!ENTRY a 4 1 2025-01-01 10:00:01.000\n"
+				+ "!MESSAGE with stack and children\n"
+				+ "!STACK 0\n"
+				+ "java.lang.IllegalStateException\n"
+				+ "\tat a.A.run(A.java:1)\n"
+				+ "!SUBENTRY 1 b 2 0 2025-01-01 10:00:01.000\n"
+				+ "!MESSAGE child\n"
+				+ "!SUBENTRY 2 c 1 0 2025-01-01 10:00:01.000\n"
+				+ "!MESSAGE grandchild\n"
+				+ "!STACK 1\n"
+				+ "java.lang.Exception\n"
+				+ "\n"
+				+ "!ENTRY framework 2025-01-01 10:00:02.000\n"
+				+ "!MESSAGE logged by the framework\n"
+				+ "\n"
+				+ entry("a", IStatus.WARNING, "multi\nline") + session(SECOND_SESSION)
+				+ entry("a", IStatus.OK, "ok") + entry("a", IStatus.CANCEL, "cancel")
+				+ entry("a", IStatus.ERROR, "last");
+		File file = write(log);
+		LogFileIndex index = LogFileIndex.create(file, null);
+		for (boolean allSessions : new boolean[] { false, true }) {
+			for (int limit : new int[] { 0, 1, 2, 100 }) {
+				IMemento memento = memento(allSessions, limit);
+				List<LogEntry> tail = new ArrayList<>();
+				LogSession tailSession = LogReader.parseLogFile(file, 1, tail, memento);
+				List<LogEntry> indexed = new ArrayList<>();
+				LogSession indexedSession = LogReader.parseLogFile(index, indexed, memento);
+				assertEquals(describe(tail), describe(indexed));
+				assertEquals(tailSession == null ? null : tailSession.getDate(),
+						indexedSession == null ? null : indexedSession.getDate());
+			}
+		}
+	}
+
+	private File write(String log) throws IOException {
+		File file = new File(folder.getRoot(), ".log");
+		Files.writeString(file.toPath(), log, StandardCharsets.UTF_8);
+		return file;
+	}
+
+	private static void append(File file, String log) throws IOException {
+		Files.writeString(file.toPath(), log, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+	}
+
+	private static String session(String date) {
+		return "!SESSION " + date + " -----------------------------------------------\n"
+				+ "eclipse.buildId=unknown\n"
+				+ "java.version=21\n"
+				+ "\n";
+	}
+
+	private static String entry(String pluginId, int severity, String message) {
+		return "!ENTRY " + pluginId + " " + severity + " 0 2025-01-01 10:00:01.000\n"
+				+ "!MESSAGE " + message + "\n"
+				+ "\n";
+	}
+
+	/**
+	 * @param limit
+	 *            the count limit or <code>0</code> for no limit
+	 */
+	private static IMemento memento(boolean allSessions, int limit) {
+		IMemento memento = XMLMemento.createWriteRoot("logView");
+		memento.putString(LogView.P_LOG_OK, "true");
+		memento.putString(LogView.P_LOG_INFO, "true");
+		memento.putString(LogView.P_LOG_WARNING, "true");
+		memento.putString(LogView.P_LOG_ERROR, "true");
+		memento.putString(LogView.P_USE_LIMIT, Boolean.toString(limit > 0));
+		memento.putInteger(LogView.P_LOG_LIMIT, limit);
+		memento.putString(LogView.P_SHOW_ALL_SESSIONS, Boolean.toString(allSessions));
+		return memento;
+	}
+
+	private static Date date(String session) {
+		LogSession logSession = new LogSession();
+		logSession.setDate(session);
+		return logSession.getDate();
+	}
+
+	private static List<String> messages(List<LogEntry> entries) {
+		List<String> messages = new ArrayList<>();
+		for (LogEntry entry : entries) {
+			messages.add(entry.getMessage());
+		}
+		return messages;
+	}
+
+	private static List<String> describe(List<? extends AbstractEntry> entries) {
+		List<String> descriptions = new ArrayList<>();
+		for (AbstractEntry abstractEntry : entries) {
+			LogEntry entry = (LogEntry) abstractEntry;
+			LogSession session = entry.getSession();
+			descriptions.add(entry.getPluginId() + ' ' + entry.getSeverity() + ' ' + entry.getCode() + ' '
+					+ entry.getDate() + ' ' + entry.getMessage() + ' ' + entry.getStack() + ' '
+					+ (session == null ? null : session.getDate() + " " + session.getSessionData()) + ' '
+					+ describe(List.of(entry.getChildren(entry))));
+		}
+		return descriptions;
+	}
+}
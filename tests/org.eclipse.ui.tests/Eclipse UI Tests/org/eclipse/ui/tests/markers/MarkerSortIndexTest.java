@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.markers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.ui.internal.views.markers.MarkerCreationTimeField;
+import org.eclipse.ui.internal.views.markers.MarkerDescriptionField;
+import org.eclipse.ui.internal.views.markers.MarkerIDField;
+import org.eclipse.ui.internal.views.markers.MarkerPriorityField;
+import org.eclipse.ui.internal.views.markers.MarkerResourceField;
+import org.eclipse.ui.internal.views.markers.MarkerSeverityAndDescriptionField;
+import org.eclipse.ui.internal.views.markers.MarkerSeverityField;
+import org.eclipse.ui.internal.views.markers.MarkerSortUtil;
+import org.eclipse.ui.views.markers.MarkerField;
+import org.eclipse.ui.views.markers.MarkerItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the sort keys of the MarkerSortIndex order the markers exactly
+ * like the MarkerComparator does.
+ */
+public class MarkerSortIndexTest {
+
+	private static final String[] MESSAGES = { "", "apple", "Apple", "apples", "Äpfel", "banana", "Banana",
+			"banana 2", "banana 10", "cherry" };
+
+	private IProject project;
+
+	private Class<?> entryClass;
+
+	private Object[] entries;
+
+	private final MarkerField category = new MarkerPriorityField();
+
+	private final MarkerField severityAndDescription = new MarkerSeverityAndDescriptionField();
+
+	private final MarkerField description = new MarkerDescriptionField();
+
+	private final MarkerField severity = new MarkerSeverityField();
+
+	private final MarkerField creationTime = new MarkerCreationTimeField();
+
+	private final MarkerField id = new MarkerIDField();
+
+	private final MarkerField resource = new MarkerResourceField();
+
+	@Before
+	public void doSetUp() throws Exception {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject("tests");
+		if (!project.exists()) {
+			project.create(null);
+		}
+		if (!project.isOpen()) {
+			project.open(null);
+		}
+		IFile file = project.getFile("file.txt");
+		if (!file.exists()) {
+			file.create(new byte[0], true, false, null);
+		}
+
+		// the package of the markers view is not accessible to the tests
+		entryClass = Class.forName("org.eclipse.ui.internal.views.markers.MarkerEntry", true,
+				MarkerSortUtil.class.getClassLoader());
+		Constructor<?> entryConstructor = entryClass.getConstructor(IMarker.class);
+		entryConstructor.setAccessible(true);
+		Random random = new Random(17);
+		entries = (Object[]) Array.newInstance(entryClass, 300);
+		for (int i = 0; i < entries.length; i++) {
+			IResource markerResource = random.nextBoolean() ? project : file;
+			IMarker marker = markerResource.createMarker(IMarker.PROBLEM);
+			marker.setAttribute(IMarker.SEVERITY, random.nextInt(3));
+			marker.setAttribute(IMarker.PRIORITY, random.nextInt(3));
+			// no message is sorted like an empty message
+			if (random.nextInt(10) > 0) {
+				marker.setAttribute(IMarker.MESSAGE, MESSAGES[random.nextInt(MESSAGES.length)]);
+			}
+			entries[i] = entryConstructor.newInstance(marker);
+		}
+	}
+
+	@After
+	public void doTearDown() throws Exception {
+		if (project.exists()) {
+			project.delete(true, null);
+		}
+	}
+
+	@Test
+	public void testSortLikeComparator() throws Exception {
+		Object comparator = createComparator(severityAndDescription, description, severity, creationTime, id);
+		assertSortedLikeComparator(comparator);
+	}
+
+	@Test
+	public void testDescendingFields() throws Exception {
+		Object comparator = createComparator(severityAndDescription, description, severity, creationTime, id);
+		invoke(comparator, "reversePriority", new Class<?>[] { MarkerField.class }, description);
+		invoke(comparator, "reversePriority", new Class<?>[] { MarkerField.class }, severity);
+		assertSortedLikeComparator(comparator);
+		invoke(comparator, "reversePriority", new Class<?>[] { MarkerField.class }, severityAndDescription);
+		assertSortedLikeComparator(comparator);
+	}
+
+	@Test
+	public void testChangedPrimarySortField() throws Exception {
+		Object comparator = createComparator(severityAndDescription, description, severity, creationTime, id);
+		invoke(comparator, "setPrimarySortField", new Class<?>[] { MarkerField.class }, description);
+		assertSortedLikeComparator(comparator);
+		invoke(comparator, "setPrimarySortField", new Class<?>[] { MarkerField.class }, severity);
+		assertSortedLikeComparator(comparator);
+		// setting the primary sort field again reverses its direction
+		invoke(comparator, "setPrimarySortField", new Class<?>[] { MarkerField.class }, severity);
+		assertSortedLikeComparator(comparator);
+		invoke(comparator, "setPrimarySortField", new Class<?>[] { MarkerField.class }, creationTime);
+		assertSortedLikeComparator(comparator);
+	}
+
+	@Test
+	public void testUnindexedFields() throws Exception {
+		// only the fields before the resource are indexed
+		Object comparator = createComparator(severity, resource, description, id);
+		assertSortedLikeComparator(comparator);
+
+		// the index does not sort if the primary sort field is not indexed
+		invoke(comparator, "setPrimarySortField", new Class<?>[] { MarkerField.class }, resource);
+		Object[] sorted = entries.clone();
+		assertFalse(sortByIndex(sorted, 0, sorted.length - 1, comparator));
+	}
+
+	private Object createComparator(MarkerField... fields) throws Exception {
+		Class<?> comparatorClass = Class.forName("org.eclipse.ui.internal.views.markers.MarkerComparator", true,
+				entryClass.getClassLoader());
+		Constructor<?> constructor = comparatorClass.getConstructor(MarkerField.class, MarkerField[].class);
+		constructor.setAccessible(true);
+		return constructor.newInstance(category, fields);
+	}
+
+	/**
+	 * Sorts the entries like the markers view does when showing categories,
+	 * by their category first and then by the index within each category.
+	 */
+	@SuppressWarnings("unchecked")
+	private void assertSortedLikeComparator(Object comparator) throws Exception {
+		Comparator<Object> markerComparator = (Comparator<Object>) comparator;
+		Object[] expected = entries.clone();
+		Arrays.sort(expected, markerComparator);
+
+		Object[] sorted = entries.clone();
+		Arrays.sort(sorted, (o1, o2) -> category.compare((MarkerItem) o1, (MarkerItem) o2));
+		int start = 0;
+		for (int i = 1; i <= sorted.length; i++) {
+			if (i == sorted.length || category.compare((MarkerItem) sorted[start], (MarkerItem) sorted[i]) != 0) {
+				assertTrue(sortByIndex(sorted, start, i - 1, comparator));
+				start = i;
+			}
+		}
+		assertArrayEquals(expected, sorted);
+	}
+
+	private boolean sortByIndex(Object[] sorted, int from, int to, Object comparator) throws Exception {
+		Class<?> indexClass = Class.forName("org.eclipse.ui.internal.views.markers.MarkerSortIndex", true,
+				entryClass.getClassLoader());
+		Method sort = indexClass.getDeclaredMethod("sort", sorted.getClass(), int.class, int.class,
+				comparator.getClass(), IProgressMonitor.class);
+		sort.setAccessible(true);
+		return ((Boolean) sort.invoke(null, sorted, Integer.valueOf(from), Integer.valueOf(to), comparator,
+				new NullProgressMonitor())).booleanValue();
+	}
+
+	private static void invoke(Object target, String name, Class<?>[] parameterTypes, Object... arguments)
+			throws Exception {
+		Method method = target.getClass().getDeclaredMethod(name, parameterTypes);
+		method.setAccessible(true);
+		method.invoke(target, arguments);
+	}
+}
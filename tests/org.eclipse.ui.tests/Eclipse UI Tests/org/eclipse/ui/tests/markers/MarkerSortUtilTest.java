@@ -14,11 +14,22 @@
 
 package org.eclipse.ui.tests.markers;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.ui.internal.views.markers.MarkerEntry;
 import org.eclipse.ui.internal.views.markers.MarkerSortUtil;
 import org.eclipse.ui.internal.views.markers.MockMarkerEntry;
 import org.eclipse.ui.views.markers.MarkerItem;
@@ -52,6 +63,118 @@ public class MarkerSortUtilTest {
 		}
 	}
 
+	@Test
+	public void testMergeMovesChangedEntry() {
+		MockMarkerEntry[] entries = entries("aa", "ac", "ae", "ba", "bc");
+		// "ac" changed to "bb" and "ae" was removed, "ab" was added
+		Set<MarkerEntry> removed = identitySet(entries[1], entries[2]);
+		MockMarkerEntry[] added = entries("bb", "ab");
+		int[] mergedEnds = new int[2];
+		MarkerEntry[] merged = MarkerSortUtil.mergeSorted(entries, new int[] { 3, 5 }, removed::contains, added,
+				new int[] { 1, 0 }, NAME_COMPARATOR, mergedEnds, null, new NullProgressMonitor());
+		assertArrayEquals(entries("aa", "ab", "ba", "bb", "bc"), merged);
+		assertArrayEquals(new int[] { 2, 5 }, mergedEnds);
+	}
+
+	@Test
+	public void testMergeLikeFullRebuild() {
+		Random random = new Random(4711);
+		for (int run = 0; run < 100; run++) {
+			int categoryCount = 1 + random.nextInt(4);
+			List<MockMarkerEntry> current = new ArrayList<>();
+			for (int i = random.nextInt(40); i > 0; i--) {
+				current.add(randomEntry(random, categoryCount));
+			}
+			int[] categoryEnds = new int[categoryCount];
+			MarkerEntry[] entries = rebuild(current, categoryEnds);
+			for (int update = 0; update < 10; update++) {
+				Set<MarkerEntry> removed = identitySet();
+				List<MockMarkerEntry> added = new ArrayList<>();
+				for (Iterator<MockMarkerEntry> iterator = current.iterator(); iterator.hasNext();) {
+					MockMarkerEntry entry = iterator.next();
+					int change = random.nextInt(10);
+					if (change < 2) {
+						removed.add(entry);
+						iterator.remove();
+					}
+					if (change == 1) {
+						// changed, so possibly in another category or position
+						added.add(randomEntry(random, categoryCount));
+					}
+				}
+				for (int i = random.nextInt(5); i > 0; i--) {
+					added.add(randomEntry(random, categoryCount));
+				}
+				current.addAll(added);
+				MockMarkerEntry[] addedEntries = added.toArray(new MockMarkerEntry[added.size()]);
+				int[] addedCategories = new int[addedEntries.length];
+				for (int i = 0; i < addedEntries.length; i++) {
+					addedCategories[i] = category(addedEntries[i]);
+				}
+
+				int[] mergedEnds = new int[categoryCount];
+				MarkerEntry[] merged = MarkerSortUtil.mergeSorted(entries, categoryEnds, removed::contains,
+						addedEntries, addedCategories, NAME_COMPARATOR, mergedEnds, new ArrayList<>(),
+						new NullProgressMonitor());
+				assertNotNull(merged);
+				int[] rebuiltEnds = new int[categoryCount];
+				MarkerEntry[] rebuilt = rebuild(current, rebuiltEnds);
+				assertArrayEquals(rebuilt, merged);
+				assertArrayEquals(rebuiltEnds, mergedEnds);
+				entries = merged;
+				categoryEnds = mergedEnds;
+			}
+		}
+	}
+
+	private static final Comparator<MarkerItem> NAME_COMPARATOR = (o1, o2) -> ((MockMarkerEntry) o1).name
+			.compareTo(((MockMarkerEntry) o2).name);
+
+	private static MockMarkerEntry[] entries(String... names) {
+		MockMarkerEntry[] entries = new MockMarkerEntry[names.length];
+		for (int i = 0; i < names.length; i++) {
+			entries[i] = new MockMarkerEntry(names[i]);
+		}
+		return entries;
+	}
+
+	private static Set<MarkerEntry> identitySet(MarkerEntry... entries) {
+		Set<MarkerEntry> set = Collections.newSetFromMap(new IdentityHashMap<>());
+		set.addAll(Arrays.asList(entries));
+		return set;
+	}
+
+	/**
+	 * The category of an entry is given by the first character of its name.
+	 */
+	private static int category(MockMarkerEntry entry) {
+		return entry.name.charAt(0) - 'a';
+	}
+
+	private static MockMarkerEntry randomEntry(Random random, int categoryCount) {
+		// few names, so that equal entries have to be merged too
+		return new MockMarkerEntry(new String(new char[] { (char) ('a' + random.nextInt(categoryCount)),
+				(char) ('a' + random.nextInt(4)), (char) ('a' + random.nextInt(4)) }));
+	}
+
+	/**
+	 * Sorts the entries within their categories like building the markers again.
+	 */
+	private static MarkerEntry[] rebuild(List<MockMarkerEntry> entries, int[] categoryEnds) {
+		MarkerEntry[] result = new MarkerEntry[entries.size()];
+		int end = 0;
+		for (int category = 0; category < categoryEnds.length; category++) {
+			int start = end;
+			for (MockMarkerEntry entry : entries) {
+				if (category(entry) == category) {
+					result[end++] = entry;
+				}
+			}
+			Arrays.sort(result, start, end, NAME_COMPARATOR);
+			categoryEnds[category] = end;
+		}
+		return result;
+	}
 
 	/**
 	 * Generate a large sized array for sorting
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.tests.quickaccess;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.ui.internal.quickaccess.QuickAccessIndex;
+import org.eclipse.ui.internal.quickaccess.QuickAccessMatcher;
+import org.eclipse.ui.internal.quickaccess.QuickAccessProvider;
+import org.eclipse.ui.quickaccess.QuickAccessElement;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the quick access index filters the elements like the
+ * {@link QuickAccessMatcher}.
+ */
+public class QuickAccessIndexTest {
+
+	private static final String[] LABELS = { "Show View", "Show Console", "Open Type", "Open Type Hierarchy",
+			"Toggle Breakpoint", "Run As (Java Application)", "Search" };
+
+	private static final class Element extends QuickAccessElement {
+
+		private final String label;
+
+		Element(String label) {
+			this.label = label;
+		}
+
+		@Override
+		public String getLabel() {
+			return label;
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public String getId() {
+			return label;
+		}
+
+		@Override
+		public void execute() {
+		}
+	}
+
+	private static final class Provider extends QuickAccessProvider {
+
+		@Override
+		public String getId() {
+			return "org.eclipse.ui.tests.quickaccess.index";
+		}
+
+		@Override
+		public String getName() {
+			return "Commands";
+		}
+
+		@Override
+		public ImageDescriptor getImageDescriptor() {
+			return null;
+		}
+
+		@Override
+		public QuickAccessElement[] getElements() {
+			QuickAccessElement[] elements = new QuickAccessElement[LABELS.length];
+			for (int i = 0; i < LABELS.length; i++) {
+				elements[i] = new Element(LABELS[i]);
+			}
+			return elements;
+		}
+
+		@Override
+		protected void doReset() {
+		}
+	}
+
+	private Provider provider;
+
+	private QuickAccessIndex index;
+
+	@Before
+	public void setUp() throws Exception {
+		provider = new Provider();
+		index = new QuickAccessIndex(new QuickAccessProvider[] { provider });
+		index.schedule();
+		index.join();
+	}
+
+	private void assertMatchingElements(String filter) {
+		QuickAccessElement[] elements = provider.getElementsSorted(filter, null);
+		List<QuickAccessElement> expected = new ArrayList<>();
+		for (QuickAccessElement element : elements) {
+			if (new QuickAccessMatcher(element).match(filter, provider) != null) {
+				expected.add(element);
+			}
+		}
+		assertEquals(filter, expected, new ArrayList<>(index.getMatchingElements(provider, elements, filter, null)));
+	}
+
+	@Test
+	public void testTyping() {
+		for (String filter : new String[] { "o", "op", "ope", "open", "open ", "open t", "open ty", "open type",
+				"open type h" }) {
+			assertMatchingElements(filter);
+		}
+	}
+
+	@Test
+	public void testCorrection() {
+		for (String filter : new String[] { "sh", "sho", "show", "show v", "show", "show c", "s", "se" }) {
+			assertMatchingElements(filter);
+		}
+	}
+
+	@Test
+	public void testWildcardsAndCamelCase() {
+		for (String filter : new String[] { "*", "*v", "*vi", "t?b", "oth", "commands s", "(java", "run (" }) {
+			assertMatchingElements(filter);
+		}
+	}
+
+	@Test
+	public void testElementsNotIndexed() {
+		QuickAccessElement[] elements = provider.getElementsSorted(null, null);
+		provider.reset();
+		QuickAccessElement[] otherElements = provider.getElementsSorted(null, null);
+		QuickAccessProvider otherProvider = new Provider();
+
+		assertEquals(1, index.getMatchingElements(provider, elements, "view", null).size());
+		assertNull(index.getMatchingElements(provider, otherElements, "view", null));
+		assertNull(index.getMatchingElements(otherProvider, otherProvider.getElementsSorted(null, null), "view", null));
+	}
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2025 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.source.LineRange;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.HistogramDiff;
+import org.eclipse.ui.internal.texteditor.quickdiff.QuickDiffRangeDifference;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DJBHashFunction;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+
+import org.eclipse.compare.rangedifferencer.IRangeComparator;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+/**
+ * Tests for the {@link HistogramDiff}.
+ */
+public class HistogramDiffTest {
+
+	private static List<QuickDiffRangeDifference> diff(String left, String right) {
+		DJBHashFunction hash= new DJBHashFunction();
+		return HistogramDiff.findRanges(null, new DocumentEquivalenceClass(new Document(left), hash), null, new DocumentEquivalenceClass(new Document(right), hash), null);
+	}
+
+	private static void assertRange(int kind, int leftStart, int leftLength, int rightStart, int rightLength, RangeDifference range) {
+		assertEquals(kind, range.kind());
+		assertEquals(leftStart, range.leftStart());
+		assertEquals(leftLength, range.leftLength());
+		assertEquals(rightStart, range.rightStart());
+		assertEquals(rightLength, range.rightLength());
+	}
+
+	/**
+	 * Checks that the ranges alternate, are contiguous and cover both documents, and returns the
+	 * number of unchanged lines.
+	 */
+	private static int assertValid(List<QuickDiffRangeDifference> ranges, int leftLines, int rightLines) {
+		int left= 0, right= 0, unchanged= 0;
+		int previousKind= -1;
+		for (QuickDiffRangeDifference range : ranges) {
+			assertTrue(range.kind() != previousKind);
+			assertEquals(left, range.leftStart());
+			assertEquals(right, range.rightStart());
+			if (range.kind() == RangeDifference.NOCHANGE) {
+				assertEquals(range.leftLength(), range.rightLength());
+				assertTrue(range.leftLength() > 0);
+				unchanged+= range.leftLength();
+			}
+			left= range.leftEnd();
+			right= range.rightEnd();
+			previousKind= range.kind();
+		}
+		assertEquals(leftLines, left);
+		assertEquals(rightLines, right);
+		return unchanged;
+	}
+
+	private static int unchangedByRangeDifferencer(String left, String right) {
+		DJBHashFunction hash= new DJBHashFunction();
+		IRangeComparator leftComparator= new DocEquivalenceComparator(new DocumentEquivalenceClass(new Document(left), hash), null);
+		IRangeComparator rightComparator= new DocEquivalenceComparator(new DocumentEquivalenceClass(new Document(right), hash), null);
+		int unchanged= 0;
+		for (RangeDifference range : RangeDifferencer.findRanges(leftComparator, rightComparator)) {
+			if (range.kind() == RangeDifference.NOCHANGE)
+				unchanged+= range.leftLength();
+		}
+		return unchanged;
+	}
+
+	@Test
+	public void testIdentical() {
+		List<QuickDiffRangeDifference> ranges= diff("a\nb\nc", "a\nb\nc");
+		assertEquals(1, ranges.size());
+		assertRange(RangeDifference.NOCHANGE, 0, 3, 0, 3, ranges.get(0));
+	}
+
+	@Test
+	public void testInsertion() {
+		List<QuickDiffRangeDifference> ranges= diff("a\nb\nc\n", "a\nb\nx\ny\nc\n");
+		assertEquals(3, ranges.size());
+		assertRange(RangeDifference.NOCHANGE, 0, 2, 0, 2, ranges.get(0));
+		assertRange(RangeDifference.CHANGE, 2, 0, 2, 2, ranges.get(1));
+		assertRange(RangeDifference.NOCHANGE, 2, 2, 4, 2, ranges.get(2));
+	}
+
+	@Test
+	public void testDeletionAndChange() {
+		List<QuickDiffRangeDifference> ranges= diff("x\na\nb\nc\nd", "a\nc\ny");
+		assertEquals(5, ranges.size());
+		assertRange(RangeDifference.CHANGE, 0, 1, 0, 0, ranges.get(0));
+		assertRange(RangeDifference.NOCHANGE, 1, 1, 0, 1, ranges.get(1));
+		assertRange(RangeDifference.CHANGE, 2, 1, 1, 0, ranges.get(2));
+		assertRange(RangeDifference.NOCHANGE, 3, 1, 1, 1, ranges.get(3));
+		assertRange(RangeDifference.CHANGE, 4, 1, 2, 1, ranges.get(4));
+	}
+
+	@Test
+	public void testMovedBlock() {
+		// the unique lines are aligned, not the repeated braces
+		List<QuickDiffRangeDifference> ranges= diff("}\n}\nfoo\nbar\n}\n", "foo\nbar\n}\n}\n}\n");
+		assertEquals(4, assertValid(ranges, 6, 6));
+		assertRange(RangeDifference.CHANGE, 0, 2, 0, 0, ranges.get(0));
+		assertRange(RangeDifference.NOCHANGE, 2, 2, 0, 2, ranges.get(1));
+	}
+
+	@Test
+	public void testLineRanges() {
+		DJBHashFunction hash= new DJBHashFunction();
+		DocumentEquivalenceClass left= new DocumentEquivalenceClass(new Document("a\nb\nc\nd\n"), hash);
+		DocumentEquivalenceClass right= new DocumentEquivalenceClass(new Document("a\nb\nx\nd\n"), hash);
+		List<QuickDiffRangeDifference> ranges= HistogramDiff.findRanges(null, left, new LineRange(1, 3), right, new LineRange(1, 3));
+		assertEquals(3, ranges.size());
+		assertRange(RangeDifference.NOCHANGE, 0, 1, 0, 1, ranges.get(0));
+		assertRange(RangeDifference.CHANGE, 1, 1, 1, 1, ranges.get(1));
+		assertRange(RangeDifference.NOCHANGE, 2, 1, 2, 1, ranges.get(2));
+	}
+
+	@Test
+	public void testRandomEdits() {
+		Random random= new Random(42);
+		for (int i= 0; i < 200; i++) {
+			StringBuilder left= new StringBuilder();
+			StringBuilder right= new StringBuilder();
+			int leftLines= 0, rightLines= 0;
+			for (int line= 0; line < 100; line++) {
+				String text= "line " + random.nextInt(30) + "\n";
+				int edit= random.nextInt(10);
+				if (edit != 0) {
+					left.append(text);
+					leftLines++;
+				}
+				if (edit != 1) {
+					right.append(edit == 2 ? "changed " + text : text);
+					rightLines++;
+				}
+			}
+			int unchanged= assertValid(diff(left.toString(), right.toString()), leftLines + 1, rightLines + 1);
+			assertTrue(unchanged >= unchangedByRangeDifferencer(left.toString(), right.toString()));
+		}
+	}
+
+	@Test
+	public void testLargeRandomEdits() {
+		// too large to be aligned on the longest common subsequence at once
+		Random random= new Random(42);
+		for (int i= 0; i < 10; i++) {
+			StringBuilder left= new StringBuilder();
+			StringBuilder right= new StringBuilder();
+			int leftLines= 0, rightLines= 0, kept= 0;
+			for (int line= 0; line < 1000; line++) {
+				String text= "line " + random.nextInt(500) + "\n";
+				int edit= random.nextInt(10);
+				if (edit != 0) {
+					left.append(text);
+					leftLines++;
+				}
+				if (edit != 1) {
+					right.append(edit == 2 ? "changed " + text : text);
+					rightLines++;
+				}
+				if (edit > 2)
+					kept++;
+			}
+			int unchanged= assertValid(diff(left.toString(), right.toString()), leftLines + 1, rightLines + 1);
+			// the kept lines are a common subsequence
+			assertTrue(unchanged >= kept);
+		}
+	}
+
+	@Test
+	public void testOnlyFrequentLinesInCommon() {
+		// every line occurs too often to align the documents on
+		StringBuilder left= new StringBuilder();
+		StringBuilder right= new StringBuilder();
+		for (int i= 0; i < 150; i++) {
+			left.append("a\nb\n");
+			right.append("b\na\n");
+		}
+		List<QuickDiffRangeDifference> ranges= diff(left.substring(0, left.length() - 1), right.substring(0, right.length() - 1));
+		assertEquals(1, ranges.size());
+		assertRange(RangeDifference.CHANGE, 0, 300, 0, 300, ranges.get(0));
+	}
+}